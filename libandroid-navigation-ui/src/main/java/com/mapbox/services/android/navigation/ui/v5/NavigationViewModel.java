@@ -35,6 +35,7 @@ import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOpti
 import com.mapbox.services.android.navigation.v5.navigation.NavigationEventListener;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationTimeFormat;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteLikelyListener;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
@@ -243,6 +244,7 @@ public class NavigationViewModel extends AndroidViewModel {
   private void addNavigationListeners() {
     navigation.addProgressChangeListener(progressChangeListener);
     navigation.addOffRouteListener(offRouteListener);
+    navigation.addOffRouteLikelyListener(offRouteLikelyListener);
     navigation.addMilestoneEventListener(milestoneEventListener);
     navigation.addNavigationEventListener(navigationEventListener);
     navigation.addFasterRouteListener(fasterRouteListener);
@@ -276,6 +278,15 @@ public class NavigationViewModel extends AndroidViewModel {
     }
   };
 
+  private OffRouteLikelyListener offRouteLikelyListener = new OffRouteLikelyListener() {
+    @Override
+    public void userOffRouteLikely(RouteProgress routeProgress) {
+      if (hasNetworkConnection()) {
+        navigationViewRouteEngine.prefetchRouteFromRouteProgress(getApplication(), routeProgress);
+      }
+    }
+  };
+
   private MilestoneEventListener milestoneEventListener = new MilestoneEventListener() {
     @Override
     public void onMilestoneEvent(RouteProgress routeProgress, String instruction, Milestone milestone) {
@@ -26,6 +26,9 @@ public class DynamicCamera extends SimpleCamera {
 
   private MapboxMap mapboxMap;
   private LegStep currentStep;
+  private long currentRouteGeneration = RouteProgress.UNKNOWN_ROUTE_GENERATION;
+  private int currentLegIndex;
+  private int currentStepIndex;
   private boolean hasPassedLowAlertLevel;
   private boolean hasPassedMediumAlertLevel;
   private boolean hasPassedHighAlertLevel;
@@ -161,14 +164,27 @@ public class DynamicCamera extends SimpleCamera {
   }
 
   /**
-   * Looks to see if we have a new step.
+   * Looks to see if we have a new step. Along the same route generation, the step indices are
+   * compared instead of the steps.
    *
    * @param routeProgress provides updated step information
    * @return true if new step, false if not
    */
   private boolean isNewStep(RouteProgress routeProgress) {
-    boolean isNewStep = currentStep == null || !currentStep.equals(routeProgress.currentLegProgress().currentStep());
-    currentStep = routeProgress.currentLegProgress().currentStep();
+    LegStep step = routeProgress.currentLegProgress().currentStep();
+    long routeGeneration = routeProgress.routeGeneration();
+    int legIndex = routeProgress.legIndex();
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    boolean isNewStep;
+    if (routeGeneration != RouteProgress.UNKNOWN_ROUTE_GENERATION && routeGeneration == currentRouteGeneration) {
+      isNewStep = legIndex != currentLegIndex || stepIndex != currentStepIndex;
+    } else {
+      isNewStep = currentStep == null || (currentStep != step && !currentStep.equals(step));
+    }
+    currentStep = step;
+    currentRouteGeneration = routeGeneration;
+    currentLegIndex = legIndex;
+    currentStepIndex = stepIndex;
     resetAlertLevels(isNewStep);
     return isNewStep;
   }
@@ -163,6 +163,8 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
   private final List<String> layerIds;
   private final MapView mapView;
   private int primaryRouteIndex;
+  private long progressRouteGeneration = RouteProgress.UNKNOWN_ROUTE_GENERATION;
+  private DirectionsRoute progressPrimaryRoute;
   private float routeScale;
   private float alternativeRouteScale;
   private String belowLayer;
@@ -176,12 +178,11 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
   private ProgressChangeListener progressChangeListener = new ProgressChangeListener() {
     @Override
     public void onProgressChange(Location location, RouteProgress routeProgress) {
-      boolean noRoutes = directionsRoutes.isEmpty();
-      boolean newCurrentRoute = !routeProgress.directionsRoute().equals(directionsRoutes.get(primaryRouteIndex));
-      boolean isANewRoute = noRoutes || newCurrentRoute;
-      if (isANewRoute) {
+      if (isNewRoute(routeProgress)) {
         addRoute(routeProgress.directionsRoute());
       }
+      progressRouteGeneration = routeProgress.routeGeneration();
+      progressPrimaryRoute = directionsRoutes.get(primaryRouteIndex);
       addUpcomingManeuverArrow(routeProgress);
     }
   };
@@ -444,6 +445,22 @@ public class NavigationMapRoute implements MapView.OnMapChangedListener,
     );
   }
 
+  /**
+   * Checks if the route of the progress isn't the primary route drawn. While the route generation
+   * and the primary route stay the same, the routes don't need to be compared again.
+   */
+  private boolean isNewRoute(RouteProgress routeProgress) {
+    if (directionsRoutes.isEmpty()) {
+      return true;
+    }
+    DirectionsRoute primaryRoute = directionsRoutes.get(primaryRouteIndex);
+    long routeGeneration = routeProgress.routeGeneration();
+    boolean isSameRoute = routeGeneration != RouteProgress.UNKNOWN_ROUTE_GENERATION
+      && routeGeneration == progressRouteGeneration
+      && primaryRoute == progressPrimaryRoute;
+    return !isSameRoute && !routeProgress.directionsRoute().equals(primaryRoute);
+  }
+
   private void addUpcomingManeuverArrow(RouteProgress routeProgress) {
     if (routeProgress.upcomingStepPoints() == null || routeProgress.upcomingStepPoints().size() < TWO_MANEUVERS) {
       updateArrowLayersVisibilityTo(false);
@@ -66,6 +66,17 @@ public class ViewRouteFetcher extends RouteFetcher implements RouteListener {
     }
   }
 
+  /**
+   * Prefetches a route from the raw location while the user is likely to go off-route, to be used
+   * by {@link #fetchRouteFromOffRouteEvent(Context, OffRouteEvent)}.
+   *
+   * @param context       to pass to route builder
+   * @param routeProgress for remaining waypoints along the route
+   */
+  public void prefetchRouteFromRouteProgress(Context context, RouteProgress routeProgress) {
+    prefetchRouteFromRouteProgress(context, rawLocation, routeProgress);
+  }
+
   /**
    * Updates this object's awareness of the raw location
    *
@@ -25,22 +25,32 @@ import timber.log.Timber;
  * <p>
  * Will retrieve synthesized speech mp3s from Mapbox's API Voice.
  * </p>
+ * <p>
+ * Downloaded mp3s are kept in a {@link SpeechFileCache} across sessions and played from there
+ * the next time the same instruction is announced. The cache is only read on the
+ * {@link AsyncTask#SERIAL_EXECUTOR}, and the files in the instruction queue stay pinned in it
+ * until they're played or the queue is cleared.
+ * </p>
  */
 class MapboxSpeechPlayer implements SpeechPlayer {
 
   private static final long TEN_MEGABYTE_CACHE_SIZE = 10 * 1098 * 1098;
   private static final String OKHTTP_INSTRUCTION_CACHE = "okhttp_instruction_cache";
   private static final String MAPBOX_INSTRUCTION_CACHE = "mapbox_instruction_cache";
+  private static final long TWENTY_MEGABYTE_CACHE_SIZE = 20 * 1024 * 1024;
+  private static final String MP3_OUTPUT_TYPE = "mp3";
   private static final String ERROR_TEXT = "Unable to set data source for the media mediaPlayer! %s";
   private static final SpeechAnnouncementMap SPEECH_ANNOUNCEMENT_MAP = new SpeechAnnouncementMap();
+  private static SpeechFileCache speechFileCache;
 
   private VoiceInstructionLoader voiceInstructionLoader;
   private SpeechAnnouncement announcement;
   private SpeechListener speechListener;
   private MediaPlayer mediaPlayer;
   private Queue<File> instructionQueue;
-  private File mapboxCache;
+  private SpeechFileCache mapboxCache;
   private Cache okhttpCache;
+  private String language;
   private boolean isMuted;
 
   /**
@@ -53,10 +63,12 @@ class MapboxSpeechPlayer implements SpeechPlayer {
   MapboxSpeechPlayer(Context context, String language, @NonNull SpeechListener speechListener,
                      String accessToken) {
     this.speechListener = speechListener;
+    this.language = language;
     setupCaches(context);
     instructionQueue = new ConcurrentLinkedQueue();
     voiceInstructionLoader = VoiceInstructionLoader.builder()
       .language(language)
+      .outputType(MP3_OUTPUT_TYPE)
       .cache(okhttpCache)
       .accessToken(accessToken)
       .build();
@@ -93,6 +105,7 @@ class MapboxSpeechPlayer implements SpeechPlayer {
   @Override
   public void onDestroy() {
     stopMediaPlayerPlaying();
+    clearInstructionUrls();
     flushCache();
   }
 
@@ -100,8 +113,19 @@ class MapboxSpeechPlayer implements SpeechPlayer {
     File okHttpDirectory = new File(context.getCacheDir(), OKHTTP_INSTRUCTION_CACHE);
     okHttpDirectory.mkdir();
     okhttpCache = new Cache(okHttpDirectory, TEN_MEGABYTE_CACHE_SIZE);
-    mapboxCache = new File(context.getCacheDir(), MAPBOX_INSTRUCTION_CACHE);
-    mapboxCache.mkdir();
+    mapboxCache = obtainSpeechFileCache(context);
+  }
+
+  /**
+   * The speech file cache is shared by every player, so the files pinned by the queue of one
+   * player aren't deleted when another one adds files to the cache.
+   */
+  private static synchronized SpeechFileCache obtainSpeechFileCache(Context context) {
+    if (speechFileCache == null) {
+      File directory = new File(context.getCacheDir(), MAPBOX_INSTRUCTION_CACHE);
+      speechFileCache = new SpeechFileCache(directory, TWENTY_MEGABYTE_CACHE_SIZE);
+    }
+    return speechFileCache;
   }
 
   private void playAnnouncementTextAndTypeFrom(SpeechAnnouncement announcement) {
@@ -148,17 +172,32 @@ class MapboxSpeechPlayer implements SpeechPlayer {
     }
   }
 
-  private void downloadVoiceFile(final String instruction, String textType) {
+  private void downloadVoiceFile(final String instruction, final String textType) {
     boolean isInvalidInstruction = TextUtils.isEmpty(instruction);
     if (isMuted || isInvalidInstruction) {
       return;
     }
 
+    final String cacheKey = SpeechFileCache.buildKey(instruction, textType, language, MP3_OUTPUT_TYPE);
+    new SpeechLookupTask(mapboxCache, new SpeechLookupTask.TaskListener() {
+      @Override
+      public void onInstructionFound(@NonNull File instructionFile) {
+        onInstructionReady(instructionFile);
+      }
+
+      @Override
+      public void onInstructionMissing() {
+        requestVoiceFile(instruction, textType, cacheKey);
+      }
+    }).executeOnExecutor(AsyncTask.SERIAL_EXECUTOR, cacheKey);
+  }
+
+  private void requestVoiceFile(String instruction, String textType, final String cacheKey) {
     voiceInstructionLoader.getInstruction(instruction, textType, new Callback<ResponseBody>() {
       @Override
       public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
         if (response.isSuccessful()) {
-          executeInstructionTask(response.body());
+          executeInstructionTask(cacheKey, response.body());
         } else {
           try {
             onError(response.errorBody().string());
@@ -231,13 +270,14 @@ class MapboxSpeechPlayer implements SpeechPlayer {
   }
 
   private void onInstructionFinishedPlaying() {
-    deleteLastInstructionPlayed();
+    removeLastInstructionPlayed();
     startNextInstruction();
   }
 
-  private void deleteLastInstructionPlayed() {
-    if (!instructionQueue.isEmpty()) {
-      instructionQueue.poll().delete();
+  private void removeLastInstructionPlayed() {
+    File playedInstruction = instructionQueue.poll();
+    if (playedInstruction != null) {
+      mapboxCache.release(playedInstruction);
     }
   }
 
@@ -248,17 +288,17 @@ class MapboxSpeechPlayer implements SpeechPlayer {
   }
 
   private void clearInstructionUrls() {
-    while (!instructionQueue.isEmpty()) {
-      instructionQueue.remove().delete();
+    File queuedInstruction;
+    while ((queuedInstruction = instructionQueue.poll()) != null) {
+      mapboxCache.release(queuedInstruction);
     }
   }
 
-  private void executeInstructionTask(ResponseBody responseBody) {
-    new SpeechDownloadTask(mapboxCache.getPath(), new SpeechDownloadTask.TaskListener() {
+  private void executeInstructionTask(String cacheKey, ResponseBody responseBody) {
+    new SpeechDownloadTask(mapboxCache, cacheKey, new SpeechDownloadTask.TaskListener() {
       @Override
       public void onFinishedDownloading(@NonNull File instructionFile) {
-        playInstructionIfUpNext(instructionFile);
-        instructionQueue.add(instructionFile);
+        onInstructionReady(instructionFile);
       }
 
       @Override
@@ -268,6 +308,15 @@ class MapboxSpeechPlayer implements SpeechPlayer {
     }).executeOnExecutor(AsyncTask.SERIAL_EXECUTOR, responseBody);
   }
 
+  private void onInstructionReady(File instructionFile) {
+    if (isMuted) {
+      mapboxCache.release(instructionFile);
+      return;
+    }
+    playInstructionIfUpNext(instructionFile);
+    instructionQueue.add(instructionFile);
+  }
+
   private void playInstructionIfUpNext(File instructionFile) {
     if (instructionQueue.isEmpty()) {
       playInstruction(instructionFile);
@@ -13,14 +13,14 @@ import okhttp3.ResponseBody;
 
 class SpeechDownloadTask extends AsyncTask<ResponseBody, Void, File> {
 
-  private static final String MP3_POSTFIX = ".mp3";
   private static final int END_OF_FILE_DENOTER = -1;
-  private static int instructionNamingInt = 1;
-  private final String cacheDirectory;
+  private final SpeechFileCache speechFileCache;
+  private final String cacheKey;
   private final TaskListener taskListener;
 
-  SpeechDownloadTask(String cacheDirectory, TaskListener taskListener) {
-    this.cacheDirectory = cacheDirectory;
+  SpeechDownloadTask(SpeechFileCache speechFileCache, String cacheKey, TaskListener taskListener) {
+    this.speechFileCache = speechFileCache;
+    this.cacheKey = cacheKey;
     this.taskListener = taskListener;
   }
 
@@ -30,14 +30,14 @@ class SpeechDownloadTask extends AsyncTask<ResponseBody, Void, File> {
   }
 
   /**
-   * Saves the file returned in the response body as a file in the cache directory
+   * Saves the file returned in the response body in the speech file cache
    *
    * @param responseBody containing file
    * @return resulting file, or null if there were any IO exceptions
    */
   private File saveAsFile(ResponseBody responseBody) {
     try {
-      File file = new File(cacheDirectory + File.separator + instructionNamingInt++ + MP3_POSTFIX);
+      File file = speechFileCache.createTemporaryFile();
       InputStream inputStream = null;
       OutputStream outputStream = null;
 
@@ -52,7 +52,9 @@ class SpeechDownloadTask extends AsyncTask<ResponseBody, Void, File> {
         }
 
         outputStream.flush();
-        return file;
+        outputStream.close();
+        outputStream = null;
+        return speechFileCache.put(cacheKey, file);
 
       } catch (IOException exception) {
         taskListener.onErrorDownloading();
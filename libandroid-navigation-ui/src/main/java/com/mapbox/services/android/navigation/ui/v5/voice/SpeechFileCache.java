@@ -0,0 +1,252 @@
+package com.mapbox.services.android.navigation.ui.v5.voice;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import timber.log.Timber;
+
+/**
+ * Keeps synthesized instructions on disk between sessions, so an announcement already heard
+ * (the same daily commute) is played from the file rather than downloaded again.
+ * <p>
+ * Files are named after a hash of everything the synthesized speech depends on and indexed in
+ * memory in least recently used order, which is persisted through the file modification times.
+ * Once the files exceed the maximum size, the least recently used ones are deleted, except the
+ * ones still pinned by a queued instruction.
+ * <p>
+ * The directory is only read by the first call that needs the index, so an instance can be created
+ * on the main thread and used from a background one.
+ */
+class SpeechFileCache {
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String CHARSET = "UTF-8";
+  private static final char KEY_SEPARATOR = '\u0000';
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final int KEY_LENGTH = 64;
+  private static final String MP3_POSTFIX = ".mp3";
+  private static final String TEMPORARY_PREFIX = "instruction";
+  private static final String TEMPORARY_POSTFIX = ".tmp";
+  private static final boolean ACCESS_ORDER = true;
+
+  private final File directory;
+  private final long maxSize;
+  private final Map<String, File> files = new LinkedHashMap<>(16, 0.75f, ACCESS_ORDER);
+  private final Map<File, Integer> pinCounts = new HashMap<>();
+  private boolean isIndexLoaded;
+  private long size;
+
+  /**
+   * Construct an instance of {@link SpeechFileCache}. The files already in the directory are
+   * indexed on first use.
+   *
+   * @param directory where the files are kept, created if it doesn't exist
+   * @param maxSize   in bytes of the files before the least recently used ones are deleted
+   */
+  SpeechFileCache(File directory, long maxSize) {
+    this.directory = directory;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Builds the cache key of a synthesized instruction.
+   *
+   * @param instruction text to be synthesized
+   * @param textType    either "ssml" or "text"
+   * @param language    of the voice, can be null for the API default
+   * @param outputType  of the audio, can be null for the API default
+   * @return hex encoded hash of the given parameters
+   */
+  static String buildKey(String instruction, String textType, @Nullable String language,
+                         @Nullable String outputType) {
+    StringBuilder key = new StringBuilder()
+      .append(instruction).append(KEY_SEPARATOR)
+      .append(textType).append(KEY_SEPARATOR)
+      .append(language).append(KEY_SEPARATOR)
+      .append(outputType);
+    try {
+      byte[] hash = MessageDigest.getInstance(HASH_ALGORITHM).digest(key.toString().getBytes(CHARSET));
+      return toHex(hash);
+    } catch (NoSuchAlgorithmException | UnsupportedEncodingException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Returns the file of the given key, marking it as the most recently used and pinning it until
+   * it's released with {@link #release(File)}.
+   * <p>
+   * Reads the directory on first use, so it shouldn't be called from the main thread.
+   *
+   * @param key built with {@link #buildKey(String, String, String, String)}
+   * @return cached file, or null if there is none
+   */
+  @Nullable
+  synchronized File get(String key) {
+    loadIndexIfNeeded();
+    File file = files.get(key);
+    if (file == null) {
+      return null;
+    }
+    if (!file.exists()) {
+      remove(key);
+      return null;
+    }
+    file.setLastModified(System.currentTimeMillis());
+    pin(file);
+    return file;
+  }
+
+  /**
+   * Returns a new file to download an instruction to, before it's added with
+   * {@link #put(String, File)}.
+   *
+   * @return file in the cache directory that isn't indexed
+   * @throws IOException if the file couldn't be created
+   */
+  @NonNull
+  synchronized File createTemporaryFile() throws IOException {
+    // Indexing deletes the files that aren't cached, so it mustn't run once a download started
+    loadIndexIfNeeded();
+    return File.createTempFile(TEMPORARY_PREFIX, TEMPORARY_POSTFIX, directory);
+  }
+
+  /**
+   * Adds a downloaded instruction to the cache, deleting the least recently used files if the
+   * maximum size is exceeded. As with {@link #get(String)}, the returned file is pinned until it's
+   * released.
+   *
+   * @param key           built with {@link #buildKey(String, String, String, String)}
+   * @param temporaryFile returned by {@link #createTemporaryFile()} holding the instruction
+   * @return cached file, or the temporary file if it couldn't be moved into the cache
+   */
+  @NonNull
+  synchronized File put(String key, File temporaryFile) {
+    File cachedFile = get(key);
+    if (cachedFile != null) {
+      // Downloaded twice before the first download was cached, the cached file may be queued
+      temporaryFile.delete();
+      return cachedFile;
+    }
+    File file = new File(directory, key + MP3_POSTFIX);
+    if (!temporaryFile.renameTo(file)) {
+      Timber.e("Unable to cache the instruction file %s", temporaryFile.getName());
+      return temporaryFile;
+    }
+    files.put(key, file);
+    size += file.length();
+    pin(file);
+    trimToSize();
+    return file;
+  }
+
+  /**
+   * Releases a file returned by {@link #get(String)} or {@link #put(String, File)} once it's
+   * played or dropped from the queue. Unpinned files exceeding the maximum size are deleted with
+   * the next download, so releasing a file doesn't touch the disk.
+   *
+   * @param file to be released
+   */
+  synchronized void release(File file) {
+    Integer pinCount = pinCounts.get(file);
+    if (pinCount == null) {
+      return;
+    }
+    if (pinCount == 1) {
+      pinCounts.remove(file);
+    } else {
+      pinCounts.put(file, pinCount - 1);
+    }
+  }
+
+  private void pin(File file) {
+    Integer pinCount = pinCounts.get(file);
+    pinCounts.put(file, pinCount == null ? 1 : pinCount + 1);
+  }
+
+  private void loadIndexIfNeeded() {
+    if (isIndexLoaded) {
+      return;
+    }
+    isIndexLoaded = true;
+    directory.mkdirs();
+    File[] directoryFiles = directory.listFiles();
+    if (directoryFiles == null) {
+      return;
+    }
+    Arrays.sort(directoryFiles, new Comparator<File>() {
+      @Override
+      public int compare(File first, File second) {
+        long firstModified = first.lastModified();
+        long secondModified = second.lastModified();
+        return firstModified < secondModified ? -1 : (firstModified == secondModified ? 0 : 1);
+      }
+    });
+    for (File file : directoryFiles) {
+      String key = findKey(file);
+      if (key == null) {
+        // Left over from an interrupted download or an earlier version of the cache
+        file.delete();
+      } else {
+        files.put(key, file);
+        size += file.length();
+      }
+    }
+    trimToSize();
+  }
+
+  @Nullable
+  private static String findKey(File file) {
+    String name = file.getName();
+    boolean isCachedFile = file.isFile()
+      && name.length() == KEY_LENGTH + MP3_POSTFIX.length()
+      && name.endsWith(MP3_POSTFIX);
+    return isCachedFile ? name.substring(0, KEY_LENGTH) : null;
+  }
+
+  private void remove(String key) {
+    File file = files.remove(key);
+    if (file != null) {
+      size -= file.length();
+      file.delete();
+    }
+  }
+
+  /**
+   * Deletes the least recently used files until the cache fits its maximum size, skipping the
+   * pinned ones so a queued instruction is never deleted before it's played.
+   */
+  private void trimToSize() {
+    Iterator<Map.Entry<String, File>> iterator = files.entrySet().iterator();
+    while (size > maxSize && iterator.hasNext()) {
+      File file = iterator.next().getValue();
+      if (pinCounts.containsKey(file)) {
+        continue;
+      }
+      size -= file.length();
+      file.delete();
+      iterator.remove();
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    char[] hex = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+      hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+    }
+    return new String(hex);
+  }
+}
@@ -0,0 +1,41 @@
+package com.mapbox.services.android.navigation.ui.v5.voice;
+
+import android.os.AsyncTask;
+import android.support.annotation.NonNull;
+
+import java.io.File;
+
+/**
+ * Looks up a synthesized instruction in the speech file cache, away from the main thread since
+ * the first lookup reads the cache directory.
+ */
+class SpeechLookupTask extends AsyncTask<String, Void, File> {
+
+  private final SpeechFileCache speechFileCache;
+  private final TaskListener taskListener;
+
+  SpeechLookupTask(SpeechFileCache speechFileCache, TaskListener taskListener) {
+    this.speechFileCache = speechFileCache;
+    this.taskListener = taskListener;
+  }
+
+  @Override
+  protected File doInBackground(String... cacheKeys) {
+    return speechFileCache.get(cacheKeys[0]);
+  }
+
+  @Override
+  protected void onPostExecute(File instructionFile) {
+    if (instructionFile == null) {
+      taskListener.onInstructionMissing();
+    } else {
+      taskListener.onInstructionFound(instructionFile);
+    }
+  }
+
+  public interface TaskListener {
+    void onInstructionFound(@NonNull File file);
+
+    void onInstructionMissing();
+  }
+}
@@ -0,0 +1,146 @@
+package com.mapbox.services.android.navigation.ui.v5.voice;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class SpeechFileCacheTest {
+
+  private static final long MAX_SIZE = 100;
+  private static final int FILE_SIZE = 40;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void buildKey_differsByLanguage() {
+    String englishKey = SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3");
+    String germanKey = SpeechFileCache.buildKey("Turn left", "text", "de-DE", "mp3");
+
+    assertFalse(englishKey.equals(germanKey));
+    assertEquals(englishKey, SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3"));
+  }
+
+  @Test
+  public void onPut_fileIsReturnedByGet() throws Exception {
+    SpeechFileCache speechFileCache = new SpeechFileCache(temporaryFolder.getRoot(), MAX_SIZE);
+    String key = SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3");
+
+    File cachedFile = speechFileCache.put(key, buildTemporaryFile(speechFileCache));
+
+    assertEquals(cachedFile, speechFileCache.get(key));
+  }
+
+  @Test
+  public void onPutOverMaxSize_leastRecentlyUsedFileIsDeleted() throws Exception {
+    SpeechFileCache speechFileCache = new SpeechFileCache(temporaryFolder.getRoot(), MAX_SIZE);
+    String firstKey = SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3");
+    String secondKey = SpeechFileCache.buildKey("Turn right", "text", "en-US", "mp3");
+    String thirdKey = SpeechFileCache.buildKey("Continue", "text", "en-US", "mp3");
+    File firstFile = speechFileCache.put(firstKey, buildTemporaryFile(speechFileCache));
+    speechFileCache.release(firstFile);
+    File secondFile = speechFileCache.put(secondKey, buildTemporaryFile(speechFileCache));
+    speechFileCache.release(secondFile);
+    speechFileCache.release(speechFileCache.get(firstKey));
+
+    speechFileCache.put(thirdKey, buildTemporaryFile(speechFileCache));
+
+    assertNotNull(speechFileCache.get(firstKey));
+    assertNull(speechFileCache.get(secondKey));
+    assertFalse(secondFile.exists());
+    assertNotNull(speechFileCache.get(thirdKey));
+  }
+
+  @Test
+  public void onPutOverMaxSize_pinnedFileIsKept() throws Exception {
+    SpeechFileCache speechFileCache = new SpeechFileCache(temporaryFolder.getRoot(), MAX_SIZE);
+    File queuedFile = speechFileCache.put(
+      SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3"), buildTemporaryFile(speechFileCache));
+    File playedFile = speechFileCache.put(
+      SpeechFileCache.buildKey("Turn right", "text", "en-US", "mp3"), buildTemporaryFile(speechFileCache));
+    speechFileCache.release(playedFile);
+
+    speechFileCache.put(SpeechFileCache.buildKey("Continue", "text", "en-US", "mp3"),
+      buildTemporaryFile(speechFileCache));
+
+    assertTrue(queuedFile.exists());
+    assertFalse(playedFile.exists());
+  }
+
+  @Test
+  public void onRelease_fileOverMaxSizeIsDeletedWithNextPut() throws Exception {
+    SpeechFileCache speechFileCache = new SpeechFileCache(temporaryFolder.getRoot(), MAX_SIZE);
+    File firstFile = speechFileCache.put(
+      SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3"), buildTemporaryFile(speechFileCache));
+    speechFileCache.put(SpeechFileCache.buildKey("Turn right", "text", "en-US", "mp3"),
+      buildTemporaryFile(speechFileCache));
+    speechFileCache.put(SpeechFileCache.buildKey("Continue", "text", "en-US", "mp3"),
+      buildTemporaryFile(speechFileCache));
+    speechFileCache.release(firstFile);
+    assertTrue(firstFile.exists());
+
+    speechFileCache.put(SpeechFileCache.buildKey("Arrive", "text", "en-US", "mp3"),
+      buildTemporaryFile(speechFileCache));
+
+    assertFalse(firstFile.exists());
+  }
+
+  @Test
+  public void onNewInstance_directoryIsNotRead() throws Exception {
+    File directory = new File(temporaryFolder.getRoot(), "instructions");
+
+    SpeechFileCache speechFileCache = new SpeechFileCache(directory, MAX_SIZE);
+
+    assertFalse(directory.exists());
+    assertNull(speechFileCache.get(SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3")));
+    assertTrue(directory.exists());
+  }
+
+  @Test
+  public void onNewInstance_cachedFilesAreIndexed() throws Exception {
+    SpeechFileCache speechFileCache = new SpeechFileCache(temporaryFolder.getRoot(), MAX_SIZE);
+    String key = SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3");
+    File cachedFile = speechFileCache.put(key, buildTemporaryFile(speechFileCache));
+    File leftoverFile = buildTemporaryFile(speechFileCache);
+
+    SpeechFileCache nextSessionCache = new SpeechFileCache(temporaryFolder.getRoot(), MAX_SIZE);
+
+    assertEquals(cachedFile, nextSessionCache.get(key));
+    assertFalse(leftoverFile.exists());
+  }
+
+  @Test
+  public void onPutSameKeyTwice_firstFileIsKept() throws Exception {
+    SpeechFileCache speechFileCache = new SpeechFileCache(temporaryFolder.getRoot(), MAX_SIZE);
+    String key = SpeechFileCache.buildKey("Turn left", "text", "en-US", "mp3");
+    File cachedFile = speechFileCache.put(key, buildTemporaryFile(speechFileCache));
+    File secondDownload = buildTemporaryFile(speechFileCache);
+
+    File secondCachedFile = speechFileCache.put(key, secondDownload);
+
+    assertEquals(cachedFile, secondCachedFile);
+    assertTrue(cachedFile.exists());
+    assertFalse(secondDownload.exists());
+  }
+
+  private File buildTemporaryFile(SpeechFileCache speechFileCache) throws IOException {
+    File file = speechFileCache.createTemporaryFile();
+    FileOutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write(new byte[FILE_SIZE]);
+    } finally {
+      outputStream.close();
+    }
+    return file;
+  }
+}
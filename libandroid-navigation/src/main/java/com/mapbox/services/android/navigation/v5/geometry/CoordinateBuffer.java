@@ -0,0 +1,231 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfConversion;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact, immutable storage for a line geometry.
+ * <p>
+ * The coordinates are kept in a single {@code double[]} with interleaved longitude / latitude
+ * values, so a step geometry is one array rather than a list of {@link Point}s each holding its
+ * own coordinate list. Polylines are decoded straight into the buffer.
+ * <p>
+ * Callers that need GeoJSON objects can use {@link #points()}, a read-only view which only creates
+ * a {@link Point} the first time its position is read.
+ *
+ * @since 0.16.0
+ */
+public final class CoordinateBuffer {
+
+  private static final int STRIDE = 2;
+  private static final int LATITUDE_OFFSET = 1;
+  private static final int ASCII_OFFSET = 63;
+  private static final int CHUNK_BITS = 5;
+  private static final int CHUNK_MASK = 0x1f;
+  private static final int CONTINUATION_BIT = 0x20;
+  private static final double HALF = 0.5;
+
+  private final double[] coordinates;
+  private final int size;
+  private final List<Point> points;
+
+  private CoordinateBuffer(double[] coordinates) {
+    this.coordinates = coordinates;
+    this.size = coordinates.length / STRIDE;
+    this.points = new PointListView(this);
+  }
+
+  /**
+   * Decodes an encoded polyline into a new buffer. The decoded values match
+   * {@link com.mapbox.geojson.utils.PolylineUtils#decode(String, int)}.
+   *
+   * @param encodedPath polyline string
+   * @param precision   of the polyline, usually {@link com.mapbox.core.constants.Constants#PRECISION_6}
+   * @return buffer holding the decoded coordinates
+   * @since 0.16.0
+   */
+  @NonNull
+  public static CoordinateBuffer decode(@NonNull String encodedPath, int precision) {
+    int length = encodedPath.length();
+    double factor = Math.pow(10, precision);
+    // Every encoded value takes at least one character, so this can hold the whole geometry
+    double[] decoded = new double[length + STRIDE];
+    int count = 0;
+    int index = 0;
+    int lat = 0;
+    int lng = 0;
+    while (index < length) {
+      int result = 0;
+      int shift = 0;
+      int chunk;
+      do {
+        chunk = encodedPath.charAt(index++) - ASCII_OFFSET;
+        result |= (chunk & CHUNK_MASK) << shift;
+        shift += CHUNK_BITS;
+      } while (chunk >= CONTINUATION_BIT && index < length);
+      lat += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      result = 0;
+      shift = 0;
+      do {
+        chunk = encodedPath.charAt(index++) - ASCII_OFFSET;
+        result |= (chunk & CHUNK_MASK) << shift;
+        shift += CHUNK_BITS;
+      } while (chunk >= CONTINUATION_BIT && index < length);
+      lng += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+      decoded[count++] = lng / factor;
+      decoded[count++] = lat / factor;
+    }
+    return new CoordinateBuffer(Arrays.copyOf(decoded, count));
+  }
+
+  /**
+   * Copies the given points into a new buffer.
+   *
+   * @param points to be copied
+   * @return buffer holding the point coordinates
+   * @since 0.16.0
+   */
+  @NonNull
+  public static CoordinateBuffer fromPoints(@NonNull List<Point> points) {
+    int size = points.size();
+    double[] coordinates = new double[size * STRIDE];
+    for (int i = 0; i < size; i++) {
+      Point point = points.get(i);
+      coordinates[i * STRIDE] = point.longitude();
+      coordinates[i * STRIDE + LATITUDE_OFFSET] = point.latitude();
+    }
+    return new CoordinateBuffer(coordinates);
+  }
+
+  /**
+   * Number of coordinates in the buffer.
+   *
+   * @return coordinate count
+   * @since 0.16.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Longitude of the coordinate at the given position.
+   *
+   * @param index of the coordinate
+   * @return longitude in degrees
+   * @since 0.16.0
+   */
+  public double longitude(int index) {
+    return coordinates[index * STRIDE];
+  }
+
+  /**
+   * Latitude of the coordinate at the given position.
+   *
+   * @param index of the coordinate
+   * @return latitude in degrees
+   * @since 0.16.0
+   */
+  public double latitude(int index) {
+    return coordinates[index * STRIDE + LATITUDE_OFFSET];
+  }
+
+  /**
+   * Checks if the coordinate at the given position has exactly the given values.
+   *
+   * @param index     of the coordinate
+   * @param longitude to compare
+   * @param latitude  to compare
+   * @return true if both values are equal
+   * @since 0.16.0
+   */
+  public boolean matches(int index, double longitude, double latitude) {
+    return coordinates[index * STRIDE] == longitude && coordinates[index * STRIDE + LATITUDE_OFFSET] == latitude;
+  }
+
+  /**
+   * Great-circle distance in meters between two coordinates of the buffer, using the same haversine
+   * formula as {@link com.mapbox.turf.TurfMeasurement#distance(Point, Point, String)}.
+   *
+   * @param from index of the first coordinate
+   * @param to   index of the second coordinate
+   * @return distance in meters
+   * @since 0.16.0
+   */
+  public double distance(int from, int to) {
+    return distance(longitude(from), latitude(from), longitude(to), latitude(to));
+  }
+
+  /**
+   * Great-circle distance in meters between a coordinate of the buffer and the given position.
+   *
+   * @param index     of the coordinate
+   * @param longitude of the position
+   * @param latitude  of the position
+   * @return distance in meters
+   * @since 0.16.0
+   */
+  public double distanceTo(int index, double longitude, double latitude) {
+    return distance(longitude(index), latitude(index), longitude, latitude);
+  }
+
+  /**
+   * Read-only view of the buffer as GeoJSON points.
+   * <p>
+   * The same view is returned with every call, and each {@link Point} is created once, the first
+   * time it's read.
+   *
+   * @return list view of the coordinates
+   * @since 0.16.0
+   */
+  @NonNull
+  public List<Point> points() {
+    return points;
+  }
+
+  static double distance(double fromLongitude, double fromLatitude, double toLongitude, double toLatitude) {
+    double difLat = TurfConversion.degreesToRadians(toLatitude - fromLatitude);
+    double difLon = TurfConversion.degreesToRadians(toLongitude - fromLongitude);
+    double lat1 = TurfConversion.degreesToRadians(fromLatitude);
+    double lat2 = TurfConversion.degreesToRadians(toLatitude);
+    double value = Math.pow(Math.sin(difLat * HALF), 2)
+      + Math.pow(Math.sin(difLon * HALF), 2) * Math.cos(lat1) * Math.cos(lat2);
+    return TurfConversion.radiansToLength(2 * Math.atan2(Math.sqrt(value), Math.sqrt(1 - value)),
+      TurfConstants.UNIT_METERS);
+  }
+
+  private static class PointListView extends AbstractList<Point> implements RandomAccess {
+
+    private final CoordinateBuffer buffer;
+    private final Point[] cache;
+
+    PointListView(CoordinateBuffer buffer) {
+      this.buffer = buffer;
+      this.cache = new Point[buffer.size()];
+    }
+
+    @Override
+    public Point get(int index) {
+      Point point = cache[index];
+      if (point == null) {
+        point = Point.fromLngLat(buffer.longitude(index), buffer.latitude(index));
+        cache[index] = point;
+      }
+      return point;
+    }
+
+    @Override
+    public int size() {
+      return buffer.size();
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.MaxSpeed;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the {@link LegAnnotation} values of a {@link RouteLeg} in primitive arrays, along with the
+ * cumulative annotation distance from the start of the leg to each annotation.
+ * <p>
+ * Congestion is stored as one level per annotation, see {@link #congestionLevel(int)}, and the
+ * speed limits are copied into an array, so none of the annotation lists are read once indexed.
+ * <p>
+ * This lets the current annotation be found with a binary search over the cumulative distances,
+ * rather than summing the annotation distances with every location update.
+ *
+ * @since 0.16.0
+ */
+public class LegAnnotationIndex {
+
+  private static final int NOT_FOUND = -1;
+
+  /**
+   * Congestion level of an annotation with an unknown or unrecognized congestion, or of a leg
+   * requested without congestion annotations.
+   *
+   * @since 0.16.0
+   */
+  public static final int CONGESTION_UNKNOWN = 0;
+
+  /**
+   * Congestion level of an annotation with low congestion.
+   *
+   * @since 0.16.0
+   */
+  public static final int CONGESTION_LOW = 1;
+
+  /**
+   * Congestion level of an annotation with moderate congestion.
+   *
+   * @since 0.16.0
+   */
+  public static final int CONGESTION_MODERATE = 2;
+
+  /**
+   * Congestion level of an annotation with heavy congestion.
+   *
+   * @since 0.16.0
+   */
+  public static final int CONGESTION_HEAVY = 3;
+
+  /**
+   * Congestion level of an annotation with severe congestion.
+   *
+   * @since 0.16.0
+   */
+  public static final int CONGESTION_SEVERE = 4;
+
+  private static final String[] CONGESTION_NAMES = {"unknown", "low", "moderate", "heavy", "severe"};
+
+  private final RouteLeg leg;
+  private final double legDistance;
+  private final double[] distances;
+  private final double[] cumulativeDistances;
+  private final double[] durations;
+  private final double[] speeds;
+  private final byte[] congestionValues;
+  private final String[] congestionNames;
+  private final MaxSpeed[] maxspeeds;
+
+  /**
+   * Creates an index of the annotations of the given leg.
+   *
+   * @param leg with annotations to be indexed
+   * @return a new index, or null if the leg has no distance annotations
+   * @since 0.16.0
+   */
+  @Nullable
+  public static LegAnnotationIndex create(@NonNull RouteLeg leg) {
+    LegAnnotation annotation = leg.annotation();
+    if (annotation == null || annotation.distance() == null || annotation.distance().isEmpty()) {
+      return null;
+    }
+    return new LegAnnotationIndex(leg, annotation);
+  }
+
+  private LegAnnotationIndex(RouteLeg leg, LegAnnotation annotation) {
+    this.leg = leg;
+    Double distance = leg.distance();
+    legDistance = distance == null ? 0 : distance;
+    distances = toArray(annotation.distance());
+    cumulativeDistances = new double[distances.length + 1];
+    for (int i = 0; i < distances.length; i++) {
+      cumulativeDistances[i + 1] = cumulativeDistances[i] + distances[i];
+    }
+    durations = toArray(annotation.duration());
+    speeds = toArray(annotation.speed());
+    List<String> congestion = annotation.congestion();
+    if (congestion == null) {
+      congestionValues = null;
+      congestionNames = null;
+    } else {
+      List<String> names = new ArrayList<>();
+      congestionValues = new byte[congestion.size()];
+      for (int i = 0; i < congestionValues.length; i++) {
+        congestionValues[i] = findCongestionValue(names, congestion.get(i));
+      }
+      congestionNames = names.toArray(new String[names.size()]);
+    }
+    List<MaxSpeed> maxspeed = annotation.maxspeed();
+    maxspeeds = maxspeed == null ? null : maxspeed.toArray(new MaxSpeed[maxspeed.size()]);
+  }
+
+  /**
+   * The leg this index was built from.
+   *
+   * @return indexed leg
+   * @since 0.16.0
+   */
+  @NonNull
+  public RouteLeg leg() {
+    return leg;
+  }
+
+  /**
+   * The leg distance in meters, as provided by {@link RouteLeg#distance()}.
+   *
+   * @return leg distance
+   * @since 0.16.0
+   */
+  public double legDistance() {
+    return legDistance;
+  }
+
+  /**
+   * Number of annotations in the leg.
+   *
+   * @return annotation count
+   * @since 0.16.0
+   */
+  public int size() {
+    return distances.length;
+  }
+
+  /**
+   * Finds the first annotation, starting at the given index, whose end is farther along the leg
+   * than the given distance.
+   *
+   * @param distanceAlongLeg in meters from the start of the leg
+   * @param fromIndex        first annotation index to consider
+   * @return annotation index, or -1 if no annotation ends after the distance
+   * @since 0.16.0
+   */
+  public int findAnnotationIndex(double distanceAlongLeg, int fromIndex) {
+    int low = Math.max(fromIndex, 0) + 1;
+    int high = cumulativeDistances.length - 1;
+    if (low > high || cumulativeDistances[high] <= distanceAlongLeg) {
+      return NOT_FOUND;
+    }
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (cumulativeDistances[middle] > distanceAlongLeg) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low - 1;
+  }
+
+  /**
+   * Distance in meters from the start of the leg to the start of the given annotation.
+   *
+   * @param index of the annotation
+   * @return distance along the leg to the annotation
+   * @since 0.16.0
+   */
+  public double distanceToAnnotation(int index) {
+    return cumulativeDistances[index];
+  }
+
+  /**
+   * Distance in meters covered by the given annotation.
+   *
+   * @param index of the annotation
+   * @return annotation distance
+   * @since 0.16.0
+   */
+  public double distance(int index) {
+    return distances[index];
+  }
+
+  /**
+   * Duration in seconds of the given annotation, or {@link Double#NaN} if the leg wasn't
+   * requested with duration annotations.
+   *
+   * @param index of the annotation
+   * @return annotation duration
+   * @since 0.16.0
+   */
+  public double duration(int index) {
+    return durations == null ? Double.NaN : durations[index];
+  }
+
+  /**
+   * Speed in meters per second of the given annotation, or {@link Double#NaN} if the leg wasn't
+   * requested with speed annotations.
+   *
+   * @param index of the annotation
+   * @return annotation speed
+   * @since 0.16.0
+   */
+  public double speed(int index) {
+    return speeds == null ? Double.NaN : speeds[index];
+  }
+
+  /**
+   * Congestion of the given annotation, or null if the leg wasn't requested with congestion annotations.
+   *
+   * @param index of the annotation
+   * @return annotation congestion
+   * @since 0.16.0
+   */
+  @Nullable
+  public String congestion(int index) {
+    return congestionValues == null ? null : congestionNames[congestionValues[index]];
+  }
+
+  /**
+   * Congestion level of the given annotation, from {@link #CONGESTION_UNKNOWN} to
+   * {@link #CONGESTION_SEVERE}.
+   *
+   * @param index of the annotation
+   * @return annotation congestion level
+   * @since 0.16.0
+   */
+  public int congestionLevel(int index) {
+    if (congestionValues == null) {
+      return CONGESTION_UNKNOWN;
+    }
+    int value = congestionValues[index];
+    return value < CONGESTION_NAMES.length ? value : CONGESTION_UNKNOWN;
+  }
+
+  /**
+   * Posted speed limit of the given annotation, or null if the leg wasn't requested with maxspeed annotations.
+   *
+   * @param index of the annotation
+   * @return annotation speed limit
+   * @since 0.16.0
+   */
+  @Nullable
+  public MaxSpeed maxspeed(int index) {
+    return maxspeeds == null ? null : maxspeeds[index];
+  }
+
+  /**
+   * The known congestion values map to their level. Any other value, null included, gets the next
+   * free value after the known ones so {@link #congestion(int)} still returns it as received.
+   */
+  private static byte findCongestionValue(List<String> names, @Nullable String congestion) {
+    if (names.isEmpty()) {
+      for (String name : CONGESTION_NAMES) {
+        names.add(name);
+      }
+    }
+    int value = names.indexOf(congestion);
+    if (value == NOT_FOUND) {
+      value = names.size();
+      names.add(congestion);
+    }
+    return (byte) value;
+  }
+
+  @Nullable
+  private static double[] toArray(@Nullable List<Double> values) {
+    if (values == null) {
+      return null;
+    }
+    double[] array = new double[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = valueOrZero(values.get(i));
+    }
+    return array;
+  }
+
+  private static double valueOrZero(@Nullable Double value) {
+    return value == null ? 0 : value;
+  }
+}
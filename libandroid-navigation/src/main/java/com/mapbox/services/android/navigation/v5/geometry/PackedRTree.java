@@ -0,0 +1,184 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import java.util.Arrays;
+
+/**
+ * Static R-tree of bounding boxes, packed once with the Sort-Tile-Recursive algorithm into flat
+ * arrays.
+ * <p>
+ * Items are sorted into vertical slices by the center of their box, then by the center of their box
+ * within each slice, and grouped sixteen at a time into nodes, which are grouped the same
+ * way until a single root is left. A search only descends into the nodes overlapping the searched
+ * box, visiting the matching items in about logarithmic time.
+ * <p>
+ * The tree can't be changed once packed, and can be searched from several threads.
+ */
+final class PackedRTree {
+
+  /**
+   * Called with each item whose box overlaps the searched box.
+   */
+  interface Visitor {
+
+    void visit(int item);
+  }
+
+  private static final int NODE_SIZE = 16;
+  private static final int BOX_SIZE = 4;
+  private static final int MIN_Y = 1;
+  private static final int MAX_X = 2;
+  private static final int MAX_Y = 3;
+  private static final long INDEX_MASK = 0xffffffffL;
+  private static final double KEY_RANGE = Integer.MAX_VALUE;
+
+  private final double[] boxes;
+  private final int[] children;
+  private final int[] levelEnds;
+
+  /**
+   * Packs the given boxes, stored as minimum x, minimum y, maximum x and maximum y for each item.
+   *
+   * @param itemBoxes four values per item, the item being the position of its box
+   */
+  PackedRTree(double[] itemBoxes) {
+    int itemCount = itemBoxes.length / BOX_SIZE;
+    int entryCount = itemCount;
+    int levelCount = 1;
+    for (int count = itemCount; count > 1; levelCount++) {
+      count = (count + NODE_SIZE - 1) / NODE_SIZE;
+      entryCount += count;
+    }
+    boxes = new double[entryCount * BOX_SIZE];
+    children = new int[entryCount];
+    levelEnds = new int[levelCount];
+    levelEnds[0] = itemCount;
+    if (itemCount == 0) {
+      return;
+    }
+    int[] order = sortTiles(itemBoxes, itemCount);
+    for (int entry = 0; entry < itemCount; entry++) {
+      int item = order[entry];
+      System.arraycopy(itemBoxes, item * BOX_SIZE, boxes, entry * BOX_SIZE, BOX_SIZE);
+      children[entry] = item;
+    }
+    int levelStart = 0;
+    for (int level = 1; level < levelCount; level++) {
+      int levelEnd = levelEnds[level - 1];
+      int node = levelEnd;
+      for (int child = levelStart; child < levelEnd; child += NODE_SIZE, node++) {
+        packNode(node, child, Math.min(child + NODE_SIZE, levelEnd));
+      }
+      levelEnds[level] = node;
+      levelStart = levelEnd;
+    }
+  }
+
+  /**
+   * Number of items in the tree.
+   *
+   * @return item count
+   */
+  int size() {
+    return levelEnds[0];
+  }
+
+  /**
+   * Visits every item whose box overlaps the given box, edges included.
+   *
+   * @param minX    of the searched box
+   * @param minY    of the searched box
+   * @param maxX    of the searched box
+   * @param maxY    of the searched box
+   * @param visitor called with each overlapping item
+   */
+  void search(double minX, double minY, double maxX, double maxY, Visitor visitor) {
+    if (size() == 0) {
+      return;
+    }
+    int rootLevel = levelEnds.length - 1;
+    search(rootLevel, levelEnds[rootLevel] - 1, minX, minY, maxX, maxY, visitor);
+  }
+
+  private void search(int level, int entry, double minX, double minY, double maxX, double maxY,
+                      Visitor visitor) {
+    int box = entry * BOX_SIZE;
+    boolean overlaps = boxes[box] <= maxX && boxes[box + MIN_Y] <= maxY
+      && boxes[box + MAX_X] >= minX && boxes[box + MAX_Y] >= minY;
+    if (!overlaps) {
+      return;
+    }
+    if (level == 0) {
+      visitor.visit(children[entry]);
+      return;
+    }
+    int firstChild = children[entry];
+    int lastChild = Math.min(firstChild + NODE_SIZE, levelEnds[level - 1]);
+    for (int child = firstChild; child < lastChild; child++) {
+      search(level - 1, child, minX, minY, maxX, maxY, visitor);
+    }
+  }
+
+  private void packNode(int node, int firstChild, int lastChild) {
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    for (int child = firstChild; child < lastChild; child++) {
+      int box = child * BOX_SIZE;
+      minX = Math.min(minX, boxes[box]);
+      minY = Math.min(minY, boxes[box + MIN_Y]);
+      maxX = Math.max(maxX, boxes[box + MAX_X]);
+      maxY = Math.max(maxY, boxes[box + MAX_Y]);
+    }
+    int box = node * BOX_SIZE;
+    boxes[box] = minX;
+    boxes[box + MIN_Y] = minY;
+    boxes[box + MAX_X] = maxX;
+    boxes[box + MAX_Y] = maxY;
+    children[node] = firstChild;
+  }
+
+  /**
+   * Orders the items into vertical slices of about the square root of the leaf count nodes each,
+   * sorted by x, then by y within each slice. Items are sorted as primitive keys holding the
+   * scaled center of their box in the upper bits and their position in the lower bits.
+   */
+  private static int[] sortTiles(double[] itemBoxes, int itemCount) {
+    int leafCount = (itemCount + NODE_SIZE - 1) / NODE_SIZE;
+    int sliceSize = (int) Math.ceil(Math.sqrt(leafCount)) * NODE_SIZE;
+    long[] keys = new long[itemCount];
+    int[] order = new int[itemCount];
+    for (int i = 0; i < itemCount; i++) {
+      order[i] = i;
+    }
+    sortByCenter(itemBoxes, order, keys, 0, itemCount, 0);
+    for (int sliceStart = 0; sliceStart < itemCount; sliceStart += sliceSize) {
+      sortByCenter(itemBoxes, order, keys, sliceStart, Math.min(sliceStart + sliceSize, itemCount), MIN_Y);
+    }
+    return order;
+  }
+
+  private static void sortByCenter(double[] itemBoxes, int[] order, long[] keys, int from, int to, int axis) {
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for (int i = from; i < to; i++) {
+      double center = center(itemBoxes, order[i], axis);
+      min = Math.min(min, center);
+      max = Math.max(max, center);
+    }
+    double scale = max > min ? KEY_RANGE / (max - min) : 0;
+    for (int i = from; i < to; i++) {
+      long scaledCenter = (long) ((center(itemBoxes, order[i], axis) - min) * scale);
+      keys[i] = scaledCenter << Integer.SIZE | order[i];
+    }
+    Arrays.sort(keys, from, to);
+    for (int i = from; i < to; i++) {
+      order[i] = (int) (keys[i] & INDEX_MASK);
+    }
+  }
+
+  private static double center(double[] itemBoxes, int item, int axis) {
+    int box = item * BOX_SIZE + axis;
+    return (itemBoxes[box] + itemBoxes[box + MAX_X]) / 2;
+  }
+}
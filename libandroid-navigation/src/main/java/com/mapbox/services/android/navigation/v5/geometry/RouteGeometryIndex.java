@@ -0,0 +1,845 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfConversion;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * Holds the decoded geometry of every {@link LegStep} in a {@link DirectionsRoute}.
+ * <p>
+ * Each step is decoded once, when the route is first seen by the navigation engine, straight into a
+ * {@link CoordinateBuffer} along with the cumulative distance (in meters) from the first vertex
+ * of the step to each following vertex. This lets the engine measure distances along a step with
+ * a lookup rather than decoding and slicing the step polyline with every location update.
+ * <p>
+ * The Directions API step and leg distances are also summed from the end of each leg and the end
+ * of the route, so the distance left after a given step or leg is a lookup as well. Leg annotations
+ * are indexed by a {@link LegAnnotationIndex}, and the distance along each step to its intersections
+ * is measured in a single pass over the step vertices.
+ * <p>
+ * Every segment and intersection of the route is also packed into an R-tree, so the distance from
+ * a location to any step or to its intersections only measures what lies around the location.
+ * The tree searches reuse visitors kept for each thread querying the index, so an index can be
+ * shared between threads without a search creating new objects.
+ *
+ * @since 0.16.0
+ */
+public class RouteGeometryIndex {
+
+  private static final int TWO_POINTS = 2;
+  private static final double[] EMPTY = new double[0];
+  private static final int NOT_FOUND = -1;
+  private static final String INDEX_KEY = "index";
+  private static final double FULL_CIRCLE = 360d;
+  private static final int BOX_SIZE = 4;
+  private static final double MINIMUM_COSINE = 1E-6;
+  private static final double REFERENCE_LATITUDE_TOLERANCE = 0.01;
+  private static final double METERS_PER_DEGREE = TurfConversion.radiansToLength(
+    TurfConversion.degreesToRadians(1), TurfConstants.UNIT_METERS);
+
+  private final DirectionsRoute route;
+  private final DistanceKernel distanceKernel;
+  private final int[] legStepOffsets;
+  private final int[] legStepCounts;
+  private final int[] stepLegs;
+  private final CoordinateBuffer[] stepCoordinates;
+  private final double[][] cumulativeDistances;
+  private final double[][] stepDistanceSuffixSums;
+  private final double[] legDistanceSuffixSums;
+  private final LegAnnotationIndex[] legAnnotationIndices;
+  private final double[][] intersectionDistances;
+  private final int[] segmentSteps;
+  private final int[] segmentVertices;
+  private final PackedRTree segmentTree;
+  private final int[] intersectionSteps;
+  private final int[] intersectionOrdinals;
+  private final double[] intersectionCoordinates;
+  private final PackedRTree intersectionTree;
+  private final ThreadLocal<QueryVisitors> queryVisitors = new ThreadLocal<QueryVisitors>() {
+    @Override
+    protected QueryVisitors initialValue() {
+      return new QueryVisitors();
+    }
+  };
+
+  /**
+   * Decodes and measures each step geometry found in the given route, using the
+   * {@link DistanceKernel#HAVERSINE} kernel.
+   *
+   * @param route to be indexed
+   * @since 0.16.0
+   */
+  public RouteGeometryIndex(@NonNull DirectionsRoute route) {
+    this(route, DistanceKernel.create(DistanceKernel.HAVERSINE));
+  }
+
+  /**
+   * Decodes and measures each step geometry found in the given route with the given kernel.
+   *
+   * @param route          to be indexed
+   * @param distanceKernel used to measure the step geometries
+   * @since 0.16.0
+   */
+  public RouteGeometryIndex(@NonNull DirectionsRoute route, @NonNull DistanceKernel distanceKernel) {
+    this.route = route;
+    this.distanceKernel = distanceKernel;
+    List<RouteLeg> legs = route.legs();
+    int legCount = legs == null ? 0 : legs.size();
+    legStepOffsets = new int[legCount];
+    legStepCounts = new int[legCount];
+    int totalSteps = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      legStepOffsets[legIndex] = totalSteps;
+      legStepCounts[legIndex] = steps == null ? 0 : steps.size();
+      totalSteps += legStepCounts[legIndex];
+    }
+    stepLegs = new int[totalSteps];
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      Arrays.fill(stepLegs, legStepOffsets[legIndex], legStepOffsets[legIndex] + legStepCounts[legIndex], legIndex);
+    }
+    stepCoordinates = new CoordinateBuffer[totalSteps];
+    cumulativeDistances = new double[totalSteps][];
+    intersectionDistances = new double[totalSteps][];
+    stepDistanceSuffixSums = new double[legCount][];
+    legDistanceSuffixSums = new double[legCount + 1];
+    legAnnotationIndices = new LegAnnotationIndex[legCount];
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      legAnnotationIndices[legIndex] = LegAnnotationIndex.create(legs.get(legIndex));
+      List<LegStep> steps = legs.get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < legStepCounts[legIndex]; stepIndex++) {
+        LegStep step = steps.get(stepIndex);
+        LegStep nextStep = stepIndex + 1 < steps.size() ? steps.get(stepIndex + 1) : null;
+        int flatIndex = legStepOffsets[legIndex] + stepIndex;
+        indexStep(flatIndex, step);
+        intersectionDistances[flatIndex] = measureIntersections(flatIndex, step, nextStep);
+      }
+      stepDistanceSuffixSums[legIndex] = sumStepDistances(steps, legStepCounts[legIndex]);
+    }
+    for (int legIndex = legCount - 1; legIndex >= 0; legIndex--) {
+      Double legDistance = legs.get(legIndex).distance();
+      legDistanceSuffixSums[legIndex] = legDistanceSuffixSums[legIndex + 1]
+        + (legDistance == null ? 0 : legDistance);
+    }
+    int segmentCount = countSegments();
+    segmentSteps = new int[segmentCount];
+    segmentVertices = new int[segmentCount];
+    segmentTree = new PackedRTree(indexSegments());
+    int intersectionCount = countIntersections(legs);
+    intersectionSteps = new int[intersectionCount];
+    intersectionOrdinals = new int[intersectionCount];
+    intersectionCoordinates = new double[intersectionCount * TWO_POINTS];
+    intersectionTree = new PackedRTree(indexIntersections(legs));
+  }
+
+  /**
+   * The route this index was built from.
+   *
+   * @return indexed route
+   * @since 0.16.0
+   */
+  @NonNull
+  public DirectionsRoute route() {
+    return route;
+  }
+
+  /**
+   * The kernel used to measure the step geometries, which should also be used to snap to them.
+   *
+   * @return distance kernel of this index
+   * @since 0.16.0
+   */
+  @NonNull
+  public DistanceKernel distanceKernel() {
+    return distanceKernel;
+  }
+
+  /**
+   * Returns the decoded geometry of the given step, or null if the leg / step index is invalid
+   * or the step does not contain a geometry.
+   * <p>
+   * The same list instance is returned for every call with the same indices and it cannot be modified.
+   * It's a view of the {@link #stepCoordinates(int, int)} buffer, so the points are only created once read.
+   *
+   * @param legIndex  of the step
+   * @param stepIndex of the step within its leg
+   * @return list of points representing the step geometry
+   * @since 0.16.0
+   */
+  @Nullable
+  public List<Point> stepPoints(int legIndex, int stepIndex) {
+    CoordinateBuffer coordinates = stepCoordinates(legIndex, stepIndex);
+    return coordinates == null ? null : coordinates.points();
+  }
+
+  /**
+   * Returns the decoded geometry of the given step as a primitive coordinate buffer, or null if the
+   * leg / step index is invalid or the step does not contain a geometry.
+   *
+   * @param legIndex  of the step
+   * @param stepIndex of the step within its leg
+   * @return buffer holding the step geometry
+   * @since 0.16.0
+   */
+  @Nullable
+  public CoordinateBuffer stepCoordinates(int legIndex, int stepIndex) {
+    if (!isValidStep(legIndex, stepIndex)) {
+      return null;
+    }
+    return stepCoordinates[legStepOffsets[legIndex] + stepIndex];
+  }
+
+  /**
+   * Number of vertices in the decoded step geometry, zero if the indices are invalid.
+   *
+   * @param legIndex  of the step
+   * @param stepIndex of the step within its leg
+   * @return vertex count
+   * @since 0.16.0
+   */
+  public int stepPointCount(int legIndex, int stepIndex) {
+    if (!isValidStep(legIndex, stepIndex)) {
+      return 0;
+    }
+    return stepCoordinates[legStepOffsets[legIndex] + stepIndex].size();
+  }
+
+  /**
+   * Length of the decoded step geometry in meters, zero if the indices are invalid.
+   *
+   * @param legIndex  of the step
+   * @param stepIndex of the step within its leg
+   * @return measured length in meters
+   * @since 0.16.0
+   */
+  public double stepLength(int legIndex, int stepIndex) {
+    int pointCount = stepPointCount(legIndex, stepIndex);
+    if (pointCount == 0) {
+      return 0;
+    }
+    return cumulativeDistances[legStepOffsets[legIndex] + stepIndex][pointCount - 1];
+  }
+
+  /**
+   * Distance in meters from the first vertex of the step to the vertex at the given position.
+   *
+   * @param legIndex    of the step
+   * @param stepIndex   of the step within its leg
+   * @param vertexIndex of the vertex in the step geometry
+   * @return distance along the step to the vertex
+   * @since 0.16.0
+   */
+  public double distanceToVertex(int legIndex, int stepIndex, int vertexIndex) {
+    return cumulativeDistances[legStepOffsets[legIndex] + stepIndex][vertexIndex];
+  }
+
+  /**
+   * Finds the segment of the step holding the point at the given distance from the first vertex
+   * of the step, with a binary search of the cumulative vertex distances.
+   * <p>
+   * Distances before the start or past the end of the step give the first or last segment.
+   *
+   * @param legIndex          of the step
+   * @param stepIndex         of the step within its leg
+   * @param distanceAlongStep in meters from the first vertex of the step
+   * @return index of the segment's first vertex, -1 if the step has less than two vertices
+   * @since 0.16.0
+   */
+  public int findSegment(int legIndex, int stepIndex, double distanceAlongStep) {
+    int pointCount = stepPointCount(legIndex, stepIndex);
+    if (pointCount < TWO_POINTS) {
+      return NOT_FOUND;
+    }
+    double[] cumulative = cumulativeDistances[legStepOffsets[legIndex] + stepIndex];
+    int low = 0;
+    int high = pointCount - TWO_POINTS;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (cumulative[middle] <= distanceAlongStep) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Finds the point at the given distance from the first vertex of the step, interpolated on the
+   * segment returned by {@link #findSegment(int, int, double)}, without creating new objects.
+   *
+   * @param legIndex          of the step
+   * @param stepIndex         of the step within its leg
+   * @param distanceAlongStep in meters from the first vertex of the step
+   * @param position          filled with the point and the bearing of its segment
+   * @return true if the position was found, false if the step has less than two vertices
+   * @since 0.16.0
+   */
+  public boolean findPosition(int legIndex, int stepIndex, double distanceAlongStep, @NonNull StepPosition position) {
+    int segment = findSegment(legIndex, stepIndex, distanceAlongStep);
+    if (segment == NOT_FOUND) {
+      return false;
+    }
+    int flatIndex = legStepOffsets[legIndex] + stepIndex;
+    CoordinateBuffer coordinates = stepCoordinates[flatIndex];
+    double[] cumulative = cumulativeDistances[flatIndex];
+    double segmentLength = cumulative[segment + 1] - cumulative[segment];
+    double fraction = segmentLength > 0 ? (distanceAlongStep - cumulative[segment]) / segmentLength : 0;
+    fraction = Math.min(1, Math.max(0, fraction));
+    double startLongitude = coordinates.longitude(segment);
+    double startLatitude = coordinates.latitude(segment);
+    double endLongitude = coordinates.longitude(segment + 1);
+    double endLatitude = coordinates.latitude(segment + 1);
+    position.set(startLongitude + fraction * (endLongitude - startLongitude),
+      startLatitude + fraction * (endLatitude - startLatitude),
+      bearing(startLongitude, startLatitude, endLongitude, endLatitude));
+    return true;
+  }
+
+  /**
+   * Longitude of the vertex at the given position.
+   *
+   * @param legIndex    of the step
+   * @param stepIndex   of the step within its leg
+   * @param vertexIndex of the vertex in the step geometry
+   * @return vertex longitude
+   * @since 0.16.0
+   */
+  public double longitude(int legIndex, int stepIndex, int vertexIndex) {
+    return stepCoordinates[legStepOffsets[legIndex] + stepIndex].longitude(vertexIndex);
+  }
+
+  /**
+   * Latitude of the vertex at the given position.
+   *
+   * @param legIndex    of the step
+   * @param stepIndex   of the step within its leg
+   * @param vertexIndex of the vertex in the step geometry
+   * @return vertex latitude
+   * @since 0.16.0
+   */
+  public double latitude(int legIndex, int stepIndex, int vertexIndex) {
+    return stepCoordinates[legStepOffsets[legIndex] + stepIndex].latitude(vertexIndex);
+  }
+
+  /**
+   * Measures the distance from a point lying on the given segment of the step to the last vertex
+   * of the step.
+   * <p>
+   * The result matches slicing the step from the point to its end and measuring the slice, but
+   * only the partial segment is measured; the rest is read from the cumulative vertex distances.
+   *
+   * @param legIndex       of the step
+   * @param stepIndex      of the step within its leg
+   * @param segmentIndex   index of the segment's first vertex
+   * @param pointOnSegment point on the segment, usually a snapped location
+   * @return distance in meters to the end of the step
+   * @since 0.16.0
+   */
+  public double distanceToStepEnd(int legIndex, int stepIndex, int segmentIndex, Point pointOnSegment) {
+    int pointCount = stepPointCount(legIndex, stepIndex);
+    if (pointCount < TWO_POINTS) {
+      return 0;
+    }
+    int nextVertex = Math.min(segmentIndex + 1, pointCount - 1);
+    int flatIndex = legStepOffsets[legIndex] + stepIndex;
+    CoordinateBuffer coordinates = stepCoordinates[flatIndex];
+    double distanceToNextVertex = distanceKernel.distance(pointOnSegment.longitude(), pointOnSegment.latitude(),
+      coordinates.longitude(nextVertex), coordinates.latitude(nextVertex));
+    double[] cumulative = cumulativeDistances[flatIndex];
+    return distanceToNextVertex + (cumulative[pointCount - 1] - cumulative[nextVertex]);
+  }
+
+  /**
+   * Distance in meters from the given position to the closest point of the step geometry, measured
+   * with the index {@link DistanceKernel}.
+   * <p>
+   * Only the route segments lying within the search radius of the position are measured, so any
+   * step, for instance the previous or the next one, is checked as cheaply as the current one.
+   *
+   * @param legIndex     of the step
+   * @param stepIndex    of the step within its leg
+   * @param longitude    of the position
+   * @param latitude     of the position
+   * @param searchRadius in meters around the position
+   * @return distance in meters, {@link Double#POSITIVE_INFINITY} if the step is further than the
+   * search radius, or 0 if the indices are invalid or the step has no geometry
+   * @since 0.16.0
+   */
+  public double distanceToStep(int legIndex, int stepIndex, double longitude, double latitude, double searchRadius) {
+    if (!isValidStep(legIndex, stepIndex) || stepCoordinates[legStepOffsets[legIndex] + stepIndex].size() == 0) {
+      return 0;
+    }
+    NearestSegmentVisitor visitor = queryVisitors.get().nearestSegmentVisitor;
+    visitor.reset(legStepOffsets[legIndex] + stepIndex, longitude, latitude);
+    searchAround(segmentTree, longitude, latitude, searchRadius, visitor);
+    return visitor.distance(searchRadius);
+  }
+
+  /**
+   * Finds the route segments within the search radius of the given position, on any step, keeping
+   * the closest ones when there are more than the capacity of the matches.
+   *
+   * @param longitude    of the position
+   * @param latitude     of the position
+   * @param searchRadius in meters around the position
+   * @param matches      cleared, then filled with the closest segments
+   * @return number of segments found
+   * @since 0.16.0
+   */
+  public int findSegments(double longitude, double latitude, double searchRadius, @NonNull SegmentMatches matches) {
+    matches.clear();
+    SegmentsAroundVisitor visitor = queryVisitors.get().segmentsAroundVisitor;
+    visitor.reset(longitude, latitude, searchRadius, matches);
+    searchAround(segmentTree, longitude, latitude, searchRadius, visitor);
+    return matches.size();
+  }
+
+  /**
+   * Distance in meters from the given position to the closest of the step
+   * {@link LegStep#intersections()} and the first intersection of the next step in the leg, the
+   * same intersections as {@link #intersectionDistances(int, int)}.
+   * <p>
+   * Only the route intersections lying within the search radius of the position are measured.
+   *
+   * @param legIndex     of the step
+   * @param stepIndex    of the step within its leg
+   * @param longitude    of the position
+   * @param latitude     of the position
+   * @param searchRadius in meters around the position
+   * @return distance in meters, or {@link Double#POSITIVE_INFINITY} if no intersection is within the
+   * search radius or the indices are invalid
+   * @since 0.16.0
+   */
+  public double distanceToIntersection(int legIndex, int stepIndex, double longitude, double latitude,
+                                       double searchRadius) {
+    boolean validLeg = legIndex >= 0 && legIndex < legStepCounts.length;
+    if (!validLeg || stepIndex < 0 || stepIndex >= legStepCounts[legIndex]) {
+      return Double.POSITIVE_INFINITY;
+    }
+    boolean hasNextStep = stepIndex + 1 < legStepCounts[legIndex];
+    NearestIntersectionVisitor visitor = queryVisitors.get().nearestIntersectionVisitor;
+    visitor.reset(legStepOffsets[legIndex] + stepIndex, hasNextStep, longitude, latitude);
+    searchAround(intersectionTree, longitude, latitude, searchRadius, visitor);
+    return visitor.nearestDistance > searchRadius ? Double.POSITIVE_INFINITY : visitor.nearestDistance;
+  }
+
+  /**
+   * Sum of the {@link LegStep#distance()} of every step following the given one in its leg.
+   * <p>
+   * Zero if the step is the last one of the leg or the indices are invalid.
+   *
+   * @param legIndex  of the step
+   * @param stepIndex of the step within its leg
+   * @return distance in meters of the remaining steps of the leg
+   * @since 0.16.0
+   */
+  public double distanceAfterStep(int legIndex, int stepIndex) {
+    boolean validLeg = legIndex >= 0 && legIndex < legStepCounts.length;
+    if (!validLeg || stepIndex < 0 || stepIndex >= legStepCounts[legIndex]) {
+      return 0;
+    }
+    return stepDistanceSuffixSums[legIndex][stepIndex + 1];
+  }
+
+  /**
+   * Sum of the {@link RouteLeg#distance()} of every leg following the given one in the route.
+   * <p>
+   * Zero if the leg is the last one of the route or the index is invalid.
+   *
+   * @param legIndex of the leg
+   * @return distance in meters of the remaining legs of the route
+   * @since 0.16.0
+   */
+  public double distanceAfterLeg(int legIndex) {
+    if (legIndex < 0 || legIndex >= legStepCounts.length) {
+      return 0;
+    }
+    return legDistanceSuffixSums[legIndex + 1];
+  }
+
+  /**
+   * Returns the annotation index of the given leg, or null if the leg index is invalid or the leg
+   * has no distance annotations.
+   *
+   * @param legIndex of the leg
+   * @return index of the leg annotations
+   * @since 0.16.0
+   */
+  @Nullable
+  public LegAnnotationIndex legAnnotationIndex(int legIndex) {
+    if (legIndex < 0 || legIndex >= legAnnotationIndices.length) {
+      return null;
+    }
+    return legAnnotationIndices[legIndex];
+  }
+
+  /**
+   * Distances in meters along the step to each of its {@link LegStep#intersections()}, followed by
+   * the distance to the first intersection of the next step in the leg, if there is one.
+   * <p>
+   * Empty if the indices are invalid or the step geometry has less than two points.
+   * The returned array is shared and must not be modified.
+   *
+   * @param legIndex  of the step
+   * @param stepIndex of the step within its leg
+   * @return distances along the step to its intersections
+   * @since 0.16.0
+   */
+  @NonNull
+  public double[] intersectionDistances(int legIndex, int stepIndex) {
+    if (!isValidStep(legIndex, stepIndex)) {
+      return EMPTY;
+    }
+    return intersectionDistances[legStepOffsets[legIndex] + stepIndex];
+  }
+
+  private static double[] sumStepDistances(List<LegStep> steps, int stepCount) {
+    double[] suffixSums = new double[stepCount + 1];
+    for (int stepIndex = stepCount - 1; stepIndex >= 0; stepIndex--) {
+      LegStep step = steps.get(stepIndex);
+      suffixSums[stepIndex] = suffixSums[stepIndex + 1] + (step == null ? 0 : step.distance());
+    }
+    return suffixSums;
+  }
+
+  /**
+   * Intersections are ordered along the step and usually placed on a step vertex, so they're found
+   * by walking the vertices forward once. Intersections not placed on a vertex are snapped to the step.
+   */
+  private double[] measureIntersections(int flatIndex, LegStep step, @Nullable LegStep nextStep) {
+    CoordinateBuffer coordinates = stepCoordinates[flatIndex];
+    List<StepIntersection> intersections = step == null ? null : step.intersections();
+    List<StepIntersection> nextIntersections = nextStep == null ? null : nextStep.intersections();
+    int stepIntersectionCount = intersections == null ? 0 : intersections.size();
+    boolean hasNextIntersection = nextIntersections != null && !nextIntersections.isEmpty();
+    int intersectionCount = stepIntersectionCount + (hasNextIntersection ? 1 : 0);
+    if (coordinates == null || coordinates.size() < TWO_POINTS || intersectionCount == 0) {
+      return EMPTY;
+    }
+    double[] distances = new double[intersectionCount];
+    int vertexIndex = 0;
+    for (int i = 0; i < intersectionCount; i++) {
+      StepIntersection intersection = i < stepIntersectionCount ? intersections.get(i) : nextIntersections.get(0);
+      Point location = intersection.location();
+      int matchedVertex = findVertex(flatIndex, location, vertexIndex);
+      if (matchedVertex != NOT_FOUND) {
+        vertexIndex = matchedVertex;
+        distances[i] = cumulativeDistances[flatIndex][vertexIndex];
+      } else {
+        distances[i] = measureToSnappedPoint(flatIndex, coordinates.points(), location);
+      }
+    }
+    return distances;
+  }
+
+  private int findVertex(int flatIndex, Point location, int fromVertex) {
+    CoordinateBuffer coordinates = stepCoordinates[flatIndex];
+    for (int vertex = fromVertex; vertex < coordinates.size(); vertex++) {
+      if (coordinates.matches(vertex, location.longitude(), location.latitude())) {
+        return vertex;
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  private double measureToSnappedPoint(int flatIndex, List<Point> points, Point location) {
+    Feature feature = distanceKernel.nearestPointOnLine(location, points);
+    int segmentIndex = feature.getNumberProperty(INDEX_KEY).intValue();
+    double distanceOnSegment = distanceKernel.distance(points.get(segmentIndex), (Point) feature.geometry());
+    return cumulativeDistances[flatIndex][segmentIndex] + distanceOnSegment;
+  }
+
+  private static double bearing(double fromLongitude, double fromLatitude, double toLongitude, double toLatitude) {
+    double fromLatitudeRadians = TurfConversion.degreesToRadians(fromLatitude);
+    double toLatitudeRadians = TurfConversion.degreesToRadians(toLatitude);
+    double longitudeDifference = TurfConversion.degreesToRadians(toLongitude - fromLongitude);
+    double y = Math.sin(longitudeDifference) * Math.cos(toLatitudeRadians);
+    double x = Math.cos(fromLatitudeRadians) * Math.sin(toLatitudeRadians)
+      - Math.sin(fromLatitudeRadians) * Math.cos(toLatitudeRadians) * Math.cos(longitudeDifference);
+    return (TurfConversion.radiansToDegrees(Math.atan2(y, x)) + FULL_CIRCLE) % FULL_CIRCLE;
+  }
+
+  private static void searchAround(PackedRTree tree, double longitude, double latitude, double radius,
+                                   PackedRTree.Visitor visitor) {
+    double latitudeDelta = radius / METERS_PER_DEGREE;
+    double cosLatitude = Math.max(MINIMUM_COSINE, Math.cos(TurfConversion.degreesToRadians(latitude)));
+    double longitudeDelta = latitudeDelta / cosLatitude;
+    tree.search(longitude - longitudeDelta, latitude - latitudeDelta,
+      longitude + longitudeDelta, latitude + latitudeDelta, visitor);
+  }
+
+  private int countSegments() {
+    int segmentCount = 0;
+    for (CoordinateBuffer coordinates : stepCoordinates) {
+      if (coordinates != null && coordinates.size() > 0) {
+        segmentCount += Math.max(1, coordinates.size() - 1);
+      }
+    }
+    return segmentCount;
+  }
+
+  /**
+   * Lists every segment of the route with its bounding box in degrees. A step made of a single
+   * vertex gets a segment starting and ending on that vertex.
+   */
+  private double[] indexSegments() {
+    double[] boxes = new double[segmentSteps.length * BOX_SIZE];
+    int segment = 0;
+    for (int flatIndex = 0; flatIndex < stepCoordinates.length; flatIndex++) {
+      CoordinateBuffer coordinates = stepCoordinates[flatIndex];
+      int size = coordinates == null ? 0 : coordinates.size();
+      int stepSegmentCount = size == 0 ? 0 : Math.max(1, size - 1);
+      for (int vertex = 0; vertex < stepSegmentCount; vertex++, segment++) {
+        int nextVertex = Math.min(vertex + 1, size - 1);
+        segmentSteps[segment] = flatIndex;
+        segmentVertices[segment] = vertex;
+        setBox(boxes, segment, coordinates.longitude(vertex), coordinates.latitude(vertex),
+          coordinates.longitude(nextVertex), coordinates.latitude(nextVertex));
+      }
+    }
+    return boxes;
+  }
+
+  private int countIntersections(List<RouteLeg> legs) {
+    int intersectionCount = 0;
+    for (int legIndex = 0; legIndex < legStepCounts.length; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < legStepCounts[legIndex]; stepIndex++) {
+        LegStep step = steps.get(stepIndex);
+        List<StepIntersection> intersections = step == null ? null : step.intersections();
+        intersectionCount += intersections == null ? 0 : intersections.size();
+      }
+    }
+    return intersectionCount;
+  }
+
+  private double[] indexIntersections(List<RouteLeg> legs) {
+    double[] boxes = new double[intersectionSteps.length * BOX_SIZE];
+    int intersection = 0;
+    for (int legIndex = 0; legIndex < legStepCounts.length; legIndex++) {
+      List<LegStep> steps = legs.get(legIndex).steps();
+      for (int stepIndex = 0; stepIndex < legStepCounts[legIndex]; stepIndex++) {
+        LegStep step = steps.get(stepIndex);
+        List<StepIntersection> intersections = step == null ? null : step.intersections();
+        int count = intersections == null ? 0 : intersections.size();
+        for (int ordinal = 0; ordinal < count; ordinal++, intersection++) {
+          Point location = intersections.get(ordinal).location();
+          intersectionSteps[intersection] = legStepOffsets[legIndex] + stepIndex;
+          intersectionOrdinals[intersection] = ordinal;
+          intersectionCoordinates[intersection * TWO_POINTS] = location.longitude();
+          intersectionCoordinates[intersection * TWO_POINTS + 1] = location.latitude();
+          setBox(boxes, intersection, location.longitude(), location.latitude(),
+            location.longitude(), location.latitude());
+        }
+      }
+    }
+    return boxes;
+  }
+
+  /**
+   * Fraction of the segment, between 0 and 1, at which it's closest to the given position, found in
+   * a plane centered on the position as with the {@link DistanceKernel#PLANAR} kernel.
+   */
+  private static double closestFraction(CoordinateBuffer coordinates, int vertex, int nextVertex,
+                                        double longitude, double latitude, double cosLatitude) {
+    double startX = (coordinates.longitude(vertex) - longitude) * cosLatitude;
+    double startY = coordinates.latitude(vertex) - latitude;
+    double segmentX = (coordinates.longitude(nextVertex) - longitude) * cosLatitude - startX;
+    double segmentY = coordinates.latitude(nextVertex) - latitude - startY;
+    double squaredLength = segmentX * segmentX + segmentY * segmentY;
+    if (squaredLength == 0) {
+      return 0;
+    }
+    return Math.max(0, Math.min(1, -(startX * segmentX + startY * segmentY) / squaredLength));
+  }
+
+  private static double interpolate(double from, double to, double fraction) {
+    return from + fraction * (to - from);
+  }
+
+  private static void setBox(double[] boxes, int item, double fromLongitude, double fromLatitude,
+                             double toLongitude, double toLatitude) {
+    int box = item * BOX_SIZE;
+    boxes[box] = Math.min(fromLongitude, toLongitude);
+    boxes[box + 1] = Math.min(fromLatitude, toLatitude);
+    boxes[box + 2] = Math.max(fromLongitude, toLongitude);
+    boxes[box + 3] = Math.max(fromLatitude, toLatitude);
+  }
+
+  private boolean isValidStep(int legIndex, int stepIndex) {
+    boolean validLeg = legIndex >= 0 && legIndex < legStepCounts.length;
+    return validLeg && stepIndex >= 0 && stepIndex < legStepCounts[legIndex]
+      && stepCoordinates[legStepOffsets[legIndex] + stepIndex] != null;
+  }
+
+  private void indexStep(int flatIndex, LegStep step) {
+    String geometry = step == null ? null : step.geometry();
+    if (geometry == null) {
+      cumulativeDistances[flatIndex] = EMPTY;
+      return;
+    }
+    CoordinateBuffer coordinates = CoordinateBuffer.decode(geometry, PRECISION_6);
+    int size = coordinates.size();
+    double[] stepDistances = new double[size];
+    // The latitude cosine is only refreshed once the step drifts ~1 km north or south of the
+    // latitude it was computed for, which keeps the planar segments within the kernel error bound
+    double referenceLatitude = size > 0 ? coordinates.latitude(0) : 0;
+    double cosLatitude = Math.cos(TurfConversion.degreesToRadians(referenceLatitude));
+    for (int i = 1; i < size; i++) {
+      double fromLatitude = coordinates.latitude(i - 1);
+      if (Math.abs(fromLatitude - referenceLatitude) > REFERENCE_LATITUDE_TOLERANCE) {
+        referenceLatitude = fromLatitude;
+        cosLatitude = Math.cos(TurfConversion.degreesToRadians(referenceLatitude));
+      }
+      stepDistances[i] = stepDistances[i - 1] + distanceKernel.distance(coordinates.longitude(i - 1),
+        fromLatitude, coordinates.longitude(i), coordinates.latitude(i), cosLatitude);
+    }
+    stepCoordinates[flatIndex] = coordinates;
+    cumulativeDistances[flatIndex] = stepDistances;
+  }
+
+  /**
+   * Visitors of the tree searches, created once for each thread querying the index.
+   */
+  private class QueryVisitors {
+
+    private final NearestSegmentVisitor nearestSegmentVisitor = new NearestSegmentVisitor();
+    private final NearestIntersectionVisitor nearestIntersectionVisitor = new NearestIntersectionVisitor();
+    private final SegmentsAroundVisitor segmentsAroundVisitor = new SegmentsAroundVisitor();
+  }
+
+  /**
+   * Keeps the closest point of the step segments visited, measured with the index kernel.
+   */
+  private class NearestSegmentVisitor implements PackedRTree.Visitor {
+
+    private int flatIndex;
+    private double longitude;
+    private double latitude;
+    private double cosLatitude;
+    private double nearestSquaredDistance;
+    private double nearestLongitude;
+    private double nearestLatitude;
+
+    void reset(int flatIndex, double longitude, double latitude) {
+      this.flatIndex = flatIndex;
+      this.longitude = longitude;
+      this.latitude = latitude;
+      this.cosLatitude = Math.cos(TurfConversion.degreesToRadians(latitude));
+      nearestSquaredDistance = Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public void visit(int segment) {
+      if (segmentSteps[segment] != flatIndex) {
+        return;
+      }
+      CoordinateBuffer coordinates = stepCoordinates[flatIndex];
+      int vertex = segmentVertices[segment];
+      int nextVertex = Math.min(vertex + 1, coordinates.size() - 1);
+      double fraction = closestFraction(coordinates, vertex, nextVertex, longitude, latitude, cosLatitude);
+      double closestLongitude = interpolate(coordinates.longitude(vertex), coordinates.longitude(nextVertex), fraction);
+      double closestLatitude = interpolate(coordinates.latitude(vertex), coordinates.latitude(nextVertex), fraction);
+      double x = (closestLongitude - longitude) * cosLatitude;
+      double y = closestLatitude - latitude;
+      double squaredDistance = x * x + y * y;
+      if (squaredDistance < nearestSquaredDistance) {
+        nearestSquaredDistance = squaredDistance;
+        nearestLongitude = closestLongitude;
+        nearestLatitude = closestLatitude;
+      }
+    }
+
+    double distance(double searchRadius) {
+      if (nearestSquaredDistance == Double.POSITIVE_INFINITY) {
+        return Double.POSITIVE_INFINITY;
+      }
+      double distance = distanceKernel.distance(longitude, latitude, nearestLongitude, nearestLatitude);
+      return distance > searchRadius ? Double.POSITIVE_INFINITY : distance;
+    }
+  }
+
+  private class NearestIntersectionVisitor implements PackedRTree.Visitor {
+
+    private int flatIndex;
+    private boolean hasNextStep;
+    private double longitude;
+    private double latitude;
+    private double nearestDistance;
+
+    void reset(int flatIndex, boolean hasNextStep, double longitude, double latitude) {
+      this.flatIndex = flatIndex;
+      this.hasNextStep = hasNextStep;
+      this.longitude = longitude;
+      this.latitude = latitude;
+      nearestDistance = Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public void visit(int intersection) {
+      int intersectionStep = intersectionSteps[intersection];
+      boolean isStepIntersection = intersectionStep == flatIndex
+        || hasNextStep && intersectionStep == flatIndex + 1 && intersectionOrdinals[intersection] == 0;
+      if (!isStepIntersection) {
+        return;
+      }
+      double distance = distanceKernel.distance(longitude, latitude,
+        intersectionCoordinates[intersection * TWO_POINTS], intersectionCoordinates[intersection * TWO_POINTS + 1]);
+      nearestDistance = Math.min(nearestDistance, distance);
+    }
+  }
+
+  /**
+   * Adds every visited segment within the search radius to the matches, with the distance along its
+   * step to its closest point.
+   */
+  private class SegmentsAroundVisitor implements PackedRTree.Visitor {
+
+    private double longitude;
+    private double latitude;
+    private double cosLatitude;
+    private double searchRadius;
+    private SegmentMatches matches;
+
+    void reset(double longitude, double latitude, double searchRadius, SegmentMatches matches) {
+      this.longitude = longitude;
+      this.latitude = latitude;
+      this.cosLatitude = Math.cos(TurfConversion.degreesToRadians(latitude));
+      this.searchRadius = searchRadius;
+      this.matches = matches;
+    }
+
+    @Override
+    public void visit(int segment) {
+      int flatIndex = segmentSteps[segment];
+      CoordinateBuffer coordinates = stepCoordinates[flatIndex];
+      int vertex = segmentVertices[segment];
+      int nextVertex = Math.min(vertex + 1, coordinates.size() - 1);
+      double fraction = closestFraction(coordinates, vertex, nextVertex, longitude, latitude, cosLatitude);
+      double closestLongitude = interpolate(coordinates.longitude(vertex), coordinates.longitude(nextVertex), fraction);
+      double closestLatitude = interpolate(coordinates.latitude(vertex), coordinates.latitude(nextVertex), fraction);
+      double distance = distanceKernel.distance(longitude, latitude, closestLongitude, closestLatitude);
+      if (distance > searchRadius) {
+        return;
+      }
+      double[] cumulative = cumulativeDistances[flatIndex];
+      double distanceAlongStep = interpolate(cumulative[vertex], cumulative[nextVertex], fraction);
+      int legIndex = stepLegs[flatIndex];
+      matches.add(legIndex, flatIndex - legStepOffsets[legIndex], distance, distanceAlongStep);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+/**
+ * The route segments closest to a position, filled by
+ * {@link RouteGeometryIndex#findSegments(double, double, double, SegmentMatches)} and ordered from
+ * the closest one.
+ * <p>
+ * Only the closest {@link #capacity()} segments are kept, so the same instance can be reused for
+ * every lookup without creating new objects.
+ *
+ * @since 0.16.0
+ */
+public class SegmentMatches {
+
+  private final int[] legIndices;
+  private final int[] stepIndices;
+  private final double[] distances;
+  private final double[] distancesAlongStep;
+  private int size;
+
+  /**
+   * Creates an empty list holding at most the given number of segments.
+   *
+   * @param capacity maximum number of segments kept
+   * @since 0.16.0
+   */
+  public SegmentMatches(int capacity) {
+    legIndices = new int[capacity];
+    stepIndices = new int[capacity];
+    distances = new double[capacity];
+    distancesAlongStep = new double[capacity];
+  }
+
+  /**
+   * @return maximum number of segments kept
+   * @since 0.16.0
+   */
+  public int capacity() {
+    return distances.length;
+  }
+
+  /**
+   * @return number of segments found
+   * @since 0.16.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param match position in the list, 0 being the closest segment
+   * @return index of the leg holding the segment
+   * @since 0.16.0
+   */
+  public int legIndex(int match) {
+    return legIndices[match];
+  }
+
+  /**
+   * @param match position in the list, 0 being the closest segment
+   * @return index of the step holding the segment within its leg
+   * @since 0.16.0
+   */
+  public int stepIndex(int match) {
+    return stepIndices[match];
+  }
+
+  /**
+   * @param match position in the list, 0 being the closest segment
+   * @return distance in meters from the position to the closest point of the segment
+   * @since 0.16.0
+   */
+  public double distance(int match) {
+    return distances[match];
+  }
+
+  /**
+   * @param match position in the list, 0 being the closest segment
+   * @return distance in meters from the first vertex of the step to the closest point of the segment
+   * @since 0.16.0
+   */
+  public double distanceAlongStep(int match) {
+    return distancesAlongStep[match];
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Inserts the segment at its place by distance, dropping the furthest segment once full.
+   */
+  void add(int legIndex, int stepIndex, double distance, double distanceAlongStep) {
+    if (size == capacity() && (size == 0 || distance >= distances[size - 1])) {
+      return;
+    }
+    int position = size < capacity() ? size++ : size - 1;
+    while (position > 0 && distances[position - 1] > distance) {
+      legIndices[position] = legIndices[position - 1];
+      stepIndices[position] = stepIndices[position - 1];
+      distances[position] = distances[position - 1];
+      distancesAlongStep[position] = distancesAlongStep[position - 1];
+      position--;
+    }
+    legIndices[position] = legIndex;
+    stepIndices[position] = stepIndex;
+    distances[position] = distance;
+    distancesAlongStep[position] = distanceAlongStep;
+  }
+}
@@ -0,0 +1,140 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfMisc;
+
+import java.util.List;
+
+/**
+ * Snaps points to a step geometry, remembering the segment of the last match.
+ * <p>
+ * Consecutive location updates are usually close to each other along the step, so the next
+ * match is first searched for in a window of segments around the last one. Only when the best
+ * point in that window is farther than the maximum window distance (the user jumped), or is clamped
+ * to the first or last vertex of the window (the user moved faster than the window covers), are
+ * all the segments of the step scanned again.
+ * <p>
+ * The cursor resets when it's given a different step geometry list, so it's meant to be used with
+ * the stable step point lists provided by the {@link RouteGeometryIndex}.
+ *
+ * @since 0.16.0
+ */
+public class SnapCursor {
+
+  private static final String INDEX_KEY = "index";
+  private static final int DEFAULT_WINDOW_SEGMENTS = 8;
+  private static final double DEFAULT_MAXIMUM_WINDOW_DISTANCE = 25d;
+  private static final int NO_SEGMENT = -1;
+  private static final DistanceKernel HAVERSINE_KERNEL = DistanceKernel.create(DistanceKernel.HAVERSINE);
+
+  private final int windowSegments;
+  private final double maximumWindowDistance;
+  private List<Point> stepPoints;
+  private int segmentIndex = NO_SEGMENT;
+
+  /**
+   * Creates a cursor searching {@value #DEFAULT_WINDOW_SEGMENTS} segments before and after the last
+   * match, falling back to a full scan when the windowed match is more than
+   * {@value #DEFAULT_MAXIMUM_WINDOW_DISTANCE} meters away.
+   *
+   * @since 0.16.0
+   */
+  public SnapCursor() {
+    this(DEFAULT_WINDOW_SEGMENTS, DEFAULT_MAXIMUM_WINDOW_DISTANCE);
+  }
+
+  /**
+   * Creates a cursor with a custom window size and maximum window distance.
+   *
+   * @param windowSegments        number of segments searched before and after the last match
+   * @param maximumWindowDistance in meters, windowed matches farther away trigger a full scan
+   * @since 0.16.0
+   */
+  public SnapCursor(int windowSegments, double maximumWindowDistance) {
+    this.windowSegments = windowSegments;
+    this.maximumWindowDistance = maximumWindowDistance;
+  }
+
+  /**
+   * Finds the closest point on the step geometry to the given point, using the
+   * {@link DistanceKernel#HAVERSINE} kernel.
+   * <p>
+   * The returned {@link Feature} has the same shape as the one returned by
+   * {@link TurfMisc#nearestPointOnLine(Point, List)}: its geometry is the snapped point and its
+   * <tt>index</tt> property is the index of the first vertex of the matched segment.
+   *
+   * @param point      to be snapped
+   * @param stepPoints step geometry with at least two points
+   * @return feature with the snapped point and matched segment index
+   * @since 0.16.0
+   */
+  @NonNull
+  public Feature snap(@NonNull Point point, @NonNull List<Point> stepPoints) {
+    return snap(point, stepPoints, HAVERSINE_KERNEL);
+  }
+
+  /**
+   * Finds the closest point on the step geometry to the given point, using the given kernel
+   * to search the segments and measure the distance to the windowed match.
+   *
+   * @param point          to be snapped
+   * @param stepPoints     step geometry with at least two points
+   * @param distanceKernel used to search the step geometry
+   * @return feature with the snapped point and matched segment index
+   * @since 0.16.0
+   */
+  @NonNull
+  public Feature snap(@NonNull Point point, @NonNull List<Point> stepPoints, @NonNull DistanceKernel distanceKernel) {
+    if (this.stepPoints != stepPoints) {
+      this.stepPoints = stepPoints;
+      segmentIndex = NO_SEGMENT;
+    }
+    int segmentCount = stepPoints.size() - 1;
+    boolean canSearchWindow = segmentIndex != NO_SEGMENT && segmentCount > (windowSegments * 2) + 1;
+    if (canSearchWindow) {
+      int firstSegment = Math.max(0, segmentIndex - windowSegments);
+      int lastSegment = Math.min(segmentCount - 1, segmentIndex + windowSegments);
+      List<Point> windowPoints = stepPoints.subList(firstSegment, lastSegment + 2);
+      Feature windowMatch = distanceKernel.nearestPointOnLine(point, windowPoints);
+      Point windowMatchPoint = (Point) windowMatch.geometry();
+      boolean isClampedToWindow = (firstSegment > 0 && windowMatchPoint.equals(windowPoints.get(0)))
+        || (lastSegment < segmentCount - 1 && windowMatchPoint.equals(windowPoints.get(windowPoints.size() - 1)));
+      boolean isWindowMatch = !isClampedToWindow
+        && distanceKernel.distance(point, windowMatchPoint) <= maximumWindowDistance;
+      if (isWindowMatch) {
+        return updateMatch(windowMatch, firstSegment);
+      }
+    }
+    return updateMatch(distanceKernel.nearestPointOnLine(point, stepPoints), 0);
+  }
+
+  /**
+   * Index of the first vertex of the last matched segment, or -1 if nothing has been matched
+   * on the current step yet.
+   *
+   * @return last matched segment index
+   * @since 0.16.0
+   */
+  public int segmentIndex() {
+    return segmentIndex;
+  }
+
+  /**
+   * Forgets the last match, so the next snap scans the whole step.
+   *
+   * @since 0.16.0
+   */
+  public void reset() {
+    stepPoints = null;
+    segmentIndex = NO_SEGMENT;
+  }
+
+  private Feature updateMatch(Feature match, int firstSegment) {
+    segmentIndex = firstSegment + match.getNumberProperty(INDEX_KEY).intValue();
+    match.addNumberProperty(INDEX_KEY, segmentIndex);
+    return match;
+  }
+}
@@ -0,0 +1,46 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+/**
+ * A point along the geometry of a step and the bearing of the segment holding it.
+ * <p>
+ * Filled by {@link RouteGeometryIndex#findPosition(int, int, double, StepPosition)}, so the same
+ * instance can be reused for every lookup, for instance once per frame.
+ *
+ * @since 0.16.0
+ */
+public class StepPosition {
+
+  private double longitude;
+  private double latitude;
+  private double bearing;
+
+  /**
+   * @return longitude of the point
+   * @since 0.16.0
+   */
+  public double longitude() {
+    return longitude;
+  }
+
+  /**
+   * @return latitude of the point
+   * @since 0.16.0
+   */
+  public double latitude() {
+    return latitude;
+  }
+
+  /**
+   * @return bearing of the segment holding the point, in degrees clockwise from north between 0 and 360
+   * @since 0.16.0
+   */
+  public double bearing() {
+    return bearing;
+  }
+
+  void set(double longitude, double latitude, double bearing) {
+    this.longitude = longitude;
+    this.latitude = latitude;
+    this.bearing = bearing;
+  }
+}
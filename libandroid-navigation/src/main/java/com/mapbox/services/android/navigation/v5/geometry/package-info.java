@@ -0,0 +1,4 @@
+/**
+ * Contains the decoded route geometry and measurement structures shared by the navigation engine.
+ */
+package com.mapbox.services.android.navigation.v5.geometry;
@@ -0,0 +1,170 @@
+package com.mapbox.services.android.navigation.v5.instruction;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.VoiceInstructions;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the {@code distanceAlongGeometry} thresholds of the banner and voice instructions of a
+ * {@link LegStep} in primitive arrays, so the current instructions can be found with a binary
+ * search rather than filtering a copy of the instruction lists with every location update.
+ * <p>
+ * The instructions found are the same as with
+ * {@link com.mapbox.services.android.navigation.v5.utils.RouteUtils#findCurrentBannerInstructions(LegStep, double)}
+ * and
+ * {@link com.mapbox.services.android.navigation.v5.utils.RouteUtils#findCurrentVoiceInstructions(LegStep, double)}:
+ * the last instructions of the step whose distance along the geometry is at least the step
+ * distance remaining. The index also tells how far the user can travel along the step before other
+ * instructions are found, so callers can skip their work until then.
+ *
+ * @since 0.16.0
+ */
+public class StepInstructionIndex {
+
+  private static final int NOT_FOUND = -1;
+
+  private final LegStep step;
+  private final List<BannerInstructions> bannerInstructions;
+  private final double[] bannerThresholds;
+  private final List<VoiceInstructions> voiceInstructions;
+  private final double[] voiceThresholds;
+
+  /**
+   * Creates an index of the instructions of the given step.
+   *
+   * @param step with the instructions to be indexed
+   * @return a new index
+   * @since 0.16.0
+   */
+  @NonNull
+  public static StepInstructionIndex create(@NonNull LegStep step) {
+    return new StepInstructionIndex(step);
+  }
+
+  private StepInstructionIndex(LegStep step) {
+    this.step = step;
+    bannerInstructions = nonNull(step.bannerInstructions());
+    bannerThresholds = new double[bannerInstructions.size()];
+    for (int i = 0; i < bannerThresholds.length; i++) {
+      bannerThresholds[i] = bannerInstructions.get(i).distanceAlongGeometry();
+    }
+    toSuffixMaximums(bannerThresholds);
+    voiceInstructions = nonNull(step.voiceInstructions());
+    voiceThresholds = new double[voiceInstructions.size()];
+    for (int i = 0; i < voiceThresholds.length; i++) {
+      voiceThresholds[i] = voiceInstructions.get(i).distanceAlongGeometry();
+    }
+    toSuffixMaximums(voiceThresholds);
+  }
+
+  /**
+   * The step this index was built from.
+   *
+   * @return indexed step
+   * @since 0.16.0
+   */
+  @NonNull
+  public LegStep step() {
+    return step;
+  }
+
+  /**
+   * Finds the banner instructions to be shown at the given distance remaining along the step.
+   *
+   * @param stepDistanceRemaining to determine progress along the step
+   * @return the current banner instructions, or null if there are none yet
+   * @since 0.16.0
+   */
+  @Nullable
+  public BannerInstructions findBannerInstructions(double stepDistanceRemaining) {
+    int index = findLast(bannerThresholds, (int) stepDistanceRemaining);
+    return index == NOT_FOUND ? null : bannerInstructions.get(index);
+  }
+
+  /**
+   * The distance the user can travel from the given distance remaining along the step before
+   * {@link #findBannerInstructions(double)} finds other instructions.
+   *
+   * @param stepDistanceRemaining to determine progress along the step
+   * @return distance in meters, or infinity if the last instructions of the step are found
+   * @since 0.16.0
+   */
+  public double distanceToNextBannerInstructions(double stepDistanceRemaining) {
+    int next = findLast(bannerThresholds, (int) stepDistanceRemaining) + 1;
+    if (next == bannerThresholds.length) {
+      return Double.POSITIVE_INFINITY;
+    }
+    // The distance remaining is truncated to whole meters before being compared
+    double nextDistanceRemaining = Math.floor(bannerThresholds[next]) + 1;
+    return Math.max(0, stepDistanceRemaining - nextDistanceRemaining);
+  }
+
+  /**
+   * Finds the voice instructions to be announced at the given distance remaining along the step.
+   *
+   * @param stepDistanceRemaining to determine progress along the step
+   * @return the current voice instructions, or null if there are none yet
+   * @since 0.16.0
+   */
+  @Nullable
+  public VoiceInstructions findVoiceInstructions(double stepDistanceRemaining) {
+    int index = findLast(voiceThresholds, stepDistanceRemaining);
+    return index == NOT_FOUND ? null : voiceInstructions.get(index);
+  }
+
+  /**
+   * The distance the user can travel from the given distance remaining along the step before
+   * {@link #findVoiceInstructions(double)} finds other instructions.
+   *
+   * @param stepDistanceRemaining to determine progress along the step
+   * @return distance in meters, or infinity if the last instructions of the step are found
+   * @since 0.16.0
+   */
+  public double distanceToNextVoiceInstructions(double stepDistanceRemaining) {
+    int next = findLast(voiceThresholds, stepDistanceRemaining) + 1;
+    if (next == voiceThresholds.length) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return Math.max(0, stepDistanceRemaining - voiceThresholds[next]);
+  }
+
+  private static <T> List<T> nonNull(List<T> instructions) {
+    return instructions == null ? Collections.<T>emptyList() : instructions;
+  }
+
+  /**
+   * Replaces each threshold with the largest one from it to the end of the step, so the thresholds
+   * never increase and the last instructions reaching the distance remaining can be binary searched,
+   * even if the step lists them out of order.
+   */
+  private static void toSuffixMaximums(double[] thresholds) {
+    for (int i = thresholds.length - 2; i >= 0; i--) {
+      thresholds[i] = Math.max(thresholds[i], thresholds[i + 1]);
+    }
+  }
+
+  /**
+   * Binary search of the last threshold at least equal to the distance remaining.
+   */
+  private static int findLast(double[] thresholds, double distanceRemaining) {
+    int low = 0;
+    int high = thresholds.length - 1;
+    int found = NOT_FOUND;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (thresholds[middle] >= distanceRemaining) {
+        found = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return found;
+  }
+}
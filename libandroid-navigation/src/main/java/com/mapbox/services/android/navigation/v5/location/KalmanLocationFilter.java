@@ -0,0 +1,243 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.StepPosition;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfConversion;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.MAXIMUM_DEAD_RECKONING_TIME_IN_MILLIS;
+
+/**
+ * Default {@link LocationFilter}, a constant velocity Kalman filter.
+ * <p>
+ * The position and velocity of the user are estimated in meters, east and north of the last
+ * filtered location, each axis with its own two state filter. Every update is weighted by its
+ * accuracy, and its speed and bearing are used as a velocity measurement when the user is moving,
+ * so a single noisy fix moves the filtered location much less than it moves the raw one. The
+ * filter starts over when updates stop for more than ten seconds.
+ * <p>
+ * When updates drop out, the location is predicted at the filtered speed along the geometry of the
+ * route, starting from the latest {@link RouteProgress}, or straight ahead if the route hasn't been
+ * indexed. Each update and prediction costs a fixed number of operations, apart from a binary search
+ * of the step vertices when predicting along the route.
+ *
+ * @since 0.16.0
+ */
+public class KalmanLocationFilter extends LocationFilter {
+
+  private static final double ACCELERATION_VARIANCE = 4d;
+  private static final double VELOCITY_VARIANCE = 1d;
+  private static final double UNKNOWN_VELOCITY_VARIANCE = 100d;
+  private static final float DEFAULT_ACCURACY = 10f;
+  private static final float MINIMUM_ACCURACY = 1f;
+  private static final float MINIMUM_SPEED = 1f;
+  private static final long MAXIMUM_UPDATE_GAP_IN_MILLIS = 10000;
+  private static final double MILLIS_PER_SECOND = 1000d;
+  private static final double FULL_CIRCLE = 360d;
+  private static final double METERS_PER_DEGREE = TurfConversion.radiansToLength(
+    TurfConversion.degreesToRadians(1), TurfConstants.UNIT_METERS
+  );
+
+  private final Axis east = new Axis();
+  private final Axis north = new Axis();
+  private final StepPosition stepPosition = new StepPosition();
+  private Location lastLocation;
+  private double latitude;
+  private double longitude;
+  private long lastPredictionMillis;
+
+  @NonNull
+  @Override
+  public Location filter(@NonNull Location location) {
+    long millisSinceLastUpdate = lastLocation == null ? -1 : location.getTime() - lastLocation.getTime();
+    lastLocation = location;
+    lastPredictionMillis = 0;
+    if (millisSinceLastUpdate < 0 || millisSinceLastUpdate > MAXIMUM_UPDATE_GAP_IN_MILLIS) {
+      reset(location);
+      return location;
+    }
+    double seconds = millisSinceLastUpdate / MILLIS_PER_SECOND;
+    east.predict(seconds);
+    north.predict(seconds);
+
+    double metersPerLongitude = METERS_PER_DEGREE * Math.cos(TurfConversion.degreesToRadians(latitude));
+    double eastMeters = (location.getLongitude() - longitude) * metersPerLongitude;
+    double northMeters = (location.getLatitude() - latitude) * METERS_PER_DEGREE;
+    double positionVariance = positionVariance(location);
+    if (hasVelocity(location)) {
+      double bearing = TurfConversion.degreesToRadians(location.getBearing());
+      east.update(eastMeters, positionVariance, location.getSpeed() * Math.sin(bearing));
+      north.update(northMeters, positionVariance, location.getSpeed() * Math.cos(bearing));
+    } else {
+      east.update(eastMeters, positionVariance);
+      north.update(northMeters, positionVariance);
+    }
+
+    // The filtered location becomes the origin of the local plane
+    latitude += north.position / METERS_PER_DEGREE;
+    longitude += east.position / metersPerLongitude;
+    east.position = 0;
+    north.position = 0;
+    return buildLocation(location, latitude, longitude, location.getTime());
+  }
+
+  @Nullable
+  @Override
+  public Location predict(long millisSinceLastUpdate, @Nullable RouteProgress routeProgress) {
+    double speed = speed();
+    boolean canPredict = lastLocation != null && speed >= MINIMUM_SPEED
+      && millisSinceLastUpdate > lastPredictionMillis
+      && millisSinceLastUpdate <= MAXIMUM_DEAD_RECKONING_TIME_IN_MILLIS;
+    if (!canPredict) {
+      return null;
+    }
+    long time = lastLocation.getTime() + millisSinceLastUpdate;
+    Location predictedLocation = null;
+    if (routeProgress != null && routeProgress.routeGeometryIndex() != null) {
+      double distance = speed * (millisSinceLastUpdate - lastPredictionMillis) / MILLIS_PER_SECOND;
+      predictedLocation = predictAlongRoute(routeProgress, distance, time);
+    }
+    if (predictedLocation == null) {
+      double seconds = millisSinceLastUpdate / MILLIS_PER_SECOND;
+      double metersPerLongitude = METERS_PER_DEGREE * Math.cos(TurfConversion.degreesToRadians(latitude));
+      predictedLocation = buildLocation(lastLocation, latitude + north.velocity * seconds / METERS_PER_DEGREE,
+        longitude + east.velocity * seconds / metersPerLongitude, time);
+    }
+    lastPredictionMillis = millisSinceLastUpdate;
+    return predictedLocation;
+  }
+
+  /**
+   * Moves the given distance along the route from the location of the route progress, continuing
+   * on the following steps of the leg if needed, but not past its end.
+   */
+  @Nullable
+  private Location predictAlongRoute(RouteProgress routeProgress, double distance, long time) {
+    RouteGeometryIndex index = routeProgress.routeGeometryIndex();
+    int legIndex = routeProgress.legIndex();
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    double distanceAlongStep = Math.max(0, index.stepLength(legIndex, stepIndex) - stepDistanceRemaining) + distance;
+    while (distanceAlongStep > index.stepLength(legIndex, stepIndex)
+      && index.stepPointCount(legIndex, stepIndex + 1) > 1) {
+      distanceAlongStep -= index.stepLength(legIndex, stepIndex);
+      stepIndex++;
+    }
+    if (!index.findPosition(legIndex, stepIndex, distanceAlongStep, stepPosition)) {
+      return null;
+    }
+    Location predictedLocation = buildLocation(lastLocation, stepPosition.latitude(), stepPosition.longitude(), time);
+    predictedLocation.setBearing((float) stepPosition.bearing());
+    return predictedLocation;
+  }
+
+  private void reset(Location location) {
+    latitude = location.getLatitude();
+    longitude = location.getLongitude();
+    double positionVariance = positionVariance(location);
+    if (hasVelocity(location)) {
+      double bearing = TurfConversion.degreesToRadians(location.getBearing());
+      east.reset(location.getSpeed() * Math.sin(bearing), positionVariance, VELOCITY_VARIANCE);
+      north.reset(location.getSpeed() * Math.cos(bearing), positionVariance, VELOCITY_VARIANCE);
+    } else {
+      east.reset(0, positionVariance, UNKNOWN_VELOCITY_VARIANCE);
+      north.reset(0, positionVariance, UNKNOWN_VELOCITY_VARIANCE);
+    }
+  }
+
+  private Location buildLocation(Location template, double latitude, double longitude, long time) {
+    Location location = SampleLocation.copy(template);
+    location.setLatitude(latitude);
+    location.setLongitude(longitude);
+    location.setTime(time);
+    double speed = speed();
+    if (speed >= MINIMUM_SPEED) {
+      location.setSpeed((float) speed);
+      double bearing = TurfConversion.radiansToDegrees(Math.atan2(east.velocity, north.velocity));
+      location.setBearing((float) normalizeBearing(bearing));
+    }
+    return location;
+  }
+
+  private double speed() {
+    return Math.sqrt(east.velocity * east.velocity + north.velocity * north.velocity);
+  }
+
+  private static boolean hasVelocity(Location location) {
+    return location.hasSpeed() && location.hasBearing() && location.getSpeed() >= MINIMUM_SPEED;
+  }
+
+  private static double positionVariance(Location location) {
+    float accuracy = location.hasAccuracy() ? Math.max(location.getAccuracy(), MINIMUM_ACCURACY) : DEFAULT_ACCURACY;
+    return accuracy * accuracy;
+  }
+
+  private static double normalizeBearing(double bearing) {
+    return (bearing + FULL_CIRCLE) % FULL_CIRCLE;
+  }
+
+  /**
+   * Position and velocity along one axis of the local plane, along with their covariance.
+   */
+  private static class Axis {
+
+    private double position;
+    private double velocity;
+    private double positionVariance;
+    private double covariance;
+    private double velocityVariance;
+
+    void reset(double velocity, double positionVariance, double velocityVariance) {
+      position = 0;
+      this.velocity = velocity;
+      this.positionVariance = positionVariance;
+      covariance = 0;
+      this.velocityVariance = velocityVariance;
+    }
+
+    void predict(double seconds) {
+      double squaredSeconds = seconds * seconds;
+      position += velocity * seconds;
+      positionVariance += 2 * seconds * covariance + squaredSeconds * velocityVariance
+        + ACCELERATION_VARIANCE * squaredSeconds * squaredSeconds / 4;
+      covariance += seconds * velocityVariance + ACCELERATION_VARIANCE * squaredSeconds * seconds / 2;
+      velocityVariance += ACCELERATION_VARIANCE * squaredSeconds;
+    }
+
+    void update(double measuredPosition, double measuredPositionVariance) {
+      double residualVariance = positionVariance + measuredPositionVariance;
+      double positionGain = positionVariance / residualVariance;
+      double velocityGain = covariance / residualVariance;
+      double residual = measuredPosition - position;
+      position += positionGain * residual;
+      velocity += velocityGain * residual;
+      velocityVariance -= velocityGain * covariance;
+      covariance -= positionGain * covariance;
+      positionVariance -= positionGain * positionVariance;
+    }
+
+    void update(double measuredPosition, double measuredPositionVariance, double measuredVelocity) {
+      double s00 = positionVariance + measuredPositionVariance;
+      double s11 = velocityVariance + VELOCITY_VARIANCE;
+      double determinant = s00 * s11 - covariance * covariance;
+      double k00 = (positionVariance * s11 - covariance * covariance) / determinant;
+      double k01 = (covariance * s00 - positionVariance * covariance) / determinant;
+      double k10 = (covariance * s11 - velocityVariance * covariance) / determinant;
+      double k11 = (velocityVariance * s00 - covariance * covariance) / determinant;
+      double positionResidual = measuredPosition - position;
+      double velocityResidual = measuredVelocity - velocity;
+      position += k00 * positionResidual + k01 * velocityResidual;
+      velocity += k10 * positionResidual + k11 * velocityResidual;
+      double updatedPositionVariance = (1 - k00) * positionVariance - k01 * covariance;
+      double updatedCovariance = (1 - k00) * covariance - k01 * velocityVariance;
+      velocityVariance = (1 - k11) * velocityVariance - k10 * covariance;
+      positionVariance = updatedPositionVariance;
+      covariance = updatedCovariance;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Smooths the location updates accepted by the {@link LocationValidator} before they reach the
+ * route processor, and predicts where the user is when no update arrives for a while, for instance
+ * in a tunnel.
+ * <p>
+ * Both methods are called on the navigation thread, once per update, so a filter may keep state
+ * between calls but shouldn't be shared between navigation sessions.
+ *
+ * @since 0.16.0
+ */
+public abstract class LocationFilter {
+
+  /**
+   * Filters a new location update.
+   *
+   * @param location accepted by the {@link LocationValidator}
+   * @return the location to be processed, either the given one or a new instance
+   * @since 0.16.0
+   */
+  @NonNull
+  public abstract Location filter(@NonNull Location location);
+
+  /**
+   * Predicts the location of the user when no update has been received for the given time.
+   *
+   * @param millisSinceLastUpdate time since the last location given to {@link #filter(Location)}
+   * @param routeProgress         the latest progress, null if no update has been processed yet
+   * @return the predicted location, or null if it can't be predicted
+   * @since 0.16.0
+   */
+  @Nullable
+  public abstract Location predict(long millisSinceLastUpdate, @Nullable RouteProgress routeProgress);
+}
@@ -0,0 +1,68 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+/**
+ * A location fix given to the {@link com.mapbox.services.android.navigation.v5.navigation.NavigationCore},
+ * carrying only the values the navigation checks read.
+ * <p>
+ * Unlike {@link android.location.Location}, a sample doesn't need the Android runtime, so recorded
+ * fixes can be replayed through a core on a plain JVM. On a device, the navigation engine hands the
+ * {@link android.location.Location} updates to its core as they are.
+ *
+ * @since 0.16.0
+ */
+public interface LocationSample {
+
+  /**
+   * @return latitude in degrees
+   * @since 0.16.0
+   */
+  double latitude();
+
+  /**
+   * @return longitude in degrees
+   * @since 0.16.0
+   */
+  double longitude();
+
+  /**
+   * @return UTC time of the fix in milliseconds since January 1, 1970
+   * @since 0.16.0
+   */
+  long time();
+
+  /**
+   * @return true if the fix has a speed
+   * @since 0.16.0
+   */
+  boolean hasSpeed();
+
+  /**
+   * @return speed in meters per second, 0 if the fix has no speed
+   * @since 0.16.0
+   */
+  float speed();
+
+  /**
+   * @return true if the fix has a bearing
+   * @since 0.16.0
+   */
+  boolean hasBearing();
+
+  /**
+   * @return bearing in degrees, 0 if the fix has no bearing
+   * @since 0.16.0
+   */
+  float bearing();
+
+  /**
+   * @return true if the fix has an accuracy
+   * @since 0.16.0
+   */
+  boolean hasAccuracy();
+
+  /**
+   * @return horizontal accuracy radius in meters, 0 if the fix has no accuracy
+   * @since 0.16.0
+   */
+  float accuracy();
+}
@@ -0,0 +1,182 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+/**
+ * A {@link Location} holding its values in its own fields, so the navigation checks built on
+ * {@link Location} also run on a plain JVM, where the android.jar stub only returns default values.
+ * <p>
+ * The setters update both these fields and the {@link Location} ones, so the location behaves the
+ * same on a device.
+ *
+ * @since 0.16.0
+ */
+public class SampleLocation extends Location {
+
+  private static final String SAMPLE_PROVIDER = "sample";
+  private static final float FULL_CIRCLE = 360f;
+
+  private double latitude;
+  private double longitude;
+  private long time;
+  private boolean hasSpeed;
+  private float speed;
+  private boolean hasBearing;
+  private float bearing;
+  private boolean hasAccuracy;
+  private float accuracy;
+
+  /**
+   * Creates a location with the values of the given sample.
+   *
+   * @param sample to be processed by the navigation checks
+   * @since 0.16.0
+   */
+  public SampleLocation(@NonNull LocationSample sample) {
+    super(SAMPLE_PROVIDER);
+    setLatitude(sample.latitude());
+    setLongitude(sample.longitude());
+    setTime(sample.time());
+    if (sample.hasSpeed()) {
+      setSpeed(sample.speed());
+    }
+    if (sample.hasBearing()) {
+      setBearing(sample.bearing());
+    }
+    if (sample.hasAccuracy()) {
+      setAccuracy(sample.accuracy());
+    }
+  }
+
+  /**
+   * Creates a copy of the given location.
+   *
+   * @param location to be copied
+   * @since 0.16.0
+   */
+  public SampleLocation(@NonNull Location location) {
+    super(location);
+    setLatitude(location.getLatitude());
+    setLongitude(location.getLongitude());
+    setTime(location.getTime());
+    if (location.hasSpeed()) {
+      setSpeed(location.getSpeed());
+    }
+    if (location.hasBearing()) {
+      setBearing(location.getBearing());
+    }
+    if (location.hasAccuracy()) {
+      setAccuracy(location.getAccuracy());
+    }
+  }
+
+  /**
+   * Copies the given location, keeping its values readable on a plain JVM if it's a
+   * {@link SampleLocation}.
+   *
+   * @param location to be copied
+   * @return a new location with the same values
+   * @since 0.16.0
+   */
+  @NonNull
+  public static Location copy(@NonNull Location location) {
+    if (location instanceof SampleLocation) {
+      return new SampleLocation(location);
+    }
+    return new Location(location);
+  }
+
+  @Override
+  public double getLatitude() {
+    return latitude;
+  }
+
+  @Override
+  public void setLatitude(double latitude) {
+    this.latitude = latitude;
+    super.setLatitude(latitude);
+  }
+
+  @Override
+  public double getLongitude() {
+    return longitude;
+  }
+
+  @Override
+  public void setLongitude(double longitude) {
+    this.longitude = longitude;
+    super.setLongitude(longitude);
+  }
+
+  @Override
+  public long getTime() {
+    return time;
+  }
+
+  @Override
+  public void setTime(long time) {
+    this.time = time;
+    super.setTime(time);
+  }
+
+  @Override
+  public boolean hasSpeed() {
+    return hasSpeed;
+  }
+
+  @Override
+  public float getSpeed() {
+    return speed;
+  }
+
+  @Override
+  public void setSpeed(float speed) {
+    this.speed = speed;
+    hasSpeed = true;
+    super.setSpeed(speed);
+  }
+
+  @Override
+  public boolean hasBearing() {
+    return hasBearing;
+  }
+
+  @Override
+  public float getBearing() {
+    return bearing;
+  }
+
+  /**
+   * As with {@link Location#setBearing(float)}, the bearing is wrapped to [0, 360).
+   */
+  @Override
+  public void setBearing(float bearing) {
+    while (bearing < 0) {
+      bearing += FULL_CIRCLE;
+    }
+    while (bearing >= FULL_CIRCLE) {
+      bearing -= FULL_CIRCLE;
+    }
+    this.bearing = bearing;
+    hasBearing = true;
+    super.setBearing(bearing);
+  }
+
+  @Override
+  public boolean hasAccuracy() {
+    return hasAccuracy;
+  }
+
+  @Override
+  public float getAccuracy() {
+    return accuracy;
+  }
+
+  @Override
+  public void setAccuracy(float accuracy) {
+    this.accuracy = accuracy;
+    hasAccuracy = true;
+    super.setAccuracy(accuracy);
+  }
+}
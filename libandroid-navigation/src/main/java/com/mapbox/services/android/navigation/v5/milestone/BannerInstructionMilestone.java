@@ -2,18 +2,18 @@ package com.mapbox.services.android.navigation.v5.milestone;
 
 import com.mapbox.api.directions.v5.models.BannerInstructions;
 import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.instruction.StepInstructionIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
 public class BannerInstructionMilestone extends Milestone {
 
   private BannerInstructions instructions;
-  private RouteUtils routeUtils;
+  private final InstructionWindow instructionWindow;
 
   BannerInstructionMilestone(Builder builder) {
     super(builder);
-    routeUtils = new RouteUtils();
+    instructionWindow = new InstructionWindow();
   }
 
   @Override
@@ -21,12 +21,19 @@ public class BannerInstructionMilestone extends Milestone {
     RouteLegProgress legProgress = routeProgress.currentLegProgress();
     LegStep currentStep = legProgress.currentStep();
     double stepDistanceRemaining = legProgress.currentStepProgress().distanceRemaining();
-    BannerInstructions instructions = routeUtils.findCurrentBannerInstructions(currentStep, stepDistanceRemaining);
-    if (shouldBeShown(instructions, stepDistanceRemaining)) {
+    if (currentStep == null || instructionWindow.contains(currentStep, stepDistanceRemaining)) {
+      return false;
+    }
+    StepInstructionIndex instructionIndex = instructionWindow.index(currentStep);
+    BannerInstructions instructions = instructionIndex.findBannerInstructions(stepDistanceRemaining);
+    boolean shouldBeShown = shouldBeShown(instructions, stepDistanceRemaining);
+    if (shouldBeShown) {
       this.instructions = instructions;
-      return true;
     }
-    return false;
+    instructionWindow.open(stepDistanceRemaining,
+      instructionIndex.distanceToNextBannerInstructions(stepDistanceRemaining),
+      instructions != null ? instructions.distanceAlongGeometry() : Double.NEGATIVE_INFINITY);
+    return shouldBeShown;
   }
 
   /**
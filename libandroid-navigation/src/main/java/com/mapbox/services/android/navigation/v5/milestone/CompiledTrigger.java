@@ -0,0 +1,214 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Trigger.Statement} tree flattened into a compact program, checked against a
+ * {@link TriggerSnapshot} without allocating or boxing.
+ * <p>
+ * The statements are stored in postfix order: each compound statement follows the statements it
+ * groups and combines their results, taken from a preallocated stack. Trees holding statements
+ * which can't be compiled, such as custom {@link Trigger.Statement} subclasses, are checked
+ * against {@link TriggerProperty#getSparseArray} as before.
+ */
+final class CompiledTrigger {
+
+  static final int ALL = 0;
+  static final int ANY = 1;
+  static final int NONE = 2;
+  static final int GREATER_THAN = 3;
+  static final int GREATER_THAN_EQUAL = 4;
+  static final int LESS_THAN = 5;
+  static final int LESS_THAN_EQUAL = 6;
+  static final int EQUAL = 7;
+  static final int NOT_EQUAL = 8;
+  private static final int ALWAYS = 9;
+  private static final int NEVER = 10;
+
+  private final int[] operations;
+  private final int[] arguments;
+  private final double[] operands;
+  private final boolean[] negations;
+  private final boolean[] stack;
+
+  private CompiledTrigger(Program program) {
+    operations = Arrays.copyOf(program.operations, program.size);
+    arguments = Arrays.copyOf(program.arguments, program.size);
+    operands = Arrays.copyOf(program.operands, program.size);
+    negations = Arrays.copyOf(program.negations, program.size);
+    stack = new boolean[program.size];
+  }
+
+  /**
+   * Compiles the statement tree.
+   *
+   * @param statement to compile
+   * @return the compiled trigger, null if the tree holds a statement which can't be compiled
+   */
+  @Nullable
+  static CompiledTrigger compile(@Nullable Trigger.Statement statement) {
+    Program program = new Program();
+    if (statement == null || !statement.compile(program)) {
+      return null;
+    }
+    return new CompiledTrigger(program);
+  }
+
+  /**
+   * Checks the trigger with the compiled program if there's one, otherwise with the statement tree.
+   *
+   * @param compiledTrigger compiled from the statement, or null
+   * @param statement       the trigger of the milestone
+   * @param triggerSnapshot of the location update
+   * @return true if the trigger's valid, false otherwise
+   */
+  static boolean isOccurring(@Nullable CompiledTrigger compiledTrigger, Trigger.Statement statement,
+                             TriggerSnapshot triggerSnapshot) {
+    if (compiledTrigger != null) {
+      return compiledTrigger.isOccurring(triggerSnapshot);
+    }
+    return statement.isOccurring(TriggerProperty.getSparseArray(
+      triggerSnapshot.previousRouteProgress(), triggerSnapshot.routeProgress()));
+  }
+
+  boolean isOccurring(TriggerSnapshot triggerSnapshot) {
+    int top = 0;
+    for (int instruction = 0; instruction < operations.length; instruction++) {
+      int operation = operations[instruction];
+      if (operation == ALL || operation == ANY || operation == NONE) {
+        int first = top - arguments[instruction];
+        boolean result = combine(operation, first, top);
+        top = first;
+        stack[top++] = result;
+      } else {
+        stack[top++] = compare(operation, arguments[instruction], operands[instruction], triggerSnapshot)
+          != negations[instruction];
+      }
+    }
+    return stack[0];
+  }
+
+  /**
+   * How far the property can move from its value in the snapshot before any of the comparisons
+   * reading it could change its result.
+   *
+   * @param key             of a single property
+   * @param triggerSnapshot the trigger was last checked against
+   * @return the distance to the closest operand compared with the property, infinity if the
+   * trigger doesn't read it
+   */
+  double margin(int key, TriggerSnapshot triggerSnapshot) {
+    double margin = Double.POSITIVE_INFINITY;
+    for (int instruction = 0; instruction < operations.length; instruction++) {
+      int operation = operations[instruction];
+      if (operation >= GREATER_THAN && operation <= NOT_EQUAL && arguments[instruction] == key) {
+        margin = Math.min(margin, Math.abs(triggerSnapshot.value(key) - operands[instruction]));
+      }
+    }
+    return margin;
+  }
+
+  private boolean combine(int operation, int first, int top) {
+    for (int i = first; i < top; i++) {
+      if (operation == ALL && !stack[i]) {
+        return false;
+      } else if (operation != ALL && stack[i]) {
+        return operation == ANY;
+      }
+    }
+    return operation != ANY;
+  }
+
+  private static boolean compare(int operation, int key, double operand, TriggerSnapshot triggerSnapshot) {
+    if (operation == ALWAYS || operation == NEVER) {
+      return operation == ALWAYS;
+    }
+    double value = triggerSnapshot.value(key);
+    double other = TriggerSnapshot.isPaired(key) ? triggerSnapshot.pairedValue(key) : operand;
+    switch (operation) {
+      case GREATER_THAN:
+        return value > other;
+      case GREATER_THAN_EQUAL:
+        return value >= other;
+      case LESS_THAN:
+        return value < other;
+      case LESS_THAN_EQUAL:
+        return value <= other;
+      case EQUAL:
+        return Double.doubleToLongBits(value) == Double.doubleToLongBits(other);
+      default:
+        return Double.doubleToLongBits(value) != Double.doubleToLongBits(other);
+    }
+  }
+
+  /**
+   * Collects the instructions of a statement tree, in postfix order.
+   */
+  static final class Program {
+
+    private int[] operations = new int[8];
+    private int[] arguments = new int[8];
+    private double[] operands = new double[8];
+    private boolean[] negations = new boolean[8];
+    private int size;
+
+    private Program() {
+    }
+
+    /**
+     * Adds the grouped statements, then the compound statement combining their results.
+     */
+    boolean addCompound(int operation, Trigger.Statement[] statements) {
+      if (statements == null) {
+        return false;
+      }
+      for (Trigger.Statement statement : statements) {
+        if (statement == null || !statement.compile(this)) {
+          return false;
+        }
+      }
+      add(operation, statements.length, 0, false);
+      return true;
+    }
+
+    /**
+     * Adds a simple statement, following {@link Operation}: a paired property compares its two
+     * values, negated unless the value is {@link TriggerProperty#TRUE}, and equality requires the
+     * value to be boxed as the property is.
+     */
+    boolean addComparison(int operation, int key, Object value) {
+      if (!TriggerSnapshot.isKnown(key) || !(value instanceof Number)) {
+        return false;
+      }
+      if (TriggerSnapshot.isPaired(key)) {
+        add(operation, key, 0, !value.equals(TriggerProperty.TRUE));
+        return true;
+      }
+      boolean isEquality = operation == EQUAL || operation == NOT_EQUAL;
+      Class<?> propertyType = TriggerSnapshot.isInteger(key) ? Integer.class : Double.class;
+      if (isEquality && value.getClass() != propertyType) {
+        add(operation == EQUAL ? NEVER : ALWAYS, key, 0, false);
+        return true;
+      }
+      add(operation, key, ((Number) value).doubleValue(), false);
+      return true;
+    }
+
+    private void add(int operation, int argument, double operand, boolean negated) {
+      if (size == operations.length) {
+        int capacity = size * 2;
+        operations = Arrays.copyOf(operations, capacity);
+        arguments = Arrays.copyOf(arguments, capacity);
+        operands = Arrays.copyOf(operands, capacity);
+        negations = Arrays.copyOf(negations, capacity);
+      }
+      operations[size] = operation;
+      arguments[size] = argument;
+      operands[size] = operand;
+      negations[size] = negated;
+      size++;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.instruction.StepInstructionIndex;
+
+/**
+ * The instruction index of the current step, along with the distances remaining along the step
+ * over which an instruction milestone can't change its result, so it doesn't need to be checked
+ * again.
+ * <p>
+ * The window starts at the distance remaining the milestone was last checked with and ends where
+ * the index finds the next instructions, or earlier if the instructions found weren't reached yet.
+ * Moving back along the step or to another step falls out of the window.
+ */
+final class InstructionWindow {
+
+  private StepInstructionIndex instructionIndex;
+  private double startDistanceRemaining;
+  private double endDistanceRemaining;
+  private boolean isOpen;
+
+  /**
+   * Returns the index of the given step, built when the step changes.
+   *
+   * @param step the user is on
+   * @return index of the step instructions
+   */
+  StepInstructionIndex index(LegStep step) {
+    if (instructionIndex == null || instructionIndex.step() != step) {
+      instructionIndex = StepInstructionIndex.create(step);
+      isOpen = false;
+    }
+    return instructionIndex;
+  }
+
+  /**
+   * Opens the window from the distance remaining the milestone was just checked with.
+   *
+   * @param stepDistanceRemaining         the milestone was checked with
+   * @param distanceToNextInstructions    before the index finds other instructions
+   * @param instructionsDistanceRemaining distance along the geometry of the instructions found,
+   *                                      or negative infinity if none were found
+   */
+  void open(double stepDistanceRemaining, double distanceToNextInstructions, double instructionsDistanceRemaining) {
+    startDistanceRemaining = stepDistanceRemaining;
+    endDistanceRemaining = stepDistanceRemaining - distanceToNextInstructions;
+    if (instructionsDistanceRemaining < stepDistanceRemaining) {
+      endDistanceRemaining = Math.max(endDistanceRemaining, instructionsDistanceRemaining);
+    }
+    isOpen = true;
+  }
+
+  boolean contains(LegStep step, double stepDistanceRemaining) {
+    return isOpen
+      && instructionIndex.step() == step
+      && stepDistanceRemaining <= startDistanceRemaining
+      && stepDistanceRemaining > endDistanceRemaining;
+  }
+}
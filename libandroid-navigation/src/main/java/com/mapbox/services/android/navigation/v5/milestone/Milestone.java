@@ -13,6 +13,9 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 public abstract class Milestone {
 
   private Builder builder;
+  private Trigger.Statement compiledStatement;
+  private CompiledTrigger compiledTrigger;
+  private final TriggerWindow triggerWindow = new TriggerWindow();
 
   public Milestone(Builder builder) {
     this.builder = builder;
@@ -55,6 +58,51 @@ public abstract class Milestone {
   public abstract boolean isOccurring(RouteProgress previousRouteProgress,
                                       RouteProgress routeProgress);
 
+  /**
+   * Same as {@link #isOccurring(RouteProgress, RouteProgress)}, with the {@link TriggerProperty}
+   * values of this location update already in a {@link TriggerSnapshot} shared by all milestones.
+   * <p>
+   * Milestones checking a {@link Trigger} override this to skip building the values again.
+   *
+   * @param previousRouteProgress last locations generated {@link RouteProgress} object used to
+   *                              determine certain {@link TriggerProperty}s
+   * @param routeProgress         used to determine certain {@link TriggerProperty}s
+   * @param triggerSnapshot       updated with both route progresses
+   * @return true if the milestone trigger's valid, else false
+   * @since 0.16.0
+   */
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerSnapshot triggerSnapshot) {
+    return isOccurring(previousRouteProgress, routeProgress);
+  }
+
+  /**
+   * Checks the trigger of the builder, compiled the first time it's checked and again whenever
+   * it's replaced. A compiled trigger which didn't occur isn't checked again until the step
+   * progress gets close enough to one of its thresholds, see {@link TriggerWindow}.
+   */
+  boolean isTriggerOccurring(TriggerSnapshot triggerSnapshot) {
+    Trigger.Statement trigger = builder.getTrigger();
+    if (trigger != compiledStatement) {
+      compiledStatement = trigger;
+      compiledTrigger = CompiledTrigger.compile(trigger);
+      triggerWindow.close();
+    }
+    if (compiledTrigger == null) {
+      return CompiledTrigger.isOccurring(null, trigger, triggerSnapshot);
+    }
+    if (triggerWindow.contains(triggerSnapshot)) {
+      return false;
+    }
+    boolean isOccurring = compiledTrigger.isOccurring(triggerSnapshot);
+    if (isOccurring) {
+      triggerWindow.close();
+    } else {
+      triggerWindow.open(compiledTrigger, triggerSnapshot);
+    }
+    return isOccurring;
+  }
+
   /**
    * Build a new {@link Milestone}
    *
@@ -11,19 +11,26 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
  */
 public class RouteMilestone extends Milestone {
 
-  private Builder builder;
+  private TriggerSnapshot triggerSnapshot;
   private boolean called;
 
   private RouteMilestone(Builder builder) {
     super(builder);
-    this.builder = builder;
   }
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    if (triggerSnapshot == null) {
+      triggerSnapshot = new TriggerSnapshot();
+    }
+    triggerSnapshot.update(previousRouteProgress, routeProgress);
+    return isOccurring(previousRouteProgress, routeProgress, triggerSnapshot);
+  }
 
-    if (builder.getTrigger().isOccurring(
-      TriggerProperty.getSparseArray(previousRouteProgress, routeProgress)) && !called) {
+  @Override
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerSnapshot triggerSnapshot) {
+    if (!called && isTriggerOccurring(triggerSnapshot)) {
       called = true;
       return true;
     }
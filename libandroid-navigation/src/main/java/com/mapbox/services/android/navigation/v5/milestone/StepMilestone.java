@@ -12,16 +12,25 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
  */
 public class StepMilestone extends Milestone {
 
-  private Builder builder;
+  private TriggerSnapshot triggerSnapshot;
   private boolean called;
 
   private StepMilestone(Builder builder) {
     super(builder);
-    this.builder = builder;
   }
 
   @Override
   public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    if (triggerSnapshot == null) {
+      triggerSnapshot = new TriggerSnapshot();
+    }
+    triggerSnapshot.update(previousRouteProgress, routeProgress);
+    return isOccurring(previousRouteProgress, routeProgress, triggerSnapshot);
+  }
+
+  @Override
+  public boolean isOccurring(RouteProgress previousRouteProgress, RouteProgress routeProgress,
+                             TriggerSnapshot triggerSnapshot) {
 
     // Determine if the step index has changed and set called accordingly. This prevents multiple calls to
     // onMilestoneEvent per Step.
@@ -33,8 +42,7 @@ public class StepMilestone extends Milestone {
     if (called) {
       return false;
     }
-    if (builder.getTrigger().isOccurring(
-      TriggerProperty.getSparseArray(previousRouteProgress, routeProgress))) {
+    if (isTriggerOccurring(triggerSnapshot)) {
       called = true;
       return true;
     }
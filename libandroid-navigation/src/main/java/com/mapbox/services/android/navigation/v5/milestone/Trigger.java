@@ -34,6 +34,17 @@ public class Trigger {
      * @since 0.4.0
      */
     public abstract boolean isOccurring(SparseArray<Number[]> statementObjects);
+
+    /**
+     * Adds the statement to a compiled trigger. Statements which can't be compiled, such as the
+     * ones subclassed outside the SDK, are checked with {@link #isOccurring(SparseArray)}.
+     *
+     * @param program collecting the compiled statements
+     * @return true if the statement was compiled, false otherwise
+     */
+    boolean compile(CompiledTrigger.Program program) {
+      return false;
+    }
   }
 
   /*
@@ -62,6 +73,11 @@ public class Trigger {
       }
       return all;
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addCompound(CompiledTrigger.ALL, statements);
+    }
   }
 
   /**
@@ -85,6 +101,11 @@ public class Trigger {
       }
       return true;
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addCompound(CompiledTrigger.NONE, statements);
+    }
   }
 
   /**
@@ -108,6 +129,11 @@ public class Trigger {
       }
       return false;
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addCompound(CompiledTrigger.ANY, statements);
+    }
   }
 
   /*
@@ -133,6 +159,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addComparison(CompiledTrigger.GREATER_THAN, key, value);
+    }
   }
 
   /**
@@ -154,6 +185,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.greaterThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addComparison(CompiledTrigger.GREATER_THAN_EQUAL, key, value);
+    }
   }
 
   /**
@@ -174,6 +210,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThan(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addComparison(CompiledTrigger.LESS_THAN, key, value);
+    }
   }
 
   /**
@@ -195,6 +236,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.lessThanEqual(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addComparison(CompiledTrigger.LESS_THAN_EQUAL, key, value);
+    }
   }
 
   /**
@@ -215,6 +261,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.notEqual(statementObjects.get(key), (Number) values[0]);
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addComparison(CompiledTrigger.NOT_EQUAL, key, values.length > 0 ? values[0] : null);
+    }
   }
 
   /**
@@ -235,6 +286,11 @@ public class Trigger {
     public boolean isOccurring(SparseArray<Number[]> statementObjects) {
       return Operation.equal(statementObjects.get(key), (Number) value);
     }
+
+    @Override
+    boolean compile(CompiledTrigger.Program program) {
+      return program.addComparison(CompiledTrigger.EQUAL, key, value);
+    }
   }
 
   /**
@@ -0,0 +1,135 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * The values of the {@link TriggerProperty}s for one location update, stored as primitives so the
+ * milestone triggers can be checked without boxing.
+ * <p>
+ * A snapshot is meant to be reused: {@link #update(RouteProgress, RouteProgress)} only keeps the
+ * route progresses, and the values are written the first time a trigger reads them, once per
+ * update however many milestones share the snapshot. It isn't thread safe.
+ *
+ * @since 0.16.0
+ */
+public final class TriggerSnapshot {
+
+  private static final int KEY_COUNT = TriggerProperty.NEXT_STEP_DURATION_SECONDS + 1;
+  private static final boolean[] KNOWN_KEYS = new boolean[KEY_COUNT];
+  private static final boolean[] PAIRED_KEYS = new boolean[KEY_COUNT];
+
+  static {
+    int[] singleKeys = {
+      TriggerProperty.STEP_DURATION_REMAINING_SECONDS, TriggerProperty.STEP_DISTANCE_REMAINING_METERS,
+      TriggerProperty.STEP_DISTANCE_TOTAL_METERS, TriggerProperty.STEP_DURATION_TOTAL_SECONDS,
+      TriggerProperty.STEP_INDEX, TriggerProperty.NEXT_STEP_DISTANCE_METERS,
+      TriggerProperty.NEXT_STEP_DURATION_SECONDS
+    };
+    // FIRST_LEG shares its key with STEP_DISTANCE_TRAVELED_METERS and replaces it, as it does in
+    // TriggerProperty#getSparseArray
+    int[] pairedKeys = {
+      TriggerProperty.NEW_STEP, TriggerProperty.LAST_STEP, TriggerProperty.FIRST_STEP,
+      TriggerProperty.FIRST_LEG, TriggerProperty.LAST_LEG
+    };
+    for (int key : singleKeys) {
+      KNOWN_KEYS[key] = true;
+    }
+    for (int key : pairedKeys) {
+      KNOWN_KEYS[key] = true;
+      PAIRED_KEYS[key] = true;
+    }
+  }
+
+  private final double[] values = new double[KEY_COUNT];
+  private final double[] pairedValues = new double[KEY_COUNT];
+  private RouteProgress previousRouteProgress;
+  private RouteProgress routeProgress;
+  private boolean isWritten;
+
+  /**
+   * Points the snapshot to a new location update. The values are written when first read.
+   *
+   * @param previousRouteProgress of the last location update
+   * @param routeProgress         of this location update
+   * @since 0.16.0
+   */
+  public void update(RouteProgress previousRouteProgress, RouteProgress routeProgress) {
+    this.previousRouteProgress = previousRouteProgress;
+    this.routeProgress = routeProgress;
+    isWritten = false;
+  }
+
+  RouteProgress previousRouteProgress() {
+    return previousRouteProgress;
+  }
+
+  RouteProgress routeProgress() {
+    return routeProgress;
+  }
+
+  /**
+   * Value of the property, or the first of the two compared values for a paired property.
+   */
+  double value(int key) {
+    write();
+    return values[key];
+  }
+
+  /**
+   * Second of the two compared values of a paired property.
+   */
+  double pairedValue(int key) {
+    write();
+    return pairedValues[key];
+  }
+
+  static boolean isKnown(int key) {
+    return key >= 0 && key < KEY_COUNT && KNOWN_KEYS[key];
+  }
+
+  /**
+   * Paired properties compare two values of the route progress, such as the previous and current
+   * step index, instead of comparing a value with the trigger value.
+   */
+  static boolean isPaired(int key) {
+    return PAIRED_KEYS[key];
+  }
+
+  /**
+   * The step index is the only single property boxed as an {@link Integer}, which matters when it's
+   * checked for equality.
+   */
+  static boolean isInteger(int key) {
+    return key == TriggerProperty.STEP_INDEX;
+  }
+
+  private void write() {
+    if (isWritten) {
+      return;
+    }
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    LegStep currentStep = legProgress.currentStep();
+    LegStep upcomingStep = legProgress.upComingStep();
+    int stepIndex = legProgress.stepIndex();
+    values[TriggerProperty.STEP_DISTANCE_TOTAL_METERS] = currentStep.distance();
+    values[TriggerProperty.STEP_DURATION_TOTAL_SECONDS] = currentStep.duration();
+    values[TriggerProperty.STEP_DISTANCE_REMAINING_METERS] = legProgress.currentStepProgress().distanceRemaining();
+    values[TriggerProperty.STEP_DURATION_REMAINING_SECONDS] = legProgress.currentStepProgress().durationRemaining();
+    values[TriggerProperty.STEP_INDEX] = stepIndex;
+    setPair(TriggerProperty.NEW_STEP, previousRouteProgress.currentLegProgress().stepIndex(), stepIndex);
+    setPair(TriggerProperty.LAST_STEP, stepIndex, routeProgress.currentLeg().steps().size() - 2);
+    setPair(TriggerProperty.FIRST_STEP, stepIndex, 0);
+    values[TriggerProperty.NEXT_STEP_DURATION_SECONDS] = upcomingStep != null ? upcomingStep.duration() : 0;
+    values[TriggerProperty.NEXT_STEP_DISTANCE_METERS] = upcomingStep != null ? upcomingStep.distance() : 0;
+    setPair(TriggerProperty.FIRST_LEG, routeProgress.legIndex(), 0);
+    setPair(TriggerProperty.LAST_LEG, routeProgress.legIndex(), routeProgress.directionsRoute().legs().size() - 1);
+    isWritten = true;
+  }
+
+  private void setPair(int key, double value, double pairedValue) {
+    values[key] = value;
+    pairedValues[key] = pairedValue;
+  }
+}
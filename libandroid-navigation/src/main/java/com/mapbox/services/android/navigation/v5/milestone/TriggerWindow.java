@@ -0,0 +1,76 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
+
+/**
+ * The updates along a step over which a {@link CompiledTrigger} can't change its result, so it
+ * doesn't need to be checked again.
+ * <p>
+ * Along a step, only the distance and duration remaining of the step change, every other
+ * {@link TriggerProperty} stays the same until the step, leg or route changes. The window is kept
+ * around the values the trigger was last checked with, as wide as the closest operand they're
+ * compared with: "step distance remaining &lt; 400" checked 1000 meters before the maneuver won't
+ * be checked again until the user is 400 meters from it.
+ */
+final class TriggerWindow {
+
+  private DirectionsRoute route;
+  private int legIndex;
+  private int stepIndex;
+  private int previousStepIndex;
+  private double distanceRemaining;
+  private double distanceMargin;
+  private double durationRemaining;
+  private double durationMargin;
+  private boolean isOpen;
+
+  /**
+   * Opens the window around the snapshot the trigger was just checked against.
+   *
+   * @param compiledTrigger checked against the snapshot
+   * @param triggerSnapshot of the location update
+   */
+  void open(CompiledTrigger compiledTrigger, TriggerSnapshot triggerSnapshot) {
+    RouteProgress routeProgress = triggerSnapshot.routeProgress();
+    route = routeProgress.directionsRoute();
+    legIndex = routeProgress.legIndex();
+    stepIndex = routeProgress.currentLegProgress().stepIndex();
+    previousStepIndex = triggerSnapshot.previousRouteProgress().currentLegProgress().stepIndex();
+    distanceRemaining = triggerSnapshot.value(TriggerProperty.STEP_DISTANCE_REMAINING_METERS);
+    distanceMargin = compiledTrigger.margin(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, triggerSnapshot);
+    durationRemaining = triggerSnapshot.value(TriggerProperty.STEP_DURATION_REMAINING_SECONDS);
+    durationMargin = compiledTrigger.margin(TriggerProperty.STEP_DURATION_REMAINING_SECONDS, triggerSnapshot);
+    isOpen = true;
+  }
+
+  void close() {
+    route = null;
+    isOpen = false;
+  }
+
+  /**
+   * Whether the location update of the snapshot falls in the window, only reading the route
+   * progress so the snapshot values don't need to be written.
+   *
+   * @param triggerSnapshot of the location update
+   * @return true if the trigger has the same result as when the window was opened, false otherwise
+   */
+  boolean contains(TriggerSnapshot triggerSnapshot) {
+    if (!isOpen) {
+      return false;
+    }
+    RouteProgress routeProgress = triggerSnapshot.routeProgress();
+    boolean isSameStep = routeProgress.directionsRoute() == route
+      && routeProgress.legIndex() == legIndex
+      && routeProgress.currentLegProgress().stepIndex() == stepIndex
+      && triggerSnapshot.previousRouteProgress().currentLegProgress().stepIndex() == previousStepIndex;
+    if (!isSameStep) {
+      return false;
+    }
+    RouteStepProgress stepProgress = routeProgress.currentLegProgress().currentStepProgress();
+    return Math.abs(stepProgress.distanceRemaining() - distanceRemaining) < distanceMargin
+      && Math.abs(stepProgress.durationRemaining() - durationRemaining) < durationMargin;
+  }
+}
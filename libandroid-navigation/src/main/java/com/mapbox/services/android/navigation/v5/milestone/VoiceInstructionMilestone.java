@@ -4,9 +4,9 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.VoiceInstructions;
 import com.mapbox.services.android.navigation.v5.instruction.Instruction;
+import com.mapbox.services.android.navigation.v5.instruction.StepInstructionIndex;
 import com.mapbox.services.android.navigation.v5.navigation.VoiceInstructionLoader;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
-import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
 
 public class VoiceInstructionMilestone extends Milestone {
@@ -15,11 +15,12 @@ public class VoiceInstructionMilestone extends Milestone {
 
   private VoiceInstructions instructions;
   private DirectionsRoute currentRoute;
-  private RouteUtils routeUtils;
+  private long currentRouteGeneration = RouteProgress.UNKNOWN_ROUTE_GENERATION;
+  private final InstructionWindow instructionWindow;
 
   VoiceInstructionMilestone(Builder builder) {
     super(builder);
-    routeUtils = new RouteUtils();
+    instructionWindow = new InstructionWindow();
   }
 
   @Override
@@ -29,7 +30,14 @@ public class VoiceInstructionMilestone extends Milestone {
     }
     LegStep currentStep = routeProgress.currentLegProgress().currentStep();
     double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
-    VoiceInstructions instructions = routeUtils.findCurrentVoiceInstructions(currentStep, stepDistanceRemaining);
+    if (currentStep == null || instructionWindow.contains(currentStep, stepDistanceRemaining)) {
+      return false;
+    }
+    StepInstructionIndex instructionIndex = instructionWindow.index(currentStep);
+    VoiceInstructions instructions = instructionIndex.findVoiceInstructions(stepDistanceRemaining);
+    instructionWindow.open(stepDistanceRemaining,
+      instructionIndex.distanceToNextVoiceInstructions(stepDistanceRemaining),
+      instructions != null ? instructions.distanceAlongGeometry() : Double.NEGATIVE_INFINITY);
     if (shouldBeVoiced(instructions, stepDistanceRemaining)) {
       return updateInstructions(routeProgress, instructions);
     }
@@ -81,14 +89,23 @@ public class VoiceInstructionMilestone extends Milestone {
   }
 
   /**
-   * Looks to see if we have a new route.
+   * Looks to see if we have a new route, from its generation if the progress has one so the routes
+   * don't need to be compared.
    *
    * @param routeProgress provides updated route information
    * @return true if new route, false if not
    */
   private boolean isNewRoute(RouteProgress routeProgress) {
-    boolean newRoute = currentRoute == null || !currentRoute.equals(routeProgress.directionsRoute());
-    currentRoute = routeProgress.directionsRoute();
+    DirectionsRoute route = routeProgress.directionsRoute();
+    long routeGeneration = routeProgress.routeGeneration();
+    boolean newRoute;
+    if (routeGeneration != RouteProgress.UNKNOWN_ROUTE_GENERATION) {
+      newRoute = routeGeneration != currentRouteGeneration;
+    } else {
+      newRoute = currentRoute == null || (currentRoute != route && !currentRoute.equals(route));
+    }
+    currentRoute = route;
+    currentRouteGeneration = routeGeneration;
     return newRoute;
   }
 
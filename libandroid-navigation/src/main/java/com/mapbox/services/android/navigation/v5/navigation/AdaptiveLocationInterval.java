@@ -0,0 +1,91 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.CRUISING_LOCATION_UPDATE_INTERVAL_IN_MILLIS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.FASTEST_LOCATION_UPDATE_INTERVAL_IN_MILLIS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.LOCATION_UPDATE_INTERVAL_IN_MILLIS;
+
+/**
+ * Picks the interval of the location updates requested while
+ * {@link MapboxNavigationOptions#enableAdaptiveLocationUpdates()} is enabled.
+ * <p>
+ * While the next maneuver is further than {@link MapboxNavigationOptions#maneuverApproachDistance()}
+ * and expected in more than {@link MapboxNavigationOptions#maneuverApproachDuration()}, the user is
+ * cruising and updates are requested every
+ * {@link NavigationConstants#CRUISING_LOCATION_UPDATE_INTERVAL_IN_MILLIS}. Otherwise, and from the
+ * moment the user is off-route until a new route is started, updates are requested every second.
+ */
+class AdaptiveLocationInterval {
+
+  private final double approachDistance;
+  private final double approachDuration;
+  private DirectionsRoute route;
+  private boolean isOffRoute;
+  private boolean isCruising;
+
+  AdaptiveLocationInterval(MapboxNavigationOptions options) {
+    approachDistance = options.maneuverApproachDistance();
+    approachDuration = options.maneuverApproachDuration();
+  }
+
+  /**
+   * Updates the interval with the progress of a new location update.
+   *
+   * @param routeProgress of the update
+   * @return true if the interval changed and should be requested from the location engine
+   */
+  boolean onRouteProgress(RouteProgress routeProgress) {
+    if (routeProgress.directionsRoute() != route) {
+      route = routeProgress.directionsRoute();
+      isOffRoute = false;
+    }
+    RouteStepProgress stepProgress = routeProgress.currentLegProgress().currentStepProgress();
+    boolean isFarFromManeuver = stepProgress.distanceRemaining() > approachDistance
+      && stepProgress.durationRemaining() > approachDuration;
+    return updateCruising(isFarFromManeuver && !isOffRoute);
+  }
+
+  /**
+   * Requests updates every second until a new route is started.
+   *
+   * @return true if the interval changed and should be requested from the location engine
+   */
+  boolean onUserOffRoute() {
+    isOffRoute = true;
+    return updateCruising(false);
+  }
+
+  /**
+   * Goes back to updates every second, for instance once the navigation session ends.
+   *
+   * @return true if the interval changed and should be requested from the location engine
+   */
+  boolean reset() {
+    route = null;
+    isOffRoute = false;
+    return updateCruising(false);
+  }
+
+  boolean isCruising() {
+    return isCruising;
+  }
+
+  int interval() {
+    return isCruising ? CRUISING_LOCATION_UPDATE_INTERVAL_IN_MILLIS : LOCATION_UPDATE_INTERVAL_IN_MILLIS;
+  }
+
+  int fastestInterval() {
+    return isCruising ? CRUISING_LOCATION_UPDATE_INTERVAL_IN_MILLIS : FASTEST_LOCATION_UPDATE_INTERVAL_IN_MILLIS;
+  }
+
+  private boolean updateCruising(boolean isCruising) {
+    if (this.isCruising == isCruising) {
+      return false;
+    }
+    this.isCruising = isCruising;
+    return true;
+  }
+}
@@ -0,0 +1,69 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.os.SystemClock;
+
+/**
+ * Records the stage durations of a single location update on the navigation thread, then the
+ * callback latencies on the main thread, to build its {@link EngineTiming}.
+ * <p>
+ * Only created by the {@link NavigationEngine} when an {@link EngineTimingListener} is added.
+ */
+class EngineTimer {
+
+  static final int ROUTE_PROGRESS = 0;
+  static final int OFF_ROUTE = 1;
+  static final int MILESTONES = 2;
+  static final int SNAP = 3;
+  static final int FASTER_ROUTE = 4;
+  private static final int STAGE_COUNT = 5;
+
+  private final long[] stageNanos = new long[STAGE_COUNT];
+  private final long startNanos;
+  private final long fixTime;
+  private final long queuedElapsedTime;
+  private final int queueDepth;
+  private long stageStartNanos;
+  private long processingNanos;
+  private long queueToCallbackMillis;
+  private long fixToCallbackMillis;
+
+  EngineTimer(NewLocationModel newLocationModel, int queueDepth) {
+    this.fixTime = newLocationModel.location().getTime();
+    this.queuedElapsedTime = newLocationModel.queuedElapsedTime();
+    this.queueDepth = queueDepth;
+    startNanos = System.nanoTime();
+    stageStartNanos = startNanos;
+  }
+
+  void endStage(int stage) {
+    long now = System.nanoTime();
+    stageNanos[stage] = now - stageStartNanos;
+    stageStartNanos = now;
+  }
+
+  void endProcessing() {
+    processingNanos = System.nanoTime() - startNanos;
+  }
+
+  /**
+   * Called on the main thread, right before the route progress is dispatched.
+   */
+  void markCallback() {
+    queueToCallbackMillis = SystemClock.elapsedRealtime() - queuedElapsedTime;
+    fixToCallbackMillis = System.currentTimeMillis() - fixTime;
+  }
+
+  EngineTiming build() {
+    return EngineTiming.builder()
+      .routeProgressNanos(stageNanos[ROUTE_PROGRESS])
+      .offRouteNanos(stageNanos[OFF_ROUTE])
+      .milestoneNanos(stageNanos[MILESTONES])
+      .snapNanos(stageNanos[SNAP])
+      .fasterRouteNanos(stageNanos[FASTER_ROUTE])
+      .processingNanos(processingNanos)
+      .queueDepth(queueDepth)
+      .queueToCallbackMillis(queueToCallbackMillis)
+      .fixToCallbackMillis(fixToCallbackMillis)
+      .build();
+  }
+}
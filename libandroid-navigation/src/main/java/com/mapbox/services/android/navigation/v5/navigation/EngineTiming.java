@@ -0,0 +1,120 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Timings of the work done by the navigation engine for a single location update, reported to
+ * {@link EngineTimingListener}s.
+ * <p>
+ * Stage durations are measured on the navigation thread, in nanoseconds. The callback latencies are
+ * measured when the route progress is about to be dispatched on the main thread, in milliseconds.
+ *
+ * @since 0.16.0
+ */
+@AutoValue
+public abstract class EngineTiming {
+
+  static Builder builder() {
+    return new AutoValue_EngineTiming.Builder();
+  }
+
+  /**
+   * Time spent building the new {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress}.
+   *
+   * @return duration in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long routeProgressNanos();
+
+  /**
+   * Time spent checking if the user is off-route, including advancing the step index.
+   *
+   * @return duration in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long offRouteNanos();
+
+  /**
+   * Time spent checking which milestones are occurring.
+   *
+   * @return duration in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long milestoneNanos();
+
+  /**
+   * Time spent snapping the location to the route.
+   *
+   * @return duration in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long snapNanos();
+
+  /**
+   * Time spent checking if a faster route should be requested.
+   *
+   * @return duration in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long fasterRouteNanos();
+
+  /**
+   * Total time the location update was processed on the navigation thread.
+   *
+   * @return duration in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long processingNanos();
+
+  /**
+   * Number of location updates still waiting on the navigation thread when this one started
+   * being processed.
+   *
+   * @return pending location updates
+   * @since 0.16.0
+   */
+  public abstract int queueDepth();
+
+  /**
+   * Time from the moment the location update was queued to the navigation thread to the moment
+   * its route progress is dispatched on the main thread.
+   *
+   * @return latency in milliseconds
+   * @since 0.16.0
+   */
+  public abstract long queueToCallbackMillis();
+
+  /**
+   * Time from the {@link android.location.Location#getTime()} of the update to the moment its route
+   * progress is dispatched on the main thread.  Relies on the location time and the device clock
+   * agreeing, which isn't guaranteed for every location provider.
+   *
+   * @return latency in milliseconds
+   * @since 0.16.0
+   */
+  public abstract long fixToCallbackMillis();
+
+  @AutoValue.Builder
+  abstract static class Builder {
+
+    abstract Builder routeProgressNanos(long routeProgressNanos);
+
+    abstract Builder offRouteNanos(long offRouteNanos);
+
+    abstract Builder milestoneNanos(long milestoneNanos);
+
+    abstract Builder snapNanos(long snapNanos);
+
+    abstract Builder fasterRouteNanos(long fasterRouteNanos);
+
+    abstract Builder processingNanos(long processingNanos);
+
+    abstract Builder queueDepth(int queueDepth);
+
+    abstract Builder queueToCallbackMillis(long queueToCallbackMillis);
+
+    abstract Builder fixToCallbackMillis(long fixToCallbackMillis);
+
+    abstract EngineTiming build();
+  }
+}
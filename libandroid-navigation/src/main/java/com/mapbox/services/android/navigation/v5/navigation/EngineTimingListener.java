@@ -0,0 +1,13 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Receives the {@link EngineTiming} of each location update processed by the navigation engine,
+ * on the main thread, right after the route progress listeners have been notified.
+ * <p>
+ * The engine only measures its stages while at least one listener is added.
+ *
+ * @since 0.16.0
+ */
+public interface EngineTimingListener {
+  void onEngineTiming(EngineTiming engineTiming);
+}
@@ -0,0 +1,78 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Aggregate counters of a {@link NavigationFleet}, across all of its sessions and workers.
+ *
+ * @since 0.16.0
+ */
+@AutoValue
+public abstract class FleetMetrics {
+
+  private static final double NANOS_PER_SECOND = 1E9;
+
+  static FleetMetrics create(int activeSessions, int sharedRouteIndexes, long processedUpdates,
+                             long failedUpdates, long droppedUpdates, long processingNanos, long elapsedNanos) {
+    return new AutoValue_FleetMetrics(activeSessions, sharedRouteIndexes, processedUpdates, failedUpdates,
+      droppedUpdates, processingNanos, elapsedNanos);
+  }
+
+  /**
+   * @return number of sessions started and not ended yet
+   * @since 0.16.0
+   */
+  public abstract int activeSessions();
+
+  /**
+   * @return number of route geometry indexes currently shared by the sessions
+   * @since 0.16.0
+   */
+  public abstract int sharedRouteIndexes();
+
+  /**
+   * @return location updates processed since the fleet was created
+   * @since 0.16.0
+   */
+  public abstract long processedUpdates();
+
+  /**
+   * @return location updates whose processing threw an exception
+   * @since 0.16.0
+   */
+  public abstract long failedUpdates();
+
+  /**
+   * @return location updates submitted for a session which wasn't started
+   * @since 0.16.0
+   */
+  public abstract long droppedUpdates();
+
+  /**
+   * @return total time spent by the workers processing location updates, in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long processingNanos();
+
+  /**
+   * @return time since the fleet was created, in nanoseconds
+   * @since 0.16.0
+   */
+  public abstract long elapsedNanos();
+
+  /**
+   * @return location updates processed per second since the fleet was created
+   * @since 0.16.0
+   */
+  public double updatesPerSecond() {
+    return elapsedNanos() > 0 ? processedUpdates() * NANOS_PER_SECOND / elapsedNanos() : 0;
+  }
+
+  /**
+   * @return average processing time of a location update, in nanoseconds
+   * @since 0.16.0
+   */
+  public double averageProcessingNanos() {
+    return processedUpdates() > 0 ? (double) processingNanos() / processedUpdates() : 0;
+  }
+}
@@ -0,0 +1,48 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing how location updates flow through the {@link NavigationEngine}.
+ * <p>
+ * Updates are recorded on the navigation thread (and the main thread for dropped updates),
+ * while they can be read from any thread through {@link MapboxNavigation}.
+ */
+class LocationUpdateMetrics {
+
+  private final AtomicLong droppedUpdateCount = new AtomicLong();
+  private final AtomicLong lastProcessingLag = new AtomicLong();
+  private final AtomicLong maximumProcessingLag = new AtomicLong();
+
+  /**
+   * Called when a pending location update is replaced by a newer one before being processed.
+   */
+  void recordDroppedUpdate() {
+    droppedUpdateCount.incrementAndGet();
+  }
+
+  /**
+   * Called when the engine starts processing a location update.
+   *
+   * @param lagInMillis time between the update being queued and its processing starting
+   */
+  void recordProcessingLag(long lagInMillis) {
+    lastProcessingLag.set(lagInMillis);
+    long currentMaximum = maximumProcessingLag.get();
+    while (lagInMillis > currentMaximum && !maximumProcessingLag.compareAndSet(currentMaximum, lagInMillis)) {
+      currentMaximum = maximumProcessingLag.get();
+    }
+  }
+
+  long droppedUpdateCount() {
+    return droppedUpdateCount.get();
+  }
+
+  long lastProcessingLag() {
+    return lastProcessingLag.get();
+  }
+
+  long maximumProcessingLag() {
+    return maximumProcessingLag.get();
+  }
+}
@@ -13,6 +13,8 @@ import com.mapbox.android.core.location.LocationEngine;
 import com.mapbox.android.core.location.LocationEnginePriority;
 import com.mapbox.android.core.location.LocationEngineProvider;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.location.KalmanLocationFilter;
+import com.mapbox.services.android.navigation.v5.location.LocationFilter;
 import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
@@ -22,11 +24,16 @@ import com.mapbox.services.android.navigation.v5.navigation.camera.SimpleCamera;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.FeedbackEvent;
 import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteLikelyListener;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRoute;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteDetector;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedProgressListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressSnapshotListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
 import com.mapbox.services.android.navigation.v5.snap.Snap;
 import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
 import com.mapbox.services.android.navigation.v5.utils.ValidationUtils;
@@ -40,6 +47,8 @@ import retrofit2.Callback;
 import timber.log.Timber;
 
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.BANNER_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.FASTEST_LOCATION_UPDATE_INTERVAL_IN_MILLIS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.LOCATION_UPDATE_INTERVAL_IN_MILLIS;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.VOICE_INSTRUCTION_MILESTONE_ID;
 
 /**
@@ -50,11 +59,12 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationCon
  * @see <a href="https://www.mapbox.com/android-docs/navigation/">Navigation documentation</a>
  * @since 0.1.0
  */
-public class MapboxNavigation implements ServiceConnection {
+public class MapboxNavigation extends NavigationSource implements ServiceConnection {
 
   private NavigationEventDispatcher navigationEventDispatcher;
   private NavigationService navigationService;
   private DirectionsRoute directionsRoute;
+  private volatile long routeGeneration = RouteProgress.UNKNOWN_ROUTE_GENERATION;
   private MapboxNavigationOptions options;
   private LocationEngine locationEngine = null;
   private Set<Milestone> milestones;
@@ -62,10 +72,12 @@ public class MapboxNavigation implements ServiceConnection {
   private OffRoute offRouteEngine;
   private FasterRoute fasterRouteEngine;
   private Snap snapEngine;
+  private LocationFilter locationFilter;
   private Context context;
   private boolean isBound;
   private NavigationTelemetry navigationTelemetry = null;
   private Camera cameraEngine;
+  private LocationUpdateMetrics locationUpdateMetrics;
 
   /**
    * Constructs a new instance of this class using the default options. This should be used over
@@ -142,6 +154,7 @@ public class MapboxNavigation implements ServiceConnection {
   private void initialize() {
     // Initialize event dispatcher and add internal listeners
     navigationEventDispatcher = new NavigationEventDispatcher();
+    locationUpdateMetrics = new LocationUpdateMetrics();
 
     initializeDefaultLocationEngine();
     initializeDefaultCameraEngine();
@@ -162,6 +175,9 @@ public class MapboxNavigation implements ServiceConnection {
     if (options().enableFasterRouteDetection()) {
       fasterRouteEngine = new FasterRouteDetector();
     }
+    if (options.enableLocationFilter()) {
+      locationFilter = new KalmanLocationFilter();
+    }
   }
 
   private void initializeTelemetry() {
@@ -183,8 +199,8 @@ public class MapboxNavigation implements ServiceConnection {
   private void initializeDefaultLocationEngine() {
     locationEngine = obtainLocationEngine();
     locationEngine.setPriority(LocationEnginePriority.HIGH_ACCURACY);
-    locationEngine.setFastestInterval(1000);
-    locationEngine.setInterval(0);
+    locationEngine.setFastestInterval(FASTEST_LOCATION_UPDATE_INTERVAL_IN_MILLIS);
+    locationEngine.setInterval(LOCATION_UPDATE_INTERVAL_IN_MILLIS);
     locationEngine.activate();
   }
 
@@ -224,8 +240,12 @@ public class MapboxNavigation implements ServiceConnection {
     disableLocationEngine();
     removeNavigationEventListener(null);
     removeProgressChangeListener(null);
+    removeProgressSnapshotListener(null);
+    removeInterpolatedProgressListener(null);
     removeMilestoneEventListener(null);
     removeOffRouteListener(null);
+    removeOffRouteLikelyListener(null);
+    removeEngineTimingListener(null);
   }
 
   // Public APIs
@@ -409,6 +429,8 @@ public class MapboxNavigation implements ServiceConnection {
   public void startNavigation(@NonNull DirectionsRoute directionsRoute) {
     ValidationUtils.validDirectionsRoute(directionsRoute, options.defaultMilestonesEnabled());
     this.directionsRoute = directionsRoute;
+    // Written after the route, the engine reads it before the route
+    routeGeneration = nextRouteGeneration();
     Timber.d("MapboxNavigation startNavigation called.");
     if (!isBound) {
       // Begin telemetry session
@@ -532,6 +554,112 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeProgressChangeListener(progressChangeListener);
   }
 
+  /**
+   * This adds a new progress snapshot listener which is invoked with each location update, only if
+   * {@link MapboxNavigationOptions#enableProgressSnapshots()} is enabled.
+   * <p>
+   * The {@link RouteProgressSnapshot} given to the listener is reused by the navigation engine and
+   * is only valid until the callback returns. Use {@link RouteProgressSnapshot#copy()} to keep it.
+   * </p><p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param progressSnapshotListener an implementation of {@code ProgressSnapshotListener} which
+   *                                 hasn't already been added
+   * @see ProgressSnapshotListener
+   * @since 0.16.0
+   */
+  public void addProgressSnapshotListener(@NonNull ProgressSnapshotListener progressSnapshotListener) {
+    navigationEventDispatcher.addProgressSnapshotListener(progressSnapshotListener);
+  }
+
+  /**
+   * This removes a specific progress snapshot listener by passing in the instance of it or you can
+   * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically.
+   *
+   * @param progressSnapshotListener an implementation of {@code ProgressSnapshotListener} which
+   *                                 currently exist in the listener list
+   * @see ProgressSnapshotListener
+   * @since 0.16.0
+   */
+  public void removeProgressSnapshotListener(@Nullable ProgressSnapshotListener progressSnapshotListener) {
+    navigationEventDispatcher.removeProgressSnapshotListener(progressSnapshotListener);
+  }
+
+  /**
+   * This adds a new interpolated progress listener which is invoked between location updates, in
+   * step with the display frames, with the progress moved forward along the route from the latest
+   * update at its speed. The number of ticks per second is set with
+   * {@link MapboxNavigationOptions#progressInterpolationRate()}.
+   * <p>
+   * The progress is only interpolated while at least one listener is added. The location and the
+   * {@link RouteProgressSnapshot} given to the listener are reused and only valid until the
+   * callback returns.
+   * </p><p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param interpolatedProgressListener an implementation of {@code InterpolatedProgressListener}
+   *                                     which hasn't already been added
+   * @see InterpolatedProgressListener
+   * @since 0.16.0
+   */
+  public void addInterpolatedProgressListener(@NonNull InterpolatedProgressListener interpolatedProgressListener) {
+    navigationEventDispatcher.addInterpolatedProgressListener(interpolatedProgressListener);
+  }
+
+  /**
+   * This removes a specific interpolated progress listener by passing in the instance of it or you
+   * can pass in null to remove all the listeners. When {@link #onDestroy()} is called, all
+   * listeners get removed automatically.
+   *
+   * @param interpolatedProgressListener an implementation of {@code InterpolatedProgressListener}
+   *                                     which currently exist in the listener list
+   * @see InterpolatedProgressListener
+   * @since 0.16.0
+   */
+  public void removeInterpolatedProgressListener(
+    @Nullable InterpolatedProgressListener interpolatedProgressListener) {
+    navigationEventDispatcher.removeInterpolatedProgressListener(interpolatedProgressListener);
+  }
+
+  /**
+   * This adds a new engine timing listener which is invoked after each location update has been
+   * processed, with the time spent by the navigation engine on each stage of the update.
+   * <p>
+   * The stages are only timed while at least one listener is added, so there's no cost to the
+   * navigation engine otherwise.
+   * </p><p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param engineTimingListener an implementation of {@code EngineTimingListener} which hasn't
+   *                             already been added
+   * @see EngineTimingListener
+   * @since 0.16.0
+   */
+  public void addEngineTimingListener(@NonNull EngineTimingListener engineTimingListener) {
+    navigationEventDispatcher.addEngineTimingListener(engineTimingListener);
+  }
+
+  /**
+   * This removes a specific engine timing listener by passing in the instance of it or you can
+   * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically.
+   *
+   * @param engineTimingListener an implementation of {@code EngineTimingListener} which currently
+   *                             exist in the listener list
+   * @see EngineTimingListener
+   * @since 0.16.0
+   */
+  public void removeEngineTimingListener(@Nullable EngineTimingListener engineTimingListener) {
+    navigationEventDispatcher.removeEngineTimingListener(engineTimingListener);
+  }
+
   /**
    * This adds a new off route listener which is invoked when the devices location veers off the
    * route and the specified criteria's in {@link MapboxNavigationOptions} have been met.
@@ -571,6 +699,47 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeOffRouteListener(offRouteListener);
   }
 
+  /**
+   * This adds a new off route likely listener which is invoked with each location update while the
+   * user is still on the route but drifting away from it, before the off route listeners are.
+   * <p>
+   * It can be used to request a new route ahead of the off route event, for instance with the
+   * {@link com.mapbox.services.android.navigation.v5.route.RouteFetcher}. Whether the user is likely
+   * to go off route is determined by {@link OffRoute#isOffRouteLikely()}, which custom off route
+   * engines don't need to implement.
+   * </p><p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param offRouteLikelyListener an implementation of {@code OffRouteLikelyListener} which hasn't
+   *                               already been added
+   * @see OffRouteLikelyListener
+   * @since 0.16.0
+   */
+  public void addOffRouteLikelyListener(@NonNull OffRouteLikelyListener offRouteLikelyListener) {
+    navigationEventDispatcher.addOffRouteLikelyListener(offRouteLikelyListener);
+  }
+
+  /**
+   * This removes a specific off route likely listener by passing in the instance of it or you can
+   * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   * </p>
+   *
+   * @param offRouteLikelyListener an implementation of {@code OffRouteLikelyListener} which currently
+   *                               exist in the offRouteLikelyListener list
+   * @see OffRouteLikelyListener
+   * @since 0.16.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void removeOffRouteLikelyListener(@Nullable OffRouteLikelyListener offRouteLikelyListener) {
+    navigationEventDispatcher.removeOffRouteLikelyListener(offRouteLikelyListener);
+  }
+
   /**
    * This adds a new navigation event listener which is invoked when navigation service begins
    * running in the background and again when the service gets destroyed.
@@ -675,6 +844,7 @@ public class MapboxNavigation implements ServiceConnection {
    * @since 0.5.0
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Override
   @NonNull
   public Snap getSnapEngine() {
     return snapEngine;
@@ -707,6 +877,7 @@ public class MapboxNavigation implements ServiceConnection {
    * @since 0.5.0
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Override
   @NonNull
   public OffRoute getOffRouteEngine() {
     return offRouteEngine;
@@ -739,11 +910,46 @@ public class MapboxNavigation implements ServiceConnection {
    * @since 0.9.0
    */
   @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Override
   @NonNull
   public FasterRoute getFasterRouteEngine() {
     return fasterRouteEngine;
   }
 
+  /**
+   * This API is used to pass in a custom implementation of the location filter, smoothing each
+   * location update before it's processed and predicting the location of the user while no update
+   * arrives. A {@link KalmanLocationFilter} is attached when this class is first initialized if
+   * {@link MapboxNavigationOptions#enableLocationFilter()} is enabled.
+   * <p>
+   * The filter can be changed at anytime, even during a navigation session.
+   * </p>
+   *
+   * @param locationFilter a custom implementation of the {@link LocationFilter} class, null to
+   *                       process the location updates as they're received
+   * @see LocationFilter
+   * @since 0.16.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  public void setLocationFilter(@Nullable LocationFilter locationFilter) {
+    this.locationFilter = locationFilter;
+  }
+
+  /**
+   * This will return the currently set location filter which will or is being used during the
+   * navigation session.
+   *
+   * @return the location filter currently set, null if location updates aren't filtered
+   * @see LocationFilter
+   * @since 0.16.0
+   */
+  @SuppressWarnings("WeakerAccess") // Public exposed for usage outside SDK
+  @Override
+  @Nullable
+  public LocationFilter getLocationFilter() {
+    return locationFilter;
+  }
+
   /**
    * Creates a new {@link FeedbackEvent} with a given type, description, and source.
    * <p>
@@ -789,18 +995,60 @@ public class MapboxNavigation implements ServiceConnection {
     navigationTelemetry.cancelFeedback(feedbackId);
   }
 
+  /**
+   * Number of location updates dropped because a newer update arrived before the navigation
+   * engine could process them. Updates are only dropped when
+   * {@link MapboxNavigationOptions#coalesceLocationUpdates()} is enabled.
+   *
+   * @return total dropped location updates for this instance
+   * @since 0.16.0
+   */
+  public long getDroppedLocationUpdateCount() {
+    return locationUpdateMetrics.droppedUpdateCount();
+  }
+
+  /**
+   * Time between the last processed location update being received and the navigation engine
+   * starting to process it.
+   *
+   * @return lag of the last processed location update in milliseconds
+   * @since 0.16.0
+   */
+  public long getLastLocationUpdateLag() {
+    return locationUpdateMetrics.lastProcessingLag();
+  }
+
+  /**
+   * Largest time between a location update being received and the navigation engine starting
+   * to process it.
+   *
+   * @return maximum location update lag in milliseconds for this instance
+   * @since 0.16.0
+   */
+  public long getMaximumLocationUpdateLag() {
+    return locationUpdateMetrics.maximumProcessingLag();
+  }
+
   String obtainAccessToken() {
     return accessToken;
   }
 
+  @Override
   DirectionsRoute getRoute() {
     return directionsRoute;
   }
 
+  @Override
+  long getRouteGeneration() {
+    return routeGeneration;
+  }
+
+  @Override
   List<Milestone> getMilestones() {
     return new ArrayList<>(milestones);
   }
 
+  @Override
   MapboxNavigationOptions options() {
     return options;
   }
@@ -809,6 +1057,10 @@ public class MapboxNavigation implements ServiceConnection {
     return navigationEventDispatcher;
   }
 
+  LocationUpdateMetrics getLocationUpdateMetrics() {
+    return locationUpdateMetrics;
+  }
+
   private Intent getServiceIntent() {
     return new Intent(context, NavigationService.class);
   }
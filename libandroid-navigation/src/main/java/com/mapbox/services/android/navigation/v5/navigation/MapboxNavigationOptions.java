@@ -3,8 +3,11 @@ package com.mapbox.services.android.navigation.v5.navigation;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
 import com.mapbox.services.android.navigation.v5.navigation.notification.NavigationNotification;
 
+import java.util.concurrent.Executor;
+
 /**
  * Immutable and can't be changed after passing into {@link MapboxNavigation}.
  */
@@ -59,6 +62,29 @@ public abstract class MapboxNavigationOptions {
 
   public abstract int locationVelocityInMetersPerSecondThreshold();
 
+  public abstract boolean coalesceLocationUpdates();
+
+  public abstract boolean enableProgressSnapshots();
+
+  public abstract boolean enableLocationFilter();
+
+  public abstract int progressInterpolationRate();
+
+  public abstract boolean enableAdaptiveLocationUpdates();
+
+  public abstract double maneuverApproachDistance();
+
+  public abstract double maneuverApproachDuration();
+
+  @DistanceKernel.Type
+  public abstract int distanceKernelType();
+
+  @Nullable
+  public abstract Executor navigationExecutor();
+
+  @Nullable
+  public abstract Executor callbackExecutor();
+
   public abstract Builder toBuilder();
 
   @AutoValue.Builder
@@ -110,6 +136,128 @@ public abstract class MapboxNavigationOptions {
 
     public abstract Builder locationVelocityInMetersPerSecondThreshold(int metersPerSecondThreshold);
 
+    /**
+     * If enabled, location updates arriving while the navigation engine is still busy replace
+     * the pending update instead of being queued behind it, so only the latest one gets processed.
+     * <p>
+     * Dropped updates and processing lag can be monitored with
+     * {@link MapboxNavigation#getDroppedLocationUpdateCount()} and
+     * {@link MapboxNavigation#getLastLocationUpdateLag()}.
+     *
+     * @param coalesceLocationUpdates true to only process the latest pending update
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder coalesceLocationUpdates(boolean coalesceLocationUpdates);
+
+    /**
+     * If enabled, the navigation engine reuses a small pool of objects to post each location
+     * update back to the main thread, and reports progress to any
+     * {@link com.mapbox.services.android.navigation.v5.routeprogress.ProgressSnapshotListener} with
+     * a reusable {@link com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot}.
+     *
+     * @param enableProgressSnapshots true to report progress with reusable snapshots
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder enableProgressSnapshots(boolean enableProgressSnapshots);
+
+    /**
+     * If enabled, location updates are smoothed by a
+     * {@link com.mapbox.services.android.navigation.v5.location.KalmanLocationFilter} before being
+     * processed, and the location of the user is predicted along the route while no update arrives,
+     * for instance in a tunnel. A different filter can be set with
+     * {@link MapboxNavigation#setLocationFilter}.
+     *
+     * @param enableLocationFilter true to filter the location updates
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder enableLocationFilter(boolean enableLocationFilter);
+
+    /**
+     * Maximum number of times per second the
+     * {@link com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedProgressListener}s
+     * are invoked between location updates, 60 by default. Ticks follow the display frames, so a
+     * rate above the refresh rate of the display has no effect. Zero disables the interpolation.
+     *
+     * @param progressInterpolationRate ticks per second
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder progressInterpolationRate(int progressInterpolationRate);
+
+    /**
+     * If enabled, location updates are requested from the location engine every few seconds while
+     * the next maneuver is further than {@link #maneuverApproachDistance(double)} and expected in
+     * more than {@link #maneuverApproachDuration(double)}, and every second again as it approaches
+     * or once the user is off-route. Saves battery and navigation calculations on long steps, for
+     * instance on a motorway.
+     *
+     * @param enableAdaptiveLocationUpdates true to lower the rate of location updates far from maneuvers
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder enableAdaptiveLocationUpdates(boolean enableAdaptiveLocationUpdates);
+
+    /**
+     * Distance from the next maneuver, in meters, under which location updates are requested every
+     * second again with {@link #enableAdaptiveLocationUpdates(boolean)}, 1000 by default.
+     *
+     * @param distanceInMeters from the next maneuver
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder maneuverApproachDistance(double distanceInMeters);
+
+    /**
+     * Expected time to the next maneuver, in seconds, under which location updates are requested
+     * every second again with {@link #enableAdaptiveLocationUpdates(boolean)}, 60 by default.
+     *
+     * @param durationInSeconds to the next maneuver
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder maneuverApproachDuration(double durationInSeconds);
+
+    /**
+     * The {@link DistanceKernel} used to measure step distances, snap to the route and check the
+     * off-route radius. {@link DistanceKernel#HAVERSINE} is used by default,
+     * {@link DistanceKernel#PLANAR} trades a small, bounded error for cheaper math.
+     *
+     * @param type either {@link DistanceKernel#HAVERSINE} or {@link DistanceKernel#PLANAR}
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder distanceKernelType(@DistanceKernel.Type int type);
+
+    /**
+     * The executor running the navigation calculations for each location update. By default, they
+     * run on a dedicated background thread created for the navigation session.
+     * <p>
+     * Updates are handed to the executor one at a time and in order, it should run them in that
+     * order, for instance with a single thread. {@link NavigationExecutors#inline()} runs them on
+     * the thread delivering the location updates.
+     *
+     * @param navigationExecutor running the navigation calculations, null for the default thread
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder navigationExecutor(@Nullable Executor navigationExecutor);
+
+    /**
+     * The executor invoking the progress, milestone, off-route and faster-route listeners with the
+     * results of each location update. By default, they're invoked on the main thread.
+     * <p>
+     * Along with {@link #navigationExecutor(Executor)}, {@link NavigationExecutors#inline()} avoids
+     * both thread hops if the location updates are already delivered on a background thread.
+     *
+     * @param callbackExecutor invoking the listeners, null for the main thread
+     * @return this builder for chaining options together
+     * @since 0.16.0
+     */
+    public abstract Builder callbackExecutor(@Nullable Executor callbackExecutor);
+
     public abstract MapboxNavigationOptions build();
   }
 
@@ -136,6 +284,14 @@ public abstract class MapboxNavigationOptions {
       .locationAcceptableAccuracyInMetersThreshold(NavigationConstants.FIFTY_METER_ACCEPTABLE_ACCURACY_THRESHOLD)
       .locationAccuracyPercentThreshold(NavigationConstants.TEN_PERCENT_ACCURACY_THRESHOLD)
       .locationUpdateTimeInMillisThreshold(NavigationConstants.FIVE_SECONDS_IN_MILLIS_UPDATE_THRESHOLD)
-      .locationVelocityInMetersPerSecondThreshold(NavigationConstants.TWO_HUNDRED_METERS_PER_SECOND_VELOCITY_THRESHOLD);
+      .locationVelocityInMetersPerSecondThreshold(NavigationConstants.TWO_HUNDRED_METERS_PER_SECOND_VELOCITY_THRESHOLD)
+      .coalesceLocationUpdates(false)
+      .enableProgressSnapshots(false)
+      .enableLocationFilter(false)
+      .progressInterpolationRate(NavigationConstants.DEFAULT_PROGRESS_INTERPOLATION_RATE)
+      .enableAdaptiveLocationUpdates(false)
+      .maneuverApproachDistance(NavigationConstants.MANEUVER_APPROACH_DISTANCE)
+      .maneuverApproachDuration(NavigationConstants.MANEUVER_APPROACH_DURATION)
+      .distanceKernelType(DistanceKernel.HAVERSINE);
   }
 }
@@ -231,6 +231,70 @@ public final class NavigationConstants {
    */
   static final int TWO_HUNDRED_METERS_PER_SECOND_VELOCITY_THRESHOLD = 200;
 
+  /**
+   * If {@link MapboxNavigationOptions#enableLocationFilter()} is enabled and no location update is
+   * received for this long, the location of the user is predicted by the
+   * {@link com.mapbox.services.android.navigation.v5.location.LocationFilter}, again at this interval.
+   *
+   * @since 0.16.0
+   */
+  static final long DEAD_RECKONING_UPDATE_INTERVAL_IN_MILLIS = 1500;
+
+  /**
+   * Location updates are predicted for at most 30 seconds after the last update was received.
+   *
+   * @since 0.16.0
+   */
+  public static final long MAXIMUM_DEAD_RECKONING_TIME_IN_MILLIS = 30000;
+
+  /**
+   * Default number of times per second the progress is interpolated between location updates.
+   *
+   * @since 0.16.0
+   */
+  static final int DEFAULT_PROGRESS_INTERPOLATION_RATE = 60;
+
+  /**
+   * The progress is interpolated for at most 2 seconds after the last location update, after
+   * which it waits for the next update.
+   *
+   * @since 0.16.0
+   */
+  static final long MAXIMUM_PROGRESS_INTERPOLATION_TIME_IN_MILLIS = 2000;
+
+  /**
+   * Interval and fastest interval of the location updates requested from the location engine, for
+   * an update about every second while the device can deliver them.
+   *
+   * @since 0.16.0
+   */
+  static final int LOCATION_UPDATE_INTERVAL_IN_MILLIS = 0;
+  static final int FASTEST_LOCATION_UPDATE_INTERVAL_IN_MILLIS = 1000;
+
+  /**
+   * Interval of the location updates requested with
+   * {@link MapboxNavigationOptions#enableAdaptiveLocationUpdates()} while the next maneuver is far.
+   *
+   * @since 0.16.0
+   */
+  static final int CRUISING_LOCATION_UPDATE_INTERVAL_IN_MILLIS = 5000;
+
+  /**
+   * Default distance from the next maneuver, in meters, under which location updates are requested
+   * every second again with {@link MapboxNavigationOptions#enableAdaptiveLocationUpdates()}.
+   *
+   * @since 0.16.0
+   */
+  static final double MANEUVER_APPROACH_DISTANCE = 1000;
+
+  /**
+   * Default expected time to the next maneuver, in seconds, under which location updates are
+   * requested every second again with {@link MapboxNavigationOptions#enableAdaptiveLocationUpdates()}.
+   *
+   * @since 0.16.0
+   */
+  static final double MANEUVER_APPROACH_DURATION = 60;
+
   public static final Float[] WAYNAME_OFFSET = {0.0f, 40.0f};
   public static final String MAPBOX_LOCATION_SOURCE = "mapbox-location-source";
   public static final String MAPBOX_WAYNAME_LAYER = "mapbox-wayname-layer";
@@ -0,0 +1,388 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.exception.NavigationException;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.location.KalmanLocationFilter;
+import com.mapbox.services.android.navigation.v5.location.LocationFilter;
+import com.mapbox.services.android.navigation.v5.location.LocationSample;
+import com.mapbox.services.android.navigation.v5.location.SampleLocation;
+import com.mapbox.services.android.navigation.v5.milestone.BannerInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot;
+import com.mapbox.services.android.navigation.v5.milestone.VoiceInstructionMilestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.route.FasterRouteDetector;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
+import com.mapbox.services.android.navigation.v5.utils.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.BANNER_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.VOICE_INSTRUCTION_MILESTONE_ID;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildSnappedLocation;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.checkMilestones;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.isOffRouteLikely;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.isUserOffRoute;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.shouldCheckFasterRoute;
+
+/**
+ * Runs the checks of the navigation engine (route progress, off-route, milestones, snapping and
+ * faster-route) for one location update at a time, synchronously, on the calling thread.
+ * <p>
+ * If a {@link LocationFilter} is set, each update is filtered before these checks, and
+ * {@link #predict(long)} processes the location predicted by the filter while updates drop out.
+ * <p>
+ * While navigating on a device, {@link MapboxNavigation} feeds its core the {@link Location} updates
+ * of the location engine from the navigation thread and dispatches each {@link NavigationResult} to
+ * the listeners. A core built with {@link Builder} doesn't need a {@link android.content.Context}, a
+ * location engine or the {@link NavigationService}, and takes plain {@link LocationSample}s, so
+ * recorded fixes can be replayed through it on a plain JVM, for instance from a unit test.
+ * <p>
+ * A core keeps the progress along its route between updates, it isn't thread safe and should only
+ * be used from one thread at a time.
+ *
+ * @since 0.16.0
+ */
+public class NavigationCore {
+
+  private final NavigationSource source;
+  private final NavigationRouteProcessor routeProcessor;
+  private final TriggerSnapshot triggerSnapshot = new TriggerSnapshot();
+
+  NavigationCore(NavigationSource source) {
+    this.source = source;
+    routeProcessor = new NavigationRouteProcessor();
+  }
+
+  /**
+   * Processes a new location sample along the route.
+   * <p>
+   * The sample is handed to the navigation checks as a {@link SampleLocation}, which holds its
+   * own values, so the core runs on a plain JVM as well as on a device.
+   *
+   * @param sample raw location update
+   * @return the progress, milestones, off-route and faster-route results of the update
+   * @since 0.16.0
+   */
+  @NonNull
+  public NavigationResult process(@NonNull LocationSample sample) {
+    return process(new SampleLocation(sample), null);
+  }
+
+  /**
+   * Processes the location predicted by the {@link LocationFilter} when no update has been
+   * received for the given time, for instance in a tunnel.
+   *
+   * @param millisSinceLastUpdate time since the last location update was processed
+   * @return the results of the predicted location, null if there's no filter, no update has been
+   * processed yet or the filter couldn't predict a location
+   * @since 0.16.0
+   */
+  @Nullable
+  public NavigationResult predict(long millisSinceLastUpdate) {
+    LocationFilter locationFilter = source.getLocationFilter();
+    RouteProgress routeProgress = getRouteProgress();
+    if (locationFilter == null || routeProgress == null) {
+      return null;
+    }
+    Location predictedLocation = locationFilter.predict(millisSinceLastUpdate, routeProgress);
+    if (predictedLocation == null) {
+      return null;
+    }
+    return processFiltered(predictedLocation, null);
+  }
+
+  /**
+   * The last route progress built by this core.
+   *
+   * @return the latest route progress, null before the first update has been processed
+   * @since 0.16.0
+   */
+  @Nullable
+  public RouteProgress getRouteProgress() {
+    return routeProcessor.getRouteProgress();
+  }
+
+  NavigationResult process(Location location, @Nullable EngineTimer timer) {
+    LocationFilter locationFilter = source.getLocationFilter();
+    Location filteredLocation = locationFilter == null ? location : locationFilter.filter(location);
+    return processFiltered(filteredLocation, timer);
+  }
+
+  private NavigationResult processFiltered(Location rawLocation, @Nullable EngineTimer timer) {
+    MapboxNavigationOptions options = source.options();
+
+    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(source, rawLocation);
+    endStage(timer, EngineTimer.ROUTE_PROGRESS);
+
+    boolean userOffRoute = isUserOffRoute(source, rawLocation, routeProgress, routeProcessor);
+    boolean offRouteLikely = !userOffRoute && isOffRouteLikely(source);
+
+    routeProcessor.checkIncreaseIndex(source);
+    endStage(timer, EngineTimer.OFF_ROUTE);
+
+    RouteProgress previousRouteProgress = routeProcessor.getRouteProgress();
+    List<Milestone> milestones = checkMilestones(previousRouteProgress, routeProgress, source, triggerSnapshot);
+    endStage(timer, EngineTimer.MILESTONES);
+
+    Location location = buildSnappedLocation(source, options.snapToRoute(), rawLocation, routeProgress, userOffRoute);
+    endStage(timer, EngineTimer.SNAP);
+
+    boolean checkFasterRoute = options.enableFasterRouteDetection() && !userOffRoute
+      && shouldCheckFasterRoute(source, rawLocation, routeProgress);
+    endStage(timer, EngineTimer.FASTER_ROUTE);
+
+    routeProcessor.setRouteProgress(routeProgress);
+    if (timer != null) {
+      timer.endProcessing();
+    }
+    return NavigationResult.create(location, routeProgress, milestones, userOffRoute, offRouteLikely,
+      checkFasterRoute);
+  }
+
+  /**
+   * Releases what this core shares with other cores, it shouldn't process updates afterwards.
+   */
+  void release() {
+    source.release();
+  }
+
+  private static void endStage(@Nullable EngineTimer timer, int stage) {
+    if (timer != null) {
+      timer.endStage(stage);
+    }
+  }
+
+  /**
+   * Builds a {@link NavigationCore} which runs on its own, without {@link MapboxNavigation}.
+   * <p>
+   * As with {@link MapboxNavigation}, the default milestones and engines are added according to
+   * the {@link MapboxNavigationOptions} unless they're replaced.
+   *
+   * @since 0.16.0
+   */
+  public static final class Builder {
+
+    private DirectionsRoute route;
+    private MapboxNavigationOptions options = MapboxNavigationOptions.builder().build();
+    private final List<Milestone> milestones = new ArrayList<>();
+    private OffRoute offRouteEngine;
+    private Snap snapEngine;
+    private FasterRoute fasterRouteEngine;
+    private LocationFilter locationFilter;
+
+    /**
+     * @param route to navigate
+     * @return this builder
+     * @since 0.16.0
+     */
+    public Builder setRoute(@NonNull DirectionsRoute route) {
+      this.route = route;
+      return this;
+    }
+
+    /**
+     * @param options for the navigation checks, the defaults are used if not set
+     * @return this builder
+     * @since 0.16.0
+     */
+    public Builder setOptions(@NonNull MapboxNavigationOptions options) {
+      this.options = options;
+      return this;
+    }
+
+    /**
+     * @param milestone to be checked with each update, in addition to the default milestones
+     * @return this builder
+     * @since 0.16.0
+     */
+    public Builder addMilestone(@NonNull Milestone milestone) {
+      milestones.add(milestone);
+      return this;
+    }
+
+    /**
+     * @param offRouteEngine replacing the default {@link OffRouteDetector}
+     * @return this builder
+     * @since 0.16.0
+     */
+    public Builder setOffRouteEngine(@NonNull OffRoute offRouteEngine) {
+      this.offRouteEngine = offRouteEngine;
+      return this;
+    }
+
+    /**
+     * @param snapEngine replacing the default {@link SnapToRoute}
+     * @return this builder
+     * @since 0.16.0
+     */
+    public Builder setSnapEngine(@NonNull Snap snapEngine) {
+      this.snapEngine = snapEngine;
+      return this;
+    }
+
+    /**
+     * @param fasterRouteEngine replacing the default {@link FasterRouteDetector}
+     * @return this builder
+     * @since 0.16.0
+     */
+    public Builder setFasterRouteEngine(@NonNull FasterRoute fasterRouteEngine) {
+      this.fasterRouteEngine = fasterRouteEngine;
+      return this;
+    }
+
+    /**
+     * @param locationFilter replacing the default {@link KalmanLocationFilter}
+     * @return this builder
+     * @since 0.16.0
+     */
+    public Builder setLocationFilter(@NonNull LocationFilter locationFilter) {
+      this.locationFilter = locationFilter;
+      return this;
+    }
+
+    /**
+     * @return a new core at the start of the route
+     * @throws NavigationException if no route has been set
+     * @since 0.16.0
+     */
+    public NavigationCore build() throws NavigationException {
+      return build(null);
+    }
+
+    /**
+     * @param indexCache to share the route geometry index with other cores, null to index the
+     *                   route for this core only
+     */
+    NavigationCore build(@Nullable RouteGeometryIndexCache indexCache) {
+      if (route == null) {
+        throw new NavigationException("A route must be set to build a NavigationCore.");
+      }
+      ValidationUtils.validDirectionsRoute(route, options.defaultMilestonesEnabled());
+      List<Milestone> coreMilestones = new ArrayList<>();
+      if (options.defaultMilestonesEnabled()) {
+        coreMilestones.add(new VoiceInstructionMilestone.Builder()
+          .setIdentifier(VOICE_INSTRUCTION_MILESTONE_ID).build());
+        coreMilestones.add(new BannerInstructionMilestone.Builder()
+          .setIdentifier(BANNER_INSTRUCTION_MILESTONE_ID).build());
+      }
+      coreMilestones.addAll(milestones);
+      OffRoute offRoute = offRouteEngine;
+      if (offRoute == null && options.enableOffRouteDetection()) {
+        offRoute = new OffRouteDetector();
+      }
+      Snap snap = snapEngine;
+      if (snap == null && options.snapToRoute()) {
+        snap = new SnapToRoute();
+      }
+      FasterRoute fasterRoute = fasterRouteEngine;
+      if (fasterRoute == null && options.enableFasterRouteDetection()) {
+        fasterRoute = new FasterRouteDetector();
+      }
+      LocationFilter filter = locationFilter;
+      if (filter == null && options.enableLocationFilter()) {
+        filter = new KalmanLocationFilter();
+      }
+      return new NavigationCore(new CoreSource(
+        route, options, coreMilestones, offRoute, snap, fasterRoute, filter, indexCache
+      ));
+    }
+  }
+
+  private static class CoreSource extends NavigationSource {
+
+    private final DirectionsRoute route;
+    private final long routeGeneration;
+    private final MapboxNavigationOptions options;
+    private final List<Milestone> milestones;
+    private final OffRoute offRouteEngine;
+    private final Snap snapEngine;
+    private final FasterRoute fasterRouteEngine;
+    private final LocationFilter locationFilter;
+    private final RouteGeometryIndexCache indexCache;
+    private RouteGeometryIndex geometryIndex;
+
+    CoreSource(DirectionsRoute route, MapboxNavigationOptions options, List<Milestone> milestones,
+               OffRoute offRouteEngine, Snap snapEngine, FasterRoute fasterRouteEngine,
+               LocationFilter locationFilter, @Nullable RouteGeometryIndexCache indexCache) {
+      this.route = route;
+      routeGeneration = nextRouteGeneration();
+      this.options = options;
+      this.milestones = milestones;
+      this.offRouteEngine = offRouteEngine;
+      this.snapEngine = snapEngine;
+      this.fasterRouteEngine = fasterRouteEngine;
+      this.locationFilter = locationFilter;
+      this.indexCache = indexCache;
+    }
+
+    @Override
+    DirectionsRoute getRoute() {
+      return route;
+    }
+
+    @Override
+    long getRouteGeneration() {
+      return routeGeneration;
+    }
+
+    @Override
+    MapboxNavigationOptions options() {
+      return options;
+    }
+
+    @Override
+    List<Milestone> getMilestones() {
+      return milestones;
+    }
+
+    @Override
+    OffRoute getOffRouteEngine() {
+      return offRouteEngine;
+    }
+
+    @Override
+    Snap getSnapEngine() {
+      return snapEngine;
+    }
+
+    @Override
+    FasterRoute getFasterRouteEngine() {
+      return fasterRouteEngine;
+    }
+
+    @Override
+    LocationFilter getLocationFilter() {
+      return locationFilter;
+    }
+
+    @Override
+    RouteGeometryIndex obtainGeometryIndex(DirectionsRoute route, DistanceKernel distanceKernel) {
+      if (indexCache == null) {
+        return super.obtainGeometryIndex(route, distanceKernel);
+      }
+      release();
+      geometryIndex = indexCache.acquire(route, distanceKernel);
+      return geometryIndex;
+    }
+
+    @Override
+    void release() {
+      if (geometryIndex != null) {
+        indexCache.release(geometryIndex);
+        geometryIndex = null;
+      }
+    }
+  }
+}
@@ -1,102 +1,215 @@
 package com.mapbox.services.android.navigation.v5.navigation;
 
 import android.location.Location;
+import android.os.Build;
 import android.os.Handler;
 import android.os.HandlerThread;
-import android.os.Message;
+import android.os.Looper;
 import android.os.Process;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
 
 import java.util.List;
-
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildSnappedLocation;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.checkMilestones;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.isUserOffRoute;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.shouldCheckFasterRoute;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * This class extends handler thread to run most of the navigation calculations on a separate
- * background thread.
+ * Runs most of the navigation calculations on a worker executor and posts the results back with a
+ * callback executor.
+ * <p>
+ * Both executors can be supplied with {@link MapboxNavigationOptions#navigationExecutor()} and
+ * {@link MapboxNavigationOptions#callbackExecutor()}. By default, the calculations run on a
+ * dedicated background {@link HandlerThread} and the results are posted to the main thread.
  */
-class NavigationEngine extends HandlerThread implements Handler.Callback {
+class NavigationEngine {
 
   private static final String THREAD_NAME = "NavThread";
 
-  private Handler responseHandler;
-  private Handler workerHandler;
-  private Callback callback;
-  private NavigationRouteProcessor routeProcessor;
+  private final Executor callbackExecutor;
+  private final Executor workerExecutor;
+  private final HandlerThread workerThread;
+  private final Callback callback;
+  private final NavigationCore navigationCore;
+  private final ProgressUpdatePool progressUpdatePool;
+  private final AtomicReference<NewLocationModel> latestLocationModel = new AtomicReference<>();
+  private final AtomicInteger pendingTasks = new AtomicInteger();
+  private final Runnable latestTask = new Runnable() {
+    @Override
+    public void run() {
+      int queueDepth = pendingTasks.decrementAndGet();
+      NewLocationModel newLocationModel = latestLocationModel.getAndSet(null);
+      if (newLocationModel != null) {
+        handleRequest(newLocationModel, queueDepth);
+      }
+    }
+  };
 
-  NavigationEngine(Handler responseHandler, Callback callback) {
-    super(THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
-    this.responseHandler = responseHandler;
+  /**
+   * The core is built here, before any task can reach the worker executor, so that it's safely
+   * published to the worker threads of a multi-threaded {@link MapboxNavigationOptions#navigationExecutor()}.
+   *
+   * @param callback         to post the results to
+   * @param mapboxNavigation holding the route, options and navigation checks
+   */
+  NavigationEngine(Callback callback, MapboxNavigation mapboxNavigation) {
     this.callback = callback;
-    routeProcessor = new NavigationRouteProcessor();
+    navigationCore = new NavigationCore(mapboxNavigation);
+    MapboxNavigationOptions options = mapboxNavigation.options();
+    progressUpdatePool = new ProgressUpdatePool(callback);
+    if (options.navigationExecutor() != null) {
+      workerThread = null;
+      workerExecutor = options.navigationExecutor();
+    } else {
+      workerThread = new HandlerThread(THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
+      workerThread.start();
+      workerExecutor = new HandlerExecutor(new Handler(workerThread.getLooper()));
+    }
+    callbackExecutor = options.callbackExecutor() != null
+      ? options.callbackExecutor() : new HandlerExecutor(new Handler(Looper.getMainLooper()));
   }
 
-  @Override
-  public boolean handleMessage(Message msg) {
-    NewLocationModel newLocationModel = (NewLocationModel) msg.obj;
-    handleRequest(newLocationModel);
-    return true;
+  /**
+   * Queues a new location update to be processed by the worker executor.
+   * <p>
+   * If {@link MapboxNavigationOptions#coalesceLocationUpdates()} is enabled, only the latest
+   * pending update is kept and the ones it supersedes are dropped (and counted).
+   *
+   * @param newLocationModel to be processed
+   */
+  void queueTask(final NewLocationModel newLocationModel) {
+    if (newLocationModel.mapboxNavigation().options().coalesceLocationUpdates()) {
+      queueLatestTask(newLocationModel);
+    } else {
+      pendingTasks.incrementAndGet();
+      workerExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          handleRequest(newLocationModel, pendingTasks.decrementAndGet());
+        }
+      });
+    }
   }
 
-  void queueTask(int msgIdentifier, NewLocationModel newLocationModel) {
-    workerHandler.obtainMessage(msgIdentifier, newLocationModel).sendToTarget();
+  /**
+   * Queues the processing of the location predicted by the
+   * {@link com.mapbox.services.android.navigation.v5.location.LocationFilter} when no update has
+   * been received for the given time. Nothing is posted back if no location could be predicted.
+   *
+   * @param mapboxNavigation      navigation with the location filter
+   * @param millisSinceLastUpdate time since the last location update was queued
+   */
+  void queuePrediction(final MapboxNavigation mapboxNavigation, final long millisSinceLastUpdate) {
+    workerExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        NavigationResult result = navigationCore.predict(millisSinceLastUpdate);
+        if (result != null) {
+          postResult(mapboxNavigation, result, null);
+        }
+      }
+    });
   }
 
-  void prepareHandler() {
-    workerHandler = new Handler(getLooper(), this);
+  /**
+   * Stops the default worker thread once the pending updates are processed. Executors supplied
+   * through the options are left running, they're owned by the app.
+   */
+  void quit() {
+    if (workerThread == null) {
+      return;
+    }
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      workerThread.quitSafely();
+    } else {
+      workerThread.quit();
+    }
+  }
+
+  /**
+   * Replaces the pending location update with the given one.  A task is only queued when there
+   * wasn't an update pending already, the task picks up the latest update once it runs.
+   */
+  private void queueLatestTask(NewLocationModel newLocationModel) {
+    NewLocationModel supersededLocationModel = latestLocationModel.getAndSet(newLocationModel);
+    if (supersededLocationModel == null) {
+      pendingTasks.incrementAndGet();
+      workerExecutor.execute(latestTask);
+    } else {
+      newLocationModel.mapboxNavigation().getLocationUpdateMetrics().recordDroppedUpdate();
+    }
   }
 
   /**
    * Takes a new location model and runs all related engine checks against it
-   * (off-route, milestones, snapped location, and faster-route).
+   * (off-route, milestones, snapped location, and faster-route) with the {@link NavigationCore}.
    * <p>
    * After running through the engines, all data is submitted to {@link NavigationService} via
-   * {@link NavigationEngine.Callback}.
+   * {@link NavigationEngine.Callback}. If {@link MapboxNavigationOptions#enableProgressSnapshots()}
+   * is enabled, a pooled update is posted instead of a new {@link Runnable}.
+   * <p>
+   * Each stage is only timed if an {@link EngineTimingListener} has been added.
    *
    * @param newLocationModel hold location, navigation (with options), and distances away from maneuver
+   * @param queueDepth       number of location updates still waiting to be processed
    */
-  private void handleRequest(final NewLocationModel newLocationModel) {
-
-    final MapboxNavigation mapboxNavigation = newLocationModel.mapboxNavigation();
-    boolean snapToRouteEnabled = mapboxNavigation.options().snapToRoute();
-
-    final Location rawLocation = newLocationModel.location();
-
-    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(mapboxNavigation, rawLocation);
-
-    final boolean userOffRoute = isUserOffRoute(newLocationModel, routeProgress, routeProcessor);
-
-    routeProcessor.checkIncreaseIndex(mapboxNavigation);
-
-    RouteProgress previousRouteProgress = routeProcessor.getRouteProgress();
-    final List<Milestone> milestones = checkMilestones(previousRouteProgress, routeProgress, mapboxNavigation);
-
-    final Location location = buildSnappedLocation(mapboxNavigation, snapToRouteEnabled,
-      rawLocation, routeProgress, userOffRoute);
+  private void handleRequest(final NewLocationModel newLocationModel, int queueDepth) {
 
-    boolean fasterRouteEnabled = mapboxNavigation.options().enableFasterRouteDetection();
-    final boolean checkFasterRoute = fasterRouteEnabled && !userOffRoute
-      && shouldCheckFasterRoute(newLocationModel, routeProgress);
+    MapboxNavigation mapboxNavigation = newLocationModel.mapboxNavigation();
+    EngineTimer timer = mapboxNavigation.getEventDispatcher().hasEngineTimingListeners()
+      ? new EngineTimer(newLocationModel, queueDepth) : null;
+    long processingLag = SystemClock.elapsedRealtime() - newLocationModel.queuedElapsedTime();
+    mapboxNavigation.getLocationUpdateMetrics().recordProcessingLag(processingLag);
 
-    final RouteProgress finalRouteProgress = routeProgress;
-    routeProcessor.setRouteProgress(finalRouteProgress);
+    NavigationResult result = navigationCore.process(newLocationModel.location(), timer);
+    postResult(mapboxNavigation, result, timer);
+  }
 
-    responseHandler.post(new Runnable() {
+  private void postResult(MapboxNavigation mapboxNavigation, final NavigationResult result,
+                          @Nullable final EngineTimer timer) {
+    if (mapboxNavigation.options().enableProgressSnapshots()) {
+      callbackExecutor.execute(progressUpdatePool.obtain(result, timer));
+      return;
+    }
+    callbackExecutor.execute(new Runnable() {
       @Override
       public void run() {
-        callback.onNewRouteProgress(location, finalRouteProgress);
-        callback.onMilestoneTrigger(milestones, finalRouteProgress);
-        callback.onUserOffRoute(location, userOffRoute);
-        callback.onCheckFasterRoute(location, finalRouteProgress, checkFasterRoute);
+        if (timer != null) {
+          timer.markCallback();
+        }
+        Location location = result.location();
+        RouteProgress routeProgress = result.routeProgress();
+        callback.onNewRouteProgress(location, routeProgress);
+        callback.onMilestoneTrigger(result.milestones(), routeProgress);
+        callback.onUserOffRoute(location, result.userOffRoute());
+        callback.onOffRouteLikely(routeProgress, result.offRouteLikely());
+        callback.onCheckFasterRoute(location, routeProgress, result.checkFasterRoute());
+        if (timer != null) {
+          callback.onEngineTiming(timer.build());
+        }
       }
     });
   }
 
+  private static class HandlerExecutor implements Executor {
+
+    private final Handler handler;
+
+    HandlerExecutor(Handler handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      handler.post(runnable);
+    }
+  }
+
   /**
    * Callbacks for posting back to the Navigation Service once the thread finishes calculations.
    * <p>
@@ -107,10 +220,16 @@ class NavigationEngine extends HandlerThread implements Handler.Callback {
   interface Callback {
     void onNewRouteProgress(Location location, RouteProgress routeProgress);
 
+    void onProgressSnapshot(Location location, RouteProgressSnapshot snapshot);
+
     void onMilestoneTrigger(List<Milestone> triggeredMilestones, RouteProgress routeProgress);
 
     void onUserOffRoute(Location location, boolean userOffRoute);
 
+    void onOffRouteLikely(RouteProgress routeProgress, boolean offRouteLikely);
+
     void onCheckFasterRoute(Location location, RouteProgress routeProgress, boolean checkFasterRoute);
+
+    void onEngineTiming(EngineTiming engineTiming);
   }
 }
@@ -8,10 +8,14 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener;
 import com.mapbox.services.android.navigation.v5.navigation.metrics.NavigationMetricListener;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteLikelyListener;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener;
 import com.mapbox.services.android.navigation.v5.route.FasterRouteListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedProgressListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.ProgressChangeListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.ProgressSnapshotListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -23,8 +27,12 @@ class NavigationEventDispatcher {
   private CopyOnWriteArrayList<NavigationEventListener> navigationEventListeners;
   private CopyOnWriteArrayList<MilestoneEventListener> milestoneEventListeners;
   private CopyOnWriteArrayList<ProgressChangeListener> progressChangeListeners;
+  private CopyOnWriteArrayList<ProgressSnapshotListener> progressSnapshotListeners;
+  private CopyOnWriteArrayList<InterpolatedProgressListener> interpolatedProgressListeners;
   private CopyOnWriteArrayList<OffRouteListener> offRouteListeners;
+  private CopyOnWriteArrayList<OffRouteLikelyListener> offRouteLikelyListeners;
   private CopyOnWriteArrayList<FasterRouteListener> fasterRouteListeners;
+  private CopyOnWriteArrayList<EngineTimingListener> engineTimingListeners;
   private NavigationMetricListener metricEventListener;
   private RouteUtils routeUtils;
 
@@ -36,8 +44,12 @@ class NavigationEventDispatcher {
     navigationEventListeners = new CopyOnWriteArrayList<>();
     milestoneEventListeners = new CopyOnWriteArrayList<>();
     progressChangeListeners = new CopyOnWriteArrayList<>();
+    progressSnapshotListeners = new CopyOnWriteArrayList<>();
+    interpolatedProgressListeners = new CopyOnWriteArrayList<>();
     offRouteListeners = new CopyOnWriteArrayList<>();
+    offRouteLikelyListeners = new CopyOnWriteArrayList<>();
     fasterRouteListeners = new CopyOnWriteArrayList<>();
+    engineTimingListeners = new CopyOnWriteArrayList<>();
     this.routeUtils = routeUtils;
   }
 
@@ -77,6 +89,42 @@ class NavigationEventDispatcher {
     }
   }
 
+  void addProgressSnapshotListener(@NonNull ProgressSnapshotListener progressSnapshotListener) {
+    if (progressSnapshotListeners.contains(progressSnapshotListener)) {
+      Timber.w("The specified ProgressSnapshotListener has already been added to the stack.");
+      return;
+    }
+    progressSnapshotListeners.add(progressSnapshotListener);
+  }
+
+  void removeProgressSnapshotListener(@Nullable ProgressSnapshotListener progressSnapshotListener) {
+    if (progressSnapshotListener == null) {
+      progressSnapshotListeners.clear();
+    } else if (!progressSnapshotListeners.contains(progressSnapshotListener)) {
+      Timber.w("The specified ProgressSnapshotListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      progressSnapshotListeners.remove(progressSnapshotListener);
+    }
+  }
+
+  void addInterpolatedProgressListener(@NonNull InterpolatedProgressListener interpolatedProgressListener) {
+    if (interpolatedProgressListeners.contains(interpolatedProgressListener)) {
+      Timber.w("The specified InterpolatedProgressListener has already been added to the stack.");
+      return;
+    }
+    interpolatedProgressListeners.add(interpolatedProgressListener);
+  }
+
+  void removeInterpolatedProgressListener(@Nullable InterpolatedProgressListener interpolatedProgressListener) {
+    if (interpolatedProgressListener == null) {
+      interpolatedProgressListeners.clear();
+    } else if (!interpolatedProgressListeners.contains(interpolatedProgressListener)) {
+      Timber.w("The specified InterpolatedProgressListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      interpolatedProgressListeners.remove(interpolatedProgressListener);
+    }
+  }
+
   void addOffRouteListener(@NonNull OffRouteListener offRouteListener) {
     if (offRouteListeners.contains(offRouteListener)) {
       Timber.w("The specified OffRouteListener has already been added to the stack.");
@@ -95,6 +143,24 @@ class NavigationEventDispatcher {
     }
   }
 
+  void addOffRouteLikelyListener(@NonNull OffRouteLikelyListener offRouteLikelyListener) {
+    if (offRouteLikelyListeners.contains(offRouteLikelyListener)) {
+      Timber.w("The specified OffRouteLikelyListener has already been added to the stack.");
+      return;
+    }
+    offRouteLikelyListeners.add(offRouteLikelyListener);
+  }
+
+  void removeOffRouteLikelyListener(@Nullable OffRouteLikelyListener offRouteLikelyListener) {
+    if (offRouteLikelyListener == null) {
+      offRouteLikelyListeners.clear();
+    } else if (!offRouteLikelyListeners.contains(offRouteLikelyListener)) {
+      Timber.w("The specified OffRouteLikelyListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      offRouteLikelyListeners.remove(offRouteLikelyListener);
+    }
+  }
+
   void addNavigationEventListener(@NonNull NavigationEventListener navigationEventListener) {
     if (navigationEventListeners.contains(navigationEventListener)) {
       Timber.w("The specified NavigationEventListener has already been added to the stack.");
@@ -145,6 +211,56 @@ class NavigationEventDispatcher {
     }
   }
 
+  void addEngineTimingListener(@NonNull EngineTimingListener engineTimingListener) {
+    if (engineTimingListeners.contains(engineTimingListener)) {
+      Timber.w("The specified EngineTimingListener has already been added to the stack.");
+      return;
+    }
+    engineTimingListeners.add(engineTimingListener);
+  }
+
+  void removeEngineTimingListener(@Nullable EngineTimingListener engineTimingListener) {
+    if (engineTimingListener == null) {
+      engineTimingListeners.clear();
+    } else if (!engineTimingListeners.contains(engineTimingListener)) {
+      Timber.w("The specified EngineTimingListener isn't found in stack, therefore, cannot be removed.");
+    } else {
+      engineTimingListeners.remove(engineTimingListener);
+    }
+  }
+
+  /**
+   * Read from the navigation thread, so it only times location updates while a listener is added.
+   */
+  boolean hasEngineTimingListeners() {
+    return !engineTimingListeners.isEmpty();
+  }
+
+  void onEngineTiming(EngineTiming engineTiming) {
+    for (EngineTimingListener engineTimingListener : engineTimingListeners) {
+      engineTimingListener.onEngineTiming(engineTiming);
+    }
+  }
+
+  void onProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+    for (ProgressSnapshotListener progressSnapshotListener : progressSnapshotListeners) {
+      progressSnapshotListener.onProgressSnapshot(location, snapshot);
+    }
+  }
+
+  /**
+   * The progress is only interpolated while a listener is added.
+   */
+  boolean hasInterpolatedProgressListeners() {
+    return !interpolatedProgressListeners.isEmpty();
+  }
+
+  void onInterpolatedProgress(Location location, RouteProgressSnapshot snapshot) {
+    for (InterpolatedProgressListener interpolatedProgressListener : interpolatedProgressListeners) {
+      interpolatedProgressListener.onInterpolatedProgress(location, snapshot);
+    }
+  }
+
   void onUserOffRoute(Location location) {
     for (OffRouteListener offRouteListener : offRouteListeners) {
       offRouteListener.userOffRoute(location);
@@ -154,6 +270,12 @@ class NavigationEventDispatcher {
     }
   }
 
+  void onOffRouteLikely(RouteProgress routeProgress) {
+    for (OffRouteLikelyListener offRouteLikelyListener : offRouteLikelyListeners) {
+      offRouteLikelyListener.userOffRouteLikely(routeProgress);
+    }
+  }
+
   void onNavigationEvent(boolean isRunning) {
     for (NavigationEventListener navigationEventListener : navigationEventListeners) {
       navigationEventListener.onRunning(isRunning);
@@ -0,0 +1,39 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executors which can be set with {@link MapboxNavigationOptions.Builder#navigationExecutor(Executor)}
+ * and {@link MapboxNavigationOptions.Builder#callbackExecutor(Executor)}.
+ *
+ * @since 0.16.0
+ */
+public final class NavigationExecutors {
+
+  private static final Executor INLINE = new Executor() {
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+      runnable.run();
+    }
+  };
+
+  private NavigationExecutors() {
+    // Class should not be initialized.
+  }
+
+  /**
+   * An executor running each task right away, on the calling thread.
+   * <p>
+   * As the navigation executor, location updates are processed on the thread delivering them, so
+   * it should only be used if the location engine delivers its updates on a background thread.
+   *
+   * @return the inline executor
+   * @since 0.16.0
+   */
+  @NonNull
+  public static Executor inline() {
+    return INLINE;
+  }
+}
@@ -0,0 +1,250 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.services.android.navigation.v5.exception.NavigationException;
+import com.mapbox.services.android.navigation.v5.location.LocationSample;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import timber.log.Timber;
+
+/**
+ * Processes the location updates of many navigation sessions, for instance every trip followed by
+ * a backend, with a fixed number of worker threads.
+ * <p>
+ * Each session is a {@link NavigationCore} identified by a session id. Sessions are assigned to a
+ * worker by their id, and everything submitted for a session (starting it, its location updates,
+ * ending it) runs on that worker in submission order. Sessions navigating the same route share its
+ * decoded {@link com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex}.
+ * <p>
+ * Results are given to the {@link NavigationFleetListener} on the worker thread, and the aggregate
+ * throughput of the fleet is available from {@link #getMetrics()}.
+ *
+ * @since 0.16.0
+ */
+public class NavigationFleet {
+
+  private static final String THREAD_NAME = "NavFleet-";
+
+  private final Worker[] workers;
+  private final NavigationFleetListener listener;
+  private final RouteGeometryIndexCache indexCache = new RouteGeometryIndexCache();
+  private final AtomicInteger activeSessions = new AtomicInteger();
+  private final AtomicLong processedUpdates = new AtomicLong();
+  private final AtomicLong failedUpdates = new AtomicLong();
+  private final AtomicLong droppedUpdates = new AtomicLong();
+  private final AtomicLong processingNanos = new AtomicLong();
+  private final long startNanos;
+
+  /**
+   * Creates a fleet and starts its worker threads.
+   *
+   * @param workerCount number of worker threads, usually the number of available processors
+   * @param listener    receiving the result of every location update
+   * @since 0.16.0
+   */
+  public NavigationFleet(int workerCount, @NonNull NavigationFleetListener listener) {
+    if (workerCount < 1) {
+      throw new NavigationException("A NavigationFleet needs at least one worker.");
+    }
+    this.listener = listener;
+    workers = new Worker[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      workers[i] = new Worker(THREAD_NAME + i);
+    }
+    startNanos = System.nanoTime();
+  }
+
+  /**
+   * Starts a session navigating the route of the given builder. Starting a session with the id of
+   * a running session replaces it, for instance after the trip has been rerouted.
+   * <p>
+   * The builder is built on the worker of the session. Milestones and engines set on the builder
+   * shouldn't be shared with other sessions, as they keep state about the session using them.
+   *
+   * @param sessionId identifying the session
+   * @param builder   of the core used to navigate the session
+   * @since 0.16.0
+   */
+  public void startSession(@NonNull final String sessionId, @NonNull final NavigationCore.Builder builder) {
+    final Worker worker = findWorker(sessionId);
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        worker.startSession(sessionId, builder);
+      }
+    });
+  }
+
+  /**
+   * Submits a location update of the given session. Updates submitted for a session which hasn't
+   * been started are dropped.
+   *
+   * @param sessionId identifying the session
+   * @param sample    raw location update
+   * @since 0.16.0
+   */
+  public void process(@NonNull final String sessionId, @NonNull final LocationSample sample) {
+    final Worker worker = findWorker(sessionId);
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        worker.process(sessionId, sample);
+      }
+    });
+  }
+
+  /**
+   * Ends the given session once the updates submitted before are processed.
+   *
+   * @param sessionId identifying the session
+   * @since 0.16.0
+   */
+  public void endSession(@NonNull final String sessionId) {
+    final Worker worker = findWorker(sessionId);
+    worker.execute(new Runnable() {
+      @Override
+      public void run() {
+        worker.endSession(sessionId);
+      }
+    });
+  }
+
+  /**
+   * Ends every session once the updates already submitted are processed and stops the workers.
+   *
+   * @since 0.16.0
+   */
+  public void shutdown() {
+    for (final Worker worker : workers) {
+      worker.execute(new Runnable() {
+        @Override
+        public void run() {
+          worker.endAllSessions();
+        }
+      });
+      worker.executor.shutdown();
+    }
+  }
+
+  /**
+   * Waits for the workers to stop after {@link #shutdown()}.
+   *
+   * @param timeout maximum time to wait
+   * @param unit    of the timeout
+   * @return true if every worker stopped, false if the timeout elapsed first
+   * @throws InterruptedException if interrupted while waiting
+   * @since 0.16.0
+   */
+  public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (Worker worker : workers) {
+      long remaining = deadline - System.nanoTime();
+      if (!worker.executor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a snapshot of the aggregate counters of the fleet.
+   *
+   * @return the current fleet metrics
+   * @since 0.16.0
+   */
+  @NonNull
+  public FleetMetrics getMetrics() {
+    return FleetMetrics.create(activeSessions.get(), indexCache.size(), processedUpdates.get(),
+      failedUpdates.get(), droppedUpdates.get(), processingNanos.get(), System.nanoTime() - startNanos);
+  }
+
+  private Worker findWorker(String sessionId) {
+    return workers[(sessionId.hashCode() & Integer.MAX_VALUE) % workers.length];
+  }
+
+  /**
+   * A single thread and the sessions assigned to it, which are only read and written on that thread.
+   */
+  private class Worker implements ThreadFactory {
+
+    private final String name;
+    private final ExecutorService executor;
+    private final Map<String, NavigationCore> sessions = new HashMap<>();
+
+    Worker(String name) {
+      this.name = name;
+      executor = Executors.newSingleThreadExecutor(this);
+    }
+
+    @Override
+    public Thread newThread(@NonNull Runnable runnable) {
+      return new Thread(runnable, name);
+    }
+
+    void execute(Runnable task) {
+      executor.execute(task);
+    }
+
+    void startSession(String sessionId, NavigationCore.Builder builder) {
+      NavigationCore core;
+      try {
+        core = builder.build(indexCache);
+      } catch (RuntimeException exception) {
+        Timber.e(exception, "Session %s could not be started.", sessionId);
+        return;
+      }
+      NavigationCore replacedCore = sessions.put(sessionId, core);
+      if (replacedCore != null) {
+        replacedCore.release();
+      } else {
+        activeSessions.incrementAndGet();
+      }
+    }
+
+    void process(String sessionId, LocationSample sample) {
+      NavigationCore core = sessions.get(sessionId);
+      if (core == null) {
+        droppedUpdates.incrementAndGet();
+        return;
+      }
+      long start = System.nanoTime();
+      NavigationResult result;
+      try {
+        result = core.process(sample);
+      } catch (RuntimeException exception) {
+        failedUpdates.incrementAndGet();
+        Timber.e(exception, "Location update of session %s could not be processed.", sessionId);
+        return;
+      } finally {
+        processingNanos.addAndGet(System.nanoTime() - start);
+      }
+      processedUpdates.incrementAndGet();
+      listener.onNavigationResult(sessionId, result);
+    }
+
+    void endSession(String sessionId) {
+      NavigationCore core = sessions.remove(sessionId);
+      if (core != null) {
+        core.release();
+        activeSessions.decrementAndGet();
+      }
+    }
+
+    void endAllSessions() {
+      for (NavigationCore core : sessions.values()) {
+        core.release();
+      }
+      activeSessions.addAndGet(-sessions.size());
+      sessions.clear();
+    }
+  }
+}
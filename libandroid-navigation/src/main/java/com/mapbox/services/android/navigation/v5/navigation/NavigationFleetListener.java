@@ -0,0 +1,14 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+/**
+ * Receives the result of every location update processed by a {@link NavigationFleet}.
+ * <p>
+ * Called on the worker thread of the session, so results of a session arrive in the order its
+ * updates were submitted. Results of different sessions may arrive concurrently.
+ *
+ * @since 0.16.0
+ */
+public interface NavigationFleetListener {
+
+  void onNavigationResult(String sessionId, NavigationResult result);
+}
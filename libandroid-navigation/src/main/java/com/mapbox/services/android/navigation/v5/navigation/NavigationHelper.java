@@ -8,16 +8,17 @@ import android.support.v4.util.Pair;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegAnnotation;
 import com.mapbox.api.directions.v5.models.LegStep;
-import com.mapbox.api.directions.v5.models.MaxSpeed;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.api.directions.v5.models.StepManeuver;
-import com.mapbox.core.constants.Constants;
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
-import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.geometry.LegAnnotationIndex;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.SnapCursor;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot;
 import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteCallback;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
@@ -34,8 +35,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import static com.mapbox.core.constants.Constants.PRECISION_6;
-
 /**
  * This contains several single purpose methods that help out when a new location update occurs and
  * calculations need to be performed on it.
@@ -49,34 +48,21 @@ public class NavigationHelper {
   private static final String EMPTY_STRING = "";
   private static final double ZERO_METERS = 0d;
   private static final int TWO_POINTS = 2;
+  private static final String INDEX_KEY = "index";
+
+  // Index of the last leg passed to the public createCurrentAnnotation overload, reused while
+  // callers keep passing the same leg
+  private static volatile LegAnnotationIndex lastLegAnnotationIndex;
 
   private NavigationHelper() {
     // Empty private constructor to prevent users creating an instance of this class.
   }
 
-  /**
-   * Takes in a raw location, converts it to a point, and snaps it to the closest point along the
-   * route. This is isolated as separate logic from the snap logic provided because we will always
-   * need to snap to the route in order to get the most accurate information.
-   */
-  static Point userSnappedToRoutePosition(Location location, List<Point> coordinates) {
-    if (coordinates.size() < 2) {
-      return Point.fromLngLat(location.getLongitude(), location.getLatitude());
-    }
-
-    Point locationToPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
-
-    // Uses Turf's pointOnLine, which takes a Point and a LineString to calculate the closest
-    // Point on the LineString.
-    Feature feature = TurfMisc.nearestPointOnLine(locationToPoint, coordinates);
-    return ((Point) feature.geometry());
-  }
-
-  static Location buildSnappedLocation(MapboxNavigation mapboxNavigation, boolean snapToRouteEnabled,
+  static Location buildSnappedLocation(NavigationSource source, boolean snapToRouteEnabled,
                                        Location rawLocation, RouteProgress routeProgress, boolean userOffRoute) {
     final Location location;
     if (!userOffRoute && snapToRouteEnabled) {
-      location = getSnappedLocation(mapboxNavigation, rawLocation, routeProgress);
+      location = getSnappedLocation(source, rawLocation, routeProgress);
     } else {
       location = rawLocation;
     }
@@ -95,6 +81,37 @@ public class NavigationHelper {
     return EMPTY_STRING;
   }
 
+  /**
+   * Snaps the given location to the current step and calculates the distance remaining from the
+   * snapped position to the next maneuver position.
+   * <p>
+   * The step geometry and the distances between its vertices are read from the
+   * {@link RouteGeometryIndex}, so the step polyline doesn't need to be decoded or sliced.
+   * The {@link SnapCursor} only searches the segments around the previous match.
+   */
+  static double stepDistanceRemaining(Location location, int legIndex, int stepIndex,
+                                      DirectionsRoute directionsRoute, RouteGeometryIndex geometryIndex,
+                                      SnapCursor snapCursor) {
+    List<Point> coordinates = geometryIndex.stepPoints(legIndex, stepIndex);
+    if (coordinates == null || coordinates.size() < TWO_POINTS) {
+      return 0;
+    }
+    Point locationPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    Feature feature = snapCursor.snap(locationPoint, coordinates, geometryIndex.distanceKernel());
+    Point snappedPosition = (Point) feature.geometry();
+    List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
+    Point nextManeuverPosition = nextManeuverPosition(stepIndex, steps, coordinates);
+    if (snappedPosition.equals(nextManeuverPosition)) {
+      return 0;
+    }
+    Point lastStepPoint = coordinates.get(coordinates.size() - 1);
+    if (nextManeuverPosition.equals(lastStepPoint)) {
+      int segmentIndex = feature.getNumberProperty(INDEX_KEY).intValue();
+      return geometryIndex.distanceToStepEnd(legIndex, stepIndex, segmentIndex, snappedPosition);
+    }
+    return measureSlice(snappedPosition, nextManeuverPosition, coordinates);
+  }
+
   /**
    * Calculates the distance remaining in the step from the current users snapped position, to the
    * next maneuver position.
@@ -104,49 +121,32 @@ public class NavigationHelper {
     List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
     Point nextManeuverPosition = nextManeuverPosition(stepIndex, steps, coordinates);
 
-    LineString lineString = LineString.fromPolyline(steps.get(stepIndex).geometry(),
-      Constants.PRECISION_6);
     // If the users snapped position equals the next maneuver
     // position or the linestring coordinate size is less than 2,the distance remaining is zero.
-    if (snappedPosition.equals(nextManeuverPosition) || lineString.coordinates().size() < 2) {
+    if (snappedPosition.equals(nextManeuverPosition) || coordinates.size() < TWO_POINTS) {
       return 0;
     }
-    LineString slicedLine = TurfMisc.lineSlice(snappedPosition, nextManeuverPosition, lineString);
-    return TurfMeasurement.length(slicedLine, TurfConstants.UNIT_METERS);
+    return measureSlice(snappedPosition, nextManeuverPosition, coordinates);
   }
 
   /**
-   * Takes in the already calculated step distance and iterates through the step list from the
-   * step index value plus one till the end of the leg.
+   * Takes in the already calculated step distance and adds the distance of the steps following
+   * the current one till the end of the leg, read from the {@link RouteGeometryIndex}.
    */
   static double legDistanceRemaining(double stepDistanceRemaining, int legIndex, int stepIndex,
-                                     DirectionsRoute directionsRoute) {
-    List<LegStep> steps = directionsRoute.legs().get(legIndex).steps();
-    if ((steps.size() < stepIndex + 1)) {
-      return stepDistanceRemaining;
-    }
-    for (int i = stepIndex + 1; i < steps.size(); i++) {
-      stepDistanceRemaining += steps.get(i).distance();
-    }
-    return stepDistanceRemaining;
+                                     RouteGeometryIndex geometryIndex) {
+    return stepDistanceRemaining + geometryIndex.distanceAfterStep(legIndex, stepIndex);
   }
 
   /**
    * Takes in the leg distance remaining value already calculated and if additional legs need to be
-   * traversed along after the current one, adds those distances and returns the new distance.
-   * Otherwise, if the route only contains one leg or the users on the last leg, this value will
-   * equal the leg distance remaining.
+   * traversed along after the current one, adds those distances (read from the
+   * {@link RouteGeometryIndex}) and returns the new distance. Otherwise, if the route only contains
+   * one leg or the users on the last leg, this value will equal the leg distance remaining.
    */
   static double routeDistanceRemaining(double legDistanceRemaining, int legIndex,
-                                       DirectionsRoute directionsRoute) {
-    if (directionsRoute.legs().size() < 2) {
-      return legDistanceRemaining;
-    }
-
-    for (int i = legIndex + 1; i < directionsRoute.legs().size(); i++) {
-      legDistanceRemaining += directionsRoute.legs().get(i).distance();
-    }
-    return legDistanceRemaining;
+                                       RouteGeometryIndex geometryIndex) {
+    return legDistanceRemaining + geometryIndex.distanceAfterLeg(legIndex);
   }
 
   /**
@@ -224,45 +224,6 @@ public class NavigationHelper {
     return NavigationIndices.create(previousLegIndex, (previousStepIndex + 1));
   }
 
-  /**
-   * Given the current {@link DirectionsRoute} and leg / step index,
-   * return a list of {@link Point} representing the current step.
-   * <p>
-   * This method is only used on a per-step basis as {@link PolylineUtils#decode(String, int)}
-   * can be a heavy operation based on the length of the step.
-   * <p>
-   * Returns null if index is invalid.
-   *
-   * @param directionsRoute for list of steps
-   * @param legIndex        to get current step list
-   * @param stepIndex       to get current step
-   * @return list of {@link Point} representing the current step
-   */
-  static List<Point> decodeStepPoints(DirectionsRoute directionsRoute, List<Point> currentPoints,
-                                      int legIndex, int stepIndex) {
-    List<RouteLeg> legs = directionsRoute.legs();
-    if (hasInvalidLegs(legs)) {
-      return currentPoints;
-    }
-    List<LegStep> steps = legs.get(legIndex).steps();
-    if (hasInvalidSteps(steps)) {
-      return currentPoints;
-    }
-    boolean invalidStepIndex = stepIndex < 0 || stepIndex > steps.size() - 1;
-    if (invalidStepIndex) {
-      return currentPoints;
-    }
-    LegStep step = steps.get(stepIndex);
-    if (step == null) {
-      return currentPoints;
-    }
-    String stepGeometry = step.geometry();
-    if (stepGeometry != null) {
-      return PolylineUtils.decode(stepGeometry, PRECISION_6);
-    }
-    return currentPoints;
-  }
-
   /**
    * Given a current and upcoming step, this method assembles a list of {@link StepIntersection}
    * consisting of all of the current step intersections, as well as the first intersection of
@@ -322,6 +283,23 @@ public class NavigationHelper {
     return distancesToIntersections;
   }
 
+  /**
+   * Pairs each {@link StepIntersection} with its already measured distance along the step.
+   *
+   * @param intersections         along the step
+   * @param intersectionDistances distances in meters along the step, in the same order
+   * @return list of measured intersection pairs
+   */
+  @NonNull
+  static List<Pair<StepIntersection, Double>> createDistancesToIntersections(List<StepIntersection> intersections,
+                                                                             double[] intersectionDistances) {
+    List<Pair<StepIntersection, Double>> distancesToIntersections = new ArrayList<>(intersectionDistances.length);
+    for (int i = 0; i < intersectionDistances.length; i++) {
+      distancesToIntersections.add(new Pair<>(intersections.get(i), intersectionDistances[i]));
+    }
+    return distancesToIntersections;
+  }
+
   /**
    * Based on the list of measured intersections and the step distance traveled, finds
    * the current intersection a user is traveling along.
@@ -335,25 +313,33 @@ public class NavigationHelper {
   public static StepIntersection findCurrentIntersection(@NonNull List<StepIntersection> intersections,
                                                   @NonNull List<Pair<StepIntersection, Double>> measuredIntersections,
                                                   double stepDistanceTraveled) {
-    for (Pair<StepIntersection, Double> measuredIntersection : measuredIntersections) {
-      double intersectionDistance = measuredIntersection.second;
-      int intersectionIndex = measuredIntersections.indexOf(measuredIntersection);
-      int nextIntersectionIndex = intersectionIndex + ONE_INDEX;
-      int measuredIntersectionSize = measuredIntersections.size();
-      boolean hasValidNextIntersection = nextIntersectionIndex < measuredIntersectionSize;
-
-      if (hasValidNextIntersection) {
-        double nextIntersectionDistance = measuredIntersections.get(nextIntersectionIndex).second;
-        if (stepDistanceTraveled > intersectionDistance && stepDistanceTraveled < nextIntersectionDistance) {
-          return measuredIntersection.first;
-        }
-      } else if (stepDistanceTraveled > measuredIntersection.second) {
-        return measuredIntersection.first;
-      } else {
-        return measuredIntersections.get(FIRST_INTERSECTION).first;
-      }
+    if (measuredIntersections.isEmpty()) {
+      return intersections.get(FIRST_INTERSECTION);
+    }
+    double[] intersectionDistances = new double[measuredIntersections.size()];
+    for (int i = 0; i < intersectionDistances.length; i++) {
+      intersectionDistances[i] = measuredIntersections.get(i).second;
+    }
+    int intersectionIndex = findCurrentIntersectionIndex(intersectionDistances, stepDistanceTraveled);
+    return measuredIntersections.get(intersectionIndex).first;
+  }
+
+  /**
+   * Based on the distances along the step to each intersection and the step distance traveled,
+   * finds the current intersection a user is traveling along with a binary search.
+   *
+   * @param intersections         along the step
+   * @param intersectionDistances distances along the step to each intersection, in the same order
+   * @param stepDistanceTraveled  how far the user has traveled along the step
+   * @return the current step intersection
+   */
+  static StepIntersection findCurrentIntersection(@NonNull List<StepIntersection> intersections,
+                                                  @NonNull double[] intersectionDistances,
+                                                  double stepDistanceTraveled) {
+    if (intersectionDistances.length == 0) {
+      return intersections.get(FIRST_INTERSECTION);
     }
-    return intersections.get(FIRST_INTERSECTION);
+    return intersections.get(findCurrentIntersectionIndex(intersectionDistances, stepDistanceTraveled));
   }
 
   /**
@@ -398,89 +384,145 @@ public class NavigationHelper {
   @Nullable
   public static CurrentLegAnnotation createCurrentAnnotation(CurrentLegAnnotation currentLegAnnotation,
                                                       RouteLeg leg, double legDistanceRemaining) {
-    LegAnnotation legAnnotation = leg.annotation();
-    if (legAnnotation == null) {
-      return null;
+    return createCurrentAnnotation(currentLegAnnotation, obtainLegAnnotationIndex(leg), legDistanceRemaining);
+  }
+
+  /**
+   * Returns the index of the last leg given when it is the same leg, so that the leg annotations
+   * are only indexed once while a caller travels along it.
+   */
+  @Nullable
+  static LegAnnotationIndex obtainLegAnnotationIndex(RouteLeg leg) {
+    LegAnnotationIndex annotationIndex = lastLegAnnotationIndex;
+    if (annotationIndex != null && annotationIndex.leg() == leg) {
+      return annotationIndex;
+    }
+    annotationIndex = LegAnnotationIndex.create(leg);
+    if (annotationIndex != null) {
+      lastLegAnnotationIndex = annotationIndex;
     }
-    List<Double> distanceList = legAnnotation.distance();
-    if (distanceList == null || distanceList.isEmpty()) {
+    return annotationIndex;
+  }
+
+  /**
+   * Finds the current annotation with a binary search over the cumulative annotation distances
+   * held by the given {@link LegAnnotationIndex}.
+   *
+   * @param currentLegAnnotation current annotation being traveled along
+   * @param annotationIndex      of the current leg, null if the leg has no distance annotations
+   * @param legDistanceRemaining to determine the new set of annotations
+   * @return a current set of annotation data for the user's position along the route
+   */
+  @Nullable
+  static CurrentLegAnnotation createCurrentAnnotation(CurrentLegAnnotation currentLegAnnotation,
+                                                      @Nullable LegAnnotationIndex annotationIndex,
+                                                      double legDistanceRemaining) {
+    if (annotationIndex == null) {
       return null;
     }
 
     CurrentLegAnnotation.Builder annotationBuilder = CurrentLegAnnotation.builder();
-    int annotationIndex = findAnnotationIndex(
-      currentLegAnnotation, annotationBuilder, leg, legDistanceRemaining, distanceList
-    );
-
-    annotationBuilder.distance(distanceList.get(annotationIndex));
-    List<Double> durationList = legAnnotation.duration();
-    if (durationList != null) {
-      annotationBuilder.duration(durationList.get(annotationIndex));
-    }
-    List<Double> speedList = legAnnotation.speed();
-    if (speedList != null) {
-      annotationBuilder.speed(speedList.get(annotationIndex));
-    }
-    List<MaxSpeed> maxspeedList = legAnnotation.maxspeed();
-    if (maxspeedList != null) {
-      annotationBuilder.maxspeed(maxspeedList.get(annotationIndex));
+    int index = findAnnotationIndex(currentLegAnnotation, annotationBuilder, annotationIndex, legDistanceRemaining);
+
+    annotationBuilder.distance(annotationIndex.distance(index));
+    double duration = annotationIndex.duration(index);
+    if (!Double.isNaN(duration)) {
+      annotationBuilder.duration(duration);
     }
-    List<String> congestionList = legAnnotation.congestion();
-    if (congestionList != null) {
-      annotationBuilder.congestion(congestionList.get(annotationIndex));
+    double speed = annotationIndex.speed(index);
+    if (!Double.isNaN(speed)) {
+      annotationBuilder.speed(speed);
     }
-    annotationBuilder.index(annotationIndex);
+    annotationBuilder.maxspeed(annotationIndex.maxspeed(index));
+    annotationBuilder.congestion(annotationIndex.congestion(index));
+    annotationBuilder.index(index);
     return annotationBuilder.build();
   }
 
   /**
-   * This method runs through the list of milestones in {@link MapboxNavigation#getMilestones()}
+   * This method runs through the list of milestones in {@link NavigationSource#getMilestones()}
    * and returns a list of occurring milestones (if any), based on their individual criteria.
    *
    * @param previousRouteProgress for checking if milestone is occurring
    * @param routeProgress         for checking if milestone is occurring
-   * @param mapboxNavigation      for list of milestones
+   * @param source                for list of milestones
    * @return list of occurring milestones
    */
   static List<Milestone> checkMilestones(RouteProgress previousRouteProgress,
                                          RouteProgress routeProgress,
-                                         MapboxNavigation mapboxNavigation) {
-    List<Milestone> milestones = new ArrayList<>();
-    for (Milestone milestone : mapboxNavigation.getMilestones()) {
-      if (milestone.isOccurring(previousRouteProgress, routeProgress)) {
+                                         NavigationSource source) {
+    return checkMilestones(previousRouteProgress, routeProgress, source, new TriggerSnapshot());
+  }
+
+  /**
+   * Same as {@link #checkMilestones(RouteProgress, RouteProgress, NavigationSource)}, with the
+   * {@link TriggerSnapshot} updated once for all milestones and reused between location updates.
+   * <p>
+   * Trigger based milestones skip their checks while the update can't change their result, and
+   * the snapshot values are only written if one of them is checked. No list is allocated unless a
+   * milestone occurs.
+   *
+   * @param previousRouteProgress for checking if milestone is occurring
+   * @param routeProgress         for checking if milestone is occurring
+   * @param source                for list of milestones
+   * @param triggerSnapshot       to update with both route progresses
+   * @return list of occurring milestones
+   */
+  static List<Milestone> checkMilestones(RouteProgress previousRouteProgress,
+                                         RouteProgress routeProgress,
+                                         NavigationSource source,
+                                         TriggerSnapshot triggerSnapshot) {
+    triggerSnapshot.update(previousRouteProgress, routeProgress);
+    List<Milestone> milestones = null;
+    for (Milestone milestone : source.getMilestones()) {
+      if (milestone.isOccurring(previousRouteProgress, routeProgress, triggerSnapshot)) {
+        if (milestones == null) {
+          milestones = new ArrayList<>();
+        }
         milestones.add(milestone);
       }
     }
-    return milestones;
+    return milestones != null ? milestones : Collections.<Milestone>emptyList();
   }
 
   /**
    * This method checks if off route detection is enabled or disabled.
    * <p>
-   * If enabled, the off route engine is retrieved from {@link MapboxNavigation} and
+   * If enabled, the off route engine is retrieved from the {@link NavigationSource} and
    * {@link OffRouteDetector#isUserOffRoute(Location, RouteProgress, MapboxNavigationOptions)} is called
    * to determine if the location is on or off route.
    *
-   * @param newLocationModel containing new location and navigation objects
-   * @param routeProgress    to be used in off route check
-   * @param callback         only used if using our default {@link OffRouteDetector}
+   * @param source        for the options and off route engine
+   * @param location      to be checked
+   * @param routeProgress to be used in off route check
+   * @param callback      only used if using our default {@link OffRouteDetector}
    * @return true if on route, false otherwise
    */
-  static boolean isUserOffRoute(NewLocationModel newLocationModel, RouteProgress routeProgress,
+  static boolean isUserOffRoute(NavigationSource source, Location location, RouteProgress routeProgress,
                                 OffRouteCallback callback) {
-    MapboxNavigationOptions options = newLocationModel.mapboxNavigation().options();
+    MapboxNavigationOptions options = source.options();
     if (!options.enableOffRouteDetection()) {
       return false;
     }
-    Location location = newLocationModel.location();
-    OffRoute offRoute = newLocationModel.mapboxNavigation().getOffRouteEngine();
+    OffRoute offRoute = source.getOffRouteEngine();
     setOffRouteDetectorCallback(offRoute, callback);
     return offRoute.isUserOffRoute(location, routeProgress, options);
   }
 
-  static boolean shouldCheckFasterRoute(NewLocationModel newLocationModel, RouteProgress routeProgress) {
-    FasterRoute fasterRoute = newLocationModel.mapboxNavigation().getFasterRouteEngine();
-    return fasterRoute.shouldCheckFasterRoute(newLocationModel.location(), routeProgress);
+  /**
+   * Checks if the off-route engine found the location it was last given to be drifting away from
+   * the route, only if off-route detection is enabled.
+   *
+   * @param source for the options and off route engine
+   * @return true if the user is likely to go off-route soon, false otherwise
+   */
+  static boolean isOffRouteLikely(NavigationSource source) {
+    return source.options().enableOffRouteDetection() && source.getOffRouteEngine().isOffRouteLikely();
+  }
+
+  static boolean shouldCheckFasterRoute(NavigationSource source, Location location, RouteProgress routeProgress) {
+    FasterRoute fasterRoute = source.getFasterRouteEngine();
+    return fasterRoute.shouldCheckFasterRoute(location, routeProgress);
   }
 
   /**
@@ -496,33 +538,60 @@ public class NavigationHelper {
   }
 
   private static int findAnnotationIndex(CurrentLegAnnotation currentLegAnnotation,
-                                         CurrentLegAnnotation.Builder annotationBuilder, RouteLeg leg,
-                                         double legDistanceRemaining, List<Double> distanceAnnotationList) {
-    List<Double> legDistances = new ArrayList<>(distanceAnnotationList);
-    Double totalLegDistance = leg.distance();
-    double distanceTraveled = totalLegDistance - legDistanceRemaining;
-
-    int distanceIndex = 0;
-    double annotationDistancesTraveled = 0;
+                                         CurrentLegAnnotation.Builder annotationBuilder,
+                                         LegAnnotationIndex annotationIndex, double legDistanceRemaining) {
+    double distanceTraveled = annotationIndex.legDistance() - legDistanceRemaining;
+
+    int fromIndex = 0;
+    double distanceToFromIndex = 0;
     if (currentLegAnnotation != null) {
-      distanceIndex = currentLegAnnotation.index();
-      annotationDistancesTraveled = currentLegAnnotation.distanceToAnnotation();
+      fromIndex = currentLegAnnotation.index();
+      distanceToFromIndex = currentLegAnnotation.distanceToAnnotation();
+    }
+    if (fromIndex >= annotationIndex.size()) {
+      return INDEX_ZERO;
     }
-    for (int i = distanceIndex; i < legDistances.size(); i++) {
-      Double distance = legDistances.get(i);
-      annotationDistancesTraveled += distance;
-      if (annotationDistancesTraveled > distanceTraveled) {
-        double distanceToAnnotation = annotationDistancesTraveled - distance;
-        annotationBuilder.distanceToAnnotation(distanceToAnnotation);
-        return i;
+    // Measure from the current annotation, so the search continues from the prior distance traveled
+    double fromIndexOffset = annotationIndex.distanceToAnnotation(fromIndex) - distanceToFromIndex;
+    int index = annotationIndex.findAnnotationIndex(distanceTraveled + fromIndexOffset, fromIndex);
+    if (index < INDEX_ZERO) {
+      return INDEX_ZERO;
+    }
+    annotationBuilder.distanceToAnnotation(annotationIndex.distanceToAnnotation(index) - fromIndexOffset);
+    return index;
+  }
+
+  /**
+   * Finds the last intersection the user has passed, falling back to the first intersection if
+   * the user is exactly on an intersection or hasn't passed any yet.
+   */
+  private static int findCurrentIntersectionIndex(double[] intersectionDistances, double stepDistanceTraveled) {
+    int lastIndex = intersectionDistances.length - 1;
+    int passedIndex = -1;
+    int low = 0;
+    int high = lastIndex;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (intersectionDistances[middle] < stepDistanceTraveled) {
+        passedIndex = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
       }
     }
-    return INDEX_ZERO;
+    boolean beforeNextIntersection = passedIndex == lastIndex
+      || (passedIndex >= 0 && stepDistanceTraveled < intersectionDistances[passedIndex + 1]);
+    return beforeNextIntersection ? passedIndex : FIRST_INTERSECTION;
+  }
+
+  private static double measureSlice(Point startPoint, Point stopPoint, List<Point> coordinates) {
+    LineString slicedLine = TurfMisc.lineSlice(startPoint, stopPoint, LineString.fromLngLats(coordinates));
+    return TurfMeasurement.length(slicedLine, TurfConstants.UNIT_METERS);
   }
 
-  private static Location getSnappedLocation(MapboxNavigation mapboxNavigation, Location location,
+  private static Location getSnappedLocation(NavigationSource source, Location location,
                                              RouteProgress routeProgress) {
-    Snap snap = mapboxNavigation.getSnapEngine();
+    Snap snap = source.getSnapEngine();
     return snap.getSnappedLocation(location, routeProgress);
   }
 
@@ -532,11 +601,4 @@ public class NavigationHelper {
     }
   }
 
-  private static boolean hasInvalidLegs(List<RouteLeg> legs) {
-    return legs == null || legs.isEmpty();
-  }
-
-  private static boolean hasInvalidSteps(List<LegStep> steps) {
-    return steps == null || steps.isEmpty();
-  }
 }
@@ -0,0 +1,76 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.google.auto.value.AutoValue;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import java.util.List;
+
+/**
+ * Everything the {@link NavigationCore} determined from a single location update. While navigating
+ * with {@link MapboxNavigation}, the same values are dispatched to the progress, milestone,
+ * off-route and faster-route listeners.
+ *
+ * @since 0.16.0
+ */
+@AutoValue
+public abstract class NavigationResult {
+
+  static NavigationResult create(Location location, RouteProgress routeProgress, List<Milestone> milestones,
+                                 boolean userOffRoute, boolean offRouteLikely, boolean checkFasterRoute) {
+    return new AutoValue_NavigationResult(location, routeProgress, milestones, userOffRoute, offRouteLikely,
+      checkFasterRoute);
+  }
+
+  /**
+   * The location of the update, snapped to the route if snapping is enabled and the user is on
+   * the route.
+   *
+   * @return raw or snapped location
+   * @since 0.16.0
+   */
+  public abstract Location location();
+
+  /**
+   * The progress along the route after this update.
+   *
+   * @return new route progress
+   * @since 0.16.0
+   */
+  public abstract RouteProgress routeProgress();
+
+  /**
+   * The milestones which occurred with this update.
+   *
+   * @return triggered milestones, empty if none occurred
+   * @since 0.16.0
+   */
+  public abstract List<Milestone> milestones();
+
+  /**
+   * Whether the off-route engine determined the user is off the route.
+   *
+   * @return true if off-route, false otherwise or if off-route detection is disabled
+   * @since 0.16.0
+   */
+  public abstract boolean userOffRoute();
+
+  /**
+   * Whether the off-route engine found the user still on the route, but drifting away from it.
+   *
+   * @return true if the user is likely to go off-route soon, false otherwise or if off-route
+   * detection is disabled
+   * @since 0.16.0
+   */
+  public abstract boolean offRouteLikely();
+
+  /**
+   * Whether the faster-route engine determined a faster route should be requested.
+   *
+   * @return true if a faster route should be checked for, false otherwise
+   * @since 0.16.0
+   */
+  public abstract boolean checkFasterRoute();
+}
@@ -8,6 +8,9 @@ import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.SnapCursor;
 import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteCallback;
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
@@ -15,20 +18,19 @@ import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotat
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.checkBearingForStepCompletion;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createCurrentAnnotation;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createDistancesToIntersections;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.createIntersectionsList;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.decodeStepPoints;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findCurrentIntersection;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.findUpcomingIntersection;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.increaseIndex;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.legDistanceRemaining;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.routeDistanceRemaining;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.stepDistanceRemaining;
-import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.userSnappedToRoutePosition;
 
 class NavigationRouteProcessor implements OffRouteCallback {
 
@@ -37,22 +39,27 @@ class NavigationRouteProcessor implements OffRouteCallback {
   private static final int ONE_INDEX = 1;
 
   private RouteProgress routeProgress;
+  private RouteGeometryIndex routeGeometryIndex;
+  private SnapCursor snapCursor;
   private List<Point> currentStepPoints;
   private List<Point> upcomingStepPoints;
   private List<StepIntersection> currentIntersections;
   private List<Pair<StepIntersection, Double>> currentIntersectionDistances;
+  private double[] intersectionDistances;
   private RouteLeg currentLeg;
   private LegStep currentStep;
   private LegStep upcomingStep;
   private CurrentLegAnnotation currentLegAnnotation;
   private NavigationIndices indices;
   private double stepDistanceRemaining;
+  private long routeGeneration;
   private boolean shouldIncreaseIndex;
   private RouteUtils routeUtils;
 
   NavigationRouteProcessor() {
     indices = NavigationIndices.create(FIRST_LEG_INDEX, FIRST_STEP_INDEX);
     routeUtils = new RouteUtils();
+    snapCursor = new SnapCursor();
   }
 
   @Override
@@ -65,19 +72,21 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * based on our calculations of the distances remaining.
    * <p>
    * Also in charge of detecting if a step / leg has finished and incrementing the
-   * indices if needed ({@link NavigationRouteProcessor#advanceIndices(MapboxNavigation)} handles
-   * the decoding of the next step point list).
+   * indices if needed ({@link NavigationRouteProcessor#advanceIndices(NavigationSource)} handles
+   * the lookup of the next step point list).
    *
    * @param navigation for the current route / options
    * @param location   for step / leg / route distance remaining
    * @return new route progress along the route
    */
-  RouteProgress buildNewRouteProgress(MapboxNavigation navigation, Location location) {
+  RouteProgress buildNewRouteProgress(NavigationSource navigation, Location location) {
+    // Read before the route, which the source replaces first
+    routeGeneration = navigation.getRouteGeneration();
     DirectionsRoute directionsRoute = navigation.getRoute();
     MapboxNavigationOptions options = navigation.options();
     double completionOffset = options.maxTurnCompletionOffset();
     double maneuverZoneRadius = options.maneuverZoneRadius();
-    checkNewRoute(navigation);
+    checkNewRoute(navigation, directionsRoute);
     stepDistanceRemaining = calculateStepDistanceRemaining(location, directionsRoute);
     checkManeuverCompletion(navigation, location, directionsRoute, completionOffset, maneuverZoneRadius);
     return assembleRouteProgress(directionsRoute);
@@ -98,7 +107,7 @@ class NavigationRouteProcessor implements OffRouteCallback {
    *
    * @param navigation to get the next {@link LegStep#geometry()} and off-route engine
    */
-  void checkIncreaseIndex(MapboxNavigation navigation) {
+  void checkIncreaseIndex(NavigationSource navigation) {
     if (shouldIncreaseIndex) {
       advanceIndices(navigation);
       shouldIncreaseIndex = false;
@@ -108,13 +117,26 @@ class NavigationRouteProcessor implements OffRouteCallback {
   /**
    * Checks if the route provided is a new route.  If it is, all {@link RouteProgress}
    * data and {@link NavigationIndices} needs to be reset.
+   * <p>
+   * A {@link RouteGeometryIndex} is also obtained from the source, decoding every step of the route
+   * once so it doesn't need to be decoded again while navigating it.  It's measured with the
+   * {@link DistanceKernel} selected in the {@link MapboxNavigationOptions}.
+   *
+   * <p>
+   * The route geometries are only compared when the source was given another route since the last
+   * update, which is told by its generation.
    *
-   * @param mapboxNavigation to get the current route and off-route engine
+   * @param source          to get the off-route engine
+   * @param directionsRoute the current route of the source
    */
-  private void checkNewRoute(MapboxNavigation mapboxNavigation) {
-    DirectionsRoute directionsRoute = mapboxNavigation.getRoute();
-    if (routeUtils.isNewRoute(routeProgress, directionsRoute)) {
-      createFirstIndices(mapboxNavigation);
+  private void checkNewRoute(NavigationSource source, DirectionsRoute directionsRoute) {
+    boolean isSameRoute = routeProgress != null
+      && routeProgress.directionsRoute() == directionsRoute
+      && routeProgress.routeGeneration() == routeGeneration;
+    if (!isSameRoute && routeUtils.isNewRoute(routeProgress, directionsRoute)) {
+      DistanceKernel distanceKernel = DistanceKernel.create(source.options().distanceKernelType());
+      routeGeometryIndex = source.obtainGeometryIndex(directionsRoute, distanceKernel);
+      createFirstIndices(source);
       routeProgress = assembleRouteProgress(directionsRoute);
     }
   }
@@ -127,13 +149,12 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * @return distance remaining in meters
    */
   private double calculateStepDistanceRemaining(Location location, DirectionsRoute directionsRoute) {
-    Point snappedPosition = userSnappedToRoutePosition(location, currentStepPoints);
     return stepDistanceRemaining(
-      snappedPosition, indices.legIndex(), indices.stepIndex(), directionsRoute, currentStepPoints
+      location, indices.legIndex(), indices.stepIndex(), directionsRoute, routeGeometryIndex, snapCursor
     );
   }
 
-  private void checkManeuverCompletion(MapboxNavigation navigation, Location location, DirectionsRoute directionsRoute,
+  private void checkManeuverCompletion(NavigationSource navigation, Location location, DirectionsRoute directionsRoute,
                                        double completionOffset, double maneuverZoneRadius) {
     boolean withinManeuverRadius = stepDistanceRemaining < maneuverZoneRadius;
     boolean bearingMatchesManeuver = checkBearingForStepCompletion(
@@ -150,24 +171,24 @@ class NavigationRouteProcessor implements OffRouteCallback {
   /**
    * Increases the step index in {@link NavigationIndices} by 1.
    * <p>
-   * Decodes the step points for the new step and clears the distances from
+   * Looks up the step points for the new step and clears the distances from
    * maneuver stack, as the maneuver has now changed.
    *
-   * @param mapboxNavigation to get the next {@link LegStep#geometry()} and {@link OffRoute}
+   * @param source to get the next {@link LegStep#geometry()} and {@link OffRoute}
    */
-  private void advanceIndices(MapboxNavigation mapboxNavigation) {
+  private void advanceIndices(NavigationSource source) {
     indices = increaseIndex(routeProgress, indices);
-    processNewIndex(mapboxNavigation);
+    processNewIndex(source);
   }
 
   /**
    * Initializes or resets the {@link NavigationIndices} for a new route received.
    *
-   * @param mapboxNavigation to get the next {@link LegStep#geometry()} and {@link OffRoute}
+   * @param source to get the next {@link LegStep#geometry()} and {@link OffRoute}
    */
-  private void createFirstIndices(MapboxNavigation mapboxNavigation) {
+  private void createFirstIndices(NavigationSource source) {
     indices = NavigationIndices.create(FIRST_LEG_INDEX, FIRST_STEP_INDEX);
-    processNewIndex(mapboxNavigation);
+    processNewIndex(source);
   }
 
   /**
@@ -176,30 +197,34 @@ class NavigationRouteProcessor implements OffRouteCallback {
    * Processes all new index-based data that is
    * needed for {@link NavigationRouteProcessor#assembleRouteProgress(DirectionsRoute)}.
    *
-   * @param mapboxNavigation for the current route
+   * @param source for the current route
    */
-  private void processNewIndex(MapboxNavigation mapboxNavigation) {
-    DirectionsRoute route = mapboxNavigation.getRoute();
+  private void processNewIndex(NavigationSource source) {
+    DirectionsRoute route = source.getRoute();
     int legIndex = indices.legIndex();
     int stepIndex = indices.stepIndex();
     int upcomingStepIndex = stepIndex + ONE_INDEX;
     updateSteps(route, legIndex, stepIndex, upcomingStepIndex);
-    updateStepPoints(route, legIndex, stepIndex, upcomingStepIndex);
-    updateIntersections();
-    clearManeuverDistances(mapboxNavigation.getOffRouteEngine());
+    updateStepPoints(legIndex, stepIndex, upcomingStepIndex);
+    updateIntersections(legIndex, stepIndex);
+    clearManeuverDistances(source.getOffRouteEngine());
   }
 
   private RouteProgress assembleRouteProgress(DirectionsRoute route) {
     int legIndex = indices.legIndex();
     int stepIndex = indices.stepIndex();
 
-    double legDistanceRemaining = legDistanceRemaining(stepDistanceRemaining, legIndex, stepIndex, route);
-    double routeDistanceRemaining = routeDistanceRemaining(legDistanceRemaining, legIndex, route);
-    currentLegAnnotation = createCurrentAnnotation(currentLegAnnotation, currentLeg, legDistanceRemaining);
+    double legDistanceRemaining = legDistanceRemaining(
+      stepDistanceRemaining, legIndex, stepIndex, routeGeometryIndex
+    );
+    double routeDistanceRemaining = routeDistanceRemaining(legDistanceRemaining, legIndex, routeGeometryIndex);
+    currentLegAnnotation = createCurrentAnnotation(
+      currentLegAnnotation, routeGeometryIndex.legAnnotationIndex(legIndex), legDistanceRemaining
+    );
     double stepDistanceTraveled = currentStep.distance() - stepDistanceRemaining;
 
     StepIntersection currentIntersection = findCurrentIntersection(
-      currentIntersections, currentIntersectionDistances, stepDistanceTraveled
+      currentIntersections, intersectionDistances, stepDistanceTraveled
     );
     StepIntersection upcomingIntersection = findUpcomingIntersection(
       currentIntersections, upcomingStep, currentIntersection
@@ -210,8 +235,10 @@ class NavigationRouteProcessor implements OffRouteCallback {
       .legDistanceRemaining(legDistanceRemaining)
       .distanceRemaining(routeDistanceRemaining)
       .directionsRoute(route)
+      .routeGeneration(routeGeneration)
       .currentStepPoints(currentStepPoints)
       .upcomingStepPoints(upcomingStepPoints)
+      .routeGeometryIndex(routeGeometryIndex)
       .stepIndex(stepIndex)
       .legIndex(legIndex)
       .intersections(currentIntersections)
@@ -237,14 +264,24 @@ class NavigationRouteProcessor implements OffRouteCallback {
     upcomingStep = upcomingStepIndex < steps.size() - ONE_INDEX ? steps.get(upcomingStepIndex) : null;
   }
 
-  private void updateStepPoints(DirectionsRoute route, int legIndex, int stepIndex, int upcomingStepIndex) {
-    currentStepPoints = decodeStepPoints(route, currentStepPoints, legIndex, stepIndex);
-    upcomingStepPoints = decodeStepPoints(route, null, legIndex, upcomingStepIndex);
+  private void updateStepPoints(int legIndex, int stepIndex, int upcomingStepIndex) {
+    List<Point> stepPoints = routeGeometryIndex.stepPoints(legIndex, stepIndex);
+    if (stepPoints != null) {
+      currentStepPoints = stepPoints;
+    }
+    upcomingStepPoints = routeGeometryIndex.stepPoints(legIndex, upcomingStepIndex);
   }
 
-  private void updateIntersections() {
+  /**
+   * Reads the intersection distances measured by the {@link RouteGeometryIndex}, which include the
+   * first intersection of the next step, only kept if the upcoming step is part of the intersections.
+   */
+  private void updateIntersections(int legIndex, int stepIndex) {
     currentIntersections = createIntersectionsList(currentStep, upcomingStep);
-    currentIntersectionDistances = createDistancesToIntersections(currentStepPoints, currentIntersections);
+    double[] stepIntersectionDistances = routeGeometryIndex.intersectionDistances(legIndex, stepIndex);
+    int measuredCount = Math.min(stepIntersectionDistances.length, currentIntersections.size());
+    intersectionDistances = Arrays.copyOf(stepIntersectionDistances, measuredCount);
+    currentIntersectionDistances = createDistancesToIntersections(currentIntersections, intersectionDistances);
   }
 
   private void clearManeuverDistances(OffRoute offRoute) {
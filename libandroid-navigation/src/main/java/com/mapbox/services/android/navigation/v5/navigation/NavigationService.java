@@ -8,6 +8,7 @@ import android.os.Binder;
 import android.os.Build;
 import android.os.Handler;
 import android.os.IBinder;
+import android.os.SystemClock;
 import android.support.annotation.Nullable;
 
 import com.mapbox.android.core.location.LocationEngine;
@@ -20,12 +21,15 @@ import com.mapbox.services.android.navigation.v5.navigation.notification.Navigat
 import com.mapbox.services.android.navigation.v5.route.RouteFetcher;
 import com.mapbox.services.android.navigation.v5.route.RouteListener;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
 
 import java.util.List;
 
 import timber.log.Timber;
 
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.DEAD_RECKONING_UPDATE_INTERVAL_IN_MILLIS;
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.MAXIMUM_DEAD_RECKONING_TIME_IN_MILLIS;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationHelper.buildInstructionString;
 
 /**
@@ -42,16 +46,18 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationHel
 public class NavigationService extends Service implements LocationEngineListener,
   NavigationEngine.Callback {
 
-  private static final int MSG_LOCATION_UPDATED = 1001;
-
   private final IBinder localBinder = new LocalBinder();
   private NavigationNotification navigationNotification;
   private MapboxNavigation mapboxNavigation;
   private RouteFetcher routeEngine;
   private LocationEngine locationEngine;
   private LocationValidator locationValidator;
-  private NavigationEngine thread;
+  private NavigationEngine navigationEngine;
+  private ProgressInterpolator progressInterpolator;
+  private AdaptiveLocationInterval adaptiveLocationInterval;
   private RouteUtils routeUtils;
+  private Handler deadReckoningHandler;
+  private long lastLocationUpdateTime;
 
   @Nullable
   @Override
@@ -61,10 +67,8 @@ public class NavigationService extends Service implements LocationEngineListener
 
   @Override
   public void onCreate() {
-    thread = new NavigationEngine(new Handler(), this);
-    thread.start();
-    thread.prepareHandler();
     routeUtils = new RouteUtils();
+    deadReckoningHandler = new Handler();
   }
 
   /**
@@ -111,6 +115,28 @@ public class NavigationService extends Service implements LocationEngineListener
       navigationNotification.updateNotification(routeProgress);
     }
     mapboxNavigation.getEventDispatcher().onProgressChange(location, routeProgress);
+    progressInterpolator.onProgress(location, routeProgress);
+    if (adaptiveLocationInterval != null && adaptiveLocationInterval.onRouteProgress(routeProgress)) {
+      requestLocationInterval();
+    }
+  }
+
+  /**
+   * Only called if {@link MapboxNavigationOptions#enableProgressSnapshots()} is enabled, passing the
+   * reusable snapshot of the new route progress to the navigation event dispatcher.
+   */
+  @Override
+  public void onProgressSnapshot(Location location, RouteProgressSnapshot snapshot) {
+    mapboxNavigation.getEventDispatcher().onProgressSnapshot(location, snapshot);
+  }
+
+  /**
+   * Forwards the timings of a processed location update to the navigation event dispatcher,
+   * only called while an {@link EngineTimingListener} is added.
+   */
+  @Override
+  public void onEngineTiming(EngineTiming engineTiming) {
+    mapboxNavigation.getEventDispatcher().onEngineTiming(engineTiming);
   }
 
   /**
@@ -133,12 +159,27 @@ public class NavigationService extends Service implements LocationEngineListener
   @Override
   public void onUserOffRoute(Location location, boolean userOffRoute) {
     if (userOffRoute) {
+      progressInterpolator.stop();
+      if (adaptiveLocationInterval != null && adaptiveLocationInterval.onUserOffRoute()) {
+        requestLocationInterval();
+      }
       // Send off route event with current location
       mapboxNavigation.getEventDispatcher().onUserOffRoute(location);
     }
   }
 
 
+  /**
+   * Corresponds to OffRouteLikelyListener object, notified while the user drifts away from the route
+   * so a new route can be requested ahead of the off-route event.
+   */
+  @Override
+  public void onOffRouteLikely(RouteProgress routeProgress, boolean offRouteLikely) {
+    if (offRouteLikely) {
+      mapboxNavigation.getEventDispatcher().onOffRouteLikely(routeProgress);
+    }
+  }
+
   /**
    * RouteListener from the {@link NavigationEngine} - if fired with checkFasterRoute set
    * to true, a new {@link DirectionsRoute} should be fetched with {@link RouteFetcher}.
@@ -160,6 +201,9 @@ public class NavigationService extends Service implements LocationEngineListener
    */
   void startNavigation(MapboxNavigation mapboxNavigation) {
     this.mapboxNavigation = mapboxNavigation;
+    initNavigationEngine(mapboxNavigation);
+    initProgressInterpolator(mapboxNavigation);
+    initAdaptiveLocationInterval(mapboxNavigation);
     initNotification(mapboxNavigation);
     initRouteEngine(mapboxNavigation);
     initLocationValidator();
@@ -169,13 +213,16 @@ public class NavigationService extends Service implements LocationEngineListener
 
   /**
    * Specifically removes this locationEngine listener which was added at the very beginning, quits
-   * the thread, and finally stops this service from running in the background.
+   * the navigation engine, and finally stops this service from running in the background.
    */
   void endNavigation() {
+    resetLocationInterval();
     removeLocationEngineListener();
     removeRouteEngineListener();
     unregisterMapboxNotificationReceiver();
-    quitThread();
+    stopDeadReckoning();
+    stopProgressInterpolator();
+    quitNavigationEngine();
   }
 
   /**
@@ -189,6 +236,44 @@ public class NavigationService extends Service implements LocationEngineListener
     locationEngine.addLocationEngineListener(this);
   }
 
+  /**
+   * Creates the navigation engine with the executors from the {@link MapboxNavigationOptions}, only
+   * once for the lifetime of this service.
+   *
+   * @param mapboxNavigation to retrieve the options and build the navigation core
+   */
+  private void initNavigationEngine(MapboxNavigation mapboxNavigation) {
+    if (navigationEngine == null) {
+      navigationEngine = new NavigationEngine(this, mapboxNavigation);
+    }
+  }
+
+  /**
+   * Creates the interpolator moving the progress forward between location updates, only once for
+   * the lifetime of this service. It only runs while an
+   * {@link com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedProgressListener} is added.
+   *
+   * @param mapboxNavigation to retrieve the options and the event dispatcher
+   */
+  private void initProgressInterpolator(MapboxNavigation mapboxNavigation) {
+    if (progressInterpolator == null) {
+      progressInterpolator = new ProgressInterpolator(mapboxNavigation.getEventDispatcher(),
+        mapboxNavigation.options().progressInterpolationRate());
+    }
+  }
+
+  /**
+   * Creates the policy lowering the rate of location updates far from maneuvers, only once for the
+   * lifetime of this service and if enabled in the {@link MapboxNavigationOptions}.
+   *
+   * @param mapboxNavigation to retrieve the options
+   */
+  private void initAdaptiveLocationInterval(MapboxNavigation mapboxNavigation) {
+    if (adaptiveLocationInterval == null && mapboxNavigation.options().enableAdaptiveLocationUpdates()) {
+      adaptiveLocationInterval = new AdaptiveLocationInterval(mapboxNavigation.options());
+    }
+  }
+
   /**
    * Initializes a notification for this service based on whether it's
    * enabled in {@link MapboxNavigationOptions} or if the current Android API is
@@ -277,7 +362,61 @@ public class NavigationService extends Service implements LocationEngineListener
    * @param location to be processed
    */
   private void queueLocationUpdateTask(Location location) {
-    thread.queueTask(MSG_LOCATION_UPDATED, NewLocationModel.create(location, mapboxNavigation));
+    navigationEngine.queueTask(NewLocationModel.create(location, mapboxNavigation));
+    scheduleDeadReckoning();
+  }
+
+  /**
+   * While a {@link com.mapbox.services.android.navigation.v5.location.LocationFilter} is set, a
+   * location is predicted if no update is received within
+   * {@link NavigationConstants#DEAD_RECKONING_UPDATE_INTERVAL_IN_MILLIS} after the requested location
+   * update interval, then every {@link NavigationConstants#DEAD_RECKONING_UPDATE_INTERVAL_IN_MILLIS}, until an
+   * update is received or {@link NavigationConstants#MAXIMUM_DEAD_RECKONING_TIME_IN_MILLIS} elapsed.
+   */
+  private void scheduleDeadReckoning() {
+    stopDeadReckoning();
+    lastLocationUpdateTime = SystemClock.elapsedRealtime();
+    if (mapboxNavigation.getLocationFilter() != null) {
+      long delay = DEAD_RECKONING_UPDATE_INTERVAL_IN_MILLIS + requestedLocationInterval();
+      deadReckoningHandler.postDelayed(deadReckoningTask, delay);
+    }
+  }
+
+  /**
+   * Sets the interval picked by the {@link AdaptiveLocationInterval} on the location engine, and
+   * requests updates again for it to take effect if the engine is connected. Otherwise, it's picked
+   * up once the engine connects.
+   */
+  @SuppressWarnings("MissingPermission")
+  private void requestLocationInterval() {
+    if (locationEngine == null) {
+      return;
+    }
+    locationEngine.setInterval(adaptiveLocationInterval.interval());
+    locationEngine.setFastestInterval(adaptiveLocationInterval.fastestInterval());
+    if (locationEngine.isConnected()) {
+      locationEngine.requestLocationUpdates();
+    }
+    progressInterpolator.setUpdateInterval(adaptiveLocationInterval.interval());
+  }
+
+  /**
+   * Leaves the location engine requesting updates every second once the session ends.
+   */
+  private void resetLocationInterval() {
+    if (adaptiveLocationInterval != null && adaptiveLocationInterval.reset()) {
+      requestLocationInterval();
+    }
+  }
+
+  private long requestedLocationInterval() {
+    return adaptiveLocationInterval == null ? 0 : adaptiveLocationInterval.interval();
+  }
+
+  private void stopDeadReckoning() {
+    if (deadReckoningHandler != null) {
+      deadReckoningHandler.removeCallbacks(deadReckoningTask);
+    }
   }
 
   /**
@@ -314,14 +453,30 @@ public class NavigationService extends Service implements LocationEngineListener
     }
   }
 
-  private void quitThread() {
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
-      thread.quitSafely();
-    } else {
-      thread.quit();
+  private void stopProgressInterpolator() {
+    if (progressInterpolator != null) {
+      progressInterpolator.stop();
     }
   }
 
+  private void quitNavigationEngine() {
+    if (navigationEngine != null) {
+      navigationEngine.quit();
+    }
+  }
+
+  private final Runnable deadReckoningTask = new Runnable() {
+    @Override
+    public void run() {
+      long millisSinceLastUpdate = SystemClock.elapsedRealtime() - lastLocationUpdateTime;
+      if (millisSinceLastUpdate > MAXIMUM_DEAD_RECKONING_TIME_IN_MILLIS) {
+        return;
+      }
+      navigationEngine.queuePrediction(mapboxNavigation, millisSinceLastUpdate);
+      deadReckoningHandler.postDelayed(this, DEAD_RECKONING_UPDATE_INTERVAL_IN_MILLIS);
+    }
+  };
+
   private RouteListener routeListener = new RouteListener() {
     @Override
     public void onResponseReceived(DirectionsResponse response, RouteProgress routeProgress) {
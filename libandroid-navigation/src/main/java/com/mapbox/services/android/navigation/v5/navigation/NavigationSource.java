@@ -0,0 +1,74 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.location.LocationFilter;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.offroute.OffRoute;
+import com.mapbox.services.android.navigation.v5.route.FasterRoute;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.Snap;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything the {@link NavigationCore} reads while processing a location update: the route being
+ * navigated, the options, the milestones, the off-route, snap and faster-route engines and the
+ * location filter.
+ * <p>
+ * {@link MapboxNavigation} is the source while navigating on a device. A {@link NavigationCore}
+ * built with {@link NavigationCore.Builder} has its own source, so it can run without a
+ * {@link android.content.Context} or the {@link NavigationService}.
+ */
+abstract class NavigationSource {
+
+  private static final AtomicLong ROUTE_GENERATIONS = new AtomicLong();
+
+  abstract DirectionsRoute getRoute();
+
+  /**
+   * Identifies the route returned by {@link #getRoute()}, so it can be told apart from the previous
+   * one without comparing them. Each route a source is given gets a new generation, unique across
+   * all sources.
+   *
+   * @return generation of the current route, or {@link RouteProgress#UNKNOWN_ROUTE_GENERATION}
+   */
+  abstract long getRouteGeneration();
+
+  abstract MapboxNavigationOptions options();
+
+  abstract List<Milestone> getMilestones();
+
+  abstract OffRoute getOffRouteEngine();
+
+  abstract Snap getSnapEngine();
+
+  abstract FasterRoute getFasterRouteEngine();
+
+  abstract LocationFilter getLocationFilter();
+
+  /**
+   * Called when a new route is seen by the route processor. The index is immutable, so sources
+   * navigating the same route may share it.
+   *
+   * @param route          to be indexed
+   * @param distanceKernel selected in the options
+   * @return index of the route geometry
+   */
+  RouteGeometryIndex obtainGeometryIndex(DirectionsRoute route, DistanceKernel distanceKernel) {
+    return new RouteGeometryIndex(route, distanceKernel);
+  }
+
+  static long nextRouteGeneration() {
+    return ROUTE_GENERATIONS.incrementAndGet();
+  }
+
+  /**
+   * Called once no more location updates will be processed with this source.
+   */
+  void release() {
+    // Nothing is shared by default
+  }
+}
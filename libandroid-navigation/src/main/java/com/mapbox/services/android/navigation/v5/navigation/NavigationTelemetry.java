@@ -49,6 +49,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
   private List<FeedbackEvent> queuedFeedbackEvents = new ArrayList<>();
 
   private MetricsRouteProgress metricProgress;
+  private RouteProgress lastRouteProgress;
   private MetricsLocation metricLocation;
 
   private NavigationEventDispatcher eventDispatcher;
@@ -93,7 +94,8 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
 
   @Override
   public void onRouteProgressUpdate(RouteProgress routeProgress) {
-    this.metricProgress = new MetricsRouteProgress(routeProgress);
+    lastRouteProgress = routeProgress;
+    metricProgress = null;
 
     boolean isValidDeparture = navigationSessionState.startTimestamp() == null
       && routeProgress.currentLegProgress().distanceTraveled() > 0;
@@ -102,7 +104,9 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
         .startTimestamp(new Date())
         .build();
       updateLifecyclePercentages();
-      NavigationMetricsWrapper.departEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
+      NavigationMetricsWrapper.departEvent(
+        navigationSessionState, obtainMetricProgress(), metricLocation.getLocation()
+      );
     }
   }
 
@@ -193,7 +197,9 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       if (navigationSessionState.startTimestamp() != null) {
         flushEventQueues();
         updateLifecyclePercentages();
-        NavigationMetricsWrapper.cancelEvent(navigationSessionState, metricProgress, metricLocation.getLocation());
+        NavigationMetricsWrapper.cancelEvent(
+          navigationSessionState, obtainMetricProgress(), metricLocation.getLocation()
+        );
       }
       lifecycleMonitor = null;
       NavigationMetricsWrapper.disable();
@@ -405,9 +411,20 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     return locationsAfterEvent;
   }
 
+  /**
+   * The metrics progress is only created from the latest route progress when an event needs it,
+   * rather than with every progress update.
+   */
+  private MetricsRouteProgress obtainMetricProgress() {
+    if (metricProgress == null) {
+      metricProgress = new MetricsRouteProgress(lastRouteProgress);
+    }
+    return metricProgress;
+  }
+
   private void updateDistanceCompleted() {
     double currentDistanceCompleted = navigationSessionState.eventRouteDistanceCompleted()
-      + metricProgress.getDistanceTraveled();
+      + obtainMetricProgress().getDistanceTraveled();
     navigationSessionState = navigationSessionState.toBuilder()
       .eventRouteDistanceCompleted(currentDistanceCompleted)
       .build();
@@ -419,7 +436,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     Date eventDate = new Date();
     SessionState rerouteEventSessionState = navigationSessionState.toBuilder()
       .eventDate(eventDate)
-      .eventRouteProgress(metricProgress)
+      .eventRouteProgress(obtainMetricProgress())
       .eventLocation(metricLocation.getLocation())
       .secondsSinceLastReroute(getSecondsSinceLastReroute(eventDate))
       .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
@@ -435,12 +452,12 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     updateLifecyclePercentages();
     // Distance completed = previous distance completed + current RouteProgress distance traveled
     double distanceCompleted = navigationSessionState.eventRouteDistanceCompleted()
-      + metricProgress.getDistanceTraveled();
+      + obtainMetricProgress().getDistanceTraveled();
 
     // Create a new session state given the current navigation session
     SessionState feedbackEventSessionState = navigationSessionState.toBuilder()
       .eventDate(new Date())
-      .eventRouteProgress(metricProgress)
+      .eventRouteProgress(obtainMetricProgress())
       .eventRouteDistanceCompleted(distanceCompleted)
       .eventLocation(metricLocation.getLocation())
       .mockLocation(metricLocation.getLocation().getProvider().equals(MOCK_PROVIDER))
@@ -470,7 +487,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
     // Set the updated session state
     rerouteEvent.setRerouteSessionState(rerouteSessionState);
 
-    NavigationMetricsWrapper.rerouteEvent(rerouteEvent, metricProgress,
+    NavigationMetricsWrapper.rerouteEvent(rerouteEvent, obtainMetricProgress(),
       rerouteEvent.getSessionState().eventLocation());
   }
 
@@ -487,7 +504,7 @@ class NavigationTelemetry implements LocationEngineListener, NavigationMetricLis
       .afterEventLocations(afterLocations)
       .build();
 
-    NavigationMetricsWrapper.feedbackEvent(feedbackSessionState, metricProgress,
+    NavigationMetricsWrapper.feedbackEvent(feedbackSessionState, obtainMetricProgress(),
       feedbackEvent.getSessionState().eventLocation(), feedbackEvent.getDescription(),
       feedbackEvent.getFeedbackType(), feedbackEvent.getScreenshot(), feedbackEvent.getFeedbackSource());
   }
@@ -1,6 +1,7 @@
 package com.mapbox.services.android.navigation.v5.navigation;
 
 import android.location.Location;
+import android.os.SystemClock;
 
 import com.google.auto.value.AutoValue;
 
@@ -8,10 +9,19 @@ import com.google.auto.value.AutoValue;
 abstract class NewLocationModel {
 
   static NewLocationModel create(Location location, MapboxNavigation mapboxNavigation) {
-    return new AutoValue_NewLocationModel(location, mapboxNavigation);
+    return create(location, mapboxNavigation, SystemClock.elapsedRealtime());
+  }
+
+  static NewLocationModel create(Location location, MapboxNavigation mapboxNavigation, long queuedElapsedTime) {
+    return new AutoValue_NewLocationModel(location, mapboxNavigation, queuedElapsedTime);
   }
 
   abstract Location location();
 
   abstract MapboxNavigation mapboxNavigation();
+
+  /**
+   * @return {@link SystemClock#elapsedRealtime()} at the time this update was queued
+   */
+  abstract long queuedElapsedTime();
 }
@@ -0,0 +1,269 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.annotation.TargetApi;
+import android.location.Location;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.StepPosition;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.MAXIMUM_PROGRESS_INTERPOLATION_TIME_IN_MILLIS;
+
+/**
+ * Moves the progress of the latest location update forward along the current step at the speed of
+ * the update, with the display frames, and reports it to the
+ * {@link com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedProgressListener}s at
+ * most {@link MapboxNavigationOptions#progressInterpolationRate()} times per second.
+ * <p>
+ * Each tick is a binary search of the step vertices and a handful of arithmetic on reused objects;
+ * nothing else from the navigation engine runs again until the next location update. Ticks don't
+ * go past the end of the current step, and stop once the user is off-route or when no update has
+ * been received for {@link NavigationConstants#MAXIMUM_PROGRESS_INTERPOLATION_TIME_IN_MILLIS} after
+ * the requested update interval.
+ * <p>
+ * The progress can be given from any thread, for instance from a
+ * {@link MapboxNavigationOptions#callbackExecutor()} that doesn't run on the main thread, but it's
+ * handed over to the main thread, which runs the display frames and the interpolation.
+ */
+class ProgressInterpolator {
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+  private static final double NANOS_PER_SECOND = 1E9;
+  private static final long FRAME_TOLERANCE_NANOS = 4 * NANOS_PER_MILLI;
+  private static final float MINIMUM_SPEED = 1f;
+
+  private final NavigationEventDispatcher eventDispatcher;
+  private final FrameClock frameClock;
+  private final Handler mainHandler;
+  private final long tickIntervalNanos;
+  private final RouteProgressSnapshot progressSnapshot = new RouteProgressSnapshot();
+  private final RouteProgressSnapshot interpolatedSnapshot = new RouteProgressSnapshot();
+  private final StepPosition stepPosition = new StepPosition();
+  private final Location interpolatedLocation = new Location("");
+  private Location location;
+  private RouteGeometryIndex geometryIndex;
+  private int legIndex;
+  private int stepIndex;
+  private double distanceAlongStep;
+  private double speed;
+  private long updateTimeNanos;
+  private long lastTickNanos;
+  private long maximumTimeNanos = MAXIMUM_PROGRESS_INTERPOLATION_TIME_IN_MILLIS * NANOS_PER_MILLI;
+  private boolean running;
+  private final Runnable stopTask = new Runnable() {
+    @Override
+    public void run() {
+      stopFrames();
+    }
+  };
+
+  ProgressInterpolator(NavigationEventDispatcher eventDispatcher, int rate) {
+    this(eventDispatcher, rate, createFrameClock());
+  }
+
+  ProgressInterpolator(NavigationEventDispatcher eventDispatcher, int rate, FrameClock frameClock) {
+    this.eventDispatcher = eventDispatcher;
+    this.frameClock = frameClock;
+    mainHandler = new Handler(Looper.getMainLooper());
+    tickIntervalNanos = rate > 0 ? (long) (NANOS_PER_SECOND / rate) : 0;
+  }
+
+  /**
+   * Starts interpolating from the given update, replacing the previous one. Called off the main
+   * thread, the update is posted to it.
+   *
+   * @param location      of the update, snapped to the route
+   * @param routeProgress of the update
+   */
+  void onProgress(final Location location, final RouteProgress routeProgress) {
+    final long updateTimeNanos = System.nanoTime();
+    if (isMainThread()) {
+      onProgress(location, routeProgress, updateTimeNanos);
+      return;
+    }
+    mainHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        onProgress(location, routeProgress, updateTimeNanos);
+      }
+    });
+  }
+
+  void onProgress(Location location, RouteProgress routeProgress, long updateTimeNanos) {
+    RouteGeometryIndex index = routeProgress.routeGeometryIndex();
+    boolean canInterpolate = tickIntervalNanos > 0 && index != null
+      && eventDispatcher.hasInterpolatedProgressListeners()
+      && location.hasSpeed() && location.getSpeed() >= MINIMUM_SPEED;
+    if (!canInterpolate) {
+      stop();
+      return;
+    }
+    this.location = location;
+    geometryIndex = index;
+    legIndex = routeProgress.legIndex();
+    stepIndex = routeProgress.currentLegProgress().stepIndex();
+    double stepDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining();
+    distanceAlongStep = Math.max(0, index.stepLength(legIndex, stepIndex) - stepDistanceRemaining);
+    speed = location.getSpeed();
+    progressSnapshot.set(routeProgress);
+    this.updateTimeNanos = updateTimeNanos;
+    lastTickNanos = updateTimeNanos;
+    if (!running) {
+      running = true;
+      frameClock.postFrame(this);
+    }
+  }
+
+  /**
+   * Keeps interpolating for longer while location updates are requested less often.
+   *
+   * @param intervalInMillis requested between location updates
+   */
+  void setUpdateInterval(final long intervalInMillis) {
+    if (!isMainThread()) {
+      mainHandler.post(new Runnable() {
+        @Override
+        public void run() {
+          setUpdateInterval(intervalInMillis);
+        }
+      });
+      return;
+    }
+    maximumTimeNanos = (MAXIMUM_PROGRESS_INTERPOLATION_TIME_IN_MILLIS + intervalInMillis) * NANOS_PER_MILLI;
+  }
+
+  /**
+   * Stops the ticks until the next update. Called off the main thread, the stop is posted to it.
+   */
+  void stop() {
+    if (isMainThread()) {
+      stopFrames();
+    } else {
+      mainHandler.post(stopTask);
+    }
+  }
+
+  private void stopFrames() {
+    if (running) {
+      running = false;
+      frameClock.removeFrame(this);
+    }
+  }
+
+  void onFrame(long frameTimeNanos) {
+    if (!running) {
+      return;
+    }
+    long elapsedNanos = Math.max(0, frameTimeNanos - updateTimeNanos);
+    if (elapsedNanos > maximumTimeNanos) {
+      running = false;
+      return;
+    }
+    frameClock.postFrame(this);
+    boolean isTickDue = frameTimeNanos - lastTickNanos + FRAME_TOLERANCE_NANOS >= tickIntervalNanos;
+    if (!isTickDue || !eventDispatcher.hasInterpolatedProgressListeners()) {
+      return;
+    }
+    lastTickNanos = frameTimeNanos;
+    double distance = Math.min(speed * elapsedNanos / NANOS_PER_SECOND, progressSnapshot.stepDistanceRemaining());
+    if (!geometryIndex.findPosition(legIndex, stepIndex, distanceAlongStep + distance, stepPosition)) {
+      return;
+    }
+    interpolatedLocation.set(location);
+    interpolatedLocation.setLatitude(stepPosition.latitude());
+    interpolatedLocation.setLongitude(stepPosition.longitude());
+    interpolatedLocation.setBearing((float) stepPosition.bearing());
+    interpolatedLocation.setTime(location.getTime() + elapsedNanos / NANOS_PER_MILLI);
+    interpolatedSnapshot.set(progressSnapshot);
+    interpolatedSnapshot.advance(distance);
+    eventDispatcher.onInterpolatedProgress(interpolatedLocation, interpolatedSnapshot);
+  }
+
+  private boolean isMainThread() {
+    return Looper.myLooper() == mainHandler.getLooper();
+  }
+
+  private static FrameClock createFrameClock() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      return new ChoreographerFrameClock();
+    }
+    return new HandlerFrameClock();
+  }
+
+  /**
+   * Calls {@link #onFrame(long)} of the interpolator with the next display frame.
+   */
+  interface FrameClock {
+
+    void postFrame(ProgressInterpolator interpolator);
+
+    void removeFrame(ProgressInterpolator interpolator);
+  }
+
+  /**
+   * Frames of the main thread {@link Choreographer}. The clock is only used from the main thread, so
+   * {@link Choreographer#getInstance()} is called once from there rather than where it's created.
+   */
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static class ChoreographerFrameClock implements FrameClock, Choreographer.FrameCallback {
+
+    private Choreographer choreographer;
+    private ProgressInterpolator interpolator;
+
+    @Override
+    public void postFrame(ProgressInterpolator interpolator) {
+      this.interpolator = interpolator;
+      obtainChoreographer().postFrameCallback(this);
+    }
+
+    @Override
+    public void removeFrame(ProgressInterpolator interpolator) {
+      obtainChoreographer().removeFrameCallback(this);
+    }
+
+    private Choreographer obtainChoreographer() {
+      if (choreographer == null) {
+        choreographer = Choreographer.getInstance();
+      }
+      return choreographer;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      interpolator.onFrame(frameTimeNanos);
+    }
+  }
+
+  /**
+   * Before {@link Choreographer} is available, frames are approximated with a 60 Hz main thread
+   * {@link Handler}.
+   */
+  private static class HandlerFrameClock implements FrameClock, Runnable {
+
+    private static final long FRAME_INTERVAL_MILLIS = 16;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private ProgressInterpolator interpolator;
+
+    @Override
+    public void postFrame(ProgressInterpolator interpolator) {
+      this.interpolator = interpolator;
+      handler.postDelayed(this, FRAME_INTERVAL_MILLIS);
+    }
+
+    @Override
+    public void removeFrame(ProgressInterpolator interpolator) {
+      handler.removeCallbacks(this);
+    }
+
+    @Override
+    public void run() {
+      interpolator.onFrame(System.nanoTime());
+    }
+  }
+}
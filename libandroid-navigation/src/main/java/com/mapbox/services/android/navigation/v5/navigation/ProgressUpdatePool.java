@@ -0,0 +1,107 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+import android.support.annotation.Nullable;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A small, fixed set of reusable {@link Runnable}s used by the {@link NavigationEngine} to post
+ * the results of a location update back to the {@link NavigationEngine.Callback}.
+ * <p>
+ * Each update is filled on the navigation thread and released once it has run on the main thread,
+ * so in steady state no new runnables or snapshots are needed to report progress. If every pooled
+ * update is still waiting to run, a new one is created for that update only.
+ */
+class ProgressUpdatePool {
+
+  private static final int DEFAULT_POOL_SIZE = 3;
+
+  private final NavigationEngine.Callback callback;
+  private final ProgressUpdate[] updates;
+
+  ProgressUpdatePool(NavigationEngine.Callback callback) {
+    this(callback, DEFAULT_POOL_SIZE);
+  }
+
+  ProgressUpdatePool(NavigationEngine.Callback callback, int poolSize) {
+    this.callback = callback;
+    updates = new ProgressUpdate[poolSize];
+    for (int i = 0; i < poolSize; i++) {
+      updates[i] = new ProgressUpdate(callback);
+    }
+  }
+
+  /**
+   * Obtains a free update and fills it with the given result, including a snapshot of the route progress.
+   *
+   * @return update ready to be posted to the main thread
+   */
+  ProgressUpdate obtain(NavigationResult result, @Nullable EngineTimer timer) {
+    ProgressUpdate update = acquireUpdate();
+    update.fill(result, timer);
+    return update;
+  }
+
+  private ProgressUpdate acquireUpdate() {
+    for (ProgressUpdate update : updates) {
+      if (update.acquire()) {
+        return update;
+      }
+    }
+    ProgressUpdate update = new ProgressUpdate(callback);
+    update.acquire();
+    return update;
+  }
+
+  static class ProgressUpdate implements Runnable {
+
+    private final NavigationEngine.Callback callback;
+    private final RouteProgressSnapshot snapshot = new RouteProgressSnapshot();
+    private final AtomicBoolean inUse = new AtomicBoolean();
+    private NavigationResult result;
+    private EngineTimer timer;
+
+    ProgressUpdate(NavigationEngine.Callback callback) {
+      this.callback = callback;
+    }
+
+    @Override
+    public void run() {
+      if (timer != null) {
+        timer.markCallback();
+      }
+      Location location = result.location();
+      RouteProgress routeProgress = result.routeProgress();
+      callback.onNewRouteProgress(location, routeProgress);
+      callback.onProgressSnapshot(location, snapshot);
+      callback.onMilestoneTrigger(result.milestones(), routeProgress);
+      callback.onUserOffRoute(location, result.userOffRoute());
+      callback.onOffRouteLikely(routeProgress, result.offRouteLikely());
+      callback.onCheckFasterRoute(location, routeProgress, result.checkFasterRoute());
+      if (timer != null) {
+        callback.onEngineTiming(timer.build());
+      }
+      release();
+    }
+
+    boolean acquire() {
+      return inUse.compareAndSet(false, true);
+    }
+
+    private void fill(NavigationResult result, @Nullable EngineTimer timer) {
+      this.result = result;
+      this.timer = timer;
+      snapshot.set(result.routeProgress());
+    }
+
+    private void release() {
+      result = null;
+      timer = null;
+      inUse.set(false);
+    }
+  }
+}
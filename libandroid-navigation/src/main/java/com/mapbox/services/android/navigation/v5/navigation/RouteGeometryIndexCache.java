@@ -0,0 +1,126 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares the {@link RouteGeometryIndex} of a route between the sessions of a {@link NavigationFleet}
+ * navigating it.
+ * <p>
+ * As with {@link com.mapbox.services.android.navigation.v5.utils.RouteUtils#isNewRoute}, routes are
+ * identified by their geometry, and by the kernel they're measured with. Since the index also holds
+ * the leg annotations, routes sharing a geometry but requested with different annotations, such as
+ * the congestion at another time of day, get their own index. Each index is counted every time it's
+ * acquired and removed from the cache once it has been released as many times. Routes are indexed
+ * outside of the lock, so sessions starting on different routes don't wait for each other.
+ */
+class RouteGeometryIndexCache {
+
+  private final Map<Key, Entry> entries = new HashMap<>();
+  private final Map<RouteGeometryIndex, Key> keys = new IdentityHashMap<>();
+
+  RouteGeometryIndex acquire(DirectionsRoute route, DistanceKernel distanceKernel) {
+    Key key = new Key(route, distanceKernel);
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        entry.references++;
+        return entry.index;
+      }
+    }
+    RouteGeometryIndex index = new RouteGeometryIndex(route, distanceKernel);
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        entry = new Entry(index);
+        entries.put(key, entry);
+        keys.put(index, key);
+      }
+      entry.references++;
+      return entry.index;
+    }
+  }
+
+  void release(RouteGeometryIndex index) {
+    synchronized (entries) {
+      Key key = keys.get(index);
+      Entry entry = key == null ? null : entries.get(key);
+      if (entry != null && entry.index == index && --entry.references == 0) {
+        entries.remove(key);
+        keys.remove(index);
+      }
+    }
+  }
+
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * The geometry and annotations of a route, with the kernel it's measured with. The hash code is
+   * computed once, the geometry string caching its own.
+   */
+  private static class Key {
+
+    private final int kernelType;
+    private final String geometry;
+    private final List<LegAnnotation> annotations;
+    private final int hashCode;
+
+    Key(DirectionsRoute route, DistanceKernel distanceKernel) {
+      kernelType = distanceKernel.type();
+      geometry = route.geometry();
+      List<RouteLeg> legs = route.legs();
+      annotations = new ArrayList<>(legs == null ? 0 : legs.size());
+      if (legs != null) {
+        for (RouteLeg leg : legs) {
+          annotations.add(leg.annotation());
+        }
+      }
+      int hash = kernelType;
+      hash = 31 * hash + (geometry == null ? 0 : geometry.hashCode());
+      hashCode = 31 * hash + annotations.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (!(object instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) object;
+      return hashCode == key.hashCode
+        && kernelType == key.kernelType
+        && (geometry == null ? key.geometry == null : geometry.equals(key.geometry))
+        && annotations.equals(key.annotations);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static class Entry {
+
+    private final RouteGeometryIndex index;
+    private int references;
+
+    Entry(RouteGeometryIndex index) {
+      this.index = index;
+    }
+  }
+}
@@ -0,0 +1,308 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.SegmentMatches;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Off-route engine matching the recent location updates to the route with a Hidden Markov Model,
+ * rather than testing each update against a distance threshold.
+ * <p>
+ * Each update is a layer of the model. Its states are the route segments found around the update by
+ * {@link RouteGeometryIndex#findSegments(double, double, double, SegmentMatches)}, at most eight,
+ * plus one state for being off the route. An on-route state is more likely the closer its segment
+ * is to the update, given the update accuracy, and moving between two on-route states is more
+ * likely the closer the distance traveled along the route is to the distance between the updates.
+ * Leaving and returning to the route have a fixed probability.
+ * <p>
+ * The model is solved incrementally: the forward algorithm gives {@link #offRouteProbability()},
+ * while the Viterbi algorithm keeps the most likely path over the last few layers. The user is
+ * reported off-route once the probability reaches the threshold and the most likely path has been
+ * off the route for the confirmation count of updates, so a single bad update is ignored. The cost
+ * of each update only depends on the number of states, not on the route length.
+ * <p>
+ * The route progress must provide a {@link RouteGeometryIndex}, otherwise an
+ * {@link OffRouteDetector} is used instead. Set this engine with
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation#setOffRouteEngine(OffRoute)}.
+ *
+ * @since 0.16.0
+ */
+public class HmmOffRouteDetector extends OffRoute {
+
+  private static final double DEFAULT_PROBABILITY_THRESHOLD = 0.9;
+  private static final int DEFAULT_CONFIRMATION_COUNT = 2;
+  private static final int MAXIMUM_CANDIDATES = 8;
+  private static final int OFF_ROUTE_STATE = MAXIMUM_CANDIDATES;
+  private static final int STATE_COUNT = MAXIMUM_CANDIDATES + 1;
+  private static final int WINDOW_SIZE = 5;
+  private static final double MINIMUM_SIGMA = 5;
+  private static final double OFF_ROUTE_SIGMAS = 2;
+  private static final double TRANSITION_BETA = 10;
+  private static final double LEAVE_ROUTE_PROBABILITY = 0.02;
+  private static final double RETURN_PROBABILITY = 0.1;
+  private static final double PRUNING_THRESHOLD = -20;
+  private static final int NO_PARENT = -1;
+  private static final double OFF_ROUTE_LIKELY_THRESHOLD_FRACTION = 0.5;
+
+  private final double probabilityThreshold;
+  private final int confirmationCount;
+  private final OffRouteDetector fallbackDetector = new OffRouteDetector();
+  private final SegmentMatches matches = new SegmentMatches(MAXIMUM_CANDIDATES);
+  private final double[] routeDistances = new double[STATE_COUNT];
+  private final double[] previousRouteDistances = new double[STATE_COUNT];
+  private final double[] forwardScores = new double[STATE_COUNT];
+  private final double[] previousForwardScores = new double[STATE_COUNT];
+  private final double[] viterbiScores = new double[STATE_COUNT];
+  private final double[] previousViterbiScores = new double[STATE_COUNT];
+  private final double[] transitions = new double[STATE_COUNT];
+  private final int[][] parents = new int[WINDOW_SIZE][STATE_COUNT];
+  private DirectionsRoute route;
+  private double[][] stepStartDistances;
+  private int layerCount;
+  private double previousLongitude;
+  private double previousLatitude;
+  private double offRouteProbability;
+  private boolean hasReportedOffRoute;
+  private boolean offRouteLikely;
+  private double reportedLongitude;
+  private double reportedLatitude;
+
+  /**
+   * Creates a detector reporting the user off-route from a 90% probability, confirmed by the two
+   * latest location updates.
+   *
+   * @since 0.16.0
+   */
+  public HmmOffRouteDetector() {
+    this(DEFAULT_PROBABILITY_THRESHOLD, DEFAULT_CONFIRMATION_COUNT);
+  }
+
+  /**
+   * Creates a detector with the given sensitivity.
+   *
+   * @param probabilityThreshold from which the user can be reported off-route, between 0 and 1
+   * @param confirmationCount    number of latest location updates the most likely path must have been
+   *                             off the route for, between 1 and 5
+   * @since 0.16.0
+   */
+  public HmmOffRouteDetector(double probabilityThreshold, int confirmationCount) {
+    this.probabilityThreshold = probabilityThreshold;
+    this.confirmationCount = Math.max(1, Math.min(confirmationCount, WINDOW_SIZE));
+  }
+
+  /**
+   * Matches the location update to the route and checks whether the user is off-route.
+   * <p>
+   * If the route distance remaining is 0, the user is always off-route. Once reported off-route,
+   * the user is only reported again after moving {@link MapboxNavigationOptions#minimumDistanceBeforeRerouting()}
+   * or when a new route is given.
+   *
+   * @return true if the users off-route, else false.
+   * @since 0.16.0
+   */
+  @Override
+  public boolean isUserOffRoute(Location location, RouteProgress routeProgress, MapboxNavigationOptions options) {
+    if (routeProgress.distanceRemaining() == 0) {
+      offRouteLikely = false;
+      return true;
+    }
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    if (geometryIndex == null) {
+      boolean isOffRoute = fallbackDetector.isUserOffRoute(location, routeProgress, options);
+      offRouteLikely = fallbackDetector.isOffRouteLikely();
+      return isOffRoute;
+    }
+    if (routeProgress.directionsRoute() != route) {
+      resetRoute(routeProgress.directionsRoute(), geometryIndex);
+    }
+    addLayer(location, geometryIndex, options);
+    boolean isOffRoute = offRouteProbability >= probabilityThreshold && isConfirmedOffRoute();
+    if (!isOffRoute || !hasMovedSinceReport(location, geometryIndex, options)) {
+      offRouteLikely = !isOffRoute && offRouteProbability >= probabilityThreshold * OFF_ROUTE_LIKELY_THRESHOLD_FRACTION;
+      return false;
+    }
+    offRouteLikely = false;
+    hasReportedOffRoute = true;
+    reportedLongitude = location.getLongitude();
+    reportedLatitude = location.getLatitude();
+    return true;
+  }
+
+  /**
+   * Probability that the user is off the route given the location updates matched so far, between
+   * 0 and 1.
+   *
+   * @return off-route probability of the latest location update
+   * @since 0.16.0
+   */
+  public double offRouteProbability() {
+    return offRouteProbability;
+  }
+
+  /**
+   * Whether the last location update wasn't reported off-route, but reached half the probability
+   * threshold.
+   *
+   * @return true if the user is likely to go off-route soon, false otherwise
+   * @since 0.16.0
+   */
+  @Override
+  public boolean isOffRouteLikely() {
+    return offRouteLikely;
+  }
+
+  private void resetRoute(DirectionsRoute route, RouteGeometryIndex geometryIndex) {
+    this.route = route;
+    layerCount = 0;
+    offRouteProbability = 0;
+    hasReportedOffRoute = false;
+    int legCount = route.legs() == null ? 0 : route.legs().size();
+    stepStartDistances = new double[legCount][];
+    double routeDistance = 0;
+    for (int legIndex = 0; legIndex < legCount; legIndex++) {
+      int stepCount = route.legs().get(legIndex).steps() == null ? 0 : route.legs().get(legIndex).steps().size();
+      stepStartDistances[legIndex] = new double[stepCount];
+      for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
+        stepStartDistances[legIndex][stepIndex] = routeDistance;
+        routeDistance += geometryIndex.stepLength(legIndex, stepIndex);
+      }
+    }
+  }
+
+  private void addLayer(Location location, RouteGeometryIndex geometryIndex, MapboxNavigationOptions options) {
+    double longitude = location.getLongitude();
+    double latitude = location.getLatitude();
+    double sigma = Math.max(location.getAccuracy(), MINIMUM_SIGMA);
+    double offRouteDistance = Math.max(options.maximumDistanceOffRoute(), OFF_ROUTE_SIGMAS * sigma);
+    int candidateCount = geometryIndex.findSegments(longitude, latitude, 2 * offRouteDistance, matches);
+    double traveledDistance = layerCount == 0 ? 0
+      : geometryIndex.distanceKernel().distance(previousLongitude, previousLatitude, longitude, latitude);
+
+    System.arraycopy(routeDistances, 0, previousRouteDistances, 0, STATE_COUNT);
+    System.arraycopy(forwardScores, 0, previousForwardScores, 0, STATE_COUNT);
+    System.arraycopy(viterbiScores, 0, previousViterbiScores, 0, STATE_COUNT);
+    int[] layerParents = parents[layerCount % WINDOW_SIZE];
+    for (int state = 0; state < STATE_COUNT; state++) {
+      boolean isCandidate = state < candidateCount || state == OFF_ROUTE_STATE;
+      if (!isCandidate) {
+        forwardScores[state] = Double.NEGATIVE_INFINITY;
+        viterbiScores[state] = Double.NEGATIVE_INFINITY;
+        layerParents[state] = NO_PARENT;
+        continue;
+      }
+      double distance = offRouteDistance;
+      if (state != OFF_ROUTE_STATE) {
+        distance = matches.distance(state);
+        routeDistances[state] = stepStartDistances[matches.legIndex(state)][matches.stepIndex(state)]
+          + matches.distanceAlongStep(state);
+      }
+      double emission = -0.5 * (distance / sigma) * (distance / sigma);
+      if (layerCount == 0) {
+        double prior = Math.log(state == OFF_ROUTE_STATE ? LEAVE_ROUTE_PROBABILITY : 1 - LEAVE_ROUTE_PROBABILITY);
+        forwardScores[state] = emission + prior;
+        viterbiScores[state] = emission + prior;
+        layerParents[state] = NO_PARENT;
+      } else {
+        updateState(state, emission, traveledDistance, layerParents);
+      }
+    }
+    normalize(forwardScores);
+    normalize(viterbiScores);
+    offRouteProbability = probability(OFF_ROUTE_STATE);
+    previousLongitude = longitude;
+    previousLatitude = latitude;
+    layerCount++;
+  }
+
+  /**
+   * Sums (forward algorithm) and maximizes (Viterbi algorithm) the transitions from the previous
+   * layer into the given state.
+   */
+  private void updateState(int state, double emission, double traveledDistance, int[] layerParents) {
+    double maximumForward = Double.NEGATIVE_INFINITY;
+    double maximumViterbi = Double.NEGATIVE_INFINITY;
+    int parent = NO_PARENT;
+    for (int previousState = 0; previousState < STATE_COUNT; previousState++) {
+      transitions[previousState] = transition(previousState, state, traveledDistance);
+      maximumForward = Math.max(maximumForward, previousForwardScores[previousState] + transitions[previousState]);
+      double viterbi = previousViterbiScores[previousState] + transitions[previousState];
+      if (viterbi > maximumViterbi) {
+        maximumViterbi = viterbi;
+        parent = previousState;
+      }
+    }
+    double forwardSum = 0;
+    for (int previousState = 0; previousState < STATE_COUNT; previousState++) {
+      forwardSum += Math.exp(previousForwardScores[previousState] + transitions[previousState] - maximumForward);
+    }
+    forwardScores[state] = emission + maximumForward + Math.log(forwardSum);
+    viterbiScores[state] = emission + maximumViterbi;
+    layerParents[state] = parent;
+  }
+
+  private double transition(int previousState, int state, double traveledDistance) {
+    if (previousState == OFF_ROUTE_STATE) {
+      return Math.log(state == OFF_ROUTE_STATE ? 1 - RETURN_PROBABILITY : RETURN_PROBABILITY);
+    }
+    if (state == OFF_ROUTE_STATE) {
+      return Math.log(LEAVE_ROUTE_PROBABILITY);
+    }
+    double routeDistance = routeDistances[state] - previousRouteDistances[previousState];
+    return Math.log(1 - LEAVE_ROUTE_PROBABILITY) - Math.abs(routeDistance - traveledDistance) / TRANSITION_BETA;
+  }
+
+  /**
+   * Shifts the log scores so the most likely state is at zero, and prunes the states too unlikely
+   * to matter in the next layers.
+   */
+  private static void normalize(double[] scores) {
+    double maximum = Double.NEGATIVE_INFINITY;
+    for (double score : scores) {
+      maximum = Math.max(maximum, score);
+    }
+    for (int state = 0; state < STATE_COUNT; state++) {
+      double score = scores[state] - maximum;
+      scores[state] = score < PRUNING_THRESHOLD ? Double.NEGATIVE_INFINITY : score;
+    }
+  }
+
+  private double probability(int state) {
+    double sum = 0;
+    for (double score : forwardScores) {
+      sum += Math.exp(score);
+    }
+    return Math.exp(forwardScores[state]) / sum;
+  }
+
+  /**
+   * Follows the most likely path back from the latest layer, checking it has been off the route for
+   * the confirmation count of layers.
+   */
+  private boolean isConfirmedOffRoute() {
+    if (layerCount < confirmationCount || viterbiScores[OFF_ROUTE_STATE] < 0) {
+      return false;
+    }
+    int state = OFF_ROUTE_STATE;
+    for (int layer = layerCount - 1; layer > layerCount - confirmationCount; layer--) {
+      state = parents[layer % WINDOW_SIZE][state];
+      if (state != OFF_ROUTE_STATE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean hasMovedSinceReport(Location location, RouteGeometryIndex geometryIndex,
+                                      MapboxNavigationOptions options) {
+    if (!hasReportedOffRoute) {
+      return true;
+    }
+    double distanceFromReport = geometryIndex.distanceKernel().distance(reportedLongitude, reportedLatitude,
+      location.getLongitude(), location.getLatitude());
+    return distanceFromReport > options.minimumDistanceBeforeRerouting();
+  }
+}
@@ -9,4 +9,18 @@ public abstract class OffRoute {
 
   public abstract boolean isUserOffRoute(Location location, RouteProgress routeProgress,
                                          MapboxNavigationOptions options);
+
+  /**
+   * Whether the last location update given to
+   * {@link #isUserOffRoute(Location, RouteProgress, MapboxNavigationOptions)} was still on the
+   * route, but drifting away from it, so a new route can be requested ahead of the off-route event.
+   * <p>
+   * Engines which can't tell always return false.
+   *
+   * @return true if the user is likely to go off-route soon, false otherwise
+   * @since 0.16.0
+   */
+  public boolean isOffRouteLikely() {
+    return false;
+  }
 }
@@ -3,8 +3,12 @@ package com.mapbox.services.android.navigation.v5.offroute;
 import android.location.Location;
 
 import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.SnapCursor;
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.RingBuffer;
@@ -20,9 +24,15 @@ import static com.mapbox.services.android.navigation.v5.utils.ToleranceUtils.dyn
 
 public class OffRouteDetector extends OffRoute {
 
+  private static final String INDEX_KEY = "index";
+  private static final double OFF_ROUTE_LIKELY_RADIUS_FRACTION = 0.5;
+  private static final int OFF_ROUTE_LIKELY_DISTANCES_AWAY = 2;
+
   private Point lastReroutePoint;
   private OffRouteCallback callback;
   private RingBuffer<Integer> distancesAwayFromManeuver = new RingBuffer<>(3);
+  private SnapCursor snapCursor = new SnapCursor();
+  private boolean offRouteLikely;
 
   /**
    * Method in charge of running a series of test based on the device current location
@@ -49,12 +59,17 @@ public class OffRouteDetector extends OffRoute {
    * upcoming step, this method will return false as well as send fire {@link OffRouteCallback#onShouldIncreaseIndex()}
    * to let the <tt>NavigationEngine</tt> know that the
    * step index should be increased on the next location update.
+   * <p>
+   * While the user is on the route, the update is also checked for drifting away from it: past half
+   * the off-route radius from the step, or moving away from the maneuver for two updates in a row.
+   * See {@link #isOffRouteLikely()}.
    *
    * @return true if the users off-route, else false.
    * @since 0.2.0
    */
   @Override
   public boolean isUserOffRoute(Location location, RouteProgress routeProgress, MapboxNavigationOptions options) {
+    offRouteLikely = false;
 
     if (checkDistanceRemaining(routeProgress)) {
       return true;
@@ -67,11 +82,14 @@ public class OffRouteDetector extends OffRoute {
     boolean isOffRoute = checkOffRouteRadius(location, routeProgress, options, currentPoint);
 
     if (!isOffRoute) {
-      return isMovingAwayFromManeuver(location, routeProgress, distancesAwayFromManeuver, currentPoint);
+      boolean isMovingAway = isMovingAwayFromManeuver(location, routeProgress, distancesAwayFromManeuver, currentPoint);
+      offRouteLikely = !isMovingAway
+        && (offRouteLikely || distancesAwayFromManeuver.size() >= OFF_ROUTE_LIKELY_DISTANCES_AWAY);
+      return isMovingAway;
     }
+    offRouteLikely = false;
 
-    LegStep upComingStep = routeProgress.currentLegProgress().upComingStep();
-    if (closeToUpcomingStep(options, callback, currentPoint, upComingStep)) {
+    if (closeToUpcomingStep(options, callback, currentPoint, routeProgress)) {
       return false;
     }
 
@@ -80,6 +98,17 @@ public class OffRouteDetector extends OffRoute {
     return true;
   }
 
+  /**
+   * Whether the last location update was on the route, but drifting away from it.
+   *
+   * @return true if the user is likely to go off-route soon, false otherwise
+   * @since 0.16.0
+   */
+  @Override
+  public boolean isOffRouteLikely() {
+    return offRouteLikely;
+  }
+
   /**
    * Sets a callback that is fired for different off-route scenarios.
    * <p>
@@ -134,8 +163,12 @@ public class OffRouteDetector extends OffRoute {
   private boolean checkOffRouteRadius(Location location, RouteProgress routeProgress,
                                       MapboxNavigationOptions options, Point currentPoint) {
     LegStep currentStep = routeProgress.currentLegProgress().currentStep();
-    double distanceFromCurrentStep = userTrueDistanceFromStep(currentPoint, currentStep);
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
     double offRouteRadius = createOffRouteRadius(location, routeProgress, options, currentPoint);
+    double distanceFromCurrentStep = userDistanceFromStep(
+      currentPoint, routeProgress, stepIndex, currentStep, offRouteRadius
+    );
+    offRouteLikely = distanceFromCurrentStep > offRouteRadius * OFF_ROUTE_LIKELY_RADIUS_FRACTION;
     return distanceFromCurrentStep > offRouteRadius;
   }
 
@@ -163,22 +196,26 @@ public class OffRouteDetector extends OffRoute {
    * If it is, fire {@link OffRouteCallback#onShouldIncreaseIndex()} to increase the step
    * index in the <tt>NavigationEngine</tt> and return true.
    *
-   * @param options      for maneuver zone radius
-   * @param callback     to increase step index
-   * @param currentPoint for distance from upcoming step
-   * @param upComingStep for distance from current point
+   * @param options       for maneuver zone radius
+   * @param callback      to increase step index
+   * @param currentPoint  for distance from upcoming step
+   * @param routeProgress for the upcoming step and its geometry
    * @return true if close to upcoming step, false if not
    */
   private static boolean closeToUpcomingStep(MapboxNavigationOptions options, OffRouteCallback callback,
-                                             Point currentPoint, LegStep upComingStep) {
+                                             Point currentPoint, RouteProgress routeProgress) {
     if (callback == null) {
       return false;
     }
 
     boolean isCloseToUpcomingStep;
+    LegStep upComingStep = routeProgress.currentLegProgress().upComingStep();
     if (upComingStep != null) {
-      double distanceFromUpcomingStep = userTrueDistanceFromStep(currentPoint, upComingStep);
+      int upcomingStepIndex = routeProgress.currentLegProgress().stepIndex() + 1;
       double maneuverZoneRadius = options.maneuverZoneRadius();
+      double distanceFromUpcomingStep = userDistanceFromStep(
+        currentPoint, routeProgress, upcomingStepIndex, upComingStep, maneuverZoneRadius
+      );
       isCloseToUpcomingStep = distanceFromUpcomingStep < maneuverZoneRadius;
       if (isCloseToUpcomingStep) {
         // Callback to the NavigationEngine to increase the step index
@@ -197,6 +234,9 @@ public class OffRouteDetector extends OffRoute {
    * <p>
    * If the stack if >= 3 distances, return true to fire an off-route event as it
    * can be considered that the user is no longer going in the right direction.
+   * <p>
+   * The user is snapped to the step with a {@link SnapCursor}, which only searches the
+   * segments around the previous match on the same step.
    *
    * @param routeProgress             for the upcoming step maneuver
    * @param distancesAwayFromManeuver current stack of distances away
@@ -204,25 +244,26 @@ public class OffRouteDetector extends OffRoute {
    * @param currentPoint              to determine if moving away or not
    * @return true if moving away from maneuver, false if not
    */
-  private static boolean movingAwayFromManeuver(RouteProgress routeProgress,
-                                                RingBuffer<Integer> distancesAwayFromManeuver,
-                                                List<Point> stepPoints,
-                                                Point currentPoint) {
+  private boolean movingAwayFromManeuver(RouteProgress routeProgress,
+                                         RingBuffer<Integer> distancesAwayFromManeuver,
+                                         List<Point> stepPoints,
+                                         Point currentPoint) {
 
     if (routeProgress.currentLegProgress().upComingStep() == null || stepPoints.isEmpty()) {
       return false;
     }
 
-    LineString stepLineString = LineString.fromLngLats(stepPoints);
     Point maneuverPoint = stepPoints.get(stepPoints.size() - 1);
-    Point userPointOnStep = (Point) TurfMisc.nearestPointOnLine(currentPoint, stepPoints).geometry();
+    Feature userFeatureOnStep = snapCursor.snap(currentPoint, stepPoints, findDistanceKernel(routeProgress));
+    Point userPointOnStep = (Point) userFeatureOnStep.geometry();
 
     if (userPointOnStep == null || maneuverPoint.equals(userPointOnStep)) {
       return false;
     }
 
-    LineString remainingStepLineString = TurfMisc.lineSlice(userPointOnStep, maneuverPoint, stepLineString);
-    double userDistanceToManeuver = TurfMeasurement.length(remainingStepLineString, TurfConstants.UNIT_METERS);
+    double userDistanceToManeuver = userDistanceToManeuver(
+      routeProgress, stepPoints, userFeatureOnStep, userPointOnStep, maneuverPoint
+    );
 
     boolean hasDistances = !distancesAwayFromManeuver.isEmpty();
     boolean validOffRouteDistanceTraveled = hasDistances && distancesAwayFromManeuver.peekLast()
@@ -245,6 +286,52 @@ public class OffRouteDetector extends OffRoute {
     return false;
   }
 
+  /**
+   * Measures the distance from a point on the current step to the maneuver at its end.
+   * <p>
+   * If the step points were provided by the {@link RouteGeometryIndex}, the already measured vertex
+   * distances are used.  Otherwise, the step is sliced from the point to the maneuver and measured.
+   */
+  private static double userDistanceToManeuver(RouteProgress routeProgress, List<Point> stepPoints,
+                                               Feature userFeatureOnStep, Point userPointOnStep,
+                                               Point maneuverPoint) {
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    int legIndex = routeProgress.legIndex();
+    int stepIndex = routeProgress.currentLegProgress().stepIndex();
+    boolean isIndexedStep = geometryIndex != null && geometryIndex.stepPoints(legIndex, stepIndex) == stepPoints;
+    if (isIndexedStep) {
+      int segmentIndex = userFeatureOnStep.getNumberProperty(INDEX_KEY).intValue();
+      return geometryIndex.distanceToStepEnd(legIndex, stepIndex, segmentIndex, userPointOnStep);
+    }
+    LineString stepLineString = LineString.fromLngLats(stepPoints);
+    LineString remainingStepLineString = TurfMisc.lineSlice(userPointOnStep, maneuverPoint, stepLineString);
+    return TurfMeasurement.length(remainingStepLineString, TurfConstants.UNIT_METERS);
+  }
+
+  /**
+   * Measures the distance from the given point to the step.  When the route progress provides a
+   * {@link RouteGeometryIndex}, only the step segments within the search radius of the point are
+   * measured, with the index {@link DistanceKernel}, and any step further away is reported as
+   * {@link Double#POSITIVE_INFINITY}.
+   */
+  private static double userDistanceFromStep(Point currentPoint, RouteProgress routeProgress,
+                                             int stepIndex, LegStep step, double searchRadius) {
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    if (geometryIndex == null) {
+      return userTrueDistanceFromStep(currentPoint, step);
+    }
+    return geometryIndex.distanceToStep(routeProgress.legIndex(), stepIndex,
+      currentPoint.longitude(), currentPoint.latitude(), searchRadius);
+  }
+
+  private static DistanceKernel findDistanceKernel(RouteProgress routeProgress) {
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    if (geometryIndex == null) {
+      return DistanceKernel.create(DistanceKernel.HAVERSINE);
+    }
+    return geometryIndex.distanceKernel();
+  }
+
   private void updateLastReroutePoint(Location location) {
     lastReroutePoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
   }
@@ -0,0 +1,24 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+/**
+ * Listener invoked when the off-route engine sees the user drifting away from the route, before
+ * the user is actually off-route.
+ * <p>
+ * It can be used to request a new route speculatively with the
+ * {@link com.mapbox.services.android.navigation.v5.route.RouteFetcher}, so the route is already
+ * available once the {@link OffRouteListener} is invoked.
+ *
+ * @since 0.16.0
+ */
+public interface OffRouteLikelyListener {
+
+  /**
+   * Invoked with each location update while the user is likely to go off-route soon.
+   *
+   * @param routeProgress along the current route
+   * @since 0.16.0
+   */
+  void userOffRouteLikely(RouteProgress routeProgress);
+}
@@ -0,0 +1,164 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.geojson.Point;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import retrofit2.Call;
+
+/**
+ * Holds the route requested ahead of an off-route event by the {@link RouteFetcher}.
+ * <p>
+ * A prefetched route can only be used for a reroute from close enough to where it was requested
+ * from, and for a limited time after the request. Only one route is prefetched at a time, and a new
+ * one is only requested once the minimum interval since the previous request has elapsed, so a
+ * user drifting along at speed doesn't turn into a stream of speculative requests. A new request
+ * cancels the running one, which can no longer be used from where the user is by then, and the
+ * callbacks of any call other than the current one are ignored.
+ */
+class ReroutePrefetch {
+
+  private final long lifetimeInMillis;
+  private final double maximumDistanceInMeters;
+  private final long minimumIntervalInMillis;
+  private Call<DirectionsResponse> call;
+  private Point origin;
+  private long requestTime;
+  private DirectionsResponse response;
+  private boolean isRequesting;
+  private boolean isAwaited;
+  private boolean hasRequested;
+  private long lastRequestTime;
+
+  ReroutePrefetch(long lifetimeInMillis, double maximumDistanceInMeters, long minimumIntervalInMillis) {
+    this.lifetimeInMillis = lifetimeInMillis;
+    this.maximumDistanceInMeters = maximumDistanceInMeters;
+    this.minimumIntervalInMillis = minimumIntervalInMillis;
+  }
+
+  /**
+   * Whether a route should be prefetched from the given origin, which isn't the case if one
+   * already requested or received could be used from there, if a reroute is waiting for the
+   * running request, or if the previous request was made less than the minimum interval ago.
+   *
+   * @param origin      of the route to prefetch
+   * @param currentTime in milliseconds
+   * @return true if a new route should be requested, false otherwise
+   */
+  boolean shouldRequest(Point origin, long currentTime) {
+    boolean isTooSoon = hasRequested && currentTime - lastRequestTime < minimumIntervalInMillis;
+    if (isAwaited || isTooSoon) {
+      return false;
+    }
+    boolean hasRoute = isRequesting || response != null;
+    return !hasRoute || !canReroute(origin, currentTime);
+  }
+
+  /**
+   * Replaces the prefetched route with the given request, cancelling the one still running.
+   *
+   * @param call        of the new prefetch request, before it's enqueued
+   * @param origin      of the route to prefetch
+   * @param currentTime in milliseconds
+   */
+  void onRequest(Call<DirectionsResponse> call, Point origin, long currentTime) {
+    if (isRequesting) {
+      this.call.cancel();
+    }
+    clear();
+    this.call = call;
+    this.origin = origin;
+    this.requestTime = currentTime;
+    isRequesting = true;
+    hasRequested = true;
+    lastRequestTime = currentTime;
+  }
+
+  /**
+   * Keeps the prefetched route, unless a reroute is already waiting for it.
+   *
+   * @param call     which received the response, ignored if it isn't the current request
+   * @param response of the prefetch request
+   * @return the response if a reroute is waiting for it, null otherwise
+   */
+  @Nullable
+  DirectionsResponse onResponse(Call<DirectionsResponse> call, DirectionsResponse response) {
+    if (!isCurrentRequest(call)) {
+      return null;
+    }
+    if (isAwaited) {
+      clear();
+      return response;
+    }
+    isRequesting = false;
+    this.response = response;
+    return null;
+  }
+
+  /**
+   * Drops the failed prefetch.
+   *
+   * @param call which failed, ignored if it isn't the current request
+   * @return true if a reroute was waiting for it and should now be requested, false otherwise
+   */
+  boolean onFailure(Call<DirectionsResponse> call) {
+    if (!isCurrentRequest(call)) {
+      return false;
+    }
+    boolean wasAwaited = isAwaited;
+    clear();
+    return wasAwaited;
+  }
+
+  /**
+   * Takes the prefetched route for a reroute from the given location, if it can be used from there.
+   *
+   * @param location    of the reroute
+   * @param currentTime in milliseconds
+   * @return the prefetched response, null if none can be used
+   */
+  @Nullable
+  DirectionsResponse take(Point location, long currentTime) {
+    if (response == null || !canReroute(location, currentTime)) {
+      return null;
+    }
+    DirectionsResponse prefetchedResponse = response;
+    clear();
+    return prefetchedResponse;
+  }
+
+  /**
+   * Makes a reroute from the given location wait for the prefetch request still running, if its
+   * route can be used from there.
+   *
+   * @param location    of the reroute
+   * @param currentTime in milliseconds
+   * @return true if the reroute should wait for the prefetched route, false if it should be requested
+   */
+  boolean await(Point location, long currentTime) {
+    isAwaited = isRequesting && canReroute(location, currentTime);
+    return isAwaited;
+  }
+
+  void clear() {
+    call = null;
+    origin = null;
+    response = null;
+    isRequesting = false;
+    isAwaited = false;
+  }
+
+  private boolean isCurrentRequest(Call<DirectionsResponse> call) {
+    return isRequesting && call == this.call;
+  }
+
+  private boolean canReroute(Point location, long currentTime) {
+    if (origin == null || currentTime - requestTime > lifetimeInMillis) {
+      return false;
+    }
+    return TurfMeasurement.distance(origin, location, TurfConstants.UNIT_METERS) <= maximumDistanceInMeters;
+  }
+}
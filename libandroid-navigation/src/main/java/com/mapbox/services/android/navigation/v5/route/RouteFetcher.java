@@ -2,6 +2,7 @@ package com.mapbox.services.android.navigation.v5.route;
 
 import android.content.Context;
 import android.location.Location;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
@@ -12,6 +13,8 @@ import com.mapbox.geojson.Point;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationRoute;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -24,10 +27,17 @@ import timber.log.Timber;
 /**
  * This class can be used to fetch new routes given a {@link Location} origin and
  * {@link RouteOptions} provided by a {@link RouteProgress}.
+ * <p>
+ * A route can also be prefetched while the user is likely to go off-route, see
+ * {@link #prefetchRouteFromRouteProgress(Context, Location, RouteProgress)}.
  */
 public class RouteFetcher {
 
   private static final double BEARING_TOLERANCE = 90d;
+  private static final double PREFETCH_LOOKAHEAD_IN_SECONDS = 3d;
+  private static final long PREFETCH_LIFETIME_IN_MILLIS = 30000;
+  private static final double PREFETCH_MAXIMUM_DISTANCE_IN_METERS = 50d;
+  private static final long PREFETCH_MINIMUM_INTERVAL_IN_MILLIS = 10000;
 
   private List<RouteListener> routeListeners = new CopyOnWriteArrayList<>();
 
@@ -35,9 +45,13 @@ public class RouteFetcher {
   private String routeProfile;
   private RouteProgress routeProgress;
   private RouteUtils routeUtils;
+  private ReroutePrefetch reroutePrefetch;
+  private NavigationRoute.Builder awaitingRouteBuilder;
 
   public RouteFetcher() {
     routeUtils = new RouteUtils();
+    reroutePrefetch = new ReroutePrefetch(PREFETCH_LIFETIME_IN_MILLIS, PREFETCH_MAXIMUM_DISTANCE_IN_METERS,
+      PREFETCH_MINIMUM_INTERVAL_IN_MILLIS);
   }
 
   public void addRouteListener(RouteListener listener) {
@@ -66,6 +80,9 @@ public class RouteFetcher {
    * <p>
    * Uses {@link RouteOptions#coordinates()} and {@link RouteProgress#remainingWaypoints()}
    * to determine the amount of remaining waypoints there are along the given route.
+   * <p>
+   * If a route was prefetched from close to the current location in the last 30 seconds, it's
+   * given to the listeners right away, or as soon as it's received, instead of requesting a new one.
    *
    * @param location      current location of the device
    * @param routeProgress for remaining waypoints along the route
@@ -76,10 +93,67 @@ public class RouteFetcher {
       return;
     }
     this.routeProgress = routeProgress;
+    Point origin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    long currentTime = SystemClock.elapsedRealtime();
+    DirectionsResponse prefetchedResponse = reroutePrefetch.take(origin, currentTime);
+    if (prefetchedResponse != null) {
+      updateListeners(prefetchedResponse, routeProgress);
+      return;
+    }
     NavigationRoute.Builder builder = buildRouteRequest(context, location, routeProgress);
+    if (builder != null && reroutePrefetch.await(origin, currentTime)) {
+      awaitingRouteBuilder = builder;
+      return;
+    }
     executeRouteCall(builder);
   }
 
+  /**
+   * Requests a new route ahead of an off-route event, from where the user is projected to be a few
+   * seconds after the given location, and keeps it for
+   * {@link #findRouteFromRouteProgress(Context, Location, RouteProgress)}.
+   * <p>
+   * Nothing is requested if a route prefetched from close to the projected location is still
+   * running or was received in the last 30 seconds, if a reroute is waiting for the running
+   * request, or if the previous route was prefetched less than 10 seconds ago. Otherwise the
+   * running request, which can't be used from the projected location, is cancelled. Listeners are
+   * only notified once the prefetched route is used.
+   *
+   * @param context       to pass to route builder
+   * @param location      current location of the device
+   * @param routeProgress for remaining waypoints along the route
+   * @since 0.16.0
+   */
+  public void prefetchRouteFromRouteProgress(Context context, Location location, RouteProgress routeProgress) {
+    if (isValidProgress(location, routeProgress)) {
+      return;
+    }
+    Point origin = projectOrigin(location);
+    long currentTime = SystemClock.elapsedRealtime();
+    if (!reroutePrefetch.shouldRequest(origin, currentTime)) {
+      return;
+    }
+    Double bearing = location.hasBearing() ? Float.valueOf(location.getBearing()).doubleValue() : null;
+    NavigationRoute.Builder builder = buildRouteRequestFromCurrentLocation(
+      context, origin, bearing, routeProgress, routeProfile
+    );
+    if (builder != null) {
+      builder.accessToken(accessToken);
+      Call<DirectionsResponse> call = builder.build().getCall();
+      reroutePrefetch.onRequest(call, origin, currentTime);
+      call.enqueue(prefetchResponseCallback);
+    }
+  }
+
+  private Point projectOrigin(Location location) {
+    Point origin = Point.fromLngLat(location.getLongitude(), location.getLatitude());
+    if (!location.hasSpeed() || !location.hasBearing()) {
+      return origin;
+    }
+    double lookaheadDistance = location.getSpeed() * PREFETCH_LOOKAHEAD_IN_SECONDS;
+    return TurfMeasurement.destination(origin, lookaheadDistance, location.getBearing(), TurfConstants.UNIT_METERS);
+  }
+
   private boolean isValidProgress(Location location, RouteProgress routeProgress) {
     return location == null || routeProgress == null;
   }
@@ -159,6 +233,37 @@ public class RouteFetcher {
     }
   };
 
+  private Callback<DirectionsResponse> prefetchResponseCallback = new Callback<DirectionsResponse>() {
+    @Override
+    public void onResponse(@NonNull Call<DirectionsResponse> call, @NonNull Response<DirectionsResponse> response) {
+      if (!response.isSuccessful() || response.body() == null) {
+        onPrefetchFailure(call);
+        return;
+      }
+      DirectionsResponse awaitedResponse = reroutePrefetch.onResponse(call, response.body());
+      if (awaitedResponse != null) {
+        awaitingRouteBuilder = null;
+        updateListeners(awaitedResponse, routeProgress);
+      }
+    }
+
+    @Override
+    public void onFailure(@NonNull Call<DirectionsResponse> call, @NonNull Throwable throwable) {
+      onPrefetchFailure(call);
+    }
+  };
+
+  /**
+   * A reroute waiting for the failed prefetch is requested on its own. Failures of cancelled or
+   * replaced prefetch requests are ignored.
+   */
+  private void onPrefetchFailure(Call<DirectionsResponse> call) {
+    if (reroutePrefetch.onFailure(call)) {
+      executeRouteCall(awaitingRouteBuilder);
+      awaitingRouteBuilder = null;
+    }
+  }
+
   private void updateListeners(DirectionsResponse response, RouteProgress routeProgress) {
     for (RouteListener listener : routeListeners) {
       listener.onResponseReceived(response, routeProgress);
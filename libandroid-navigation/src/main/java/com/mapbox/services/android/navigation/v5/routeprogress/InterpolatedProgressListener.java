@@ -0,0 +1,19 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.location.Location;
+
+/**
+ * Invoked between location updates, on the main thread and in step with the display frames, with
+ * the progress moved forward along the route from the latest update at its speed. The number of
+ * ticks per second is set with
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions#progressInterpolationRate()}.
+ * <p>
+ * Only the location and the distances are interpolated, the off-route and milestone checks still run
+ * once per location update. As with the {@link ProgressSnapshotListener}, the location and the
+ * {@link RouteProgressSnapshot} are reused for every tick and only valid until this callback returns.
+ *
+ * @since 0.16.0
+ */
+public interface InterpolatedProgressListener {
+  void onInterpolatedProgress(Location location, RouteProgressSnapshot snapshot);
+}
@@ -0,0 +1,17 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.location.Location;
+
+/**
+ * Allocation free alternative to the {@link ProgressChangeListener}, only invoked if
+ * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions#enableProgressSnapshots()}
+ * is enabled.
+ * <p>
+ * The given {@link RouteProgressSnapshot} is reused by the navigation engine and is only valid
+ * until this callback returns. Use {@link RouteProgressSnapshot#copy()} to keep its values.
+ *
+ * @since 0.16.0
+ */
+public interface ProgressSnapshotListener {
+  void onProgressSnapshot(Location location, RouteProgressSnapshot snapshot);
+}
@@ -9,6 +9,7 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 
 import java.util.List;
 
@@ -28,6 +29,13 @@ import java.util.List;
 @AutoValue
 public abstract class RouteProgress {
 
+  /**
+   * Generation of a route progress which wasn't built by the navigation engine.
+   *
+   * @since 0.16.0
+   */
+  public static final long UNKNOWN_ROUTE_GENERATION = 0;
+
   /**
    * Get the route the navigation session is currently using. When a reroute occurs and a new
    * directions route gets obtained, with the next location update this directions route should
@@ -39,6 +47,18 @@ public abstract class RouteProgress {
    */
   public abstract DirectionsRoute directionsRoute();
 
+  /**
+   * Identifies the {@link #directionsRoute()} being navigated. Each route passed to
+   * {@link com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation#startNavigation(DirectionsRoute)}
+   * gets a new generation, so two progresses are along the same route if their generations are
+   * equal, without comparing the routes.
+   *
+   * @return generation of the route, or {@link #UNKNOWN_ROUTE_GENERATION} if the progress wasn't
+   * built by the navigation engine
+   * @since 0.16.0
+   */
+  public abstract long routeGeneration();
+
   /**
    * Index representing the current leg the user is on. If the directions route currently in use
    * contains more then two waypoints, the route is likely to have multiple legs representing the
@@ -149,6 +169,18 @@ public abstract class RouteProgress {
   @Nullable
   public abstract List<Point> upcomingStepPoints();
 
+  /**
+   * Provides the decoded geometry of the {@link DirectionsRoute} currently being navigated.
+   * <p>
+   * The index is built once per route by the navigation engine and can be used to read any step
+   * geometry without decoding it again.
+   *
+   * @return geometry index for the current route, or null if the progress wasn't built by the engine
+   * @since 0.16.0
+   */
+  @Nullable
+  public abstract RouteGeometryIndex routeGeometryIndex();
+
   public abstract RouteProgress.Builder toBuilder();
 
   abstract int stepIndex();
@@ -176,6 +208,8 @@ public abstract class RouteProgress {
 
     abstract DirectionsRoute directionsRoute();
 
+    public abstract Builder routeGeneration(long routeGeneration);
+
     public abstract Builder legIndex(int legIndex);
 
     abstract int legIndex();
@@ -200,6 +234,8 @@ public abstract class RouteProgress {
 
     abstract List<Point> upcomingStepPoints();
 
+    public abstract Builder routeGeometryIndex(@Nullable RouteGeometryIndex routeGeometryIndex);
+
     public abstract Builder distanceRemaining(double distanceRemaining);
 
     public abstract Builder intersections(List<StepIntersection> intersections);
@@ -250,6 +286,7 @@ public abstract class RouteProgress {
   }
 
   public static Builder builder() {
-    return new AutoValue_RouteProgress.Builder();
+    return new AutoValue_RouteProgress.Builder()
+      .routeGeneration(UNKNOWN_ROUTE_GENERATION);
   }
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+
+/**
+ * A mutable copy of the values of a {@link RouteProgress}, reused by the navigation engine
+ * between location updates so no new objects are created to report progress.
+ * <p>
+ * Snapshots passed to {@link ProgressSnapshotListener#onProgressSnapshot(android.location.Location,
+ * RouteProgressSnapshot)} are only valid for the duration of that callback; once it returns the
+ * same instance will be filled with a later update. Use {@link #copy()} to keep the values of a
+ * snapshot after the callback.
+ *
+ * @since 0.16.0
+ */
+public class RouteProgressSnapshot {
+
+  private DirectionsRoute directionsRoute;
+  private long routeGeneration;
+  private int legIndex;
+  private int stepIndex;
+  private double distanceRemaining;
+  private double distanceTraveled;
+  private double durationRemaining;
+  private float fractionTraveled;
+  private double legDistanceRemaining;
+  private double legDistanceTraveled;
+  private double legDurationRemaining;
+  private float legFractionTraveled;
+  private double stepDistanceRemaining;
+  private double stepDistanceTraveled;
+  private double stepDurationRemaining;
+  private float stepFractionTraveled;
+  private LegStep currentStep;
+  private LegStep upcomingStep;
+  private StepIntersection currentIntersection;
+  private StepIntersection upcomingIntersection;
+
+  /**
+   * Creates an empty snapshot, filled with {@link #set(RouteProgress)}.
+   *
+   * @since 0.16.0
+   */
+  public RouteProgressSnapshot() {
+  }
+
+  /**
+   * Creates a new snapshot holding the same values as the given one.
+   *
+   * @param snapshot to be copied
+   * @since 0.16.0
+   */
+  public RouteProgressSnapshot(@NonNull RouteProgressSnapshot snapshot) {
+    set(snapshot);
+  }
+
+  /**
+   * Replaces the values of this snapshot with the values of the given {@link RouteProgress}.
+   *
+   * @param routeProgress to read the values from
+   * @since 0.16.0
+   */
+  public void set(@NonNull RouteProgress routeProgress) {
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    RouteStepProgress stepProgress = legProgress.currentStepProgress();
+    directionsRoute = routeProgress.directionsRoute();
+    routeGeneration = routeProgress.routeGeneration();
+    legIndex = routeProgress.legIndex();
+    stepIndex = legProgress.stepIndex();
+    distanceRemaining = routeProgress.distanceRemaining();
+    distanceTraveled = routeProgress.distanceTraveled();
+    durationRemaining = routeProgress.durationRemaining();
+    fractionTraveled = routeProgress.fractionTraveled();
+    legDistanceRemaining = legProgress.distanceRemaining();
+    legDistanceTraveled = legProgress.distanceTraveled();
+    legDurationRemaining = legProgress.durationRemaining();
+    legFractionTraveled = legProgress.fractionTraveled();
+    stepDistanceRemaining = stepProgress.distanceRemaining();
+    stepDistanceTraveled = stepProgress.distanceTraveled();
+    stepDurationRemaining = stepProgress.durationRemaining();
+    stepFractionTraveled = stepProgress.fractionTraveled();
+    currentStep = legProgress.currentStep();
+    upcomingStep = legProgress.upComingStep();
+    currentIntersection = stepProgress.currentIntersection();
+    upcomingIntersection = stepProgress.upcomingIntersection();
+  }
+
+  /**
+   * Replaces the values of this snapshot with the values of the given snapshot.
+   *
+   * @param snapshot to read the values from
+   * @since 0.16.0
+   */
+  public void set(@NonNull RouteProgressSnapshot snapshot) {
+    directionsRoute = snapshot.directionsRoute;
+    routeGeneration = snapshot.routeGeneration;
+    legIndex = snapshot.legIndex;
+    stepIndex = snapshot.stepIndex;
+    distanceRemaining = snapshot.distanceRemaining;
+    distanceTraveled = snapshot.distanceTraveled;
+    durationRemaining = snapshot.durationRemaining;
+    fractionTraveled = snapshot.fractionTraveled;
+    legDistanceRemaining = snapshot.legDistanceRemaining;
+    legDistanceTraveled = snapshot.legDistanceTraveled;
+    legDurationRemaining = snapshot.legDurationRemaining;
+    legFractionTraveled = snapshot.legFractionTraveled;
+    stepDistanceRemaining = snapshot.stepDistanceRemaining;
+    stepDistanceTraveled = snapshot.stepDistanceTraveled;
+    stepDurationRemaining = snapshot.stepDurationRemaining;
+    stepFractionTraveled = snapshot.stepFractionTraveled;
+    currentStep = snapshot.currentStep;
+    upcomingStep = snapshot.upcomingStep;
+    currentIntersection = snapshot.currentIntersection;
+    upcomingIntersection = snapshot.upcomingIntersection;
+  }
+
+  /**
+   * Moves this snapshot the given distance further along the current step, without going past the
+   * end of the step, for instance to interpolate the progress between two location updates.
+   * <p>
+   * The distances and fractions traveled are updated and the remaining durations are scaled with
+   * the remaining distances. The indices, steps and intersections are left unchanged.
+   *
+   * @param distance in meters to move forward
+   * @since 0.16.0
+   */
+  public void advance(double distance) {
+    double advance = Math.max(0, Math.min(distance, stepDistanceRemaining));
+    stepDurationRemaining = scaleDuration(stepDurationRemaining, stepDistanceRemaining, advance);
+    legDurationRemaining = scaleDuration(legDurationRemaining, legDistanceRemaining, advance);
+    durationRemaining = scaleDuration(durationRemaining, distanceRemaining, advance);
+    stepDistanceRemaining -= advance;
+    stepDistanceTraveled += advance;
+    stepFractionTraveled = fractionTraveled(stepDistanceTraveled, stepDistanceRemaining);
+    legDistanceRemaining = Math.max(0, legDistanceRemaining - advance);
+    legDistanceTraveled += advance;
+    legFractionTraveled = fractionTraveled(legDistanceTraveled, legDistanceRemaining);
+    distanceRemaining = Math.max(0, distanceRemaining - advance);
+    distanceTraveled += advance;
+    fractionTraveled = fractionTraveled(distanceTraveled, distanceRemaining);
+  }
+
+  /**
+   * Creates a new snapshot holding the current values of this one, which can be kept after the
+   * {@link ProgressSnapshotListener} callback returns.
+   *
+   * @return a copy of this snapshot
+   * @since 0.16.0
+   */
+  @NonNull
+  public RouteProgressSnapshot copy() {
+    return new RouteProgressSnapshot(this);
+  }
+
+  /**
+   * @return route currently being navigated
+   * @since 0.16.0
+   */
+  public DirectionsRoute directionsRoute() {
+    return directionsRoute;
+  }
+
+  /**
+   * @return generation of the route currently being navigated, see {@link RouteProgress#routeGeneration()}
+   * @since 0.16.0
+   */
+  public long routeGeneration() {
+    return routeGeneration;
+  }
+
+  /**
+   * @return index of the current leg
+   * @since 0.16.0
+   */
+  public int legIndex() {
+    return legIndex;
+  }
+
+  /**
+   * @return index of the current step within the current leg
+   * @since 0.16.0
+   */
+  public int stepIndex() {
+    return stepIndex;
+  }
+
+  /**
+   * @return distance remaining till the end of the route, in meters
+   * @since 0.16.0
+   */
+  public double distanceRemaining() {
+    return distanceRemaining;
+  }
+
+  /**
+   * @return distance traveled along the route, in meters
+   * @since 0.16.0
+   */
+  public double distanceTraveled() {
+    return distanceTraveled;
+  }
+
+  /**
+   * @return duration remaining till the end of the route, in seconds
+   * @since 0.16.0
+   */
+  public double durationRemaining() {
+    return durationRemaining;
+  }
+
+  /**
+   * @return fraction traveled along the route, between 0 and 1
+   * @since 0.16.0
+   */
+  public float fractionTraveled() {
+    return fractionTraveled;
+  }
+
+  /**
+   * @return distance remaining till the end of the current leg, in meters
+   * @since 0.16.0
+   */
+  public double legDistanceRemaining() {
+    return legDistanceRemaining;
+  }
+
+  /**
+   * @return distance traveled along the current leg, in meters
+   * @since 0.16.0
+   */
+  public double legDistanceTraveled() {
+    return legDistanceTraveled;
+  }
+
+  /**
+   * @return duration remaining till the end of the current leg, in seconds
+   * @since 0.16.0
+   */
+  public double legDurationRemaining() {
+    return legDurationRemaining;
+  }
+
+  /**
+   * @return fraction traveled along the current leg, between 0 and 1
+   * @since 0.16.0
+   */
+  public float legFractionTraveled() {
+    return legFractionTraveled;
+  }
+
+  /**
+   * @return distance remaining till the end of the current step, in meters
+   * @since 0.16.0
+   */
+  public double stepDistanceRemaining() {
+    return stepDistanceRemaining;
+  }
+
+  /**
+   * @return distance traveled along the current step, in meters
+   * @since 0.16.0
+   */
+  public double stepDistanceTraveled() {
+    return stepDistanceTraveled;
+  }
+
+  /**
+   * @return duration remaining till the end of the current step, in seconds
+   * @since 0.16.0
+   */
+  public double stepDurationRemaining() {
+    return stepDurationRemaining;
+  }
+
+  /**
+   * @return fraction traveled along the current step, between 0 and 1
+   * @since 0.16.0
+   */
+  public float stepFractionTraveled() {
+    return stepFractionTraveled;
+  }
+
+  /**
+   * @return step currently being traveled along
+   * @since 0.16.0
+   */
+  public LegStep currentStep() {
+    return currentStep;
+  }
+
+  /**
+   * @return next step of the current leg, null if the current step is the last one
+   * @since 0.16.0
+   */
+  @Nullable
+  public LegStep upcomingStep() {
+    return upcomingStep;
+  }
+
+  /**
+   * @return intersection currently being traveled along
+   * @since 0.16.0
+   */
+  public StepIntersection currentIntersection() {
+    return currentIntersection;
+  }
+
+  /**
+   * @return next intersection along the route, if any
+   * @since 0.16.0
+   */
+  @Nullable
+  public StepIntersection upcomingIntersection() {
+    return upcomingIntersection;
+  }
+
+  private static double scaleDuration(double durationRemaining, double distanceRemaining, double advance) {
+    if (distanceRemaining <= 0) {
+      return durationRemaining;
+    }
+    return durationRemaining * Math.max(0, distanceRemaining - advance) / distanceRemaining;
+  }
+
+  private static float fractionTraveled(double distanceTraveled, double distanceRemaining) {
+    double distance = distanceTraveled + distanceRemaining;
+    return distance <= 0 ? 1f : (float) (distanceTraveled / distance);
+  }
+}
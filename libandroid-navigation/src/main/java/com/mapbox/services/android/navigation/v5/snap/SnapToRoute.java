@@ -7,13 +7,16 @@ import android.support.annotation.Nullable;
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.SnapCursor;
+import com.mapbox.services.android.navigation.v5.location.SampleLocation;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteLegProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteStepProgress;
 import com.mapbox.services.android.navigation.v5.utils.MathUtils;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
-import com.mapbox.turf.TurfMisc;
 
 import java.util.List;
 
@@ -29,9 +32,12 @@ import static com.mapbox.core.constants.Constants.PRECISION_6;
  */
 public class SnapToRoute extends Snap {
 
+  private final SnapCursor snapCursor = new SnapCursor();
+
   @Override
   public Location getSnappedLocation(Location location, RouteProgress routeProgress) {
-    Location snappedLocation = snapLocationLatLng(location, routeProgress.currentStepPoints());
+    Location snappedLocation = snapLocationLatLng(location, routeProgress.currentStepPoints(),
+      findDistanceKernel(routeProgress));
     snappedLocation.setBearing(snapLocationBearing(routeProgress));
     return snappedLocation;
   }
@@ -39,20 +45,25 @@ public class SnapToRoute extends Snap {
   /**
    * Logic used to snap the users location coordinates to the closest position along the current
    * step.
+   * <p>
+   * The {@link SnapCursor} remembers the segment of the previous snap, so only the segments around
+   * it are searched while the user keeps traveling along the same step.
    *
    * @param location        the raw location
    * @param stepCoordinates the list of step geometry coordinates
+   * @param distanceKernel  used to search the step geometry
    * @return the altered user location
    * @since 0.4.0
    */
-  private static Location snapLocationLatLng(Location location, List<Point> stepCoordinates) {
-    Location snappedLocation = new Location(location);
+  private Location snapLocationLatLng(Location location, List<Point> stepCoordinates,
+                                      DistanceKernel distanceKernel) {
+    Location snappedLocation = SampleLocation.copy(location);
     Point locationToPoint = Point.fromLngLat(location.getLongitude(), location.getLatitude());
 
-    // Uses Turf's pointOnLine, which takes a Point and a LineString to calculate the closest
-    // Point on the LineString.
+    // Uses Turf's nearestPointOnLine on a window of the step around the last snapped segment
+    // to calculate the closest Point on the step.
     if (stepCoordinates.size() > 1) {
-      Feature feature = TurfMisc.nearestPointOnLine(locationToPoint, stepCoordinates);
+      Feature feature = snapCursor.snap(locationToPoint, stepCoordinates, distanceKernel);
       Point point = ((Point) feature.geometry());
       snappedLocation.setLongitude(point.longitude());
       snappedLocation.setLatitude(point.latitude());
@@ -83,8 +94,8 @@ public class SnapToRoute extends Snap {
     // Either want to measure our current step distance traveled + 1 or 1 meter into the upcoming step
     double distanceAhead = distanceRemainingZero ? 1 : distanceTraveled + 1;
     // Create the step linestring from the geometry
-    LineString upcomingLineString = createUpcomingLineString(legProgress, distanceRemainingZero);
-    LineString currentLineString = createCurrentLineString(legProgress);
+    LineString upcomingLineString = createUpcomingLineString(routeProgress, distanceRemainingZero);
+    LineString currentLineString = createCurrentLineString(routeProgress);
 
     // Measure 1 meter ahead of the users current location, only if the distance remaining isn't zero
     Point futurePoint = createFuturePoint(distanceAhead, upcomingLineString, currentLineString);
@@ -96,21 +107,57 @@ public class SnapToRoute extends Snap {
   }
 
   @NonNull
-  private static LineString createCurrentLineString(RouteLegProgress legProgress) {
+  private static LineString createCurrentLineString(RouteProgress routeProgress) {
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    List<Point> currentPoints = findIndexedStepPoints(routeProgress, legProgress.stepIndex());
+    if (currentPoints != null) {
+      return LineString.fromLngLats(currentPoints);
+    }
     String currentGeometry = legProgress.currentStep().geometry();
     return LineString.fromPolyline(currentGeometry, PRECISION_6);
   }
 
   @Nullable
-  private static LineString createUpcomingLineString(RouteLegProgress legProgress, boolean distanceRemainingZero) {
+  private static LineString createUpcomingLineString(RouteProgress routeProgress, boolean distanceRemainingZero) {
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
     LineString upcomingLineString = null;
     if (distanceRemainingZero && legProgress.upComingStep() != null) {
+      List<Point> upcomingPoints = findIndexedStepPoints(routeProgress, legProgress.stepIndex() + 1);
+      if (upcomingPoints != null) {
+        return LineString.fromLngLats(upcomingPoints);
+      }
       String upcomingGeometry = legProgress.upComingStep().geometry();
       upcomingLineString = LineString.fromPolyline(upcomingGeometry, PRECISION_6);
     }
     return upcomingLineString;
   }
 
+  /**
+   * Uses the kernel the step geometries were measured with, haversine if the route progress
+   * doesn't provide a {@link RouteGeometryIndex}.
+   */
+  @NonNull
+  private static DistanceKernel findDistanceKernel(RouteProgress routeProgress) {
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    if (geometryIndex == null) {
+      return DistanceKernel.create(DistanceKernel.HAVERSINE);
+    }
+    return geometryIndex.distanceKernel();
+  }
+
+  /**
+   * Reads the already decoded step geometry from the {@link RouteGeometryIndex}, if the
+   * route progress provides one.
+   */
+  @Nullable
+  private static List<Point> findIndexedStepPoints(RouteProgress routeProgress, int stepIndex) {
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    if (geometryIndex == null) {
+      return null;
+    }
+    return geometryIndex.stepPoints(routeProgress.legIndex(), stepIndex);
+  }
+
   @NonNull
   private static Point createFuturePoint(double distanceAhead, LineString upcomingLineString,
                                          LineString currentLineString) {
@@ -1,5 +1,6 @@
 package com.mapbox.services.android.navigation.v5.utils;
 
+import android.support.annotation.Nullable;
 
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.core.constants.Constants;
@@ -7,10 +8,9 @@ import com.mapbox.core.utils.TextUtils;
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
-import com.mapbox.turf.TurfMeasurement;
-import com.mapbox.turf.TurfMisc;
+import com.mapbox.services.android.navigation.v5.geometry.DistanceKernel;
 
-import static com.mapbox.turf.TurfConstants.UNIT_METERS;
+import java.util.List;
 
 public final class MeasurementUtils {
 
@@ -36,19 +36,48 @@ public final class MeasurementUtils {
 
     // Get the lineString from the step geometry.
     LineString lineString = LineString.fromPolyline(step.geometry(), Constants.PRECISION_6);
+    return userTrueDistanceFromStep(usersRawLocation, lineString.coordinates());
+  }
 
+  /**
+   * Calculates the distance between the users current raw {@link android.location.Location} object
+   * to the closest {@link Point} in the already decoded step geometry.
+   *
+   * @param usersRawLocation {@link Point} the raw location where the user is currently located
+   * @param stepPoints       decoded {@link LegStep} geometry to calculate the closest point on the
+   *                         step to our predicted location
+   * @return double in distance meters
+   * @since 0.16.0
+   */
+  public static double userTrueDistanceFromStep(Point usersRawLocation, @Nullable List<Point> stepPoints) {
+    return userTrueDistanceFromStep(usersRawLocation, stepPoints, DistanceKernel.create(DistanceKernel.HAVERSINE));
+  }
+
+  /**
+   * Calculates the distance between the users current raw {@link android.location.Location} object
+   * to the closest {@link Point} in the already decoded step geometry, using the given
+   * {@link DistanceKernel}.
+   *
+   * @param usersRawLocation {@link Point} the raw location where the user is currently located
+   * @param stepPoints       decoded {@link LegStep} geometry to calculate the closest point on the
+   *                         step to our predicted location
+   * @param distanceKernel   used to search the step and measure the distance
+   * @return double in distance meters
+   * @since 0.16.0
+   */
+  public static double userTrueDistanceFromStep(Point usersRawLocation, @Nullable List<Point> stepPoints,
+                                                DistanceKernel distanceKernel) {
     // Make sure that the step coordinates isn't less than size 2. If the points equal each other,
     // the distance is obviously zero, so return 0 to avoid executing additional unnecessary code.
-    if (lineString.coordinates().isEmpty()
-      || usersRawLocation.equals(lineString.coordinates().get(0))) {
+    if (stepPoints == null || stepPoints.isEmpty()
+      || usersRawLocation.equals(stepPoints.get(0))) {
       return 0;
     }
-    if (lineString.coordinates().size() == 1) {
-      return TurfMeasurement.distance(usersRawLocation, lineString.coordinates().get(0),
-        UNIT_METERS);
+    if (stepPoints.size() == 1) {
+      return distanceKernel.distance(usersRawLocation, stepPoints.get(0));
     }
 
-    Feature feature = TurfMisc.nearestPointOnLine(usersRawLocation, lineString.coordinates());
+    Feature feature = distanceKernel.nearestPointOnLine(usersRawLocation, stepPoints);
     Point snappedPoint = (Point) feature.geometry();
 
     if (snappedPoint == null) {
@@ -56,11 +85,10 @@ public final class MeasurementUtils {
     }
     if (Double.isInfinite(snappedPoint.latitude())
       || Double.isInfinite(snappedPoint.longitude())) {
-      return TurfMeasurement.distance(usersRawLocation,
-        lineString.coordinates().get(0), UNIT_METERS);
+      return distanceKernel.distance(usersRawLocation, stepPoints.get(0));
     }
 
-    double distance = TurfMeasurement.distance(usersRawLocation, snappedPoint, UNIT_METERS);
+    double distance = distanceKernel.distance(usersRawLocation, snappedPoint);
     return Double.isNaN(distance) ? 0d : distance;
   }
 }
@@ -19,7 +19,6 @@ import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 
 import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -29,7 +28,6 @@ public class RouteUtils {
 
   private static final String FORCED_LOCATION = "Forced Location";
   private static final int FIRST_COORDINATE = 0;
-  private static final int ZERO_INSTRUCTIONS = 0;
   private static final Set<String> VALID_PROFILES = new HashSet<String>() {
     {
       add(DirectionsCriteria.PROFILE_DRIVING_TRAFFIC);
@@ -42,6 +40,9 @@ public class RouteUtils {
   /**
    * Compares a new routeProgress geometry to a previousRouteProgress geometry to determine if the
    * user is traversing along a new route. If the route geometries do not match, this returns true.
+   * <p>
+   * Progresses along the same {@link RouteProgress#routeGeneration()} are on the same route, so
+   * their geometries don't need to be compared.
    *
    * @param previousRouteProgress the past route progress with the directions route included
    * @param routeProgress         the route progress with the directions route included
@@ -50,6 +51,9 @@ public class RouteUtils {
    */
   public boolean isNewRoute(@Nullable RouteProgress previousRouteProgress,
                                    @NonNull RouteProgress routeProgress) {
+    if (isSameRouteGeneration(previousRouteProgress, routeProgress)) {
+      return false;
+    }
     return isNewRoute(previousRouteProgress, routeProgress.directionsRoute());
   }
 
@@ -64,8 +68,17 @@ public class RouteUtils {
    */
   public boolean isNewRoute(@Nullable RouteProgress previousRouteProgress,
                                    @NonNull DirectionsRoute directionsRoute) {
-    return previousRouteProgress == null || !previousRouteProgress.directionsRoute().geometry()
-      .equals(directionsRoute.geometry());
+    if (previousRouteProgress == null) {
+      return true;
+    }
+    DirectionsRoute previousRoute = previousRouteProgress.directionsRoute();
+    if (previousRoute == directionsRoute) {
+      return false;
+    }
+    // Strings cache their hash code, geometries are only compared in full if their hashes match
+    String previousGeometry = previousRoute.geometry();
+    String geometry = directionsRoute.geometry();
+    return previousGeometry.hashCode() != geometry.hashCode() || !previousGeometry.equals(geometry);
   }
 
   /**
@@ -179,19 +192,13 @@ public class RouteUtils {
   public BannerInstructions findCurrentBannerInstructions(LegStep currentStep, double stepDistanceRemaining) {
     if (isValidStep(currentStep) && hasInstructions(currentStep.bannerInstructions())) {
       int roundedDistanceRemaining = (int) stepDistanceRemaining;
-      List<BannerInstructions> instructions = new ArrayList<>(currentStep.bannerInstructions());
-      Iterator<BannerInstructions> instructionsIterator = instructions.iterator();
-      while (instructionsIterator.hasNext()) {
-        BannerInstructions instruction = instructionsIterator.next();
-        double distanceAlongGeometry = instruction.distanceAlongGeometry();
-        if (distanceAlongGeometry < roundedDistanceRemaining) {
-          instructionsIterator.remove();
+      List<BannerInstructions> instructions = currentStep.bannerInstructions();
+      for (int i = instructions.size() - 1; i >= 0; i--) {
+        BannerInstructions instruction = instructions.get(i);
+        if (instruction.distanceAlongGeometry() >= roundedDistanceRemaining) {
+          return instruction;
         }
       }
-      int instructionIndex = checkValidIndex(instructions);
-      if (instructions.size() > ZERO_INSTRUCTIONS) {
-        return instructions.get(instructionIndex);
-      }
     }
     return null;
   }
@@ -230,19 +237,14 @@ public class RouteUtils {
   @Nullable
   public VoiceInstructions findCurrentVoiceInstructions(LegStep currentStep, double stepDistanceRemaining) {
     if (isValidStep(currentStep) && hasInstructions(currentStep.voiceInstructions())) {
-      List<VoiceInstructions> instructions = new ArrayList<>(currentStep.voiceInstructions());
-      Iterator<VoiceInstructions> instructionsIterator = instructions.iterator();
-      while (instructionsIterator.hasNext()) {
-        VoiceInstructions instruction = instructionsIterator.next();
+      List<VoiceInstructions> instructions = currentStep.voiceInstructions();
+      for (int i = instructions.size() - 1; i >= 0; i--) {
+        VoiceInstructions instruction = instructions.get(i);
         double distanceAlongGeometry = instruction.distanceAlongGeometry();
-        if (distanceAlongGeometry < stepDistanceRemaining) {
-          instructionsIterator.remove();
+        if (distanceAlongGeometry >= stepDistanceRemaining) {
+          return instruction;
         }
       }
-      int instructionIndex = checkValidIndex(instructions);
-      if (instructions.size() > ZERO_INSTRUCTIONS) {
-        return instructions.get(instructionIndex);
-      }
     }
     return null;
   }
@@ -256,6 +258,14 @@ public class RouteUtils {
     return routeProgress.currentLegProgress().currentStep().maneuver().type().contains(STEP_MANEUVER_TYPE_ARRIVE);
   }
 
+  private boolean isSameRouteGeneration(@Nullable RouteProgress previousRouteProgress,
+                                        @NonNull RouteProgress routeProgress) {
+    long routeGeneration = routeProgress.routeGeneration();
+    return previousRouteProgress != null
+      && routeGeneration != RouteProgress.UNKNOWN_ROUTE_GENERATION
+      && previousRouteProgress.routeGeneration() == routeGeneration;
+  }
+
   private boolean isValidStep(LegStep step) {
     return step != null;
   }
@@ -264,14 +274,6 @@ public class RouteUtils {
     return instructions != null && !instructions.isEmpty();
   }
 
-  private <T> int checkValidIndex(List<T> instructions) {
-    int instructionIndex = instructions.size() - 1;
-    if (instructionIndex < 0) {
-      instructionIndex = 0;
-    }
-    return instructionIndex;
-  }
-
   private boolean hasValidInstructions(List<BannerInstructions> bannerInstructions,
                                               BannerInstructions currentInstructions) {
     return bannerInstructions != null && !bannerInstructions.isEmpty() && currentInstructions != null;
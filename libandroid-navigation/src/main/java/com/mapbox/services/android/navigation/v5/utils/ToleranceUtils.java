@@ -2,6 +2,7 @@ package com.mapbox.services.android.navigation.v5.utils;
 
 import com.mapbox.api.directions.v5.models.StepIntersection;
 import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.navigation.NavigationConstants;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.turf.TurfClassification;
@@ -19,6 +20,10 @@ public final class ToleranceUtils {
 
   public static double dynamicRerouteDistanceTolerance(Point snappedPoint,
                                                        RouteProgress routeProgress) {
+    RouteGeometryIndex geometryIndex = routeProgress.routeGeometryIndex();
+    if (geometryIndex != null) {
+      return indexedRerouteDistanceTolerance(snappedPoint, routeProgress, geometryIndex);
+    }
     List<StepIntersection> intersections
       = routeProgress.currentLegProgress().currentStepProgress().intersections();
     List<Point> intersectionsPoints = new ArrayList<>();
@@ -40,4 +45,19 @@ public final class ToleranceUtils {
     }
     return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING;
   }
+
+  /**
+   * Same tolerance, with the closest intersection found by the {@link RouteGeometryIndex} among the
+   * intersections around the point only.
+   */
+  private static double indexedRerouteDistanceTolerance(Point snappedPoint, RouteProgress routeProgress,
+                                                        RouteGeometryIndex geometryIndex) {
+    double distanceToNextIntersection = geometryIndex.distanceToIntersection(routeProgress.legIndex(),
+      routeProgress.currentLegProgress().stepIndex(), snappedPoint.longitude(), snappedPoint.latitude(),
+      NavigationConstants.MANEUVER_ZONE_RADIUS);
+    if (distanceToNextIntersection > 0 && distanceToNextIntersection <= NavigationConstants.MANEUVER_ZONE_RADIUS) {
+      return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING / 2;
+    }
+    return NavigationConstants.MINIMUM_DISTANCE_BEFORE_REROUTING;
+  }
 }
\ No newline at end of file
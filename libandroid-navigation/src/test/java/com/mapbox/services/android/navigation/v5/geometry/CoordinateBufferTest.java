@@ -0,0 +1,63 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class CoordinateBufferTest extends BaseTest {
+
+  @Test
+  public void decode_matchesPolylineUtils() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    for (LegStep step : route.legs().get(0).steps()) {
+      List<Point> decodedPoints = PolylineUtils.decode(step.geometry(), PRECISION_6);
+
+      CoordinateBuffer buffer = CoordinateBuffer.decode(step.geometry(), PRECISION_6);
+
+      assertEquals(decodedPoints.size(), buffer.size());
+      assertEquals(decodedPoints, buffer.points());
+    }
+  }
+
+  @Test
+  public void distance_matchesTurfMeasurement() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    List<Point> points = PolylineUtils.decode(route.geometry(), PRECISION_6);
+    CoordinateBuffer buffer = CoordinateBuffer.fromPoints(points);
+
+    for (int i = 1; i < buffer.size(); i++) {
+      double expected = TurfMeasurement.distance(points.get(i - 1), points.get(i), TurfConstants.UNIT_METERS);
+
+      assertEquals(expected, buffer.distance(i - 1, i), DELTA);
+    }
+  }
+
+  @Test
+  public void points_createEachPointOnce() throws Exception {
+    CoordinateBuffer buffer = CoordinateBuffer.decode(buildTestDirectionsRoute().geometry(), PRECISION_6);
+
+    assertSame(buffer.points(), buffer.points());
+    assertSame(buffer.points().get(2), buffer.points().get(2));
+  }
+
+  @Test
+  public void matches_comparesExactCoordinateValues() throws Exception {
+    CoordinateBuffer buffer = CoordinateBuffer.decode(buildTestDirectionsRoute().geometry(), PRECISION_6);
+    Point point = buffer.points().get(1);
+
+    assertTrue(buffer.matches(1, point.longitude(), point.latitude()));
+  }
+}
@@ -0,0 +1,106 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+import com.mapbox.turf.TurfMisc;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class DistanceKernelTest extends BaseTest {
+
+  private static final String INDEX_KEY = "index";
+  private static final double PLANAR_RELATIVE_ERROR = 0.0001;
+
+  @Test
+  public void create_returnsKernelOfType() {
+    assertEquals(DistanceKernel.HAVERSINE, DistanceKernel.create(DistanceKernel.HAVERSINE).type());
+    assertEquals(DistanceKernel.PLANAR, DistanceKernel.create(DistanceKernel.PLANAR).type());
+  }
+
+  @Test
+  public void haversineDistance_matchesTurfMeasurement() {
+    Point from = Point.fromLngLat(-77.0365, 38.8977);
+    Point to = Point.fromLngLat(-77.0312, 38.9012);
+    double expected = TurfMeasurement.distance(from, to, TurfConstants.UNIT_METERS);
+
+    double distance = DistanceKernel.create(DistanceKernel.HAVERSINE).distance(from, to);
+
+    assertEquals(expected, distance, DELTA);
+  }
+
+  @Test
+  public void planarDistance_withinErrorBoundForLocalDistances() {
+    Point from = Point.fromLngLat(18.0686, 59.3293);
+    Point to = buildPointAwayFromPoint(from, 800, 35);
+    double haversineDistance = TurfMeasurement.distance(from, to, TurfConstants.UNIT_METERS);
+
+    double planarDistance = DistanceKernel.create(DistanceKernel.PLANAR).distance(from, to);
+
+    assertEquals(haversineDistance, planarDistance, haversineDistance * PLANAR_RELATIVE_ERROR);
+  }
+
+  @Test
+  public void planarDistance_precomputedCosineOfFromLatitudeMatchesDistance() {
+    DistanceKernel kernel = DistanceKernel.create(DistanceKernel.PLANAR);
+    Point from = Point.fromLngLat(18.0686, 59.3293);
+    Point to = buildPointAwayFromPoint(from, 800, 35);
+    double cosLatitude = Math.cos(Math.toRadians(from.latitude()));
+
+    double distance = kernel.distance(from.longitude(), from.latitude(), to.longitude(), to.latitude(), cosLatitude);
+
+    assertEquals(kernel.distance(from, to), distance, DELTA);
+  }
+
+  @Test
+  public void haversineDistance_ignoresPrecomputedCosine() {
+    DistanceKernel kernel = DistanceKernel.create(DistanceKernel.HAVERSINE);
+    Point from = Point.fromLngLat(-77.0365, 38.8977);
+    Point to = Point.fromLngLat(-77.0312, 38.9012);
+
+    double distance = kernel.distance(from.longitude(), from.latitude(), to.longitude(), to.latitude(), 0.5);
+
+    assertEquals(kernel.distance(from, to), distance, DELTA);
+  }
+
+  @Test
+  public void planarNearestPointOnLine_matchesTurfSegmentAndPoint() {
+    List<Point> line = Arrays.asList(
+      Point.fromLngLat(-77.0400, 38.9000),
+      Point.fromLngLat(-77.0380, 38.9000),
+      Point.fromLngLat(-77.0380, 38.9020),
+      Point.fromLngLat(-77.0360, 38.9020)
+    );
+    Point point = Point.fromLngLat(-77.0378, 38.9010);
+    Feature expected = TurfMisc.nearestPointOnLine(point, line);
+
+    Feature feature = DistanceKernel.create(DistanceKernel.PLANAR).nearestPointOnLine(point, line);
+
+    assertEquals(expected.getNumberProperty(INDEX_KEY).intValue(), feature.getNumberProperty(INDEX_KEY).intValue());
+    double offset = TurfMeasurement.distance((Point) expected.geometry(), (Point) feature.geometry(),
+      TurfConstants.UNIT_METERS);
+    assertTrue(offset < 0.1);
+  }
+
+  @Test
+  public void planarNearestPointOnLine_clampsToLineEnds() {
+    List<Point> line = Arrays.asList(
+      Point.fromLngLat(-77.0400, 38.9000),
+      Point.fromLngLat(-77.0380, 38.9000)
+    );
+
+    Feature feature = DistanceKernel.create(DistanceKernel.PLANAR)
+      .nearestPointOnLine(Point.fromLngLat(-77.0370, 38.9001), line);
+
+    assertEquals(line.get(1), feature.geometry());
+    assertEquals(0, feature.getNumberProperty(INDEX_KEY).intValue());
+  }
+}
@@ -0,0 +1,102 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+public class LegAnnotationIndexTest extends BaseTest {
+
+  private static final String ANNOTATED_ROUTE_FIXTURE = "directions_distance_congestion_annotation.json";
+
+  @Test
+  public void create_returnsNullWithoutDistanceAnnotations() throws Exception {
+    RouteLeg leg = buildTestDirectionsRoute().legs().get(0);
+
+    assertNull(LegAnnotationIndex.create(leg));
+  }
+
+  @Test
+  public void findAnnotationIndex_matchesLinearAnnotationSearch() throws Exception {
+    RouteLeg leg = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE).legs().get(0);
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(leg);
+    List<Double> distances = leg.annotation().distance();
+    double distanceAlongLeg = leg.distance() / 2;
+
+    int expectedIndex = -1;
+    double annotationDistances = 0;
+    for (int i = 0; i < distances.size(); i++) {
+      annotationDistances += distances.get(i);
+      if (annotationDistances > distanceAlongLeg) {
+        expectedIndex = i;
+        break;
+      }
+    }
+
+    assertEquals(expectedIndex, annotationIndex.findAnnotationIndex(distanceAlongLeg, 0));
+  }
+
+  @Test
+  public void findAnnotationIndex_doesNotSearchBeforeFromIndex() throws Exception {
+    RouteLeg leg = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE).legs().get(0);
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(leg);
+
+    assertEquals(5, annotationIndex.findAnnotationIndex(0, 5));
+  }
+
+  @Test
+  public void findAnnotationIndex_returnsNotFoundPastLegEnd() throws Exception {
+    RouteLeg leg = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE).legs().get(0);
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(leg);
+    double annotationsLength = annotationIndex.distanceToAnnotation(annotationIndex.size());
+
+    assertEquals(-1, annotationIndex.findAnnotationIndex(annotationsLength, 0));
+  }
+
+  @Test
+  public void primitiveAccessors_matchLegAnnotationValues() throws Exception {
+    RouteLeg leg = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE).legs().get(0);
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(leg);
+
+    assertEquals(leg.annotation().distance().size(), annotationIndex.size());
+    assertEquals(leg.annotation().distance().get(3), annotationIndex.distance(3), DELTA);
+    assertEquals(leg.annotation().congestion().get(3), annotationIndex.congestion(3));
+  }
+
+  @Test
+  public void congestionLevel_matchesCongestionName() throws Exception {
+    RouteLeg leg = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE).legs().get(0);
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(leg);
+    List<String> congestionNames = Arrays.asList("unknown", "low", "moderate", "heavy", "severe");
+
+    for (int i = 0; i < annotationIndex.size(); i++) {
+      String congestion = leg.annotation().congestion().get(i);
+      assertEquals(congestion, annotationIndex.congestion(i));
+      assertEquals(congestionNames.indexOf(congestion), annotationIndex.congestionLevel(i));
+    }
+  }
+
+  @Test
+  public void congestionLevel_unrecognizedCongestionIsUnknown() throws Exception {
+    RouteLeg leg = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE).legs().get(0);
+    List<String> congestion = new ArrayList<>(leg.annotation().congestion());
+    congestion.set(0, "gridlock");
+    LegAnnotation gridlockAnnotation = LegAnnotation.builder()
+      .distance(leg.annotation().distance())
+      .congestion(congestion)
+      .build();
+    RouteLeg gridlockLeg = leg.toBuilder().annotation(gridlockAnnotation).build();
+    LegAnnotationIndex annotationIndex = LegAnnotationIndex.create(gridlockLeg);
+
+    assertEquals("gridlock", annotationIndex.congestion(0));
+    assertEquals(LegAnnotationIndex.CONGESTION_UNKNOWN, annotationIndex.congestionLevel(0));
+  }
+}
@@ -0,0 +1,95 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class PackedRTreeTest extends BaseTest {
+
+  private static final int ITEM_COUNT = 1000;
+  private static final int SEARCH_COUNT = 50;
+
+  @Test
+  public void search_emptyTreeVisitsNothing() throws Exception {
+    PackedRTree tree = new PackedRTree(new double[0]);
+    CollectingVisitor visitor = new CollectingVisitor();
+
+    tree.search(-1, -1, 1, 1, visitor);
+
+    assertEquals(0, tree.size());
+    assertTrue(visitor.items.isEmpty());
+  }
+
+  @Test
+  public void search_visitsSameItemsAsLinearScan() throws Exception {
+    Random random = new Random(42);
+    double[] boxes = buildRandomBoxes(random);
+    PackedRTree tree = new PackedRTree(boxes);
+
+    for (int i = 0; i < SEARCH_COUNT; i++) {
+      double minX = random.nextDouble() * 100;
+      double minY = random.nextDouble() * 100;
+      double maxX = minX + random.nextDouble() * 10;
+      double maxY = minY + random.nextDouble() * 10;
+      CollectingVisitor visitor = new CollectingVisitor();
+
+      tree.search(minX, minY, maxX, maxY, visitor);
+
+      Collections.sort(visitor.items);
+      assertEquals(scan(boxes, minX, minY, maxX, maxY), visitor.items);
+    }
+  }
+
+  @Test
+  public void search_pointBoxesOnEdgesAreVisited() throws Exception {
+    PackedRTree tree = new PackedRTree(new double[] {1, 1, 1, 1, 2, 2, 2, 2});
+    CollectingVisitor visitor = new CollectingVisitor();
+
+    tree.search(0, 0, 1, 1, visitor);
+
+    assertEquals(Collections.singletonList(0), visitor.items);
+  }
+
+  private static double[] buildRandomBoxes(Random random) {
+    double[] boxes = new double[ITEM_COUNT * 4];
+    for (int item = 0; item < ITEM_COUNT; item++) {
+      double x = random.nextDouble() * 100;
+      double y = random.nextDouble() * 100;
+      boxes[item * 4] = x;
+      boxes[item * 4 + 1] = y;
+      boxes[item * 4 + 2] = x + random.nextDouble() * 2;
+      boxes[item * 4 + 3] = y + random.nextDouble() * 2;
+    }
+    return boxes;
+  }
+
+  private static List<Integer> scan(double[] boxes, double minX, double minY, double maxX, double maxY) {
+    List<Integer> items = new ArrayList<>();
+    for (int item = 0; item < boxes.length / 4; item++) {
+      boolean overlaps = boxes[item * 4] <= maxX && boxes[item * 4 + 1] <= maxY
+        && boxes[item * 4 + 2] >= minX && boxes[item * 4 + 3] >= minY;
+      if (overlaps) {
+        items.add(item);
+      }
+    }
+    return items;
+  }
+
+  private static class CollectingVisitor implements PackedRTree.Visitor {
+
+    private final List<Integer> items = new ArrayList<>();
+
+    @Override
+    public void visit(int item) {
+      items.add(item);
+    }
+  }
+}
@@ -0,0 +1,259 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import android.support.v4.util.Pair;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.StepIntersection;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.navigation.NavigationHelper;
+import com.mapbox.services.android.navigation.v5.utils.MeasurementUtils;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+import com.mapbox.turf.TurfMisc;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class RouteGeometryIndexTest extends BaseTest {
+
+  private static final String MULTI_LEG_ROUTE_FIXTURE = "directions_two_leg_route.json";
+  private static final double POSITION_DELTA = 1E-5;
+
+  @Test
+  public void stepPoints_matchDecodedStepGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    LegStep step = route.legs().get(1).steps().get(2);
+
+    List<Point> decodedPoints = PolylineUtils.decode(step.geometry(), PRECISION_6);
+
+    assertEquals(decodedPoints, geometryIndex.stepPoints(1, 2));
+    assertEquals(decodedPoints.size(), geometryIndex.stepPointCount(1, 2));
+  }
+
+  @Test
+  public void stepPoints_sameInstanceReturnedForSameStep() throws Exception {
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(buildTestDirectionsRoute());
+
+    assertSame(geometryIndex.stepPoints(0, 1), geometryIndex.stepPoints(0, 1));
+  }
+
+  @Test
+  public void stepPoints_invalidIndicesReturnNull() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    int stepCount = route.legs().get(0).steps().size();
+
+    assertNull(geometryIndex.stepPoints(0, stepCount));
+    assertNull(geometryIndex.stepPoints(route.legs().size(), 0));
+    assertEquals(0, geometryIndex.stepPointCount(-1, 0));
+  }
+
+  @Test
+  public void stepLength_matchesMeasuredStepGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    LineString stepLineString = LineString.fromPolyline(route.legs().get(0).steps().get(0).geometry(), PRECISION_6);
+
+    double expectedLength = TurfMeasurement.length(stepLineString, TurfConstants.UNIT_METERS);
+
+    assertEquals(expectedLength, geometryIndex.stepLength(0, 0), DELTA);
+  }
+
+  @Test
+  public void findSegment_distancesOutsideStepGiveFirstAndLastSegment() throws Exception {
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(buildTestDirectionsRoute());
+    int lastSegment = geometryIndex.stepPointCount(0, 0) - 2;
+
+    assertEquals(0, geometryIndex.findSegment(0, 0, -1));
+    assertEquals(lastSegment, geometryIndex.findSegment(0, 0, geometryIndex.stepLength(0, 0) + 1));
+  }
+
+  @Test
+  public void findPosition_matchesPointAlongStepGeometry() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    LineString stepLineString = LineString.fromPolyline(route.legs().get(0).steps().get(0).geometry(), PRECISION_6);
+    double distance = geometryIndex.stepLength(0, 0) / 3;
+    StepPosition position = new StepPosition();
+
+    boolean found = geometryIndex.findPosition(0, 0, distance, position);
+
+    Point expectedPoint = TurfMeasurement.along(stepLineString, distance, TurfConstants.UNIT_METERS);
+    assertTrue(found);
+    assertEquals(expectedPoint.longitude(), position.longitude(), POSITION_DELTA);
+    assertEquals(expectedPoint.latitude(), position.latitude(), POSITION_DELTA);
+  }
+
+  @Test
+  public void findSegments_closestMatchIsSegmentUnderPosition() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    List<Point> stepPoints = PolylineUtils.decode(route.legs().get(0).steps().get(1).geometry(), PRECISION_6);
+    Point stepMidPoint = TurfMeasurement.midpoint(stepPoints.get(0), stepPoints.get(1));
+    SegmentMatches matches = new SegmentMatches(4);
+
+    int count = geometryIndex.findSegments(stepMidPoint.longitude(), stepMidPoint.latitude(), 50, matches);
+
+    assertTrue(count > 0);
+    assertEquals(count, matches.size());
+    assertEquals(0, matches.legIndex(0));
+    assertEquals(1, matches.stepIndex(0));
+    assertEquals(0, matches.distance(0), LARGE_DELTA);
+    assertEquals(geometryIndex.distanceToVertex(0, 1, 1) / 2, matches.distanceAlongStep(0), LARGE_DELTA);
+  }
+
+  @Test
+  public void findSegments_matchOnSecondLegHasItsLegAndStep() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    List<Point> stepPoints = geometryIndex.stepPoints(1, 2);
+    Point stepMidPoint = TurfMeasurement.midpoint(stepPoints.get(0), stepPoints.get(1));
+    SegmentMatches matches = new SegmentMatches(4);
+
+    geometryIndex.findSegments(stepMidPoint.longitude(), stepMidPoint.latitude(), 50, matches);
+
+    assertEquals(1, matches.legIndex(0));
+    assertEquals(2, matches.stepIndex(0));
+    assertEquals(0, matches.distance(0), LARGE_DELTA);
+  }
+
+  @Test
+  public void findSegments_keepsClosestMatchesInOrder() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    Point maneuver = route.legs().get(0).steps().get(1).maneuver().location();
+    SegmentMatches matches = new SegmentMatches(2);
+
+    int count = geometryIndex.findSegments(maneuver.longitude(), maneuver.latitude(), 1000, matches);
+
+    assertEquals(2, count);
+    assertTrue(matches.distance(0) <= matches.distance(1));
+  }
+
+  @Test
+  public void distanceToStep_matchesDistanceToDecodedStep() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    List<Point> stepPoints = PolylineUtils.decode(route.legs().get(0).steps().get(1).geometry(), PRECISION_6);
+    Point stepMidPoint = TurfMeasurement.midpoint(stepPoints.get(0), stepPoints.get(1));
+    Point point = TurfMeasurement.destination(stepMidPoint, 15, 45, TurfConstants.UNIT_METERS);
+
+    double expectedDistance = MeasurementUtils.userTrueDistanceFromStep(point, stepPoints);
+    double distance = geometryIndex.distanceToStep(0, 1, point.longitude(), point.latitude(), 50);
+
+    assertEquals(expectedDistance, distance, LARGE_DELTA);
+  }
+
+  @Test
+  public void distanceToStep_stepBeyondSearchRadiusIsInfinite() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    Point stepStart = geometryIndex.stepPoints(0, 1).get(0);
+    Point point = TurfMeasurement.destination(stepStart, 5, 0, TurfConstants.UNIT_KILOMETERS);
+
+    double distance = geometryIndex.distanceToStep(0, 1, point.longitude(), point.latitude(), 50);
+
+    assertTrue(Double.isInfinite(distance));
+  }
+
+  @Test
+  public void distanceToStep_previousQueryIsNotKept() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    Point stepStart = geometryIndex.stepPoints(0, 1).get(0);
+    Point farPoint = TurfMeasurement.destination(stepStart, 5, 0, TurfConstants.UNIT_KILOMETERS);
+    geometryIndex.distanceToStep(0, 1, stepStart.longitude(), stepStart.latitude(), 50);
+
+    double distance = geometryIndex.distanceToStep(0, 1, farPoint.longitude(), farPoint.latitude(), 50);
+
+    assertTrue(Double.isInfinite(distance));
+  }
+
+  @Test
+  public void distanceToIntersection_matchesClosestStepIntersection() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    LegStep step = route.legs().get(0).steps().get(0);
+    Point intersection = step.intersections().get(0).location();
+    Point point = TurfMeasurement.destination(intersection, 20, 90, TurfConstants.UNIT_METERS);
+
+    double distance = geometryIndex.distanceToIntersection(0, 0, point.longitude(), point.latitude(), 40);
+
+    assertEquals(20, distance, LARGE_DELTA);
+    assertTrue(Double.isInfinite(geometryIndex.distanceToIntersection(0, 0, point.longitude(), point.latitude(), 10)));
+  }
+
+  @Test
+  public void distanceToStepEnd_matchesSlicedStepLength() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    List<Point> stepPoints = geometryIndex.stepPoints(0, 1);
+    Point firstPoint = stepPoints.get(0);
+    Point secondPoint = stepPoints.get(1);
+    Point midSegmentPoint = Point.fromLngLat(
+      (firstPoint.longitude() + secondPoint.longitude()) / 2, (firstPoint.latitude() + secondPoint.latitude()) / 2
+    );
+    Point lastPoint = stepPoints.get(stepPoints.size() - 1);
+
+    LineString slicedLineString = TurfMisc.lineSlice(midSegmentPoint, lastPoint, LineString.fromLngLats(stepPoints));
+    double expectedDistance = TurfMeasurement.length(slicedLineString, TurfConstants.UNIT_METERS);
+
+    assertEquals(expectedDistance, geometryIndex.distanceToStepEnd(0, 1, 0, midSegmentPoint), LARGE_DELTA);
+  }
+
+  @Test
+  public void distanceAfterStep_matchesSumOfFollowingStepDistances() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    List<LegStep> steps = route.legs().get(1).steps();
+
+    double expectedDistance = 0;
+    for (int i = 3; i < steps.size(); i++) {
+      expectedDistance += steps.get(i).distance();
+    }
+
+    assertEquals(expectedDistance, geometryIndex.distanceAfterStep(1, 2), DELTA);
+    assertEquals(0d, geometryIndex.distanceAfterStep(1, steps.size() - 1));
+    assertEquals(0d, geometryIndex.distanceAfterStep(1, steps.size()));
+  }
+
+  @Test
+  public void distanceAfterLeg_matchesSumOfFollowingLegDistances() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    int lastLegIndex = route.legs().size() - 1;
+
+    assertEquals(route.legs().get(lastLegIndex).distance(), geometryIndex.distanceAfterLeg(lastLegIndex - 1), DELTA);
+    assertEquals(0d, geometryIndex.distanceAfterLeg(lastLegIndex));
+  }
+
+  @Test
+  public void intersectionDistances_matchSlicedDistancesToIntersections() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(MULTI_LEG_ROUTE_FIXTURE);
+    RouteGeometryIndex geometryIndex = new RouteGeometryIndex(route);
+    List<LegStep> steps = route.legs().get(0).steps();
+    List<StepIntersection> intersections = NavigationHelper.createIntersectionsList(steps.get(1), steps.get(2));
+    List<Pair<StepIntersection, Double>> expectedDistances = NavigationHelper.createDistancesToIntersections(
+      geometryIndex.stepPoints(0, 1), intersections
+    );
+
+    double[] intersectionDistances = geometryIndex.intersectionDistances(0, 1);
+
+    assertEquals(expectedDistances.size(), intersectionDistances.length);
+    for (int i = 0; i < intersectionDistances.length; i++) {
+      assertEquals(expectedDistances.get(i).second, intersectionDistances[i], LARGE_DELTA);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.mapbox.services.android.navigation.v5.geometry;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.turf.TurfMisc;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+
+public class SnapCursorTest extends BaseTest {
+
+  private static final String INDEX_KEY = "index";
+  private static final int STEP_POINT_COUNT = 40;
+  private static final double POINT_SPACING = 0.0001;
+  private static final double OFFSET_FROM_STEP = 0.00002;
+
+  @Test
+  public void snap_matchesFullStepScanWhileTravelingAlongStep() throws Exception {
+    List<Point> stepPoints = buildStepPoints();
+    SnapCursor snapCursor = new SnapCursor();
+
+    for (int i = 0; i < STEP_POINT_COUNT - 1; i++) {
+      Point location = buildLocationNearSegment(stepPoints, i);
+
+      Feature expected = TurfMisc.nearestPointOnLine(location, stepPoints);
+      Feature snapped = snapCursor.snap(location, stepPoints);
+
+      assertEquals(expected.geometry(), snapped.geometry());
+      assertEquals(expected.getNumberProperty(INDEX_KEY).intValue(), snapped.getNumberProperty(INDEX_KEY).intValue());
+    }
+  }
+
+  @Test
+  public void snap_fallsBackToFullScanWhenUserJumpsOutsideWindow() throws Exception {
+    List<Point> stepPoints = buildStepPoints();
+    SnapCursor snapCursor = new SnapCursor();
+    snapCursor.snap(buildLocationNearSegment(stepPoints, 1), stepPoints);
+
+    Feature snapped = snapCursor.snap(buildLocationNearSegment(stepPoints, 35), stepPoints);
+
+    assertEquals(35, snapped.getNumberProperty(INDEX_KEY).intValue());
+    assertEquals(35, snapCursor.segmentIndex());
+  }
+
+  @Test
+  public void snap_fallsBackToFullScanWhenUserMovesPastWindowEnd() throws Exception {
+    List<Point> stepPoints = buildStepPoints();
+    SnapCursor snapCursor = new SnapCursor();
+    snapCursor.snap(buildLocationNearSegment(stepPoints, 1), stepPoints);
+    Point location = buildLocationNearSegment(stepPoints, 12);
+
+    Feature expected = TurfMisc.nearestPointOnLine(location, stepPoints);
+    Feature snapped = snapCursor.snap(location, stepPoints);
+
+    assertEquals(expected.geometry(), snapped.geometry());
+    assertEquals(12, snapped.getNumberProperty(INDEX_KEY).intValue());
+  }
+
+  @Test
+  public void snap_newStepPointsResetCursor() throws Exception {
+    List<Point> stepPoints = buildStepPoints();
+    SnapCursor snapCursor = new SnapCursor();
+    snapCursor.snap(buildLocationNearSegment(stepPoints, 30), stepPoints);
+    List<Point> newStepPoints = buildStepPoints();
+
+    Feature snapped = snapCursor.snap(buildLocationNearSegment(newStepPoints, 2), newStepPoints);
+
+    assertEquals(2, snapped.getNumberProperty(INDEX_KEY).intValue());
+  }
+
+  @Test
+  public void reset_clearsLastSegmentIndex() throws Exception {
+    List<Point> stepPoints = buildStepPoints();
+    SnapCursor snapCursor = new SnapCursor();
+    snapCursor.snap(buildLocationNearSegment(stepPoints, 10), stepPoints);
+
+    snapCursor.reset();
+
+    assertEquals(-1, snapCursor.segmentIndex());
+  }
+
+  private List<Point> buildStepPoints() {
+    List<Point> stepPoints = new ArrayList<>();
+    for (int i = 0; i < STEP_POINT_COUNT; i++) {
+      stepPoints.add(Point.fromLngLat(-77.0 + (i * POINT_SPACING), 38.9));
+    }
+    return stepPoints;
+  }
+
+  private Point buildLocationNearSegment(List<Point> stepPoints, int segmentIndex) {
+    Point segmentStart = stepPoints.get(segmentIndex);
+    return Point.fromLngLat(segmentStart.longitude() + (POINT_SPACING / 2), segmentStart.latitude() + OFFSET_FROM_STEP);
+  }
+}
@@ -0,0 +1,77 @@
+package com.mapbox.services.android.navigation.v5.instruction;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.utils.RouteUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class StepInstructionIndexTest extends BaseTest {
+
+  private List<LegStep> steps;
+
+  @Before
+  public void setup() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    steps = route.legs().get(0).steps();
+  }
+
+  @Test
+  public void findInstructions_matchesRouteUtilsAlongEachStep() throws Exception {
+    RouteUtils routeUtils = new RouteUtils();
+
+    for (LegStep step : steps) {
+      StepInstructionIndex instructionIndex = StepInstructionIndex.create(step);
+      for (double distanceRemaining = step.distance() + 10; distanceRemaining >= 0; distanceRemaining -= 2.5) {
+        assertSame(routeUtils.findCurrentBannerInstructions(step, distanceRemaining),
+          instructionIndex.findBannerInstructions(distanceRemaining));
+        assertSame(routeUtils.findCurrentVoiceInstructions(step, distanceRemaining),
+          instructionIndex.findVoiceInstructions(distanceRemaining));
+      }
+    }
+  }
+
+  @Test
+  public void distanceToNextInstructions_sameInstructionsFoundUntilThen() throws Exception {
+    for (LegStep step : steps) {
+      StepInstructionIndex instructionIndex = StepInstructionIndex.create(step);
+      for (double distanceRemaining = step.distance(); distanceRemaining >= 0; distanceRemaining -= 5) {
+        double bannerDistance = instructionIndex.distanceToNextBannerInstructions(distanceRemaining);
+        double voiceDistance = instructionIndex.distanceToNextVoiceInstructions(distanceRemaining);
+
+        assertTrue(bannerDistance >= 0 && voiceDistance >= 0);
+        if (bannerDistance > 1) {
+          assertSame(instructionIndex.findBannerInstructions(distanceRemaining),
+            instructionIndex.findBannerInstructions(distanceRemaining - bannerDistance + 1));
+        }
+        if (voiceDistance > 1) {
+          assertSame(instructionIndex.findVoiceInstructions(distanceRemaining),
+            instructionIndex.findVoiceInstructions(distanceRemaining - voiceDistance + 1));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void distanceToNextVoiceInstructions_reachesNextInstructions() throws Exception {
+    LegStep step = steps.get(0);
+    StepInstructionIndex instructionIndex = StepInstructionIndex.create(step);
+    double distanceRemaining = step.voiceInstructions().get(0).distanceAlongGeometry() + 10;
+
+    double distanceToNext = instructionIndex.distanceToNextVoiceInstructions(distanceRemaining);
+
+    assertNull(instructionIndex.findVoiceInstructions(distanceRemaining));
+    assertEquals(10, distanceToNext, DELTA);
+    assertSame(step.voiceInstructions().get(0),
+      instructionIndex.findVoiceInstructions(distanceRemaining - distanceToNext - 0.01));
+  }
+}
@@ -0,0 +1,99 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class KalmanLocationFilterTest extends BaseTest {
+
+  private static final double START_LATITUDE = 38.8977;
+  private static final double START_LONGITUDE = -77.0365;
+  private static final double METERS_PER_DEGREE = 111195d;
+  private static final float SPEED = 10f;
+  private static final float EAST = 90f;
+  private static final double NOISE_METERS = 8d;
+  private static final int FIX_COUNT = 20;
+
+  @Test
+  public void filter_firstUpdateIsReturnedAsIs() throws Exception {
+    LocationFilter filter = new KalmanLocationFilter();
+    Location location = buildEastboundLocation(0, 0);
+
+    assertEquals(location, filter.filter(location));
+  }
+
+  @Test
+  public void filter_noisyUpdatesAreSmoothed() throws Exception {
+    LocationFilter filter = new KalmanLocationFilter();
+    double rawError = 0;
+    double filteredError = 0;
+
+    for (int i = 0; i < FIX_COUNT; i++) {
+      double noise = i % 2 == 0 ? NOISE_METERS : -NOISE_METERS;
+      Location filteredLocation = filter.filter(buildEastboundLocation(i, noise));
+      if (i > 0) {
+        rawError += NOISE_METERS;
+        filteredError += Math.abs(filteredLocation.getLatitude() - START_LATITUDE) * METERS_PER_DEGREE;
+      }
+    }
+
+    assertTrue(filteredError < rawError / 2);
+  }
+
+  @Test
+  public void predict_withoutUpdateReturnsNull() throws Exception {
+    LocationFilter filter = new KalmanLocationFilter();
+
+    assertNull(filter.predict(1000, null));
+  }
+
+  @Test
+  public void predict_withoutRouteMovesAtFilteredVelocity() throws Exception {
+    LocationFilter filter = new KalmanLocationFilter();
+    Location lastLocation = null;
+    for (int i = 0; i < FIX_COUNT; i++) {
+      lastLocation = filter.filter(buildEastboundLocation(i, 0));
+    }
+
+    Location predictedLocation = filter.predict(2000, null);
+
+    double metersPerLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(START_LATITUDE));
+    double distanceEast = (predictedLocation.getLongitude() - lastLocation.getLongitude()) * metersPerLongitude;
+    assertEquals(2 * SPEED, distanceEast, 1d);
+    assertEquals(EAST, predictedLocation.getBearing(), 1d);
+    assertEquals(lastLocation.getTime() + 2000, predictedLocation.getTime());
+  }
+
+  @Test
+  public void predict_stopsAfterMaximumDeadReckoningTime() throws Exception {
+    LocationFilter filter = new KalmanLocationFilter();
+    filter.filter(buildEastboundLocation(0, 0));
+    filter.filter(buildEastboundLocation(1, 0));
+
+    assertNull(filter.predict(60000, null));
+  }
+
+  private static Location buildEastboundLocation(int second, double northOffsetMeters) {
+    double metersPerLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(START_LATITUDE));
+    Location location = new Location("test");
+    location.setLatitude(START_LATITUDE + northOffsetMeters / METERS_PER_DEGREE);
+    location.setLongitude(START_LONGITUDE + second * SPEED / metersPerLongitude);
+    location.setTime(second * 1000L);
+    location.setSpeed(SPEED);
+    location.setBearing(EAST);
+    location.setAccuracy(10f);
+    return location;
+  }
+}
@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.location;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SampleLocationTest extends BaseTest {
+
+  private static final double LATITUDE = 38.8977;
+  private static final double LONGITUDE = -77.0365;
+  private static final long TIME = 1000L;
+  private static final float SPEED = 10f;
+
+  @Test
+  public void sampleValues_areReadableWithoutAndroidRuntime() throws Exception {
+    Location location = new SampleLocation(buildSample());
+
+    assertEquals(LATITUDE, location.getLatitude(), DELTA);
+    assertEquals(LONGITUDE, location.getLongitude(), DELTA);
+    assertEquals(TIME, location.getTime());
+    assertTrue(location.hasSpeed());
+    assertEquals(SPEED, location.getSpeed(), DELTA);
+    assertFalse(location.hasBearing());
+    assertFalse(location.hasAccuracy());
+  }
+
+  @Test
+  public void copy_keepsSampleValues() throws Exception {
+    Location location = new SampleLocation(buildSample());
+
+    Location copy = SampleLocation.copy(location);
+    copy.setLatitude(LATITUDE + 1);
+
+    assertEquals(LONGITUDE, copy.getLongitude(), DELTA);
+    assertEquals(LATITUDE + 1, copy.getLatitude(), DELTA);
+    assertEquals(LATITUDE, location.getLatitude(), DELTA);
+  }
+
+  @Test
+  public void setBearing_wrapsToFullCircle() throws Exception {
+    Location location = new SampleLocation(buildSample());
+
+    location.setBearing(-90f);
+
+    assertEquals(270f, location.getBearing(), DELTA);
+  }
+
+  private static LocationSample buildSample() {
+    LocationSample sample = mock(LocationSample.class);
+    when(sample.latitude()).thenReturn(LATITUDE);
+    when(sample.longitude()).thenReturn(LONGITUDE);
+    when(sample.time()).thenReturn(TIME);
+    when(sample.hasSpeed()).thenReturn(true);
+    when(sample.speed()).thenReturn(SPEED);
+    return sample;
+  }
+}
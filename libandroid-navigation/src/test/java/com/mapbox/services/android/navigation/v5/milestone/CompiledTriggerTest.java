@@ -0,0 +1,138 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import android.util.SparseArray;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class CompiledTriggerTest extends BaseTest {
+
+  private RouteProgress previousRouteProgress;
+  private RouteProgress routeProgress;
+  private TriggerSnapshot triggerSnapshot;
+
+  @Before
+  public void setup() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    double stepDistanceRemaining = route.legs().get(0).steps().get(1).distance() / 2;
+    previousRouteProgress = buildTestRouteProgress(route, 100, route.distance(), route.distance(), 0, 0);
+    routeProgress = buildTestRouteProgress(route, stepDistanceRemaining, route.distance(), route.distance(), 1, 0);
+    triggerSnapshot = new TriggerSnapshot();
+    triggerSnapshot.update(previousRouteProgress, routeProgress);
+  }
+
+  @Test
+  public void isOccurring_singlePropertiesMatchStatementTree() throws Exception {
+    int[] keys = {
+      TriggerProperty.STEP_DURATION_REMAINING_SECONDS, TriggerProperty.STEP_DISTANCE_REMAINING_METERS,
+      TriggerProperty.STEP_DISTANCE_TOTAL_METERS, TriggerProperty.STEP_DURATION_TOTAL_SECONDS,
+      TriggerProperty.NEXT_STEP_DISTANCE_METERS, TriggerProperty.NEXT_STEP_DURATION_SECONDS
+    };
+    SparseArray<Number[]> statementObjects = TriggerProperty.getSparseArray(previousRouteProgress, routeProgress);
+
+    for (int key : keys) {
+      double value = statementObjects.get(key)[0].doubleValue();
+      for (double operand : new double[] {0, value / 2, value, value * 2}) {
+        assertCompiledMatches(Trigger.gt(key, operand));
+        assertCompiledMatches(Trigger.gte(key, operand));
+        assertCompiledMatches(Trigger.lt(key, operand));
+        assertCompiledMatches(Trigger.lte(key, operand));
+        assertCompiledMatches(Trigger.eq(key, operand));
+        assertCompiledMatches(Trigger.neq(key, operand));
+      }
+    }
+  }
+
+  @Test
+  public void isOccurring_pairedPropertiesMatchStatementTree() throws Exception {
+    int[] keys = {
+      TriggerProperty.NEW_STEP, TriggerProperty.LAST_STEP, TriggerProperty.FIRST_STEP,
+      TriggerProperty.FIRST_LEG, TriggerProperty.LAST_LEG
+    };
+
+    for (int key : keys) {
+      for (Integer value : new Integer[] {TriggerProperty.TRUE, TriggerProperty.FALSE}) {
+        assertCompiledMatches(Trigger.gt(key, value));
+        assertCompiledMatches(Trigger.gte(key, value));
+        assertCompiledMatches(Trigger.lt(key, value));
+        assertCompiledMatches(Trigger.lte(key, value));
+        assertCompiledMatches(Trigger.eq(key, value));
+        assertCompiledMatches(Trigger.neq(key, value));
+      }
+    }
+  }
+
+  @Test
+  public void isOccurring_equalityIsTypeSensitiveLikeStatementTree() throws Exception {
+    Trigger.Statement integerIndex = Trigger.eq(TriggerProperty.STEP_INDEX, 1);
+    Trigger.Statement doubleIndex = Trigger.eq(TriggerProperty.STEP_INDEX, 1d);
+
+    assertTrue(CompiledTrigger.compile(integerIndex).isOccurring(triggerSnapshot));
+    assertFalse(CompiledTrigger.compile(doubleIndex).isOccurring(triggerSnapshot));
+    assertCompiledMatches(doubleIndex);
+    assertCompiledMatches(Trigger.neq(TriggerProperty.STEP_INDEX, 1d));
+  }
+
+  @Test
+  public void isOccurring_compoundStatementsMatchStatementTree() throws Exception {
+    Trigger.Statement newStep = Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.TRUE);
+    Trigger.Statement firstStep = Trigger.eq(TriggerProperty.FIRST_STEP, TriggerProperty.TRUE);
+    Trigger.Statement closeToManeuver = Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 1000);
+
+    assertCompiledMatches(Trigger.all(newStep, closeToManeuver));
+    assertCompiledMatches(Trigger.all(newStep, firstStep));
+    assertCompiledMatches(Trigger.any(firstStep, closeToManeuver));
+    assertCompiledMatches(Trigger.any(firstStep));
+    assertCompiledMatches(Trigger.none(firstStep, closeToManeuver));
+    assertCompiledMatches(Trigger.none(firstStep));
+    assertCompiledMatches(Trigger.all(Trigger.any(firstStep, Trigger.none(newStep)), closeToManeuver));
+    assertCompiledMatches(Trigger.all());
+    assertCompiledMatches(Trigger.any());
+  }
+
+  @Test
+  public void compile_customStatementFallsBackToStatementTree() throws Exception {
+    Trigger.Statement customStatement = new Trigger.Statement() {
+      @Override
+      public boolean isOccurring(SparseArray<Number[]> statementObjects) {
+        return statementObjects.get(TriggerProperty.STEP_INDEX)[0].intValue() == 1;
+      }
+    };
+    Trigger.Statement trigger = Trigger.all(Trigger.gt(TriggerProperty.STEP_INDEX, 0), customStatement);
+
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(trigger);
+
+    assertNull(compiledTrigger);
+    assertTrue(CompiledTrigger.isOccurring(null, trigger, triggerSnapshot));
+  }
+
+  @Test
+  public void compile_unknownPropertyIsNotCompiled() throws Exception {
+    assertNull(CompiledTrigger.compile(Trigger.eq(TriggerProperty.STEP_DISTANCE_TRAVELED_METERS + 100, 1)));
+    assertNotNull(CompiledTrigger.compile(Trigger.eq(TriggerProperty.STEP_INDEX, 1)));
+  }
+
+  private void assertCompiledMatches(Trigger.Statement statement) {
+    CompiledTrigger compiledTrigger = CompiledTrigger.compile(statement);
+    boolean expected = statement.isOccurring(TriggerProperty.getSparseArray(previousRouteProgress, routeProgress));
+
+    assertNotNull(compiledTrigger);
+    assertEquals(expected, compiledTrigger.isOccurring(triggerSnapshot));
+  }
+}
@@ -0,0 +1,87 @@
+package com.mapbox.services.android.navigation.v5.milestone;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class TriggerWindowTest extends BaseTest {
+
+  private static final double THRESHOLD = 100;
+
+  private DirectionsRoute route;
+  private CompiledTrigger compiledTrigger;
+
+  @Before
+  public void setup() throws Exception {
+    route = buildTestDirectionsRoute();
+    compiledTrigger = CompiledTrigger.compile(Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, THRESHOLD));
+  }
+
+  @Test
+  public void contains_trueUntilThresholdCanBeCrossed() throws Exception {
+    TriggerWindow triggerWindow = new TriggerWindow();
+    triggerWindow.open(compiledTrigger, buildTriggerSnapshot(0, 300));
+
+    assertTrue(triggerWindow.contains(buildTriggerSnapshot(0, 250)));
+    assertTrue(triggerWindow.contains(buildTriggerSnapshot(0, THRESHOLD + 1)));
+    assertFalse(triggerWindow.contains(buildTriggerSnapshot(0, THRESHOLD)));
+    assertFalse(triggerWindow.contains(buildTriggerSnapshot(0, 50)));
+  }
+
+  @Test
+  public void contains_falseOnceStepChanges() throws Exception {
+    TriggerWindow triggerWindow = new TriggerWindow();
+    triggerWindow.open(compiledTrigger, buildTriggerSnapshot(0, 300));
+
+    assertFalse(triggerWindow.contains(buildTriggerSnapshot(1, 300)));
+  }
+
+  @Test
+  public void contains_falseOnceClosed() throws Exception {
+    TriggerWindow triggerWindow = new TriggerWindow();
+    triggerWindow.open(compiledTrigger, buildTriggerSnapshot(0, 300));
+
+    triggerWindow.close();
+
+    assertFalse(triggerWindow.contains(buildTriggerSnapshot(0, 300)));
+  }
+
+  @Test
+  public void isOccurring_stepMilestoneStillOccursAfterSkippedUpdates() throws Exception {
+    Milestone milestone = new StepMilestone.Builder()
+      .setTrigger(Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, THRESHOLD))
+      .build();
+    RouteProgress previousRouteProgress = buildRouteProgress(0, 350);
+
+    for (double stepDistanceRemaining = 340; stepDistanceRemaining > 0; stepDistanceRemaining -= 10) {
+      RouteProgress routeProgress = buildRouteProgress(0, stepDistanceRemaining);
+      boolean isOccurring = milestone.isOccurring(previousRouteProgress, routeProgress);
+
+      assertTrue(isOccurring == (stepDistanceRemaining == 90));
+      previousRouteProgress = routeProgress;
+    }
+  }
+
+  private TriggerSnapshot buildTriggerSnapshot(int stepIndex, double stepDistanceRemaining) throws Exception {
+    TriggerSnapshot triggerSnapshot = new TriggerSnapshot();
+    RouteProgress routeProgress = buildRouteProgress(stepIndex, stepDistanceRemaining);
+    triggerSnapshot.update(routeProgress, routeProgress);
+    return triggerSnapshot;
+  }
+
+  private RouteProgress buildRouteProgress(int stepIndex, double stepDistanceRemaining) throws Exception {
+    return buildTestRouteProgress(route, stepDistanceRemaining, route.distance(), route.distance(), stepIndex, 0);
+  }
+}
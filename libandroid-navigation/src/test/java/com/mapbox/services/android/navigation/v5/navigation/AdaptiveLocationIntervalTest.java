@@ -0,0 +1,75 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class AdaptiveLocationIntervalTest extends BaseTest {
+
+  private static final double APPROACH_DISTANCE = 50;
+
+  @Test
+  public void onRouteProgress_farFromManeuverStartsCruising() throws Exception {
+    AdaptiveLocationInterval adaptiveLocationInterval = buildAdaptiveLocationInterval();
+
+    boolean changed = adaptiveLocationInterval.onRouteProgress(buildRouteProgress(buildTestDirectionsRoute(), 100));
+
+    assertTrue(changed);
+    assertTrue(adaptiveLocationInterval.isCruising());
+    assertEquals(NavigationConstants.CRUISING_LOCATION_UPDATE_INTERVAL_IN_MILLIS, adaptiveLocationInterval.interval());
+  }
+
+  @Test
+  public void onRouteProgress_approachingManeuverRequestsUpdatesEverySecond() throws Exception {
+    AdaptiveLocationInterval adaptiveLocationInterval = buildAdaptiveLocationInterval();
+    DirectionsRoute route = buildTestDirectionsRoute();
+    adaptiveLocationInterval.onRouteProgress(buildRouteProgress(route, 100));
+
+    boolean changed = adaptiveLocationInterval.onRouteProgress(buildRouteProgress(route, 20));
+
+    assertTrue(changed);
+    assertFalse(adaptiveLocationInterval.isCruising());
+    assertEquals(NavigationConstants.LOCATION_UPDATE_INTERVAL_IN_MILLIS, adaptiveLocationInterval.interval());
+    assertEquals(NavigationConstants.FASTEST_LOCATION_UPDATE_INTERVAL_IN_MILLIS,
+      adaptiveLocationInterval.fastestInterval());
+  }
+
+  @Test
+  public void onUserOffRoute_keepsUpdatesEverySecondUntilNewRoute() throws Exception {
+    AdaptiveLocationInterval adaptiveLocationInterval = buildAdaptiveLocationInterval();
+    DirectionsRoute route = buildTestDirectionsRoute();
+    adaptiveLocationInterval.onRouteProgress(buildRouteProgress(route, 100));
+
+    assertTrue(adaptiveLocationInterval.onUserOffRoute());
+    assertFalse(adaptiveLocationInterval.onRouteProgress(buildRouteProgress(route, 100)));
+    assertTrue(adaptiveLocationInterval.onRouteProgress(buildRouteProgress(buildTestDirectionsRoute(), 100)));
+  }
+
+  @Test
+  public void reset_onlyChangesIntervalWhileCruising() throws Exception {
+    AdaptiveLocationInterval adaptiveLocationInterval = buildAdaptiveLocationInterval();
+
+    assertFalse(adaptiveLocationInterval.reset());
+    adaptiveLocationInterval.onRouteProgress(buildRouteProgress(buildTestDirectionsRoute(), 100));
+    assertTrue(adaptiveLocationInterval.reset());
+  }
+
+  private AdaptiveLocationInterval buildAdaptiveLocationInterval() {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .enableAdaptiveLocationUpdates(true)
+      .maneuverApproachDistance(APPROACH_DISTANCE)
+      .maneuverApproachDuration(0)
+      .build();
+    return new AdaptiveLocationInterval(options);
+  }
+
+  private RouteProgress buildRouteProgress(DirectionsRoute route, double stepDistanceRemaining) throws Exception {
+    return buildTestRouteProgress(route, stepDistanceRemaining, 100, 100, 0, 0);
+  }
+}
@@ -0,0 +1,160 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.services.android.navigation.v5.location.LocationSample;
+import com.mapbox.services.android.navigation.v5.location.SampleLocation;
+import com.mapbox.turf.TurfConstants;
+import com.mapbox.turf.TurfMeasurement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.mapbox.core.constants.Constants.PRECISION_6;
+
+/**
+ * Synthetic GPS trace following the step geometries of a route, with a seeded random offset
+ * added to each fix so runs are repeatable.
+ */
+class BenchmarkTrace {
+
+  private static final double MINIMUM_FIX_SPACING = 10d;
+  private static final int MAXIMUM_FIX_COUNT = 2000;
+  private static final double BEARING_LOOK_AHEAD = 5d;
+  private static final double NOISE_METERS = 3d;
+  private static final float ACCURACY_METERS = 5f;
+  private static final long FIX_INTERVAL_MILLIS = 1000L;
+
+  private final LocationSample[] samples;
+  private final Location[] locations;
+
+  private BenchmarkTrace(LocationSample[] samples) {
+    this.samples = samples;
+    locations = new Location[samples.length];
+    for (int i = 0; i < samples.length; i++) {
+      locations[i] = new SampleLocation(samples[i]);
+    }
+  }
+
+  static BenchmarkTrace create(DirectionsRoute route, long seed) {
+    LineString routeLine = LineString.fromLngLats(decodeStepPoints(route));
+    double routeLength = TurfMeasurement.length(routeLine, TurfConstants.UNIT_METERS);
+    double fixSpacing = Math.max(MINIMUM_FIX_SPACING, routeLength / MAXIMUM_FIX_COUNT);
+    int fixCount = (int) (routeLength / fixSpacing) + 1;
+    Random random = new Random(seed);
+    LocationSample[] samples = new LocationSample[fixCount];
+    long time = 0;
+    for (int i = 0; i < fixCount; i++) {
+      double distance = i * fixSpacing;
+      Point pointOnRoute = TurfMeasurement.along(routeLine, distance, TurfConstants.UNIT_METERS);
+      Point pointAhead = TurfMeasurement.along(routeLine, distance + BEARING_LOOK_AHEAD, TurfConstants.UNIT_METERS);
+      double bearing = TurfMeasurement.bearing(pointOnRoute, pointAhead);
+      Point fix = TurfMeasurement.destination(pointOnRoute, Math.abs(random.nextGaussian()) * NOISE_METERS,
+        random.nextDouble() * 360, TurfConstants.UNIT_METERS);
+      float speed = (float) (fixSpacing / (FIX_INTERVAL_MILLIS / 1000d));
+      samples[i] = new TraceSample(fix, (float) ((bearing + 360) % 360), speed, time);
+      time += FIX_INTERVAL_MILLIS;
+    }
+    return new BenchmarkTrace(samples);
+  }
+
+  int size() {
+    return samples.length;
+  }
+
+  LocationSample sample(int index) {
+    return samples[index];
+  }
+
+  /**
+   * The fix as a location, created once so replaying the trace doesn't allocate it.
+   */
+  Location location(int index) {
+    return locations[index];
+  }
+
+  private static List<Point> decodeStepPoints(DirectionsRoute route) {
+    List<Point> points = new ArrayList<>();
+    for (RouteLeg leg : route.legs()) {
+      for (LegStep step : leg.steps()) {
+        for (Point point : PolylineUtils.decode(step.geometry(), PRECISION_6)) {
+          if (points.isEmpty() || !points.get(points.size() - 1).equals(point)) {
+            points.add(point);
+          }
+        }
+      }
+    }
+    return points;
+  }
+
+  /**
+   * A fix of the trace, given to the navigation checks as a {@link SampleLocation} since the unit
+   * test android.jar only returns default values.
+   */
+  private static class TraceSample implements LocationSample {
+
+    private final Point point;
+    private final float bearing;
+    private final float speed;
+    private final long time;
+
+    TraceSample(Point point, float bearing, float speed, long time) {
+      this.point = point;
+      this.bearing = bearing;
+      this.speed = speed;
+      this.time = time;
+    }
+
+    @Override
+    public double latitude() {
+      return point.latitude();
+    }
+
+    @Override
+    public double longitude() {
+      return point.longitude();
+    }
+
+    @Override
+    public long time() {
+      return time;
+    }
+
+    @Override
+    public boolean hasSpeed() {
+      return true;
+    }
+
+    @Override
+    public float speed() {
+      return speed;
+    }
+
+    @Override
+    public boolean hasBearing() {
+      return true;
+    }
+
+    @Override
+    public float bearing() {
+      return bearing;
+    }
+
+    @Override
+    public boolean hasAccuracy() {
+      return true;
+    }
+
+    @Override
+    public float accuracy() {
+      return ACCURACY_METERS;
+    }
+  }
+}
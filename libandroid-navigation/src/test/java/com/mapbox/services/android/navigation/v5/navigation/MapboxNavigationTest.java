@@ -22,6 +22,7 @@ import java.util.List;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.BANNER_INSTRUCTION_MILESTONE_ID;
 import static com.mapbox.services.android.navigation.v5.navigation.NavigationConstants.VOICE_INSTRUCTION_MILESTONE_ID;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNotSame;
 import static junit.framework.Assert.assertNull;
@@ -309,6 +310,34 @@ public class MapboxNavigationTest extends BaseTest {
     assertTrue(navigation.getCameraEngine() instanceof SimpleCamera);
   }
 
+  @Test
+  public void getDroppedLocationUpdateCount_returnsRecordedDrops() throws Exception {
+    MapboxNavigation navigation = buildMapboxNavigation();
+
+    navigation.getLocationUpdateMetrics().recordDroppedUpdate();
+    navigation.getLocationUpdateMetrics().recordDroppedUpdate();
+
+    assertEquals(2, navigation.getDroppedLocationUpdateCount());
+  }
+
+  @Test
+  public void getMaximumLocationUpdateLag_keepsLargestRecordedLag() throws Exception {
+    MapboxNavigation navigation = buildMapboxNavigation();
+
+    navigation.getLocationUpdateMetrics().recordProcessingLag(250);
+    navigation.getLocationUpdateMetrics().recordProcessingLag(40);
+
+    assertEquals(40, navigation.getLastLocationUpdateLag());
+    assertEquals(250, navigation.getMaximumLocationUpdateLag());
+  }
+
+  @Test
+  public void coalesceLocationUpdates_disabledByDefault() throws Exception {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder().build();
+
+    assertFalse(options.coalesceLocationUpdates());
+  }
+
   private MapboxNavigation buildMapboxNavigation() {
     return new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, mock(NavigationTelemetry.class),
       mock(LocationEngine.class));
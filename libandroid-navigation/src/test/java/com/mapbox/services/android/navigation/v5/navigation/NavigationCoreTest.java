@@ -0,0 +1,107 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.exception.NavigationException;
+import com.mapbox.services.android.navigation.v5.location.LocationSample;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class NavigationCoreTest extends BaseTest {
+
+  private static final long TRACE_SEED = 7L;
+  private static final double SNAPPED_DEGREES_DELTA = 0.001;
+
+  @Test(expected = NavigationException.class)
+  public void build_withoutRouteThrowsException() throws Exception {
+    new NavigationCore.Builder().build();
+  }
+
+  @Test
+  public void getRouteProgress_isNullBeforeFirstUpdate() throws Exception {
+    NavigationCore core = new NavigationCore.Builder().setRoute(buildTestDirectionsRoute()).build();
+
+    assertNull(core.getRouteProgress());
+  }
+
+  @Test
+  public void process_firstUpdateStartsAtBeginningOfRoute() throws Exception {
+    NavigationCore core = new NavigationCore.Builder().setRoute(buildTestDirectionsRoute()).build();
+
+    NavigationResult result = core.process(mock(LocationSample.class));
+
+    assertEquals(0, result.routeProgress().legIndex());
+    assertEquals(0, result.routeProgress().currentLegProgress().stepIndex());
+    assertSame(result.routeProgress(), core.getRouteProgress());
+  }
+
+  @Test
+  public void process_disabledEnginesReturnRawLocation() throws Exception {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .defaultMilestonesEnabled(false)
+      .snapToRoute(false)
+      .enableOffRouteDetection(false)
+      .enableFasterRouteDetection(false)
+      .build();
+    DirectionsRoute route = buildTestDirectionsRoute();
+    NavigationCore core = new NavigationCore.Builder()
+      .setRoute(route)
+      .setOptions(options)
+      .build();
+    LocationSample sample = BenchmarkTrace.create(route, TRACE_SEED).sample(0);
+
+    NavigationResult result = core.process(sample);
+
+    assertEquals(sample.latitude(), result.location().getLatitude(), DELTA);
+    assertEquals(sample.longitude(), result.location().getLongitude(), DELTA);
+    assertFalse(result.userOffRoute());
+    assertFalse(result.checkFasterRoute());
+    assertTrue(result.milestones().isEmpty());
+  }
+
+  @Test
+  public void process_replayedTraceAdvancesAlongRoute() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .defaultMilestonesEnabled(false)
+      .build();
+    NavigationCore core = new NavigationCore.Builder().setRoute(route).setOptions(options).build();
+    BenchmarkTrace trace = BenchmarkTrace.create(route, TRACE_SEED);
+
+    RouteProgress firstProgress = core.process(trace.sample(0)).routeProgress();
+    RouteProgress lastProgress = firstProgress;
+    for (int i = 1; i < trace.size(); i++) {
+      lastProgress = core.process(trace.sample(i)).routeProgress();
+    }
+
+    assertTrue(lastProgress.currentLegProgress().stepIndex() > firstProgress.currentLegProgress().stepIndex());
+    assertTrue(lastProgress.distanceRemaining() < firstProgress.distanceRemaining());
+  }
+
+  @Test
+  public void process_snappedLocationStaysNearSample() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .defaultMilestonesEnabled(false)
+      .build();
+    NavigationCore core = new NavigationCore.Builder().setRoute(route).setOptions(options).build();
+    LocationSample sample = BenchmarkTrace.create(route, TRACE_SEED).sample(0);
+
+    Location snappedLocation = core.process(sample).location();
+
+    assertEquals(sample.latitude(), snappedLocation.getLatitude(), SNAPPED_DEGREES_DELTA);
+    assertEquals(sample.longitude(), snappedLocation.getLongitude(), SNAPPED_DEGREES_DELTA);
+    assertTrue(snappedLocation.getLatitude() != sample.latitude()
+      || snappedLocation.getLongitude() != sample.longitude());
+  }
+}
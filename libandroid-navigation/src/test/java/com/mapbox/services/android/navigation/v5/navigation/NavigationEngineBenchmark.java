@@ -0,0 +1,174 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+
+import com.mapbox.android.core.location.LocationEngine;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.milestone.StepMilestone;
+import com.mapbox.services.android.navigation.v5.milestone.Trigger;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerProperty;
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteCallback;
+import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.snap.SnapToRoute;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * JMH benchmarks of the work done by the navigation engine for every location update, driven by a
+ * synthetic {@link BenchmarkTrace} along the test fixture routes.
+ * <p>
+ * Run with <tt>make benchmark</tt> or <tt>./gradlew :libandroid-navigation:benchmark</tt>, a single
+ * benchmark can be selected with <tt>-PbenchmarkInclude=checkMilestones</tt>. Besides the time per
+ * fix, the gc profiler reports <tt>gc.alloc.rate.norm</tt>, the bytes allocated per fix.
+ * <p>
+ * The trace fixes are {@link com.mapbox.services.android.navigation.v5.location.SampleLocation}s,
+ * which keep their coordinates on the unit test android.jar, and the milestones are checked against
+ * a reused {@link TriggerSnapshot} as the navigation core does.
+ * <p>
+ * The off-route, snapping and milestone benchmarks reuse the route progress built for each fix
+ * while setting up the trial. The route processor benchmark is restarted with a new
+ * {@link NavigationRouteProcessor} when the end of the trace is reached, so the cost of indexing the
+ * route is spread over the fixes of the trace.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigationEngineBenchmark extends BaseTest {
+
+  private static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
+  private static final long TRACE_SEED = 42L;
+  private static final int APPROACHING_STEP_MILESTONE = 1001;
+  private static final int NEW_STEP_MILESTONE = 1002;
+  private static final double APPROACHING_STEP_METERS = 200d;
+
+  @Param( {DIRECTIONS_PRECISION_6, "directions_two_leg_route.json", "long_step.json"})
+  public String fixture;
+
+  private MapboxNavigation navigation;
+  private BenchmarkTrace trace;
+  private RouteProgress[] traceProgress;
+  private NavigationRouteProcessor routeProcessor;
+  private OffRouteDetector offRouteDetector;
+  private SnapToRoute snapToRoute;
+  private TriggerSnapshot triggerSnapshot;
+  private int fixIndex;
+
+  @Setup(Level.Trial)
+  public void setupTrial() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(fixture);
+    // Only the default fixture was requested with voice instructions, needed by the default milestones
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .defaultMilestonesEnabled(DIRECTIONS_PRECISION_6.equals(fixture))
+      .build();
+    navigation = new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, options, mock(NavigationTelemetry.class),
+      mock(LocationEngine.class));
+    navigation.addMilestone(new StepMilestone.Builder()
+      .setIdentifier(APPROACHING_STEP_MILESTONE)
+      .setTrigger(Trigger.all(
+        Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, APPROACHING_STEP_METERS),
+        Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, APPROACHING_STEP_METERS)
+      )).build());
+    navigation.addMilestone(new StepMilestone.Builder()
+      .setIdentifier(NEW_STEP_MILESTONE)
+      .setTrigger(Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.TRUE))
+      .build());
+    navigation.startNavigation(route);
+    trace = BenchmarkTrace.create(route, TRACE_SEED);
+    traceProgress = buildTraceProgress();
+    offRouteDetector = new OffRouteDetector();
+    offRouteDetector.setOffRouteCallback(new OffRouteCallback() {
+      @Override
+      public void onShouldIncreaseIndex() {
+        // Progress is precomputed, nothing to advance
+      }
+    });
+    snapToRoute = new SnapToRoute();
+    triggerSnapshot = new TriggerSnapshot();
+  }
+
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    routeProcessor = new NavigationRouteProcessor();
+    fixIndex = 0;
+  }
+
+  @Benchmark
+  public RouteProgress buildNewRouteProgress() {
+    int index = nextFixIndex();
+    if (index == 0) {
+      routeProcessor = new NavigationRouteProcessor();
+    }
+    RouteProgress routeProgress = routeProcessor.buildNewRouteProgress(navigation, trace.location(index));
+    routeProcessor.checkIncreaseIndex(navigation);
+    routeProcessor.setRouteProgress(routeProgress);
+    return routeProgress;
+  }
+
+  @Benchmark
+  public boolean isUserOffRoute() {
+    int index = nextFixIndex();
+    return offRouteDetector.isUserOffRoute(trace.location(index), traceProgress[index], navigation.options());
+  }
+
+  @Benchmark
+  public Location getSnappedLocation() {
+    int index = nextFixIndex();
+    return snapToRoute.getSnappedLocation(trace.location(index), traceProgress[index]);
+  }
+
+  @Benchmark
+  public List<Milestone> checkMilestones() {
+    int index = nextFixIndex();
+    RouteProgress previousProgress = traceProgress[index == 0 ? 0 : index - 1];
+    return NavigationHelper.checkMilestones(previousProgress, traceProgress[index], navigation, triggerSnapshot);
+  }
+
+  private int nextFixIndex() {
+    int index = fixIndex;
+    fixIndex = (fixIndex + 1) % trace.size();
+    return index;
+  }
+
+  /**
+   * Runs the trace through the same steps as the navigation engine, keeping the progress built
+   * for each fix.
+   */
+  private RouteProgress[] buildTraceProgress() {
+    NavigationRouteProcessor processor = new NavigationRouteProcessor();
+    OffRouteDetector detector = new OffRouteDetector();
+    detector.setOffRouteCallback(processor);
+    RouteProgress[] progress = new RouteProgress[trace.size()];
+    for (int i = 0; i < trace.size(); i++) {
+      Location location = trace.location(i);
+      progress[i] = processor.buildNewRouteProgress(navigation, location);
+      detector.isUserOffRoute(location, progress[i], navigation.options());
+      processor.checkIncreaseIndex(navigation);
+      processor.setRouteProgress(progress[i]);
+    }
+    return progress;
+  }
+}
@@ -0,0 +1,108 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.content.Context;
+import android.location.Location;
+
+import com.mapbox.android.core.location.LocationEngine;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class NavigationEngineTest extends BaseTest {
+
+  @Test
+  public void queueTask_inlineExecutorsProcessOnCallingThread() throws Exception {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .navigationExecutor(NavigationExecutors.inline())
+      .callbackExecutor(NavigationExecutors.inline())
+      .build();
+    MapboxNavigation navigation = buildNavigation(options);
+    NavigationEngine.Callback callback = mock(NavigationEngine.Callback.class);
+    NavigationEngine engine = new NavigationEngine(callback, navigation);
+    Location location = mock(Location.class);
+
+    engine.queueTask(NewLocationModel.create(location, navigation, 0));
+
+    verify(callback, times(1)).onNewRouteProgress(eq(location), any(RouteProgress.class));
+    verify(callback, times(1)).onUserOffRoute(eq(location), anyBoolean());
+  }
+
+  @Test
+  public void queueTask_callbacksRunOnCallbackExecutor() throws Exception {
+    QueueExecutor callbackExecutor = new QueueExecutor();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .navigationExecutor(NavigationExecutors.inline())
+      .callbackExecutor(callbackExecutor)
+      .build();
+    MapboxNavigation navigation = buildNavigation(options);
+    NavigationEngine.Callback callback = mock(NavigationEngine.Callback.class);
+    NavigationEngine engine = new NavigationEngine(callback, navigation);
+
+    engine.queueTask(NewLocationModel.create(mock(Location.class), navigation, 0));
+
+    verifyZeroInteractions(callback);
+    assertEquals(1, callbackExecutor.tasks.size());
+    callbackExecutor.runAll();
+    verify(callback, times(1)).onNewRouteProgress(any(Location.class), any(RouteProgress.class));
+  }
+
+  @Test
+  public void queueTask_coalescedUpdatesOnlyProcessLatest() throws Exception {
+    QueueExecutor navigationExecutor = new QueueExecutor();
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .coalesceLocationUpdates(true)
+      .navigationExecutor(navigationExecutor)
+      .callbackExecutor(NavigationExecutors.inline())
+      .build();
+    MapboxNavigation navigation = buildNavigation(options);
+    NavigationEngine.Callback callback = mock(NavigationEngine.Callback.class);
+    NavigationEngine engine = new NavigationEngine(callback, navigation);
+    Location latestLocation = mock(Location.class);
+
+    engine.queueTask(NewLocationModel.create(mock(Location.class), navigation, 0));
+    engine.queueTask(NewLocationModel.create(latestLocation, navigation, 0));
+    navigationExecutor.runAll();
+
+    assertEquals(1, navigation.getDroppedLocationUpdateCount());
+    verify(callback, times(1)).onUserOffRoute(any(Location.class), anyBoolean());
+    verify(callback, times(1)).onUserOffRoute(eq(latestLocation), anyBoolean());
+  }
+
+  private MapboxNavigation buildNavigation(MapboxNavigationOptions options) throws Exception {
+    MapboxNavigation navigation = new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, options,
+      mock(NavigationTelemetry.class), mock(LocationEngine.class));
+    navigation.startNavigation(buildTestDirectionsRoute());
+    return navigation;
+  }
+
+  private static class QueueExecutor implements Executor {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable runnable) {
+      tasks.add(runnable);
+    }
+
+    void runAll() {
+      for (Runnable task : new ArrayList<>(tasks)) {
+        task.run();
+      }
+      tasks.clear();
+    }
+  }
+}
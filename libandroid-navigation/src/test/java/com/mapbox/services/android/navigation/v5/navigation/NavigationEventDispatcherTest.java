@@ -30,7 +30,9 @@ import org.mockito.MockitoAnnotations;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -55,6 +57,10 @@ public class NavigationEventDispatcherTest extends BaseTest {
   @Mock
   FasterRouteListener fasterRouteListener;
   @Mock
+  EngineTimingListener engineTimingListener;
+  @Mock
+  EngineTiming engineTiming;
+  @Mock
   Location location;
   @Mock
   Milestone milestone;
@@ -381,6 +387,29 @@ public class NavigationEventDispatcherTest extends BaseTest {
     verify(metricEventListener, times(0)).onOffRouteEvent(location);
   }
 
+  @Test
+  public void addEngineTimingListener_didAddListener() throws Exception {
+    assertFalse(navigationEventDispatcher.hasEngineTimingListeners());
+
+    navigation.addEngineTimingListener(engineTimingListener);
+    navigationEventDispatcher.onEngineTiming(engineTiming);
+
+    assertTrue(navigationEventDispatcher.hasEngineTimingListeners());
+    verify(engineTimingListener, times(1)).onEngineTiming(engineTiming);
+  }
+
+  @Test
+  public void removeEngineTimingListener_nullRemovesAllListeners() throws Exception {
+    navigation.addEngineTimingListener(engineTimingListener);
+    navigation.addEngineTimingListener(mock(EngineTimingListener.class));
+
+    navigation.removeEngineTimingListener(null);
+    navigationEventDispatcher.onEngineTiming(engineTiming);
+
+    assertFalse(navigationEventDispatcher.hasEngineTimingListeners());
+    verify(engineTimingListener, times(0)).onEngineTiming(engineTiming);
+  }
+
   @NonNull
   private NavigationEventDispatcher buildEventDispatcherHasArrived(String instruction, RouteUtils routeUtils,
                                                                    Milestone milestone) {
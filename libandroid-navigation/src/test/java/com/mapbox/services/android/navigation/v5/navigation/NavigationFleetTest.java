@@ -0,0 +1,167 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegAnnotation;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.routeprogress.CurrentLegAnnotation;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class NavigationFleetTest extends BaseTest {
+
+  private static final long TRACE_SEED = 11L;
+  private static final int WORKER_COUNT = 2;
+  private static final int SESSION_COUNT = 5;
+  private static final int UPDATE_COUNT = 20;
+  private static final String ANNOTATED_ROUTE_FIXTURE = "directions_distance_congestion_annotation.json";
+  private static final String SEVERE_CONGESTION = "severe";
+
+  @Test
+  public void process_resultsOfEachSessionArriveInOrder() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    BenchmarkTrace trace = BenchmarkTrace.create(route, TRACE_SEED);
+    RecordingListener listener = new RecordingListener();
+    NavigationFleet fleet = new NavigationFleet(WORKER_COUNT, listener);
+
+    for (int session = 0; session < SESSION_COUNT; session++) {
+      fleet.startSession(String.valueOf(session), buildCoreBuilder(route));
+    }
+    for (int i = 0; i < UPDATE_COUNT; i++) {
+      for (int session = 0; session < SESSION_COUNT; session++) {
+        fleet.process(String.valueOf(session), trace.sample(i));
+      }
+    }
+    fleet.shutdown();
+    assertTrue(fleet.awaitTermination(10, TimeUnit.SECONDS));
+
+    for (int session = 0; session < SESSION_COUNT; session++) {
+      List<Location> locations = listener.locations.get(String.valueOf(session));
+      assertEquals(UPDATE_COUNT, locations.size());
+      for (int i = 0; i < UPDATE_COUNT; i++) {
+        assertEquals(trace.sample(i).time(), locations.get(i).getTime());
+      }
+    }
+  }
+
+  @Test
+  public void getMetrics_sessionsOnSameRouteShareIndex() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    BenchmarkTrace trace = BenchmarkTrace.create(route, TRACE_SEED);
+    NavigationFleet fleet = new NavigationFleet(WORKER_COUNT, new RecordingListener());
+
+    for (int session = 0; session < SESSION_COUNT; session++) {
+      fleet.startSession(String.valueOf(session), buildCoreBuilder(route));
+      fleet.process(String.valueOf(session), trace.sample(0));
+    }
+    fleet.process("unknown", trace.sample(0));
+    fleet.endSession("0");
+    awaitIdle(fleet);
+
+    FleetMetrics metrics = fleet.getMetrics();
+    assertEquals(SESSION_COUNT - 1, metrics.activeSessions());
+    assertEquals(1, metrics.sharedRouteIndexes());
+    assertEquals(SESSION_COUNT, metrics.processedUpdates());
+    assertEquals(1, metrics.droppedUpdates());
+    assertEquals(0, metrics.failedUpdates());
+
+    fleet.shutdown();
+    assertTrue(fleet.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(0, fleet.getMetrics().activeSessions());
+    assertEquals(0, fleet.getMetrics().sharedRouteIndexes());
+  }
+
+  @Test
+  public void process_sessionsOnSameGeometryWithOtherAnnotationsDontShareIndex() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute(ANNOTATED_ROUTE_FIXTURE);
+    DirectionsRoute severeRoute = buildRouteWithCongestion(route, SEVERE_CONGESTION);
+    BenchmarkTrace trace = BenchmarkTrace.create(route, TRACE_SEED);
+    RecordingListener listener = new RecordingListener();
+    NavigationFleet fleet = new NavigationFleet(WORKER_COUNT, listener);
+
+    fleet.startSession("route", buildCoreBuilder(route));
+    fleet.startSession("severeRoute", buildCoreBuilder(severeRoute));
+    fleet.process("route", trace.sample(0));
+    fleet.process("severeRoute", trace.sample(0));
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (fleet.getMetrics().processedUpdates() < 2) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+    int sharedRouteIndexes = fleet.getMetrics().sharedRouteIndexes();
+    fleet.shutdown();
+    assertTrue(fleet.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(2, sharedRouteIndexes);
+    assertFalse(SEVERE_CONGESTION.equals(listener.congestions.get("route").get(0)));
+    assertEquals(SEVERE_CONGESTION, listener.congestions.get("severeRoute").get(0));
+  }
+
+  private static DirectionsRoute buildRouteWithCongestion(DirectionsRoute route, String congestion) {
+    RouteLeg leg = route.legs().get(0);
+    LegAnnotation annotation = leg.annotation();
+    LegAnnotation congestionAnnotation = LegAnnotation.builder()
+      .distance(annotation.distance())
+      .congestion(Collections.nCopies(annotation.congestion().size(), congestion))
+      .build();
+    RouteLeg congestionLeg = leg.toBuilder().annotation(congestionAnnotation).build();
+    return route.toBuilder().legs(Collections.singletonList(congestionLeg)).build();
+  }
+
+  private static NavigationCore.Builder buildCoreBuilder(DirectionsRoute route) {
+    MapboxNavigationOptions options = MapboxNavigationOptions.builder()
+      .defaultMilestonesEnabled(false)
+      .snapToRoute(false)
+      .build();
+    return new NavigationCore.Builder().setRoute(route).setOptions(options);
+  }
+
+  private static void awaitIdle(NavigationFleet fleet) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (fleet.getMetrics().processedUpdates() + fleet.getMetrics().droppedUpdates() < SESSION_COUNT + 1
+      || fleet.getMetrics().activeSessions() != SESSION_COUNT - 1) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private static class RecordingListener implements NavigationFleetListener {
+
+    private final Map<String, List<Location>> locations = Collections.synchronizedMap(
+      new HashMap<String, List<Location>>()
+    );
+    private final Map<String, List<String>> congestions = Collections.synchronizedMap(
+      new HashMap<String, List<String>>()
+    );
+
+    @Override
+    public void onNavigationResult(String sessionId, NavigationResult result) {
+      List<Location> sessionLocations = locations.get(sessionId);
+      if (sessionLocations == null) {
+        sessionLocations = new ArrayList<>();
+        locations.put(sessionId, sessionLocations);
+      }
+      sessionLocations.add(result.location());
+      List<String> sessionCongestions = congestions.get(sessionId);
+      if (sessionCongestions == null) {
+        sessionCongestions = new ArrayList<>();
+        congestions.put(sessionId, sessionCongestions);
+      }
+      CurrentLegAnnotation annotation = result.routeProgress().currentLegProgress().currentLegAnnotation();
+      sessionCongestions.add(annotation == null ? null : annotation.congestion());
+    }
+  }
+}
@@ -19,6 +19,7 @@ import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.BuildConfig;
 import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.LegAnnotationIndex;
 import com.mapbox.services.android.navigation.v5.milestone.Milestone;
 import com.mapbox.services.android.navigation.v5.milestone.StepMilestone;
 import com.mapbox.services.android.navigation.v5.milestone.Trigger;
@@ -43,6 +44,7 @@ import static com.mapbox.services.android.navigation.v5.navigation.NavigationHel
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -121,9 +123,8 @@ public class NavigationHelperTest extends BaseTest {
       .build();
     MapboxNavigation mapboxNavigation = new MapboxNavigation(mock(Context.class), ACCESS_TOKEN, options,
       mock(NavigationTelemetry.class), mock(LocationEngine.class));
-    NewLocationModel model = NewLocationModel.create(mock(Location.class), mapboxNavigation);
-
-    boolean userOffRoute = isUserOffRoute(model, mock(RouteProgress.class), mock(OffRouteCallback.class));
+    boolean userOffRoute = isUserOffRoute(mapboxNavigation, mock(Location.class), mock(RouteProgress.class),
+      mock(OffRouteCallback.class));
 
     assertFalse(userOffRoute);
   }
@@ -422,6 +423,27 @@ public class NavigationHelperTest extends BaseTest {
     assertEquals(11, newLegAnnotation.index());
   }
 
+  @Test
+  public void obtainLegAnnotationIndex_sameLegReusesIndex() throws Exception {
+    RouteLeg leg = buildDistanceCongestionAnnotationRoute().legs().get(0);
+
+    LegAnnotationIndex firstIndex = NavigationHelper.obtainLegAnnotationIndex(leg);
+    LegAnnotationIndex secondIndex = NavigationHelper.obtainLegAnnotationIndex(leg);
+
+    assertSame(firstIndex, secondIndex);
+  }
+
+  @Test
+  public void obtainLegAnnotationIndex_otherLegIsIndexed() throws Exception {
+    RouteLeg firstLeg = buildDistanceCongestionAnnotationRoute().legs().get(0);
+    RouteLeg secondLeg = buildDistanceCongestionAnnotationRoute().legs().get(0);
+
+    NavigationHelper.obtainLegAnnotationIndex(firstLeg);
+    LegAnnotationIndex secondIndex = NavigationHelper.obtainLegAnnotationIndex(secondLeg);
+
+    assertSame(secondLeg, secondIndex.leg());
+  }
+
   private RouteProgress buildMultiLegRouteProgress(double stepDistanceRemaining, double legDistanceRemaining,
                                                    double distanceRemaining, int stepIndex, int legIndex) throws Exception {
     DirectionsRoute multiLegRoute = buildMultiLegRoute();
@@ -59,6 +59,20 @@ public class NavigationRouteProcessorTest extends BaseTest {
     assertTrue(currentStepIndex != secondStepIndex);
   }
 
+  @Test
+  public void onRouteRestartedWithSameGeometry_generationChangesAndIndexIsKept() throws Exception {
+    RouteProgress progress = routeProcessor.buildNewRouteProgress(navigation, mock(Location.class));
+    routeProcessor.onShouldIncreaseIndex();
+    routeProcessor.checkIncreaseIndex(navigation);
+    navigation.startNavigation(buildTestDirectionsRoute());
+
+    RouteProgress secondProgress = routeProcessor.buildNewRouteProgress(navigation, mock(Location.class));
+
+    assertTrue(progress.routeGeneration() != secondProgress.routeGeneration());
+    assertEquals(navigation.getRouteGeneration(), secondProgress.routeGeneration());
+    assertEquals(1, secondProgress.currentLegProgress().stepIndex());
+  }
+
   @Test
   public void onSnapToRouteEnabledAndUserOnRoute_snappedLocationReturns() throws Exception {
     RouteProgress progress = routeProcessor.buildNewRouteProgress(navigation, mock(Location.class));
@@ -0,0 +1,156 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.BuildConfig;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.routeprogress.InterpolatedProgressListener;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class)
+public class ProgressInterpolatorTest extends BaseTest {
+
+  private static final long UPDATE_TIME_NANOS = 1000000000L;
+  private static final long HALF_SECOND_NANOS = 500000000L;
+  private static final float SPEED = 10f;
+
+  private NavigationEventDispatcher eventDispatcher;
+  private ManualFrameClock frameClock;
+  private List<Double> stepDistancesRemaining;
+  private InterpolatedProgressListener listener;
+
+  @Before
+  public void setUp() throws Exception {
+    eventDispatcher = new NavigationEventDispatcher();
+    frameClock = new ManualFrameClock();
+    stepDistancesRemaining = new ArrayList<>();
+    listener = new InterpolatedProgressListener() {
+      @Override
+      public void onInterpolatedProgress(Location location, RouteProgressSnapshot snapshot) {
+        stepDistancesRemaining.add(snapshot.stepDistanceRemaining());
+      }
+    };
+  }
+
+  @Test
+  public void onFrame_advancesProgressAtUpdateSpeed() throws Exception {
+    eventDispatcher.addInterpolatedProgressListener(listener);
+    ProgressInterpolator interpolator = new ProgressInterpolator(eventDispatcher, 60, frameClock);
+    RouteProgress routeProgress = buildIndexedRouteProgress();
+
+    interpolator.onProgress(buildLocation(SPEED), routeProgress, UPDATE_TIME_NANOS);
+    interpolator.onFrame(UPDATE_TIME_NANOS + HALF_SECOND_NANOS);
+
+    double expectedDistanceRemaining = routeProgress.currentLegProgress().currentStepProgress().distanceRemaining()
+      - SPEED / 2;
+    assertEquals(1, stepDistancesRemaining.size());
+    assertEquals(expectedDistanceRemaining, stepDistancesRemaining.get(0), DELTA);
+  }
+
+  @Test
+  public void onProgress_withoutListenersDoesNotStartFrames() throws Exception {
+    ProgressInterpolator interpolator = new ProgressInterpolator(eventDispatcher, 60, frameClock);
+
+    interpolator.onProgress(buildLocation(SPEED), buildIndexedRouteProgress(), UPDATE_TIME_NANOS);
+
+    assertFalse(frameClock.isPosted);
+  }
+
+  @Test
+  public void onProgress_withoutSpeedDoesNotStartFrames() throws Exception {
+    eventDispatcher.addInterpolatedProgressListener(listener);
+    ProgressInterpolator interpolator = new ProgressInterpolator(eventDispatcher, 60, frameClock);
+
+    interpolator.onProgress(buildLocation(0f), buildIndexedRouteProgress(), UPDATE_TIME_NANOS);
+
+    assertFalse(frameClock.isPosted);
+  }
+
+  @Test
+  public void onFrame_stopsAfterMaximumInterpolationTime() throws Exception {
+    eventDispatcher.addInterpolatedProgressListener(listener);
+    ProgressInterpolator interpolator = new ProgressInterpolator(eventDispatcher, 60, frameClock);
+    interpolator.onProgress(buildLocation(SPEED), buildIndexedRouteProgress(), UPDATE_TIME_NANOS);
+    assertTrue(frameClock.isPosted);
+    frameClock.isPosted = false;
+
+    interpolator.onFrame(UPDATE_TIME_NANOS + 3 * NavigationConstants.MAXIMUM_PROGRESS_INTERPOLATION_TIME_IN_MILLIS
+      * 1000000L);
+
+    assertFalse(frameClock.isPosted);
+    assertTrue(stepDistancesRemaining.isEmpty());
+  }
+
+  @Test
+  public void onProgress_fromCallbackExecutorThreadIsHandledOnMainThread() throws Exception {
+    eventDispatcher.addInterpolatedProgressListener(listener);
+    final ProgressInterpolator interpolator = new ProgressInterpolator(eventDispatcher, 60, frameClock);
+    final Location location = buildLocation(SPEED);
+    final RouteProgress routeProgress = buildIndexedRouteProgress();
+    ShadowLooper.pauseMainLooper();
+    Thread callbackThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        interpolator.onProgress(location, routeProgress);
+      }
+    });
+
+    callbackThread.start();
+    callbackThread.join();
+    assertFalse(frameClock.isPosted);
+    ShadowLooper.runUiThreadTasks();
+
+    assertTrue(frameClock.isPosted);
+    assertEquals(Thread.currentThread(), frameClock.postThread);
+  }
+
+  private RouteProgress buildIndexedRouteProgress() throws Exception {
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    return routeProgress.toBuilder()
+      .routeGeometryIndex(new RouteGeometryIndex(routeProgress.directionsRoute()))
+      .build();
+  }
+
+  private static Location buildLocation(float speed) {
+    Location location = new Location("test");
+    location.setLatitude(38.8977);
+    location.setLongitude(-77.0365);
+    location.setSpeed(speed);
+    location.setTime(1000L);
+    return location;
+  }
+
+  private static class ManualFrameClock implements ProgressInterpolator.FrameClock {
+
+    private boolean isPosted;
+    private Thread postThread;
+
+    @Override
+    public void postFrame(ProgressInterpolator interpolator) {
+      isPosted = true;
+      postThread = Thread.currentThread();
+    }
+
+    @Override
+    public void removeFrame(ProgressInterpolator interpolator) {
+      isPosted = false;
+    }
+  }
+}
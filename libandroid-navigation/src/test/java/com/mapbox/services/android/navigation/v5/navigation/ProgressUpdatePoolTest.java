@@ -0,0 +1,65 @@
+package com.mapbox.services.android.navigation.v5.navigation;
+
+import android.location.Location;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.milestone.Milestone;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgressSnapshot;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ProgressUpdatePoolTest extends BaseTest {
+
+  @Test
+  public void obtain_updateIsReusedOnceItHasRun() throws Exception {
+    ProgressUpdatePool pool = new ProgressUpdatePool(mock(NavigationEngine.Callback.class), 1);
+    NavigationResult result = buildResult(buildDefaultTestRouteProgress());
+
+    ProgressUpdatePool.ProgressUpdate firstUpdate = pool.obtain(result, null);
+    firstUpdate.run();
+    ProgressUpdatePool.ProgressUpdate secondUpdate = pool.obtain(result, null);
+
+    assertSame(firstUpdate, secondUpdate);
+  }
+
+  @Test
+  public void obtain_pendingUpdateIsNotReused() throws Exception {
+    ProgressUpdatePool pool = new ProgressUpdatePool(mock(NavigationEngine.Callback.class), 1);
+    NavigationResult result = buildResult(buildDefaultTestRouteProgress());
+
+    ProgressUpdatePool.ProgressUpdate firstUpdate = pool.obtain(result, null);
+    ProgressUpdatePool.ProgressUpdate secondUpdate = pool.obtain(result, null);
+
+    assertNotSame(firstUpdate, secondUpdate);
+  }
+
+  @Test
+  public void run_snapshotHoldsProgressOfTheUpdate() throws Exception {
+    NavigationEngine.Callback callback = mock(NavigationEngine.Callback.class);
+    ProgressUpdatePool pool = new ProgressUpdatePool(callback, 1);
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    NavigationResult result = buildResult(routeProgress);
+    ArgumentCaptor<RouteProgressSnapshot> snapshotCaptor = ArgumentCaptor.forClass(RouteProgressSnapshot.class);
+
+    pool.obtain(result, null).run();
+
+    verify(callback).onProgressSnapshot(eq(result.location()), snapshotCaptor.capture());
+    assertEquals(routeProgress.distanceRemaining(), snapshotCaptor.getValue().distanceRemaining(), DELTA);
+  }
+
+  private static NavigationResult buildResult(RouteProgress routeProgress) {
+    return NavigationResult.create(mock(Location.class), routeProgress, Collections.<Milestone>emptyList(),
+      false, false, false);
+  }
+}
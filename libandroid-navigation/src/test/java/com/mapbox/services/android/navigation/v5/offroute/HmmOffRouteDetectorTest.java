@@ -0,0 +1,95 @@
+package com.mapbox.services.android.navigation.v5.offroute;
+
+import android.location.Location;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
+import com.mapbox.services.android.navigation.v5.geometry.StepPosition;
+import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions;
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class HmmOffRouteDetectorTest extends BaseTest {
+
+  private static final double FIX_SPACING = 20;
+  private static final double FAR_FROM_ROUTE = 100;
+  private static final double OUTLIER_DISTANCE = 60;
+
+  private HmmOffRouteDetector offRouteDetector;
+  private MapboxNavigationOptions options;
+  private RouteGeometryIndex geometryIndex;
+  private RouteProgress routeProgress;
+
+  @Before
+  public void setup() throws Exception {
+    options = MapboxNavigationOptions.builder().build();
+    offRouteDetector = new HmmOffRouteDetector();
+    DirectionsRoute route = buildTestDirectionsRoute();
+    geometryIndex = new RouteGeometryIndex(route);
+    routeProgress = buildDefaultTestRouteProgress(route).toBuilder()
+      .routeGeometryIndex(geometryIndex)
+      .build();
+  }
+
+  @Test
+  public void isUserOffRoute_locationsAlongRouteAreOnRoute() throws Exception {
+    for (int fix = 1; fix <= 10; fix++) {
+      boolean isUserOffRoute = offRouteDetector.isUserOffRoute(buildLocation(fix, 0), routeProgress, options);
+
+      assertFalse(isUserOffRoute);
+    }
+    assertTrue(offRouteDetector.offRouteProbability() < 0.1);
+  }
+
+  @Test
+  public void isUserOffRoute_locationsAwayFromRouteAreConfirmedOffRoute() throws Exception {
+    for (int fix = 1; fix <= 5; fix++) {
+      offRouteDetector.isUserOffRoute(buildLocation(fix, 0), routeProgress, options);
+    }
+
+    boolean isFirstLocationOffRoute = offRouteDetector.isUserOffRoute(
+      buildLocation(6, FAR_FROM_ROUTE), routeProgress, options
+    );
+    boolean isSecondLocationOffRoute = offRouteDetector.isUserOffRoute(
+      buildLocation(7, FAR_FROM_ROUTE), routeProgress, options
+    );
+
+    assertFalse(isFirstLocationOffRoute);
+    assertTrue(isSecondLocationOffRoute);
+    assertTrue(offRouteDetector.offRouteProbability() > 0.9);
+  }
+
+  @Test
+  public void isUserOffRoute_singleOutlierIsIgnored() throws Exception {
+    for (int fix = 1; fix <= 5; fix++) {
+      offRouteDetector.isUserOffRoute(buildLocation(fix, 0), routeProgress, options);
+    }
+
+    boolean isOutlierOffRoute = offRouteDetector.isUserOffRoute(
+      buildLocation(6, OUTLIER_DISTANCE), routeProgress, options
+    );
+    boolean isNextLocationOffRoute = offRouteDetector.isUserOffRoute(buildLocation(7, 0), routeProgress, options);
+
+    assertFalse(isOutlierOffRoute);
+    assertFalse(isNextLocationOffRoute);
+    assertTrue(offRouteDetector.offRouteProbability() < 0.9);
+  }
+
+  /**
+   * Builds a location along the first step, the given distance to the right of the route.
+   */
+  private Location buildLocation(int fix, double distanceFromRoute) {
+    StepPosition position = new StepPosition();
+    geometryIndex.findPosition(0, 0, fix * FIX_SPACING, position);
+    Point pointOnRoute = Point.fromLngLat(position.longitude(), position.latitude());
+    Point point = buildPointAwayFromPoint(pointOnRoute, distanceFromRoute, position.bearing() + 90);
+    return buildDefaultLocationUpdate(point.longitude(), point.latitude());
+  }
+}
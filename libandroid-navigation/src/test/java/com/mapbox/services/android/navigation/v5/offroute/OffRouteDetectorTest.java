@@ -104,6 +104,37 @@ public class OffRouteDetectorTest extends BaseTest {
     assertFalse(isUserOffRoute);
   }
 
+  @Test
+  public void isOffRouteLikely_AssertTrueWhenDriftingPastHalfTheRadius() throws Exception {
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    Point stepManeuverPoint = routeProgress.directionsRoute().legs().get(0).steps().get(0).maneuver().location();
+
+    Location firstUpdate = buildDefaultLocationUpdate(-77.0339782574523, 38.89993519985637);
+    offRouteDetector.isUserOffRoute(firstUpdate, routeProgress, options);
+
+    Point driftingPoint = buildPointAwayFromPoint(stepManeuverPoint, 15, 90);
+    Location secondUpdate = buildDefaultLocationUpdate(driftingPoint.longitude(), driftingPoint.latitude());
+
+    boolean isUserOffRoute = offRouteDetector.isUserOffRoute(secondUpdate, routeProgress, options);
+    assertFalse(isUserOffRoute);
+    assertTrue(offRouteDetector.isOffRouteLikely());
+  }
+
+  @Test
+  public void isOffRouteLikely_AssertFalseWhenOnStep() throws Exception {
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    Point stepManeuverPoint = routeProgress.directionsRoute().legs().get(0).steps().get(0).maneuver().location();
+
+    Location firstUpdate = buildDefaultLocationUpdate(-77.0339782574523, 38.89993519985637);
+    offRouteDetector.isUserOffRoute(firstUpdate, routeProgress, options);
+
+    Point onRoutePoint = buildPointAwayFromPoint(stepManeuverPoint, 10, 90);
+    Location secondUpdate = buildDefaultLocationUpdate(onRoutePoint.longitude(), onRoutePoint.latitude());
+
+    offRouteDetector.isUserOffRoute(secondUpdate, routeProgress, options);
+    assertFalse(offRouteDetector.isOffRouteLikely());
+  }
+
   @Test
   public void isUserOffRoute_AssertFalseWhenWithinRadiusAndStepLocationHasBadAccuracy() throws Exception {
     RouteProgress routeProgress = buildDefaultTestRouteProgress();
@@ -0,0 +1,178 @@
+package com.mapbox.services.android.navigation.v5.route;
+
+import com.mapbox.api.directions.v5.models.DirectionsResponse;
+import com.mapbox.geojson.Point;
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ReroutePrefetchTest extends BaseTest {
+
+  private static final long LIFETIME = 30000;
+  private static final double MAXIMUM_DISTANCE = 50;
+  private static final long MINIMUM_INTERVAL = 10000;
+  private static final Point ORIGIN = Point.fromLngLat(-122.416686, 37.783425);
+
+  @Test
+  public void take_returnsResponseCloseToOrigin() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> call = buildCall();
+    DirectionsResponse response = mock(DirectionsResponse.class);
+    reroutePrefetch.onRequest(call, ORIGIN, 0);
+    reroutePrefetch.onResponse(call, response);
+
+    DirectionsResponse prefetchedResponse = reroutePrefetch.take(buildPointAwayFromPoint(ORIGIN, 20, 90), 1000);
+
+    assertSame(response, prefetchedResponse);
+    assertNull(reroutePrefetch.take(ORIGIN, 1000));
+  }
+
+  @Test
+  public void take_ignoresResponseTooFarOrTooOld() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> call = buildCall();
+    reroutePrefetch.onRequest(call, ORIGIN, 0);
+    reroutePrefetch.onResponse(call, mock(DirectionsResponse.class));
+
+    assertNull(reroutePrefetch.take(buildPointAwayFromPoint(ORIGIN, 100, 90), 1000));
+    assertNull(reroutePrefetch.take(ORIGIN, LIFETIME + 1));
+  }
+
+  @Test
+  public void shouldRequest_falseWhileUsableRequestIsRunning() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> call = buildCall();
+
+    assertTrue(reroutePrefetch.shouldRequest(ORIGIN, 0));
+    reroutePrefetch.onRequest(call, ORIGIN, 0);
+    assertFalse(reroutePrefetch.shouldRequest(ORIGIN, MINIMUM_INTERVAL));
+    assertTrue(reroutePrefetch.shouldRequest(buildPointAwayFromPoint(ORIGIN, 100, 90), MINIMUM_INTERVAL));
+  }
+
+  @Test
+  public void onResponse_returnsResponseAwaitedByReroute() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> call = buildCall();
+    DirectionsResponse response = mock(DirectionsResponse.class);
+    reroutePrefetch.onRequest(call, ORIGIN, 0);
+
+    boolean isAwaited = reroutePrefetch.await(ORIGIN, 1000);
+
+    assertTrue(isAwaited);
+    assertSame(response, reroutePrefetch.onResponse(call, response));
+    assertNull(reroutePrefetch.take(ORIGIN, 1000));
+  }
+
+  @Test
+  public void onFailure_returnsTrueWhenAwaitedByReroute() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> call = buildCall();
+    reroutePrefetch.onRequest(call, ORIGIN, 0);
+    reroutePrefetch.await(ORIGIN, 1000);
+
+    assertTrue(reroutePrefetch.onFailure(call));
+    assertFalse(reroutePrefetch.onFailure(call));
+  }
+
+  @Test
+  public void onRequest_cancelsRunningRequestAndIgnoresItsResponse() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> firstCall = buildCall();
+    Call<DirectionsResponse> secondCall = buildCall();
+    Point secondOrigin = buildPointAwayFromPoint(ORIGIN, 200, 90);
+    reroutePrefetch.onRequest(firstCall, ORIGIN, 0);
+    reroutePrefetch.onRequest(secondCall, secondOrigin, 1000);
+
+    reroutePrefetch.onResponse(firstCall, mock(DirectionsResponse.class));
+
+    verify(firstCall).cancel();
+    assertNull(reroutePrefetch.take(secondOrigin, 2000));
+    assertFalse(reroutePrefetch.shouldRequest(secondOrigin, 2000));
+  }
+
+  @Test
+  public void onFailure_ignoresReplacedRequestAwaitedByReroute() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> firstCall = buildCall();
+    Call<DirectionsResponse> secondCall = buildCall();
+    DirectionsResponse response = mock(DirectionsResponse.class);
+    reroutePrefetch.onRequest(firstCall, ORIGIN, 0);
+    reroutePrefetch.onRequest(secondCall, ORIGIN, 1000);
+    reroutePrefetch.await(ORIGIN, 2000);
+
+    boolean shouldReroute = reroutePrefetch.onFailure(firstCall);
+
+    assertFalse(shouldReroute);
+    assertSame(response, reroutePrefetch.onResponse(secondCall, response));
+    verify(secondCall, never()).cancel();
+  }
+
+  @Test
+  public void shouldRequest_falseWhileAwaitedByReroute() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    reroutePrefetch.onRequest(buildCall(), ORIGIN, 0);
+    reroutePrefetch.await(ORIGIN, 1000);
+
+    assertFalse(reroutePrefetch.shouldRequest(buildPointAwayFromPoint(ORIGIN, 100, 90), 1000));
+  }
+
+  @Test
+  public void shouldRequest_falseBeforeMinimumInterval() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    reroutePrefetch.onRequest(buildCall(), ORIGIN, 0);
+
+    assertFalse(reroutePrefetch.shouldRequest(buildPointAwayFromPoint(ORIGIN, 100, 90), MINIMUM_INTERVAL - 1));
+  }
+
+  @Test
+  public void shouldRequest_repeatedDriftingUpdatesAreThrottled() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    List<Call<DirectionsResponse>> calls = new ArrayList<>();
+    Point origin = ORIGIN;
+
+    // Projected origin moving 60 meters with each likely off-route update, every 2 seconds
+    for (long time = 0; time <= 20000; time += 2000) {
+      if (reroutePrefetch.shouldRequest(origin, time)) {
+        Call<DirectionsResponse> call = buildCall();
+        reroutePrefetch.onRequest(call, origin, time);
+        calls.add(call);
+      }
+      origin = buildPointAwayFromPoint(origin, 60, 90);
+    }
+
+    assertEquals(3, calls.size());
+    verify(calls.get(2), never()).cancel();
+  }
+
+  @Test
+  public void shouldRequest_usableRunningRequestIsNotReplaced() throws Exception {
+    ReroutePrefetch reroutePrefetch = new ReroutePrefetch(LIFETIME, MAXIMUM_DISTANCE, MINIMUM_INTERVAL);
+    Call<DirectionsResponse> call = buildCall();
+    reroutePrefetch.onRequest(call, ORIGIN, 0);
+    Point closeOrigin = buildPointAwayFromPoint(ORIGIN, 20, 90);
+
+    boolean shouldRequest = reroutePrefetch.shouldRequest(closeOrigin, 2 * MINIMUM_INTERVAL);
+
+    assertFalse(shouldRequest);
+    verify(call, never()).cancel();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Call<DirectionsResponse> buildCall() {
+    return mock(Call.class);
+  }
+}
@@ -0,0 +1,68 @@
+package com.mapbox.services.android.navigation.v5.routeprogress;
+
+import com.mapbox.services.android.navigation.v5.BaseTest;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+
+public class RouteProgressSnapshotTest extends BaseTest {
+
+  @Test
+  public void set_copiesRouteProgressValues() throws Exception {
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    RouteProgressSnapshot snapshot = new RouteProgressSnapshot();
+
+    snapshot.set(routeProgress);
+
+    assertEquals(routeProgress.legIndex(), snapshot.legIndex());
+    assertEquals(routeProgress.currentLegProgress().stepIndex(), snapshot.stepIndex());
+    assertEquals(routeProgress.distanceRemaining(), snapshot.distanceRemaining(), DELTA);
+    assertEquals(routeProgress.currentLegProgress().distanceRemaining(), snapshot.legDistanceRemaining(), DELTA);
+    assertEquals(routeProgress.currentLegProgress().currentStepProgress().distanceRemaining(),
+      snapshot.stepDistanceRemaining(), DELTA);
+    assertEquals(routeProgress.currentLegProgress().currentStep(), snapshot.currentStep());
+  }
+
+  @Test
+  public void copy_isIndependentOfReusedSnapshot() throws Exception {
+    RouteProgressSnapshot snapshot = new RouteProgressSnapshot();
+    snapshot.set(buildDefaultTestRouteProgress());
+
+    RouteProgressSnapshot copy = snapshot.copy();
+    snapshot.set(new RouteProgressSnapshot());
+
+    assertNotSame(snapshot, copy);
+    assertEquals(0d, snapshot.distanceRemaining(), DELTA);
+    assertEquals(buildDefaultTestRouteProgress().distanceRemaining(), copy.distanceRemaining(), DELTA);
+  }
+
+  @Test
+  public void advance_movesDistancesForwardWithinCurrentStep() throws Exception {
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    RouteProgressSnapshot snapshot = new RouteProgressSnapshot();
+    snapshot.set(routeProgress);
+    double stepDistanceRemaining = snapshot.stepDistanceRemaining();
+
+    snapshot.advance(stepDistanceRemaining / 4);
+
+    assertEquals(stepDistanceRemaining * 3 / 4, snapshot.stepDistanceRemaining(), DELTA);
+    assertEquals(routeProgress.distanceRemaining() - stepDistanceRemaining / 4, snapshot.distanceRemaining(), DELTA);
+    assertEquals(routeProgress.distanceTraveled() + stepDistanceRemaining / 4, snapshot.distanceTraveled(), DELTA);
+    assertEquals(routeProgress.currentLegProgress().stepIndex(), snapshot.stepIndex());
+  }
+
+  @Test
+  public void advance_stopsAtEndOfCurrentStep() throws Exception {
+    RouteProgress routeProgress = buildDefaultTestRouteProgress();
+    RouteProgressSnapshot snapshot = new RouteProgressSnapshot();
+    snapshot.set(routeProgress);
+    double stepDistanceRemaining = snapshot.stepDistanceRemaining();
+
+    snapshot.advance(stepDistanceRemaining * 2);
+
+    assertEquals(0d, snapshot.stepDistanceRemaining(), DELTA);
+    assertEquals(routeProgress.distanceRemaining() - stepDistanceRemaining, snapshot.distanceRemaining(), DELTA);
+  }
+}
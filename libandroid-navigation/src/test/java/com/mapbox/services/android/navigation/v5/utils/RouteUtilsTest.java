@@ -61,6 +61,22 @@ public class RouteUtilsTest extends BaseTest {
     assertTrue(isNewRoute);
   }
 
+  @Test
+  public void isNewRoute_returnsFalseWhenRouteGenerationsEqualEachOther() throws Exception {
+    DirectionsRoute aRoute = buildTestDirectionsRoute();
+    RouteProgress routeProgress = buildDefaultTestRouteProgress().toBuilder()
+      .routeGeneration(7)
+      .build();
+    RouteProgress previousRouteProgress = routeProgress.toBuilder()
+      .directionsRoute(aRoute.toBuilder().geometry("vfejnqiv").build())
+      .build();
+    RouteUtils routeUtils = new RouteUtils();
+
+    boolean isNewRoute = routeUtils.isNewRoute(previousRouteProgress, routeProgress);
+
+    assertFalse(isNewRoute);
+  }
+
   @Test
   public void isArrivalEvent_returnsTrueWhenManeuverTypeIsArrival_andIsLastInstruction() throws Exception {
     DirectionsRoute route = buildTestDirectionsRoute();
@@ -6,6 +6,7 @@ import com.mapbox.geojson.LineString;
 import com.mapbox.geojson.Point;
 import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.services.android.navigation.v5.BaseTest;
+import com.mapbox.services.android.navigation.v5.geometry.RouteGeometryIndex;
 import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress;
 import com.mapbox.turf.TurfConstants;
 import com.mapbox.turf.TurfMeasurement;
@@ -57,4 +58,35 @@ public class ToleranceUtilsTest extends BaseTest {
 
     assertEquals(50.0, tolerance, DELTA);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void dynamicRerouteDistanceTolerance_indexedRouteMatchesUserFarAwayFromIntersection() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteProgress routeProgress = buildIndexedRouteProgress(route);
+    List<Point> stepPoints = PolylineUtils.decode(route.geometry(), PRECISION_6);
+    Point midPoint = TurfMeasurement.midpoint(stepPoints.get(0), stepPoints.get(1));
+
+    double tolerance = ToleranceUtils.dynamicRerouteDistanceTolerance(midPoint, routeProgress);
+
+    assertEquals(25.0, tolerance, DELTA);
+  }
+
+  @Test
+  public void dynamicRerouteDistanceTolerance_indexedRouteMatchesUserCloseToIntersection() throws Exception {
+    DirectionsRoute route = buildTestDirectionsRoute();
+    RouteProgress routeProgress = buildIndexedRouteProgress(route);
+    double distanceToIntersection = route.distance() - 39;
+    LineString lineString = LineString.fromPolyline(route.geometry(), Constants.PRECISION_6);
+    Point closePoint = TurfMeasurement.along(lineString, distanceToIntersection, TurfConstants.UNIT_METERS);
+
+    double tolerance = ToleranceUtils.dynamicRerouteDistanceTolerance(closePoint, routeProgress);
+
+    assertEquals(50.0, tolerance, DELTA);
+  }
+
+  private RouteProgress buildIndexedRouteProgress(DirectionsRoute route) throws Exception {
+    return buildDefaultTestRouteProgress(route).toBuilder()
+      .routeGeometryIndex(new RouteGeometryIndex(route))
+      .build();
+  }
+}